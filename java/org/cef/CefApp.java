@@ -9,8 +9,6 @@ import org.cef.handler.CefAppHandler;
 import org.cef.handler.CefAppHandlerAdapter;
 
 import java.awt.*;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
 import java.io.File;
 import java.io.FilenameFilter;
 import java.nio.file.Path;
@@ -18,7 +16,6 @@ import java.nio.file.Paths;
 import java.util.HashSet;
 
 import javax.swing.SwingUtilities;
-import javax.swing.Timer;
 
 import com.jetbrains.cef.JdkEx;
 import org.cef.misc.CefLog;
@@ -128,7 +125,11 @@ public class CefApp extends CefAppHandlerAdapter {
     private static CefApp self = null;
     private static CefAppHandler appHandler_ = null;
     private static CefAppState state_ = CefAppState.NONE;
-    private Timer workTimer_ = null;
+    // The work must run on the thread that initialized CEF, which is the EDT.
+    private final CefMessagePumpScheduler messagePump_ =
+            new CefMessagePumpScheduler(SwingUtilities::invokeLater, () -> {
+                if (getState() != CefAppState.TERMINATED) N_DoMessageLoopWork();
+            });
     private HashSet<CefClient> clients_ = new HashSet<CefClient>();
     private CefSettings settings_ = null;
 
@@ -488,6 +489,7 @@ public class CefApp extends CefAppHandlerAdapter {
             N_Shutdown();
 
             setState(CefAppState.TERMINATED);
+            messagePump_.stop();
             CefApp.self = null;
         };
         if (EventQueue.isDispatchThread())
@@ -501,49 +503,17 @@ public class CefApp extends CefAppHandlerAdapter {
      * Windows with windowed rendering.
      */
     public final void doMessageLoopWork(final long delay_ms) {
-        // Execute on the AWT event dispatching thread.
-        SwingUtilities.invokeLater(new Runnable() {
-            @Override
-            public void run() {
-                if (getState() == CefAppState.TERMINATED) return;
-
-                // The maximum number of milliseconds we're willing to wait between
-                // calls to DoMessageLoopWork().
-                final long kMaxTimerDelay = 1000 / 30; // 30fps
-
-                if (workTimer_ != null) {
-                    workTimer_.stop();
-                    workTimer_ = null;
-                }
-
-                if (delay_ms <= 0) {
-                    // Execute the work immediately.
-                    N_DoMessageLoopWork();
-
-                    // Schedule more work later.
-                    doMessageLoopWork(kMaxTimerDelay);
-                } else {
-                    long timer_delay_ms = delay_ms;
-                    // Never wait longer than the maximum allowed time.
-                    if (timer_delay_ms > kMaxTimerDelay) timer_delay_ms = kMaxTimerDelay;
-
-                    workTimer_ = new Timer((int) timer_delay_ms, new ActionListener() {
-                        @Override
-                        public void actionPerformed(ActionEvent evt) {
-                            // Timer has timed out.
-                            workTimer_.stop();
-                            workTimer_ = null;
-
-                            N_DoMessageLoopWork();
+        messagePump_.schedule(delay_ms);
+    }
 
-                            // Schedule more work later.
-                            doMessageLoopWork(kMaxTimerDelay);
-                        }
-                    });
-                    workTimer_.start();
-                }
-            }
-        });
+    /**
+     * Returns the scheduler of the message loop work, e.g. to configure its maximum delay or
+     * to read its pump latency metrics. It's only used in external message pump mode.
+     *
+     * @since api-1.8
+     */
+    public final CefMessagePumpScheduler getMessagePumpScheduler() {
+        return messagePump_;
     }
 
     /**
@@ -0,0 +1,87 @@
+package org.cef;
+
+import org.cef.browser.CefBrowser;
+
+import java.util.Arrays;
+
+/**
+ * Browsers of a client keyed by their identifier. Lookups are lock-free and don't box the
+ * identifier: every modification publishes a new immutable snapshot with sorted identifiers.
+ * Modifications are synchronized on this object, so callers can hold its monitor to combine
+ * several of them.
+ */
+final class CefBrowserRegistry {
+    private static final class Snapshot {
+        final int[] ids;
+        final CefBrowser[] browsers;
+
+        Snapshot(int[] ids, CefBrowser[] browsers) {
+            this.ids = ids;
+            this.browsers = browsers;
+        }
+    }
+
+    private static final Snapshot EMPTY = new Snapshot(new int[0], new CefBrowser[0]);
+
+    private volatile Snapshot snapshot_ = EMPTY;
+
+    CefBrowser get(int identifier) {
+        Snapshot snapshot = snapshot_;
+        int index = Arrays.binarySearch(snapshot.ids, identifier);
+        return index >= 0 ? snapshot.browsers[index] : null;
+    }
+
+    /**
+     * Returns a copy of the registered browsers in ascending identifier order.
+     */
+    CefBrowser[] getAll() {
+        return snapshot_.browsers.clone();
+    }
+
+    boolean isEmpty() {
+        return snapshot_.ids.length == 0;
+    }
+
+    synchronized void put(int identifier, CefBrowser browser) {
+        Snapshot snapshot = snapshot_;
+        int index = Arrays.binarySearch(snapshot.ids, identifier);
+        if (index >= 0) {
+            CefBrowser[] browsers = snapshot.browsers.clone();
+            browsers[index] = browser;
+            snapshot_ = new Snapshot(snapshot.ids, browsers);
+            return;
+        }
+
+        int insert = -index - 1;
+        int size = snapshot.ids.length;
+        int[] ids = new int[size + 1];
+        CefBrowser[] browsers = new CefBrowser[size + 1];
+        System.arraycopy(snapshot.ids, 0, ids, 0, insert);
+        System.arraycopy(snapshot.browsers, 0, browsers, 0, insert);
+        ids[insert] = identifier;
+        browsers[insert] = browser;
+        System.arraycopy(snapshot.ids, insert, ids, insert + 1, size - insert);
+        System.arraycopy(snapshot.browsers, insert, browsers, insert + 1, size - insert);
+        snapshot_ = new Snapshot(ids, browsers);
+    }
+
+    synchronized CefBrowser remove(int identifier) {
+        Snapshot snapshot = snapshot_;
+        int index = Arrays.binarySearch(snapshot.ids, identifier);
+        if (index < 0) return null;
+
+        int size = snapshot.ids.length;
+        if (size == 1) {
+            snapshot_ = EMPTY;
+            return snapshot.browsers[0];
+        }
+        int[] ids = new int[size - 1];
+        CefBrowser[] browsers = new CefBrowser[size - 1];
+        System.arraycopy(snapshot.ids, 0, ids, 0, index);
+        System.arraycopy(snapshot.browsers, 0, browsers, 0, index);
+        System.arraycopy(snapshot.ids, index + 1, ids, index, size - index - 1);
+        System.arraycopy(snapshot.browsers, index + 1, browsers, index, size - index - 1);
+        snapshot_ = new Snapshot(ids, browsers);
+        return snapshot.browsers[index];
+    }
+}
@@ -33,10 +33,10 @@ import java.util.*;
 public class CefClient extends CefClientHandler
         implements CefContextMenuHandler, CefDialogHandler, CefDisplayHandler, CefDownloadHandler,
                    CefDragHandler, CefFocusHandler, CefMediaAccessHandler, CefJSDialogHandler, CefKeyboardHandler,
-                   CefLifeSpanHandler, CefLoadHandler, CefPrintHandler, CefRenderHandler,
+                   CefLifeSpanHandler, CefLoadHandler, CefPrintHandler, CefFrameBufferRenderHandler,
                    CefRequestHandler, CefWindowHandler {
     private static final boolean TRACE_LIFESPAN = Boolean.getBoolean("trace.client.lifespan");
-    private HashMap<Integer, CefBrowser> browser_ = new HashMap<Integer, CefBrowser>();
+    private final CefBrowserRegistry browser_ = new CefBrowserRegistry();
     private CefContextMenuHandler contextMenuHandler_ = null;
     private CefDialogHandler dialogHandler_ = null;
     private CefDisplayHandler displayHandler_ = null;
@@ -48,6 +48,7 @@ public class CefClient extends CefClientHandler
     private CefKeyboardHandler keyboardHandler_ = null;
     private final List<CefLifeSpanHandler> lifeSpanHandlers_ = new ArrayList<>();
     private CefLoadHandler loadHandler_ = null;
+    private volatile CefResourceRequestFilter resourceRequestFilter_ = null;
     private CefPrintHandler printHandler_ = null;
     private CefRequestHandler requestHandler_ = null;
     private boolean isDisposed_ = false;
@@ -144,16 +145,12 @@ public class CefClient extends CefClientHandler
 
     @Override
     protected CefBrowser getBrowser(int identifier) {
-        synchronized (browser_) {
-            return browser_.get(new Integer(identifier));
-        }
+        return browser_.get(identifier);
     }
 
     @Override
     protected Object[] getAllBrowser() {
-        synchronized (browser_) {
-            return browser_.values().toArray();
-        }
+        return browser_.getAll();
     }
 
     @Override
@@ -341,7 +338,7 @@ public class CefClient extends CefClientHandler
             return true;
         }
 
-        CefRenderHandler realHandler = browser.getRenderHandler();
+        CefRenderHandler realHandler = getRenderHandler(browser);
         if (realHandler != null) {
             return realHandler.onCursorChange(browser, cursorType);
         }
@@ -566,6 +563,20 @@ public class CefClient extends CefClientHandler
         }
     }
 
+    /**
+     * Replaces all life span handlers with |handler| in one step, so that no event is missed
+     * in between.
+     *
+     * @since api-1.8
+     */
+    public CefClient setLifeSpanHandler(CefLifeSpanHandler handler) {
+        synchronized (lifeSpanHandlers_) {
+            lifeSpanHandlers_.clear();
+            lifeSpanHandlers_.add(handler);
+        }
+        return this;
+    }
+
     @Override
     public boolean onBeforePopup(
             CefBrowser browser, CefFrame frame, String target_url, String target_frame_name) {
@@ -587,10 +598,7 @@ public class CefClient extends CefClientHandler
         if (TRACE_LIFESPAN) CefLog.INSTANCE.debug("CefClient: browser=%s: onAfterCreated", browser);
 
         // keep browser reference
-        Integer identifier = browser.getIdentifier();
-        synchronized (browser_) {
-            browser_.put(identifier, browser);
-        }
+        browser_.put(browser.getIdentifier(), browser);
         synchronized (lifeSpanHandlers_) {
             for (CefLifeSpanHandler lsh: lifeSpanHandlers_)
                 lsh.onAfterCreated(browser);
@@ -637,8 +645,7 @@ public class CefClient extends CefClientHandler
                 browser_.remove(identifier);
             } else if (!browser_.isEmpty()) {
                 // Close all browsers.
-                Collection<CefBrowser> browserList = browser_.values();
-                for (CefBrowser browser : browserList) {
+                for (CefBrowser browser : browser_.getAll()) {
                     browser.close(true);
                 }
                 return;
@@ -770,14 +777,29 @@ public class CefClient extends CefClientHandler
         super.removeMessageRouter(messageRouter);
     }
 
+    /**
+     * @since api-1.8
+     */
+    @Override
+    public synchronized List<CefMessageRouter> getMessageRouters() {
+        return super.getMessageRouters();
+    }
+
     // CefRenderHandler
 
+    // Returns the handler that receives the render events of |browser| or null.
+    private static CefRenderHandler getRenderHandler(CefBrowser browser) {
+        if (browser instanceof CefBrowserOsrWithHandler)
+            return ((CefBrowserOsrWithHandler) browser).getNativeRenderHandler();
+        return browser.getRenderHandler();
+    }
+
     @Override
     public Rectangle getViewRect(CefBrowser browser) {
         // [tav] resize to 1x1 size to avoid crash in cef
         if (browser == null) return new Rectangle(0, 0, 1, 1);
 
-        CefRenderHandler realHandler = browser.getRenderHandler();
+        CefRenderHandler realHandler = getRenderHandler(browser);
         if (realHandler != null) {
             Rectangle rect = realHandler.getViewRect(browser);
             if (rect.width <= 0 || rect.height <= 0) {
@@ -792,14 +814,14 @@ public class CefClient extends CefClientHandler
     public Point getScreenPoint(CefBrowser browser, Point viewPoint) {
         if (browser == null) return new Point(0, 0);
 
-        CefRenderHandler realHandler = browser.getRenderHandler();
+        CefRenderHandler realHandler = getRenderHandler(browser);
         if (realHandler != null) return realHandler.getScreenPoint(browser, viewPoint);
         return new Point(0, 0);
     }
 
     @Override
     public double getDeviceScaleFactor(CefBrowser browser) {
-        CefRenderHandler realHandler = browser.getRenderHandler();
+        CefRenderHandler realHandler = getRenderHandler(browser);
         if (realHandler != null) {
             return realHandler.getDeviceScaleFactor(browser);
         }
@@ -810,7 +832,7 @@ public class CefClient extends CefClientHandler
     public void onPopupShow(CefBrowser browser, boolean show) {
         if (browser == null) return;
 
-        CefRenderHandler realHandler = browser.getRenderHandler();
+        CefRenderHandler realHandler = getRenderHandler(browser);
         if (realHandler != null) realHandler.onPopupShow(browser, show);
     }
 
@@ -818,7 +840,7 @@ public class CefClient extends CefClientHandler
     public void onPopupSize(CefBrowser browser, Rectangle size) {
         if (browser == null) return;
 
-        CefRenderHandler realHandler = browser.getRenderHandler();
+        CefRenderHandler realHandler = getRenderHandler(browser);
         if (realHandler != null) realHandler.onPopupSize(browser, size);
     }
 
@@ -827,16 +849,36 @@ public class CefClient extends CefClientHandler
             ByteBuffer buffer, int width, int height) {
         if (browser == null) return;
 
-        CefRenderHandler realHandler = browser.getRenderHandler();
+        CefRenderHandler realHandler = getRenderHandler(browser);
         if (realHandler != null)
             realHandler.onPaint(browser, popup, dirtyRects, buffer, width, height);
     }
 
+    @Override
+    public CefFrameBuffer getFrameBuffer(CefBrowser browser, boolean popup, int width, int height) {
+        if (browser == null) return null;
+
+        CefRenderHandler realHandler = getRenderHandler(browser);
+        if (realHandler instanceof CefFrameBufferRenderHandler)
+            return ((CefFrameBufferRenderHandler) realHandler).getFrameBuffer(browser, popup, width, height);
+        return null;
+    }
+
+    @Override
+    public void onPaint(CefBrowser browser, boolean popup, CefFrameBuffer frameBuffer,
+            int dirtyRectCount) {
+        if (browser == null) return;
+
+        CefRenderHandler realHandler = getRenderHandler(browser);
+        if (realHandler instanceof CefFrameBufferRenderHandler)
+            ((CefFrameBufferRenderHandler) realHandler).onPaint(browser, popup, frameBuffer, dirtyRectCount);
+    }
+
     @Override
     public boolean startDragging(CefBrowser browser, CefDragData dragData, int mask, int x, int y) {
         if (browser == null) return false;
 
-        CefRenderHandler realHandler = browser.getRenderHandler();
+        CefRenderHandler realHandler = getRenderHandler(browser);
         if (realHandler != null) return realHandler.startDragging(browser, dragData, mask, x, y);
         return false;
     }
@@ -845,7 +887,7 @@ public class CefClient extends CefClientHandler
     public void updateDragCursor(CefBrowser browser, int operation) {
         if (browser == null) return;
 
-        CefRenderHandler realHandler = browser.getRenderHandler();
+        CefRenderHandler realHandler = getRenderHandler(browser);
         if (realHandler != null) realHandler.updateDragCursor(browser, operation);
     }
 
@@ -853,7 +895,7 @@ public class CefClient extends CefClientHandler
     public boolean getScreenInfo(CefBrowser browser, CefScreenInfo screenInfo) {
         if (browser == null) return false;
 
-        CefRenderHandler realHandler = browser.getRenderHandler();
+        CefRenderHandler realHandler = getRenderHandler(browser);
         if (realHandler != null) return realHandler.getScreenInfo(browser, screenInfo);
         return false;
     }
@@ -869,6 +911,56 @@ public class CefClient extends CefClientHandler
         requestHandler_ = null;
     }
 
+    /**
+     * Sets the request handler, replacing the current one in one step.
+     *
+     * @since api-1.8
+     */
+    public CefClient setRequestHandler(CefRequestHandler handler) {
+        requestHandler_ = handler;
+        return this;
+    }
+
+    /**
+     * Sets rules that decide in native code which resource requests reach
+     * {@link CefRequestHandler#getResourceRequestHandler}. Requests that match no rule get the
+     * default handling without calling into Java. null, the default, passes all requests.
+     *
+     * @since api-1.8
+     */
+    @Override
+    public void setResourceRequestFilter(CefResourceRequestFilter filter) {
+        resourceRequestFilter_ = filter;
+        super.setResourceRequestFilter(filter);
+    }
+
+    /**
+     * @since api-1.8
+     */
+    public CefResourceRequestFilter getResourceRequestFilter() {
+        return resourceRequestFilter_;
+    }
+
+    /**
+     * Returns the number of resource requests that matched the filter and were passed to Java
+     * since it was set.
+     *
+     * @since api-1.8
+     */
+    public long getResourceRequestFilterMatchedCount() {
+        return getResourceRequestFilterCounts()[0];
+    }
+
+    /**
+     * Returns the number of resource requests that matched no rule of the filter and bypassed
+     * Java since it was set.
+     *
+     * @since api-1.8
+     */
+    public long getResourceRequestFilterBypassedCount() {
+        return getResourceRequestFilterCounts()[1];
+    }
+
     @Override
     public boolean onBeforeBrowse(CefBrowser browser, CefFrame frame, CefRequest request,
             boolean user_gesture, boolean is_redirect) {
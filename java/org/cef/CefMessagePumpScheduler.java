@@ -0,0 +1,180 @@
+package org.cef;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Schedules the message loop work of CEF in external message pump mode.
+ * <p>
+ * CEF requests work with a delay through
+ * {@link org.cef.handler.CefAppHandler#onScheduleMessagePumpWork(long)}. The delay is timed by
+ * a dedicated timer thread with nanosecond resolution and the work is then posted to the
+ * thread that initialized CEF, which is the only thread it may run on. A new request replaces
+ * the pending one, as CEF expects. After each iteration more work is scheduled after the
+ * maximum delay in case CEF doesn't request any, a maximum delay of 0 disables this.
+ * <p>
+ * The pump latency of an iteration is the time from its due time until it starts running.
+ * All methods are thread-safe.
+ *
+ * @since api-1.8
+ */
+public final class CefMessagePumpScheduler {
+    private static final long DEFAULT_MAX_DELAY_MS =
+            Long.getLong("jcef.messagePump.maxDelayMs", 1000 / 30);
+
+    private final Executor executor_;
+    private final Runnable work_;
+    private final ScheduledThreadPoolExecutor timer_;
+    private ScheduledFuture<?> timeout_;
+    private long maxDelayNanos_ = TimeUnit.MILLISECONDS.toNanos(DEFAULT_MAX_DELAY_MS);
+    private long dueNanos_;
+    private boolean posted_;
+    private boolean stopped_;
+
+    private long requestCount_;
+    private long workCount_;
+    private long lastLatencyNanos_;
+    private long maxLatencyNanos_;
+    private long totalLatencyNanos_;
+    private long totalWorkNanos_;
+
+    /**
+     * @param executor Runs the work on the thread that initialized CEF.
+     * @param work Performs a single message loop iteration.
+     */
+    CefMessagePumpScheduler(Executor executor, Runnable work) {
+        executor_ = executor;
+        work_ = work;
+        timer_ = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "CefMessagePumpScheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer_.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Sets the maximum time between two iterations, also when CEF requests a longer delay.
+     * 0 disables the limit, iterations then only run when CEF requests them.
+     */
+    public synchronized void setMaxDelay(long maxDelay, TimeUnit unit) {
+        if (maxDelay < 0) throw new IllegalArgumentException("Negative maxDelay");
+        maxDelayNanos_ = unit.toNanos(maxDelay);
+    }
+
+    public synchronized long getMaxDelay(TimeUnit unit) {
+        return unit.convert(maxDelayNanos_, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns the number of work requests received from CEF.
+     */
+    public synchronized long getRequestCount() {
+        return requestCount_;
+    }
+
+    /**
+     * Returns the number of message loop iterations that ran.
+     */
+    public synchronized long getWorkCount() {
+        return workCount_;
+    }
+
+    /**
+     * Returns the pump latency of the last iteration.
+     */
+    public synchronized long getLastLatencyNanos() {
+        return lastLatencyNanos_;
+    }
+
+    public synchronized long getMaxLatencyNanos() {
+        return maxLatencyNanos_;
+    }
+
+    public synchronized long getAverageLatencyNanos() {
+        return workCount_ == 0 ? 0 : totalLatencyNanos_ / workCount_;
+    }
+
+    /**
+     * Returns the average time an iteration took.
+     */
+    public synchronized long getAverageWorkNanos() {
+        return workCount_ == 0 ? 0 : totalWorkNanos_ / workCount_;
+    }
+
+    public synchronized void resetCounters() {
+        requestCount_ = 0;
+        workCount_ = 0;
+        lastLatencyNanos_ = 0;
+        maxLatencyNanos_ = 0;
+        totalLatencyNanos_ = 0;
+        totalWorkNanos_ = 0;
+    }
+
+    /**
+     * Schedules an iteration in |delayMs| milliseconds, or immediately if it is not positive.
+     */
+    synchronized void schedule(long delayMs) {
+        requestCount_++;
+        scheduleNanos(TimeUnit.MILLISECONDS.toNanos(Math.max(0, delayMs)));
+    }
+
+    /**
+     * Cancels the pending iteration and stops the timer thread.
+     */
+    synchronized void stop() {
+        stopped_ = true;
+        if (timeout_ != null) timeout_.cancel(false);
+        timeout_ = null;
+        timer_.shutdown();
+    }
+
+    private void scheduleNanos(long delayNanos) {
+        if (stopped_) return;
+        if (maxDelayNanos_ > 0) delayNanos = Math.min(delayNanos, maxDelayNanos_);
+        if (timeout_ != null) {
+            timeout_.cancel(false);
+            timeout_ = null;
+        }
+        dueNanos_ = System.nanoTime() + delayNanos;
+        if (delayNanos == 0)
+            post();
+        else
+            timeout_ = timer_.schedule(this::onTimeout, delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private synchronized void onTimeout() {
+        timeout_ = null;
+        post();
+    }
+
+    private void post() {
+        // A posted iteration that didn't run yet serves this request too.
+        if (posted_ || stopped_) return;
+        posted_ = true;
+        executor_.execute(this::run);
+    }
+
+    private void run() {
+        long start = System.nanoTime();
+        synchronized (this) {
+            posted_ = false;
+            if (stopped_) return;
+            lastLatencyNanos_ = Math.max(0, start - dueNanos_);
+        }
+
+        work_.run();
+
+        long end = System.nanoTime();
+        synchronized (this) {
+            workCount_++;
+            maxLatencyNanos_ = Math.max(maxLatencyNanos_, lastLatencyNanos_);
+            totalLatencyNanos_ += lastLatencyNanos_;
+            totalWorkNanos_ += end - start;
+            // Schedule more work later unless CEF requested some while this iteration ran.
+            if (timeout_ == null && !posted_ && maxDelayNanos_ > 0) scheduleNanos(maxDelayNanos_);
+        }
+    }
+}
@@ -33,6 +33,8 @@ public class CefBrowserFactory {
             return new CefBrowserWr(client, url, context);
         } else if (rendering == CefRendering.OFFSCREEN) {
             return new CefBrowserOsr(client, url, isTransparent, context);
+        } else if (rendering == CefRendering.OFFSCREEN_SOFTWARE) {
+            return new CefBrowserOsrSoftware(client, url, isTransparent, context);
         } else if (rendering instanceof CefRendering.CefRenderingWithHandler) {
             CefRendering.CefRenderingWithHandler renderingWithHandler = (CefRendering.CefRenderingWithHandler) rendering;
             return new CefBrowserOsrWithHandler(client, url, context, renderingWithHandler.getRenderHandler());
@@ -4,7 +4,6 @@
 
 package org.cef.browser;
 
-import com.jetbrains.cef.JCefAppConfig;
 import com.jogamp.nativewindow.NativeSurface;
 import com.jogamp.opengl.GL;
 import com.jogamp.opengl.GL2;
@@ -18,36 +17,13 @@ import com.jogamp.opengl.util.GLBuffers;
 
 import org.cef.CefClient;
 import org.cef.OS;
-import org.cef.callback.CefDragData;
-import org.cef.handler.CefRenderHandler;
-import org.cef.handler.CefScreenInfo;
 
 import java.awt.Component;
-import java.awt.Cursor;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.GraphicsConfiguration;
 import java.awt.Point;
 import java.awt.Rectangle;
-import java.awt.datatransfer.StringSelection;
-import java.awt.dnd.DnDConstants;
-import java.awt.dnd.DragGestureEvent;
-import java.awt.dnd.DragGestureRecognizer;
-import java.awt.dnd.DragSource;
-import java.awt.dnd.DragSourceAdapter;
-import java.awt.dnd.DragSourceDropEvent;
-import java.awt.dnd.DropTarget;
-import java.awt.event.FocusEvent;
-import java.awt.event.FocusListener;
-import java.awt.event.KeyEvent;
-import java.awt.event.KeyListener;
-import java.awt.event.MouseEvent;
-import java.awt.event.MouseListener;
-import java.awt.event.MouseMotionListener;
-import java.awt.event.MouseWheelEvent;
-import java.awt.event.MouseWheelListener;
-import java.awt.geom.AffineTransform;
-import java.awt.image.AffineTransformOp;
 import java.awt.image.BufferedImage;
 import java.lang.ClassNotFoundException;
 import java.lang.IllegalAccessException;
@@ -57,15 +33,13 @@ import java.lang.SecurityException;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.nio.ByteBuffer;
-import java.util.ArrayList;
-import java.util.Arrays;
+import java.nio.IntBuffer;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
-import javax.swing.MenuSelectionManager;
 import javax.swing.SwingUtilities;
 
 /**
@@ -73,17 +47,11 @@ import javax.swing.SwingUtilities;
  * The visibility of this class is "package". To create a new
  * CefBrowser instance, please use CefBrowserFactory.
  */
-class CefBrowserOsr extends CefBrowser_N implements CefRenderHandler {
+class CefBrowserOsr extends CefBrowserOsrBase {
     private CefRenderer renderer_;
     private GLCanvas canvas_;
     private long window_handle_ = 0;
-    private boolean justCreated_ = false;
-    private Rectangle browser_rect_ = new Rectangle(0, 0, 1, 1); // Work around CEF issue #1437.
-    private Point screenPoint_ = new Point(0, 0);
-    private double scaleFactor_ = 1.0;
-    private int depth = 32;
-    private int depth_per_component = 8;
-    private boolean isTransparent_;
+    private final CefFrameSnapshot snapshot_ = new CefFrameSnapshot();
 
     CefBrowserOsr(CefClient client, String url, boolean transparent, CefRequestContext context) {
         this(client, url, transparent, context, null, null);
@@ -91,34 +59,31 @@ class CefBrowserOsr extends CefBrowser_N implements CefRenderHandler {
 
     private CefBrowserOsr(CefClient client, String url, boolean transparent,
             CefRequestContext context, CefBrowserOsr parent, Point inspectAt) {
-        super(client, url, context, parent, inspectAt);
-        isTransparent_ = transparent;
+        super(client, url, transparent, context, parent, inspectAt);
         renderer_ = new CefRenderer(transparent);
         createGLCanvas();
     }
 
     @Override
-    public void createImmediately() {
-        justCreated_ = true;
-        // Create the browser immediately.
-        createBrowserIfRequired(false);
+    public Component getUIComponent() {
+        return canvas_;
     }
 
     @Override
-    public Component getUIComponent() {
-        return canvas_;
+    protected CefBrowser createDevToolsBrowser(CefClient client, String url,
+            CefRequestContext context, CefBrowser parent, Point inspectAt) {
+        return new CefBrowserOsr(
+                client, url, isTransparent(), context, this, inspectAt);
     }
 
     @Override
-    public CefRenderHandler getRenderHandler() {
-        return this;
+    public CefUploadStats getUploadStats() {
+        return renderer_.getUploadStats();
     }
 
     @Override
-    protected CefBrowser createDevToolsBrowser(CefClient client, String url,
-            CefRequestContext context, CefBrowser parent, Point inspectAt) {
-        return new CefBrowserOsr(
-                client, url, isTransparent_, context, this, inspectAt);
+    protected long getParentWindowHandle() {
+        return getWindowHandle();
     }
 
     private synchronized long getWindowHandle() {
@@ -147,8 +112,7 @@ class CefBrowserOsr extends CefBrowser_N implements CefRenderHandler {
                 createBrowserIfRequired(true);
                 if (g instanceof Graphics2D) {
                     GraphicsConfiguration config = ((Graphics2D) g).getDeviceConfiguration();
-                    depth = config.getColorModel().getPixelSize();
-                    depth_per_component = config.getColorModel().getComponentSize()[0];
+                    double scaleFactor;
 
                     if (OS.isMacintosh()
                             && System.getProperty("java.runtime.version").startsWith("1.8")) {
@@ -174,18 +138,19 @@ class CefBrowserOsr extends CefBrowser_N implements CefRenderHandler {
                             }
                             Object factor = scaleFactorAccessor.invoke(config.getDevice());
                             if (factor instanceof Integer) {
-                                scaleFactor_ = ((Integer) factor).doubleValue();
+                                scaleFactor = ((Integer) factor).doubleValue();
                             } else {
-                                scaleFactor_ = 1.0;
+                                scaleFactor = 1.0;
                             }
                         } catch (InvocationTargetException | IllegalAccessException
                                 | IllegalArgumentException | NoSuchMethodException
                                 | SecurityException | ClassNotFoundException exc) {
-                            scaleFactor_ = 1.0;
+                            scaleFactor = 1.0;
                         }
                     } else {
-                        scaleFactor_ = ((Graphics2D) g).getTransform().getScaleX();
+                        scaleFactor = ((Graphics2D) g).getTransform().getScaleX();
                     }
+                    updateScreenInfo(config, scaleFactor);
                 }
                 super.paint(g);
             }
@@ -217,8 +182,8 @@ class CefBrowserOsr extends CefBrowser_N implements CefRenderHandler {
             @Override
             public void reshape(
                     GLAutoDrawable glautodrawable, int x, int y, int width, int height) {
-                browser_rect_.setBounds(canvas_.getBounds()/*x, y, width, height*/); // [tav] todo: revise it
-                screenPoint_ = canvas_.getLocationOnScreen();
+                updateViewRect(canvas_.getBounds()/*x, y, width, height*/, // [tav] todo: revise it
+                        canvas_.getLocationOnScreen());
                 wasResized(width, height);
             }
 
@@ -238,103 +203,7 @@ class CefBrowserOsr extends CefBrowser_N implements CefRenderHandler {
             }
         });
 
-        canvas_.addMouseListener(new MouseListener() {
-            @Override
-            public void mousePressed(MouseEvent e) {
-                sendMouseEvent(e);
-            }
-
-            @Override
-            public void mouseReleased(MouseEvent e) {
-                sendMouseEvent(e);
-            }
-
-            @Override
-            public void mouseEntered(MouseEvent e) {
-                sendMouseEvent(e);
-            }
-
-            @Override
-            public void mouseExited(MouseEvent e) {
-                sendMouseEvent(e);
-            }
-
-            @Override
-            public void mouseClicked(MouseEvent e) {
-                sendMouseEvent(e);
-            }
-        });
-
-        canvas_.addMouseMotionListener(new MouseMotionListener() {
-            @Override
-            public void mouseMoved(MouseEvent e) {
-                sendMouseEvent(e);
-            }
-
-            @Override
-            public void mouseDragged(MouseEvent e) {
-                sendMouseEvent(e);
-            }
-        });
-
-        canvas_.addMouseWheelListener(new MouseWheelListener() {
-            @Override
-            public void mouseWheelMoved(MouseWheelEvent e) {
-                sendMouseWheelEvent(e);
-            }
-        });
-
-        canvas_.addKeyListener(new KeyListener() {
-            @Override
-            public void keyTyped(KeyEvent e) {
-                sendKeyEvent(e);
-            }
-
-            @Override
-            public void keyPressed(KeyEvent e) {
-                sendKeyEvent(e);
-            }
-
-            @Override
-            public void keyReleased(KeyEvent e) {
-                sendKeyEvent(e);
-            }
-        });
-
-        canvas_.setFocusable(true);
-        canvas_.addFocusListener(new FocusListener() {
-            @Override
-            public void focusLost(FocusEvent e) {
-                setFocus(false);
-            }
-
-            @Override
-            public void focusGained(FocusEvent e) {
-                // Dismiss any Java menus that are currently displayed.
-                MenuSelectionManager.defaultManager().clearSelectedPath();
-                setFocus(true);
-            }
-        });
-
-        // Connect the Canvas with a drag and drop listener.
-        new DropTarget(canvas_, new CefDropTargetListener(this));
-    }
-
-    @Override
-    public Rectangle getViewRect(CefBrowser browser) {
-        return browser_rect_;
-    }
-
-    @Override
-    public Point getScreenPoint(CefBrowser browser, Point viewPoint) {
-        Point screenPoint = new Point(screenPoint_);
-        screenPoint.translate(viewPoint.x, viewPoint.y);
-        return screenPoint;
-    }
-
-    @Override
-    public double getDeviceScaleFactor(CefBrowser browser) {
-        return JCefAppConfig.getDeviceScaleFactor(browser.getUIComponent());
+        connectComponent(canvas_, () -> canvas_.display());
     }
 
     @Override
@@ -353,6 +222,8 @@ class CefBrowserOsr extends CefBrowser_N implements CefRenderHandler {
     @Override
     public void onPaint(CefBrowser browser, boolean popup, Rectangle[] dirtyRects,
             ByteBuffer buffer, int width, int height) {
+        if (!popup) snapshot_.onPaint(buffer, width, height, dirtyRects);
+
         // if window is closing, canvas_ or opengl context could be null
         final GLContext context = canvas_ != null ? canvas_.getContext() : null;
 
@@ -367,103 +238,31 @@ class CefBrowserOsr extends CefBrowser_N implements CefRenderHandler {
 
         renderer_.onPaint(canvas_.getGL().getGL2(), popup, dirtyRects, buffer, width, height);
         context.release();
-        SwingUtilities.invokeLater(new Runnable() {
-            public void run() {
-                canvas_.display();
-            }
-        });
-    }
-
-    @Override
-    public boolean onCursorChange(CefBrowser browser, final int cursorType) {
-        SwingUtilities.invokeLater(new Runnable() {
-            public void run() {
-                canvas_.setCursor(new Cursor(cursorType));
-            }
-        });
-
-        // OSR always handles the cursor change.
-        return true;
+        frameReady();
     }
 
-    private static final class SyntheticDragGestureRecognizer extends DragGestureRecognizer {
-        public SyntheticDragGestureRecognizer(Component c, int action, MouseEvent triggerEvent) {
-            super(new DragSource(), c, action);
-            appendEvent(triggerEvent);
-        }
-
-        protected void registerListeners() {}
-
-        protected void unregisterListeners() {}
-    };
-
     @Override
-    public boolean startDragging(CefBrowser browser, CefDragData dragData, int mask, int x, int y) {
-        int action = (mask & CefDragData.DragOperations.DRAG_OPERATION_MOVE) == 0
-                ? DnDConstants.ACTION_COPY
-                : DnDConstants.ACTION_MOVE;
-        MouseEvent triggerEvent =
-                new MouseEvent(canvas_, MouseEvent.MOUSE_DRAGGED, 0, 0, x, y, 0, false);
-        DragGestureEvent ev = new DragGestureEvent(
-                new SyntheticDragGestureRecognizer(canvas_, action, triggerEvent), action,
-                new Point(x, y), new ArrayList<>(Arrays.asList(triggerEvent)));
-
-        DragSource.getDefaultDragSource().startDrag(ev, /*dragCursor=*/null,
-                new StringSelection(dragData.getFragmentText()), new DragSourceAdapter() {
-                    @Override
-                    public void dragDropEnd(DragSourceDropEvent dsde) {
-                        dragSourceEndedAt(dsde.getLocation(), mask);
-                        dragSourceSystemDragEnded();
-                    }
-                });
-        return true;
+    public CompletableFuture<BufferedImage> createScreenshot(boolean nativeResolution) {
+        // Scale to the logical size, which is larger than the native one for factors below 1.
+        return screenshot(null, nativeResolution ? 1.0 : 1.0 / getScaleFactor());
     }
 
     @Override
-    public void updateDragCursor(CefBrowser browser, int operation) {
-        // TODO: Consider calling onCursorChange() if we want different cursors based on
-        // |operation|.
+    public CompletableFuture<BufferedImage> createScreenshot(Rectangle region, double scale) {
+        CefFrameSnapshot.checkScale(scale);
+        return screenshot(region, scale);
     }
 
-    private void createBrowserIfRequired(boolean hasParent) {
-        long windowHandle = 0;
-        if (hasParent) {
-            windowHandle = getWindowHandle();
-        }
+    private CompletableFuture<BufferedImage> screenshot(Rectangle region, double scale) {
+        BufferedImage snapshot = snapshot_.capture(region, scale);
+        if (snapshot != null) return CompletableFuture.completedFuture(snapshot);
 
-        if (getNativeRef("CefBrowser") == 0) {
-            if (getParentBrowser() != null) {
-                createDevTools(getParentBrowser(), getClient(), windowHandle, true, isTransparent_,
-                        null, getInspectAt());
-            } else {
-                createBrowser(getClient(), windowHandle, getUrl(), true, isTransparent_, null,
-                        getRequestContext());
-            }
-        } else if (hasParent && justCreated_) {
-            notifyAfterParentChanged();
-            setFocus(true);
-            justCreated_ = false;
-        }
-    }
-
-    private void notifyAfterParentChanged() {
-        // With OSR there is no native window to reparent but we still need to send the
-        // notification.
-        getClient().onAfterParentChanged(this);
-    }
+        // The copy of the view has just been enabled or isn't complete yet. Repaint the whole
+        // view so that later screenshots can use it and read this one back from OpenGL.
+        invalidate();
 
-    @Override
-    public boolean getScreenInfo(CefBrowser browser, CefScreenInfo screenInfo) {
-        screenInfo.Set(scaleFactor_, depth, depth_per_component, false, browser_rect_.getBounds(),
-                browser_rect_.getBounds());
-
-        return true;
-    }
-
-    @Override
-    public CompletableFuture<BufferedImage> createScreenshot(boolean nativeResolution) {
-        int width = (int) Math.ceil(canvas_.getWidth() * scaleFactor_);
-        int height = (int) Math.ceil(canvas_.getHeight() * scaleFactor_);
+        int width = (int) Math.ceil(canvas_.getWidth() * getScaleFactor());
+        int height = (int) Math.ceil(canvas_.getHeight() * getScaleFactor());
 
         // In order to grab a screenshot of the browser window, we need to get the OpenGL internals
         // from the GLCanvas that displays the browser.
@@ -484,63 +283,45 @@ class CefBrowserOsr extends CefBrowser_N implements CefRenderHandler {
         final Callable<BufferedImage> pixelGrabberCallable = new Callable<BufferedImage>() {
             @Override
             public BufferedImage call() {
-                BufferedImage screenshot =
-                        new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
                 ByteBuffer buffer = GLBuffers.newDirectByteBuffer(width * height * 4);
 
+                // Read the pixels as BGRA bytes in reverse order, which are ARGB ints in the
+                // native byte order of |buffer| that can be copied into the image in bulk.
                 gl.getContext().makeCurrent();
                 try {
                     if (useReadPixels) {
                         // If pixels are copied directly to the framebuffer, we also directly read
                         // them back.
-                        gl.glReadPixels(
-                                0, 0, width, height, GL.GL_RGBA, GL.GL_UNSIGNED_BYTE, buffer);
+                        gl.glReadPixels(0, 0, width, height, GL.GL_BGRA,
+                                GL2.GL_UNSIGNED_INT_8_8_8_8_REV, buffer);
                     } else {
                         // In this case, read the texture pixel data from the previously-retrieved
                         // texture ID
                         gl.glEnable(GL.GL_TEXTURE_2D);
                         gl.glBindTexture(GL.GL_TEXTURE_2D, textureId);
-                        gl.glGetTexImage(
-                                GL.GL_TEXTURE_2D, 0, GL.GL_RGBA, GL.GL_UNSIGNED_BYTE, buffer);
+                        gl.glGetTexImage(GL.GL_TEXTURE_2D, 0, GL.GL_BGRA,
+                                GL2.GL_UNSIGNED_INT_8_8_8_8_REV, buffer);
                         gl.glDisable(GL.GL_TEXTURE_2D);
                     }
                 } finally {
                     gl.getContext().release();
                 }
 
-                for (int y = 0; y < height; y++) {
-                    for (int x = 0; x < width; x++) {
-                        // The OpenGL functions only support RGBA, while Java BufferedImage uses
-                        // ARGB. We must convert.
-                        int r = (buffer.get() & 0xff);
-                        int g = (buffer.get() & 0xff);
-                        int b = (buffer.get() & 0xff);
-                        int a = (buffer.get() & 0xff);
-                        int argb = (a << 24) | (r << 16) | (g << 8) | (b << 0);
-                        // If pixels were read from the framebuffer, we have to flip the resulting
-                        // image on the Y axis, as the OpenGL framebuffer's y axis starts at the
-                        // bottom of the image pointing "upwards", while BufferedImage has the
-                        // origin in the upper left corner. This flipping is done when drawing into
-                        // the BufferedImage.
-                        screenshot.setRGB(x, useReadPixels ? (height - y - 1) : y, argb);
+                IntBuffer source = buffer.asIntBuffer();
+                int[] pixels = new int[width * height];
+                if (useReadPixels) {
+                    // The OpenGL framebuffer's y axis starts at the bottom of the image pointing
+                    // "upwards", while BufferedImage has the origin in the upper left corner, so
+                    // the rows are copied in reverse order.
+                    for (int y = 0; y < height; y++) {
+                        source.position((height - y - 1) * width);
+                        source.get(pixels, y * width, width);
                     }
-                }
-
-                if (!nativeResolution && scaleFactor_ != 1.0) {
-                    // HiDPI images should be resized down to "normal" levels
-                    BufferedImage resized =
-                            new BufferedImage((int) (screenshot.getWidth() / scaleFactor_),
-                                    (int) (screenshot.getHeight() / scaleFactor_),
-                                    BufferedImage.TYPE_INT_ARGB);
-                    AffineTransform tempTransform = new AffineTransform();
-                    tempTransform.scale(1.0 / scaleFactor_, 1.0 / scaleFactor_);
-                    AffineTransformOp tempScaleOperation =
-                            new AffineTransformOp(tempTransform, AffineTransformOp.TYPE_BILINEAR);
-                    resized = tempScaleOperation.filter(screenshot, resized);
-                    return resized;
                 } else {
-                    return screenshot;
+                    source.get(pixels);
                 }
+                return CefFrameSnapshot.scale(
+                        CefFrameSnapshot.crop(pixels, width, height, region), scale);
             }
         };
 
@@ -0,0 +1,327 @@
+package org.cef.browser;
+
+import com.jetbrains.cef.JCefAppConfig;
+
+import org.cef.CefClient;
+import org.cef.callback.CefDragData;
+import org.cef.handler.CefRenderHandler;
+import org.cef.handler.CefScreenInfo;
+
+import java.awt.Component;
+import java.awt.Cursor;
+import java.awt.GraphicsConfiguration;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.datatransfer.StringSelection;
+import java.awt.dnd.DnDConstants;
+import java.awt.dnd.DragGestureEvent;
+import java.awt.dnd.DragGestureRecognizer;
+import java.awt.dnd.DragSource;
+import java.awt.dnd.DragSourceAdapter;
+import java.awt.dnd.DragSourceDropEvent;
+import java.awt.dnd.DropTarget;
+import java.awt.event.FocusEvent;
+import java.awt.event.FocusListener;
+import java.awt.event.KeyEvent;
+import java.awt.event.KeyListener;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseListener;
+import java.awt.event.MouseMotionListener;
+import java.awt.event.MouseWheelEvent;
+import java.awt.event.MouseWheelListener;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import javax.swing.MenuSelectionManager;
+import javax.swing.SwingUtilities;
+
+/**
+ * Base class of the off-screen rendered browsers. It implements the parts of
+ * {@link CefRenderHandler} that don't depend on how the view is painted: view and screen
+ * geometry, cursors and dragging, and the creation of the browser on first paint. It also
+ * connects the input, focus and drop events of the UI component.
+ * The visibility of this class is "package".
+ *
+ * @since api-1.8
+ */
+abstract class CefBrowserOsrBase extends CefBrowser_N
+        implements CefOsrBrowser, CefRenderHandler {
+    private final boolean isTransparent_;
+    private final CefInputEventQueue inputQueue_ = new CefInputEventQueue(this);
+    private CefFrameScheduler frameScheduler_;
+    private boolean justCreated_ = false;
+    private Rectangle browser_rect_ = new Rectangle(0, 0, 1, 1); // Work around CEF issue #1437.
+    private Point screenPoint_ = new Point(0, 0);
+    private double scaleFactor_ = 1.0;
+    private int depth = 32;
+    private int depth_per_component = 8;
+
+    protected CefBrowserOsrBase(CefClient client, String url, boolean transparent,
+            CefRequestContext context, CefBrowserOsrBase parent, Point inspectAt) {
+        super(client, url, context, parent, inspectAt);
+        isTransparent_ = transparent;
+    }
+
+    /**
+     * Returns the native handle of the window that hosts the UI component, or 0.
+     */
+    protected abstract long getParentWindowHandle();
+
+    @Override
+    public void createImmediately() {
+        justCreated_ = true;
+        // Create the browser immediately.
+        createBrowserIfRequired(false);
+    }
+
+    @Override
+    public CefRenderHandler getRenderHandler() {
+        return this;
+    }
+
+    @Override
+    public CefInputEventQueue getInputEventQueue() {
+        return inputQueue_;
+    }
+
+    @Override
+    public CefFrameScheduler getFrameScheduler() {
+        return frameScheduler_;
+    }
+
+    @Override
+    public CefUploadStats getUploadStats() {
+        return null;
+    }
+
+    protected boolean isTransparent() {
+        return isTransparent_;
+    }
+
+    protected double getScaleFactor() {
+        return scaleFactor_;
+    }
+
+    /**
+     * Connects the input, focus and drop events of |component| with the browser and creates
+     * the frame scheduler that calls |display| to show a frame.
+     */
+    protected void connectComponent(Component component, Runnable display) {
+        component.addMouseListener(new MouseListener() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                inputQueue_.post(e);
+            }
+
+            @Override
+            public void mouseReleased(MouseEvent e) {
+                inputQueue_.post(e);
+            }
+
+            @Override
+            public void mouseEntered(MouseEvent e) {
+                inputQueue_.post(e);
+            }
+
+            @Override
+            public void mouseExited(MouseEvent e) {
+                inputQueue_.post(e);
+            }
+
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                inputQueue_.post(e);
+            }
+        });
+
+        component.addMouseMotionListener(new MouseMotionListener() {
+            @Override
+            public void mouseMoved(MouseEvent e) {
+                inputQueue_.post(e);
+            }
+
+            @Override
+            public void mouseDragged(MouseEvent e) {
+                inputQueue_.post(e);
+            }
+        });
+
+        component.addMouseWheelListener(new MouseWheelListener() {
+            @Override
+            public void mouseWheelMoved(MouseWheelEvent e) {
+                inputQueue_.post(e);
+            }
+        });
+
+        component.addKeyListener(new KeyListener() {
+            @Override
+            public void keyTyped(KeyEvent e) {
+                inputQueue_.post(e);
+            }
+
+            @Override
+            public void keyPressed(KeyEvent e) {
+                inputQueue_.post(e);
+            }
+
+            @Override
+            public void keyReleased(KeyEvent e) {
+                inputQueue_.post(e);
+            }
+        });
+
+        component.setFocusable(true);
+        component.addFocusListener(new FocusListener() {
+            @Override
+            public void focusLost(FocusEvent e) {
+                setFocus(false);
+            }
+
+            @Override
+            public void focusGained(FocusEvent e) {
+                // Dismiss any Java menus that are currently displayed.
+                MenuSelectionManager.defaultManager().clearSelectedPath();
+                setFocus(true);
+            }
+        });
+
+        frameScheduler_ = new CefFrameScheduler(component, display);
+
+        // Connect the component with a drag and drop listener.
+        new DropTarget(component, new CefDropTargetListener(this));
+    }
+
+    /**
+     * Updates the values reported by {@link #getScreenInfo} from the configuration the
+     * component is painted with.
+     */
+    protected void updateScreenInfo(GraphicsConfiguration config, double scaleFactor) {
+        depth = config.getColorModel().getPixelSize();
+        depth_per_component = config.getColorModel().getComponentSize()[0];
+        scaleFactor_ = scaleFactor;
+    }
+
+    /**
+     * Updates the view rectangle and, if |screenPoint| isn't null, its location on screen.
+     */
+    protected void updateViewRect(Rectangle bounds, Point screenPoint) {
+        browser_rect_.setBounds(bounds);
+        if (screenPoint != null) screenPoint_ = screenPoint;
+    }
+
+    /**
+     * Delivers the coalesced input and lets the frame scheduler display the frame. Called at
+     * the end of each paint.
+     */
+    protected void frameReady() {
+        // Deliver coalesced input once per frame.
+        inputQueue_.flush();
+        frameScheduler_.frameReady();
+    }
+
+    @Override
+    public Rectangle getViewRect(CefBrowser browser) {
+        return browser_rect_;
+    }
+
+    @Override
+    public Point getScreenPoint(CefBrowser browser, Point viewPoint) {
+        Point screenPoint = new Point(screenPoint_);
+        screenPoint.translate(viewPoint.x, viewPoint.y);
+        return screenPoint;
+    }
+
+    @Override
+    public double getDeviceScaleFactor(CefBrowser browser) {
+        return JCefAppConfig.getDeviceScaleFactor(browser.getUIComponent());
+    }
+
+    @Override
+    public boolean onCursorChange(CefBrowser browser, final int cursorType) {
+        SwingUtilities.invokeLater(new Runnable() {
+            public void run() {
+                getUIComponent().setCursor(new Cursor(cursorType));
+            }
+        });
+
+        // OSR always handles the cursor change.
+        return true;
+    }
+
+    private static final class SyntheticDragGestureRecognizer extends DragGestureRecognizer {
+        private static final long serialVersionUID = 2905016432818418413L;
+
+        public SyntheticDragGestureRecognizer(Component c, int action, MouseEvent triggerEvent) {
+            super(new DragSource(), c, action);
+            appendEvent(triggerEvent);
+        }
+
+        protected void registerListeners() {}
+
+        protected void unregisterListeners() {}
+    };
+
+    @Override
+    public boolean startDragging(CefBrowser browser, CefDragData dragData, int mask, int x, int y) {
+        Component component = getUIComponent();
+        int action = (mask & CefDragData.DragOperations.DRAG_OPERATION_MOVE) == 0
+                ? DnDConstants.ACTION_COPY
+                : DnDConstants.ACTION_MOVE;
+        MouseEvent triggerEvent =
+                new MouseEvent(component, MouseEvent.MOUSE_DRAGGED, 0, 0, x, y, 0, false);
+        DragGestureEvent ev = new DragGestureEvent(
+                new SyntheticDragGestureRecognizer(component, action, triggerEvent), action,
+                new Point(x, y), new ArrayList<>(Arrays.asList(triggerEvent)));
+
+        DragSource.getDefaultDragSource().startDrag(ev, /*dragCursor=*/null,
+                new StringSelection(dragData.getFragmentText()), new DragSourceAdapter() {
+                    @Override
+                    public void dragDropEnd(DragSourceDropEvent dsde) {
+                        dragSourceEndedAt(dsde.getLocation(), mask);
+                        dragSourceSystemDragEnded();
+                    }
+                });
+        return true;
+    }
+
+    @Override
+    public void updateDragCursor(CefBrowser browser, int operation) {
+        // TODO: Consider calling onCursorChange() if we want different cursors based on
+        // |operation|.
+    }
+
+    protected void createBrowserIfRequired(boolean hasParent) {
+        long windowHandle = 0;
+        if (hasParent) {
+            windowHandle = getParentWindowHandle();
+        }
+
+        if (getNativeRef("CefBrowser") == 0) {
+            if (getParentBrowser() != null) {
+                createDevTools(getParentBrowser(), getClient(), windowHandle, true, isTransparent_,
+                        null, getInspectAt());
+            } else {
+                createBrowser(getClient(), windowHandle, getUrl(), true, isTransparent_, null,
+                        getRequestContext());
+            }
+        } else if (hasParent && justCreated_) {
+            notifyAfterParentChanged();
+            setFocus(true);
+            justCreated_ = false;
+        }
+    }
+
+    protected void notifyAfterParentChanged() {
+        // With OSR there is no native window to reparent but we still need to send the
+        // notification.
+        getClient().onAfterParentChanged(this);
+    }
+
+    @Override
+    public boolean getScreenInfo(CefBrowser browser, CefScreenInfo screenInfo) {
+        screenInfo.Set(scaleFactor_, depth, depth_per_component, false, browser_rect_.getBounds(),
+                browser_rect_.getBounds());
+
+        return true;
+    }
+}
@@ -0,0 +1,268 @@
+package org.cef.browser;
+
+import org.cef.CefClient;
+
+import java.awt.Component;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.concurrent.CompletableFuture;
+
+import javax.swing.JPanel;
+
+/**
+ * Off-screen rendered browser that paints with Java2D instead of OpenGL.
+ * <p>
+ * The dirty rectangles of each paint are copied with bulk int copies into a premultiplied
+ * ARGB image, which is drawn by a lightweight component. Popups are kept in an image of their
+ * own and drawn on top. Use it where only software OpenGL is available, e.g. on headless or
+ * remote Linux hosts.
+ * The visibility of this class is "package". To create a new CefBrowser instance, please use
+ * CefBrowserFactory with {@link CefRendering#OFFSCREEN_SOFTWARE}.
+ *
+ * @since api-1.8
+ */
+class CefBrowserOsrSoftware extends CefBrowserOsrBase {
+    private final Object imageLock_ = new Object();
+    private BufferedImage image_;
+    private int[] pixels_;
+    private BufferedImage popupImage_;
+    private int[] popupPixels_;
+    private Rectangle popupRect_ = new Rectangle(0, 0, 0, 0);
+    private boolean popupVisible_ = false;
+    private Rectangle dirtyRect_ = null;
+
+    private JPanel component_;
+
+    CefBrowserOsrSoftware(
+            CefClient client, String url, boolean transparent, CefRequestContext context) {
+        this(client, url, transparent, context, null, null);
+    }
+
+    private CefBrowserOsrSoftware(CefClient client, String url, boolean transparent,
+            CefRequestContext context, CefBrowserOsrSoftware parent, Point inspectAt) {
+        super(client, url, transparent, context, parent, inspectAt);
+        createComponent();
+    }
+
+    @Override
+    public Component getUIComponent() {
+        return component_;
+    }
+
+    @Override
+    protected CefBrowser createDevToolsBrowser(CefClient client, String url,
+            CefRequestContext context, CefBrowser parent, Point inspectAt) {
+        return new CefBrowserOsrSoftware(client, url, isTransparent(), context, this, inspectAt);
+    }
+
+    @Override
+    protected long getParentWindowHandle() {
+        return CefBrowserWr.getWindowHandle(component_);
+    }
+
+    @SuppressWarnings("serial")
+    private void createComponent() {
+        component_ = new JPanel(null) {
+            @Override
+            protected void paintComponent(Graphics g) {
+                createBrowserIfRequired(true);
+                if (g instanceof Graphics2D) {
+                    updateScreenInfo(((Graphics2D) g).getDeviceConfiguration(),
+                            ((Graphics2D) g).getTransform().getScaleX());
+                }
+                super.paintComponent(g);
+                drawImages(g, getWidth(), getHeight());
+            }
+        };
+        component_.setOpaque(!isTransparent());
+
+        component_.addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentResized(ComponentEvent e) {
+                updateViewRect(component_.getBounds(),
+                        component_.isShowing() ? component_.getLocationOnScreen()
+                                               : new Point(0, 0));
+                wasResized(component_.getWidth(), component_.getHeight());
+            }
+
+            @Override
+            public void componentMoved(ComponentEvent e) {
+                updateViewRect(component_.getBounds(),
+                        component_.isShowing() ? component_.getLocationOnScreen() : null);
+            }
+        });
+
+        connectComponent(component_, this::repaintDirtyRect);
+    }
+
+    // Draws the view and the popup scaled to the component size, i.e. with one image pixel per
+    // device pixel.
+    private void drawImages(Graphics g, int width, int height) {
+        synchronized (imageLock_) {
+            if (image_ == null) return;
+            g.drawImage(image_, 0, 0, width, height, null);
+            if (popupVisible_ && popupImage_ != null && popupRect_.width > 0
+                    && popupRect_.height > 0) {
+                g.drawImage(popupImage_, popupRect_.x, popupRect_.y, popupRect_.width,
+                        popupRect_.height, null);
+            }
+        }
+    }
+
+    // Repaints the region of the component that changed since the last call. Runs on the AWT
+    // event thread.
+    private void repaintDirtyRect() {
+        Rectangle dirty;
+        double scale;
+        synchronized (imageLock_) {
+            dirty = dirtyRect_;
+            dirtyRect_ = null;
+            scale = image_ == null || component_.getWidth() == 0
+                    ? 1.0
+                    : (double) image_.getWidth() / component_.getWidth();
+        }
+        if (dirty == null) return;
+
+        // Convert from image pixels to component coordinates, rounding outwards.
+        int x = (int) Math.floor(dirty.x / scale);
+        int y = (int) Math.floor(dirty.y / scale);
+        int right = (int) Math.ceil((dirty.x + dirty.width) / scale);
+        int bottom = (int) Math.ceil((dirty.y + dirty.height) / scale);
+        component_.paintImmediately(x, y, right - x, bottom - y);
+    }
+
+    @Override
+    public void onPopupShow(CefBrowser browser, boolean show) {
+        synchronized (imageLock_) {
+            popupVisible_ = show;
+            if (!show) {
+                popupImage_ = null;
+                popupPixels_ = null;
+                popupRect_ = new Rectangle(0, 0, 0, 0);
+            }
+        }
+        if (!show) component_.repaint();
+    }
+
+    @Override
+    public void onPopupSize(CefBrowser browser, Rectangle size) {
+        if (size.width <= 0 || size.height <= 0) return;
+        synchronized (imageLock_) {
+            // Keep the popup inside the view.
+            Rectangle rect = new Rectangle(size);
+            Rectangle view = getViewRect(browser);
+            rect.x = Math.max(0, Math.min(rect.x, view.width - rect.width));
+            rect.y = Math.max(0, Math.min(rect.y, view.height - rect.height));
+            popupRect_ = rect;
+        }
+    }
+
+    @Override
+    public void onPaint(CefBrowser browser, boolean popup, Rectangle[] dirtyRects,
+            ByteBuffer buffer, int width, int height) {
+        if (width <= 0 || height <= 0) return;
+
+        IntBuffer source = CefFrameSnapshot.asIntBuffer(buffer);
+        synchronized (imageLock_) {
+            if (popup) {
+                if (popupImage_ == null || popupImage_.getWidth() != width
+                        || popupImage_.getHeight() != height) {
+                    popupImage_ = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+                    popupPixels_ = ((DataBufferInt) popupImage_.getRaster().getDataBuffer())
+                                           .getData();
+                }
+                // Popups are small, copy them as a whole.
+                source.position(0);
+                source.get(popupPixels_, 0, width * height);
+                addDirtyRect(popupRect_, width / (double) Math.max(1, popupRect_.width));
+            } else {
+                if (image_ == null || image_.getWidth() != width
+                        || image_.getHeight() != height) {
+                    image_ = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+                    pixels_ = ((DataBufferInt) image_.getRaster().getDataBuffer()).getData();
+                    dirtyRects = new Rectangle[] {new Rectangle(0, 0, width, height)};
+                }
+                for (Rectangle rect : dirtyRects) {
+                    CefFrameSnapshot.copyRect(source, pixels_, width, rect);
+                    addDirtyRect(rect, 1.0);
+                }
+            }
+        }
+
+        frameReady();
+    }
+
+    // Adds |rect| in view coordinates times |scale| to the region to repaint, in image pixels.
+    private void addDirtyRect(Rectangle rect, double scale) {
+        Rectangle scaled = scale == 1.0
+                ? new Rectangle(rect)
+                : new Rectangle((int) Math.floor(rect.x * scale), (int) Math.floor(rect.y * scale),
+                        (int) Math.ceil(rect.width * scale), (int) Math.ceil(rect.height * scale));
+        dirtyRect_ = dirtyRect_ == null ? scaled : dirtyRect_.union(scaled);
+    }
+
+    @Override
+    public CompletableFuture<BufferedImage> createScreenshot(boolean nativeResolution) {
+        double scale;
+        synchronized (imageLock_) {
+            scale = image_ == null || component_.getWidth() == 0
+                    ? 1.0
+                    : (double) component_.getWidth() / image_.getWidth();
+        }
+        // Scale to the logical size, which is larger than the native one for factors below 1.
+        return screenshot(null, nativeResolution ? 1.0 : scale);
+    }
+
+    @Override
+    public CompletableFuture<BufferedImage> createScreenshot(Rectangle region, double scale) {
+        CefFrameSnapshot.checkScale(scale);
+        return screenshot(region, scale);
+    }
+
+    private CompletableFuture<BufferedImage> screenshot(Rectangle region, double scale) {
+        BufferedImage screenshot;
+        synchronized (imageLock_) {
+            if (image_ == null) {
+                CompletableFuture<BufferedImage> future = new CompletableFuture<>();
+                future.completeExceptionally(new IllegalStateException("Nothing painted yet"));
+                return future;
+            }
+            int width = image_.getWidth();
+            int height = image_.getHeight();
+            if (!popupVisible_ || popupImage_ == null) {
+                screenshot = CefFrameSnapshot.crop(pixels_, width, height, region);
+            } else {
+                Rectangle rect = new Rectangle(0, 0, width, height);
+                if (region != null) rect = rect.intersection(region);
+                if (rect.isEmpty()) {
+                    throw new IllegalArgumentException(
+                            "Region " + region + " is outside of the view");
+                }
+                double deviceScale = component_.getWidth() == 0
+                        ? 1.0
+                        : (double) width / component_.getWidth();
+                screenshot = new BufferedImage(
+                        rect.width, rect.height, BufferedImage.TYPE_INT_ARGB_PRE);
+                Graphics2D g = screenshot.createGraphics();
+                try {
+                    // Draw in component coordinates like paintComponent does.
+                    g.translate(-rect.x, -rect.y);
+                    g.scale(deviceScale, deviceScale);
+                    drawImages(g, (int) Math.round(width / deviceScale),
+                            (int) Math.round(height / deviceScale));
+                } finally {
+                    g.dispose();
+                }
+            }
+        }
+        return CompletableFuture.completedFuture(CefFrameSnapshot.scale(screenshot, scale));
+    }
+}
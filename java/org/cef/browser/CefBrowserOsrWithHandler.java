@@ -1,12 +1,17 @@
 package org.cef.browser;
 
 import org.cef.CefClient;
+import org.cef.callback.CefDragData;
 import org.cef.handler.CefClientHandler;
+import org.cef.handler.CefFrameBuffer;
+import org.cef.handler.CefFrameBufferRenderHandler;
 import org.cef.handler.CefRenderHandler;
+import org.cef.handler.CefScreenInfo;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.image.BufferedImage;
+import java.nio.ByteBuffer;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -14,9 +19,11 @@ import java.util.concurrent.CompletableFuture;
  *
  * @since api-1.3
  */
-public class CefBrowserOsrWithHandler extends CefBrowser_N  {
+public class CefBrowserOsrWithHandler extends CefBrowser_N implements CefOsrBrowser {
     private final CefRenderHandler renderHandler_;
+    private final CefRenderHandler snapshotHandler_;
     private final Component component_;
+    private final CefFrameSnapshot snapshot_ = new CefFrameSnapshot();
 
     /**
      * @see #CefBrowserOsrWithHandler(CefClient, String, CefRequestContext, CefRenderHandler, Component)
@@ -46,6 +53,9 @@ public class CefBrowserOsrWithHandler extends CefBrowser_N  {
         super(client, url, context, (CefBrowser_N)parent, inspectAt);
         assert renderHandler != null : "Handler can't be null";
         this.renderHandler_ = renderHandler;
+        this.snapshotHandler_ = renderHandler instanceof CefFrameBufferRenderHandler
+                ? new SnapshotFrameBufferRenderHandler((CefFrameBufferRenderHandler) renderHandler)
+                : new SnapshotRenderHandler(renderHandler);
         this.component_ = component;
     }
 
@@ -54,6 +64,38 @@ public class CefBrowserOsrWithHandler extends CefBrowser_N  {
         return renderHandler_;
     }
 
+    /**
+     * Returns the handler the client forwards the render events of the native browser to. It
+     * forwards them to {@link #getRenderHandler()} and copies the paints for
+     * {@link #createScreenshot}. Applications shouldn't call it.
+     *
+     * @since api-1.8
+     */
+    public CefRenderHandler getNativeRenderHandler() {
+        return snapshotHandler_;
+    }
+
+    /**
+     * Returns null, the AWT input of the component isn't forwarded.
+     */
+    @Override
+    public CefInputEventQueue getInputEventQueue() {
+        return null;
+    }
+
+    /**
+     * Returns null, the render handler displays the frames.
+     */
+    @Override
+    public CefFrameScheduler getFrameScheduler() {
+        return null;
+    }
+
+    @Override
+    public CefUploadStats getUploadStats() {
+        return null;
+    }
+
     @Override
     public void createImmediately() {
         long windowHandle = component_ != null ? CefBrowserWr.getWindowHandle(component_) : 0;
@@ -77,8 +119,114 @@ public class CefBrowserOsrWithHandler extends CefBrowser_N  {
         return null;
     }
 
+    /**
+     * The first call enables copying the paints and requests a repaint of the whole view, so
+     * the returned future is resolved with the next paint. Later calls are resolved
+     * immediately. Popups are not included.
+     */
     @Override
     public CompletableFuture<BufferedImage> createScreenshot(boolean nativeResolution) {
-        throw new UnsupportedOperationException("createScreenshot is not yet supported in this class");
+        // Scale to the logical size, which is larger than the native one for factors below 1.
+        return screenshot(null, nativeResolution ? 1.0 : 1.0 / renderHandler_.getDeviceScaleFactor(this));
+    }
+
+    /**
+     * @see #createScreenshot(boolean)
+     */
+    @Override
+    public CompletableFuture<BufferedImage> createScreenshot(Rectangle region, double scale) {
+        CefFrameSnapshot.checkScale(scale);
+        return screenshot(region, scale);
+    }
+
+    private CompletableFuture<BufferedImage> screenshot(Rectangle region, double scale) {
+        CompletableFuture<BufferedImage> future = snapshot_.captureNext(region, scale);
+        if (!future.isDone()) invalidate();
+        return future;
+    }
+
+    private class SnapshotRenderHandler implements CefRenderHandler {
+        private final CefRenderHandler handler_;
+
+        SnapshotRenderHandler(CefRenderHandler handler) {
+            handler_ = handler;
+        }
+
+        @Override
+        public Rectangle getViewRect(CefBrowser browser) {
+            return handler_.getViewRect(browser);
+        }
+
+        @Override
+        public boolean getScreenInfo(CefBrowser browser, CefScreenInfo screenInfo) {
+            return handler_.getScreenInfo(browser, screenInfo);
+        }
+
+        @Override
+        public Point getScreenPoint(CefBrowser browser, Point viewPoint) {
+            return handler_.getScreenPoint(browser, viewPoint);
+        }
+
+        @Override
+        public double getDeviceScaleFactor(CefBrowser browser) {
+            return handler_.getDeviceScaleFactor(browser);
+        }
+
+        @Override
+        public void onPopupShow(CefBrowser browser, boolean show) {
+            handler_.onPopupShow(browser, show);
+        }
+
+        @Override
+        public void onPopupSize(CefBrowser browser, Rectangle size) {
+            handler_.onPopupSize(browser, size);
+        }
+
+        @Override
+        public void onPaint(CefBrowser browser, boolean popup, Rectangle[] dirtyRects,
+                ByteBuffer buffer, int width, int height) {
+            if (!popup) snapshot_.onPaint(buffer, width, height, dirtyRects);
+            handler_.onPaint(browser, popup, dirtyRects, buffer, width, height);
+        }
+
+        @Override
+        public boolean onCursorChange(CefBrowser browser, int cursorType) {
+            return handler_.onCursorChange(browser, cursorType);
+        }
+
+        @Override
+        public boolean startDragging(CefBrowser browser, CefDragData dragData, int mask, int x, int y) {
+            return handler_.startDragging(browser, dragData, mask, x, y);
+        }
+
+        @Override
+        public void updateDragCursor(CefBrowser browser, int operation) {
+            handler_.updateDragCursor(browser, operation);
+        }
+    }
+
+    private class SnapshotFrameBufferRenderHandler extends SnapshotRenderHandler implements CefFrameBufferRenderHandler {
+        private final CefFrameBufferRenderHandler handler_;
+
+        SnapshotFrameBufferRenderHandler(CefFrameBufferRenderHandler handler) {
+            super(handler);
+            handler_ = handler;
+        }
+
+        @Override
+        public CefFrameBuffer getFrameBuffer(CefBrowser browser, boolean popup, int width, int height) {
+            return handler_.getFrameBuffer(browser, popup, width, height);
+        }
+
+        @Override
+        public void onPaint(CefBrowser browser, boolean popup, CefFrameBuffer frameBuffer, int dirtyRectCount) {
+            if (!popup) {
+                synchronized (frameBuffer) {
+                    snapshot_.onPaint(frameBuffer.getBuffer(), frameBuffer.getWidth(), frameBuffer.getHeight(),
+                            frameBuffer.getDirtyRects(), dirtyRectCount);
+                }
+            }
+            handler_.onPaint(browser, popup, frameBuffer, dirtyRectCount);
+        }
     }
 }
@@ -0,0 +1,484 @@
+package org.cef.browser;
+
+import org.cef.CefApp;
+import org.cef.CefClient;
+import org.cef.callback.CefAuthCallback;
+import org.cef.callback.CefCallback;
+import org.cef.handler.CefLifeSpanHandler;
+import org.cef.handler.CefLifeSpanHandlerAdapter;
+import org.cef.handler.CefLoadHandler;
+import org.cef.handler.CefLoadHandler.ErrorCode;
+import org.cef.handler.CefLoadHandlerAdapter;
+import org.cef.handler.CefRequestHandler;
+import org.cef.handler.CefRequestHandlerAdapter;
+import org.cef.handler.CefResourceRequestHandler;
+import org.cef.misc.BoolRef;
+import org.cef.misc.CefLog;
+import org.cef.network.CefRequest;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps a number of off-screen browsers of a request context created and loaded with
+ * about:blank, so that they can be leased without waiting for the browser creation.
+ * <p>
+ * Every browser has its own {@link CefClient}. Add the handlers a job needs to
+ * {@link Lease#getClient()}, except for the request handler which the pool needs to notice
+ * terminated render processes: set it with {@link Lease#setRequestHandler} instead. When a
+ * lease is released the handlers, the resource request filter and the message routers it
+ * added are removed, loading is stopped, the zoom level is reset and about:blank is loaded.
+ * The browser becomes available again once about:blank finished loading, so that the next
+ * lease gets no page or events of the previous one. The routers aren't disposed. CEF can't
+ * clear the navigation history of a browser, use {@link #setMaxLeasesPerBrowser(int)} to
+ * replace browsers after a number of leases. Browsers whose render process terminated, that
+ * closed or that failed to load about:blank are replaced in the background.
+ * <p>
+ * All methods are thread-safe. Browsers are created by the message loop, so don't wait for a
+ * lease on the thread that runs it.
+ *
+ * @since api-1.8
+ */
+public class CefBrowserPool {
+    private static final String BLANK_URL = "about:blank";
+
+    /**
+     * A browser leased from the pool. Call {@link #release()} when the job is done.
+     */
+    public final class Lease {
+        private final Entry entry_;
+        private final long waitNanos_;
+        private boolean released_;
+
+        private Lease(Entry entry, long waitNanos) {
+            entry_ = entry;
+            waitNanos_ = waitNanos;
+        }
+
+        public CefBrowser getBrowser() {
+            return entry_.browser_;
+        }
+
+        public CefClient getClient() {
+            return entry_.client_;
+        }
+
+        /**
+         * Sets the request handler of the browser for this lease, may be null.
+         */
+        public void setRequestHandler(CefRequestHandler handler) {
+            entry_.requestHandler_.delegate_ = handler;
+        }
+
+        /**
+         * Returns how long the lease waited for an idle browser.
+         */
+        public long getWaitNanos() {
+            return waitNanos_;
+        }
+
+        /**
+         * Returns the browser to the pool. Calling it more than once has no effect.
+         */
+        public void release() {
+            synchronized (CefBrowserPool.this) {
+                if (released_) return;
+                released_ = true;
+            }
+            CefBrowserPool.this.release(entry_);
+        }
+    }
+
+    private class Entry {
+        private final CefClient client_;
+        private final ForwardingRequestHandler requestHandler_ = new ForwardingRequestHandler(this);
+        private final CefLifeSpanHandler lifeSpanHandler_ = new PoolLifeSpanHandler(this);
+        private final CefLoadHandler loadHandler_ = new ResetLoadHandler(this);
+        // The message routers of the client before the first lease.
+        private final List<CefMessageRouter> routers_;
+        private volatile CefBrowser browser_;
+        private boolean leased_;
+        // Released and waiting for about:blank to load.
+        private boolean resetting_;
+        private boolean healthy_ = true;
+        private int leaseCount_;
+
+        private Entry(CefClient client) {
+            client_ = client;
+            routers_ = client.getMessageRouters();
+        }
+    }
+
+    private final int size_;
+    private final CefRendering rendering_;
+    private final CefRequestContext context_;
+    private final List<Entry> entries_ = new ArrayList<>();
+    private final ArrayDeque<Entry> idle_ = new ArrayDeque<>();
+    private int maxLeasesPerBrowser_;
+    private boolean disposed_;
+
+    private long leaseCount_;
+    private long timeoutCount_;
+    private long totalWaitNanos_;
+    private long maxWaitNanos_;
+    private long createdCount_;
+    private long evictedCount_;
+
+    /**
+     * @param size The number of browsers to keep.
+     * @param rendering An off-screen rendering mode.
+     * @param context The request context of the browsers, or null for the global one.
+     */
+    public CefBrowserPool(int size, CefRendering rendering, CefRequestContext context) {
+        if (size < 1) throw new IllegalArgumentException("size must be positive");
+        if (rendering == CefRendering.DEFAULT)
+            throw new IllegalArgumentException("The pool only supports off-screen rendering");
+        size_ = size;
+        rendering_ = rendering;
+        context_ = context;
+        for (int i = 0; i < size; ++i) createEntry();
+    }
+
+    public int getSize() {
+        return size_;
+    }
+
+    public CefRequestContext getRequestContext() {
+        return context_;
+    }
+
+    /**
+     * Sets after how many leases a browser is replaced by a new one. 0, the default, keeps
+     * browsers as long as they are healthy, 1 gives every lease a fresh browser.
+     */
+    public synchronized void setMaxLeasesPerBrowser(int maxLeases) {
+        if (maxLeases < 0) throw new IllegalArgumentException("Negative maxLeases");
+        maxLeasesPerBrowser_ = maxLeases;
+    }
+
+    public synchronized int getMaxLeasesPerBrowser() {
+        return maxLeasesPerBrowser_;
+    }
+
+    /**
+     * Leases an idle browser, waiting up to |timeout| for one to become available.
+     * @return The lease or null if no browser became available in time.
+     */
+    public Lease lease(long timeout, TimeUnit unit) throws InterruptedException {
+        long start = System.nanoTime();
+        long deadline = start + unit.toNanos(timeout);
+        synchronized (this) {
+            while (idle_.isEmpty()) {
+                if (disposed_) throw new IllegalStateException("The pool is disposed");
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    timeoutCount_++;
+                    return null;
+                }
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            }
+
+            Entry entry = idle_.poll();
+            entry.leased_ = true;
+            long waitNanos = System.nanoTime() - start;
+            leaseCount_++;
+            totalWaitNanos_ += waitNanos;
+            maxWaitNanos_ = Math.max(maxWaitNanos_, waitNanos);
+            return new Lease(entry, waitNanos);
+        }
+    }
+
+    /**
+     * Closes all browsers, including leased ones, and disposes their clients.
+     */
+    public void dispose() {
+        List<Entry> entries;
+        synchronized (this) {
+            if (disposed_) return;
+            disposed_ = true;
+            entries = new ArrayList<>(entries_);
+            entries_.clear();
+            idle_.clear();
+            notifyAll();
+        }
+        for (Entry entry : entries) entry.client_.dispose();
+    }
+
+    public synchronized int getIdleCount() {
+        return idle_.size();
+    }
+
+    public synchronized int getLeasedCount() {
+        int count = 0;
+        for (Entry entry : entries_) {
+            if (entry.leased_) count++;
+        }
+        return count;
+    }
+
+    /**
+     * Returns the share of the pool's browsers that are leased, between 0 and 1.
+     */
+    public synchronized double getUtilization() {
+        return (double) getLeasedCount() / size_;
+    }
+
+    public synchronized long getLeaseCount() {
+        return leaseCount_;
+    }
+
+    /**
+     * Returns the number of {@link #lease} calls that timed out.
+     */
+    public synchronized long getTimeoutCount() {
+        return timeoutCount_;
+    }
+
+    public synchronized long getAverageWaitNanos() {
+        return leaseCount_ == 0 ? 0 : totalWaitNanos_ / leaseCount_;
+    }
+
+    public synchronized long getMaxWaitNanos() {
+        return maxWaitNanos_;
+    }
+
+    /**
+     * Returns the number of browsers the pool created, including replacements.
+     */
+    public synchronized long getCreatedCount() {
+        return createdCount_;
+    }
+
+    /**
+     * Returns the number of browsers that were replaced because their render process terminated
+     * or they closed.
+     */
+    public synchronized long getEvictedCount() {
+        return evictedCount_;
+    }
+
+    private void createEntry() {
+        Entry entry = new Entry(CefApp.getInstance().createClient());
+        entry.client_.addLifeSpanHandler(entry.lifeSpanHandler_);
+        entry.client_.addRequestHandler(entry.requestHandler_);
+        synchronized (this) {
+            if (disposed_) {
+                entry.client_.dispose();
+                return;
+            }
+            entries_.add(entry);
+            createdCount_++;
+        }
+        entry.browser_ = entry.client_.createBrowser(BLANK_URL, rendering_, false, context_);
+        entry.browser_.createImmediately();
+    }
+
+    private void release(Entry entry) {
+        boolean retire;
+        synchronized (this) {
+            // The pool was disposed, which disposed the client as well.
+            if (!entries_.contains(entry)) return;
+            entry.leased_ = false;
+            entry.leaseCount_++;
+            retire = !entry.healthy_
+                    || (maxLeasesPerBrowser_ > 0 && entry.leaseCount_ >= maxLeasesPerBrowser_);
+            if (retire) entries_.remove(entry);
+        }
+        if (retire) {
+            replace(entry);
+            return;
+        }
+
+        CefClient client = entry.client_;
+        client.removeContextMenuHandler();
+        client.removeDialogHandler();
+        client.removeDisplayHandler();
+        client.removeDownloadHandler();
+        client.removeDragHandler();
+        client.removeFocusHandler();
+        client.removeMediaAccessHandler();
+        client.removeJSDialogHandler();
+        client.removeKeyboardHandler();
+        client.removeLoadHandler();
+        client.removePrintHandler();
+        // Makes the browser idle once about:blank was loaded.
+        client.addLoadHandler(entry.loadHandler_);
+        // Replace rather than remove and add the handlers the pool needs, so that no event
+        // arrives while none is installed.
+        client.setLifeSpanHandler(entry.lifeSpanHandler_);
+        client.setRequestHandler(entry.requestHandler_);
+        entry.requestHandler_.delegate_ = null;
+        client.setResourceRequestFilter(null);
+        for (CefMessageRouter router : client.getMessageRouters()) {
+            if (!entry.routers_.contains(router)) client.removeMessageRouter(router);
+        }
+
+        synchronized (this) {
+            entry.resetting_ = true;
+        }
+        CefBrowser browser = entry.browser_;
+        browser.stopLoad();
+        browser.setZoomLevel(0);
+        browser.loadURL(BLANK_URL);
+    }
+
+    // Makes a released browser available after about:blank was loaded.
+    private void onReset(Entry entry) {
+        synchronized (this) {
+            if (!entry.resetting_) return;
+            entry.resetting_ = false;
+        }
+        entry.client_.removeLoadHandler();
+        synchronized (this) {
+            if (!entries_.contains(entry)) return;
+            idle_.add(entry);
+            notifyAll();
+        }
+    }
+
+    // Removes a browser that can't be used anymore. Leased browsers are replaced on release.
+    private void evict(Entry entry, String reason) {
+        synchronized (this) {
+            if (!entry.healthy_ || !entries_.contains(entry)) return;
+            entry.healthy_ = false;
+            evictedCount_++;
+            CefLog.Debug("CefBrowserPool: evicting browser %s, %s", entry.browser_, reason);
+            if (entry.leased_) return;
+            entries_.remove(entry);
+            idle_.remove(entry);
+        }
+        replace(entry);
+    }
+
+    private void replace(Entry entry) {
+        entry.client_.dispose();
+        synchronized (this) {
+            if (disposed_) return;
+        }
+        createEntry();
+    }
+
+    // Makes a browser available once it was created and evicts it when it closes.
+    private class PoolLifeSpanHandler extends CefLifeSpanHandlerAdapter {
+        private final Entry entry_;
+
+        private PoolLifeSpanHandler(Entry entry) {
+            entry_ = entry;
+        }
+
+        @Override
+        public void onAfterCreated(CefBrowser browser) {
+            if (browser != entry_.browser_) return;
+            synchronized (CefBrowserPool.this) {
+                if (!entries_.contains(entry_)) return;
+                idle_.add(entry_);
+                CefBrowserPool.this.notifyAll();
+            }
+        }
+
+        @Override
+        public void onBeforeClose(CefBrowser browser) {
+            if (browser == entry_.browser_) evict(entry_, "closed");
+        }
+    }
+
+    // Waits for the about:blank load that resets a released browser.
+    private class ResetLoadHandler extends CefLoadHandlerAdapter {
+        private final Entry entry_;
+
+        private ResetLoadHandler(Entry entry) {
+            entry_ = entry;
+        }
+
+        @Override
+        public void onLoadEnd(CefBrowser browser, CefFrame frame, int httpStatusCode) {
+            if (browser == entry_.browser_ && frame.isMain() && BLANK_URL.equals(frame.getURL()))
+                onReset(entry_);
+        }
+
+        @Override
+        public void onLoadError(CefBrowser browser, CefFrame frame, ErrorCode errorCode,
+                String errorText, String failedUrl) {
+            // Errors of the page that was stopped are expected.
+            if (browser == entry_.browser_ && frame.isMain() && BLANK_URL.equals(failedUrl))
+                evict(entry_, "about:blank failed to load, " + errorCode);
+        }
+    }
+
+    // Forwards to the request handler of the lease and evicts the browser when its render
+    // process terminated.
+    private class ForwardingRequestHandler extends CefRequestHandlerAdapter {
+        private final Entry entry_;
+        private volatile CefRequestHandler delegate_;
+
+        private ForwardingRequestHandler(Entry entry) {
+            entry_ = entry;
+        }
+
+        @Override
+        public boolean onBeforeBrowse(CefBrowser browser, CefFrame frame, CefRequest request,
+                boolean user_gesture, boolean is_redirect) {
+            CefRequestHandler delegate = delegate_;
+            return delegate != null
+                    && delegate.onBeforeBrowse(browser, frame, request, user_gesture, is_redirect);
+        }
+
+        @Override
+        public boolean onOpenURLFromTab(CefBrowser browser, CefFrame frame, String target_url,
+                boolean user_gesture) {
+            CefRequestHandler delegate = delegate_;
+            return delegate != null
+                    && delegate.onOpenURLFromTab(browser, frame, target_url, user_gesture);
+        }
+
+        @Override
+        public CefResourceRequestHandler getResourceRequestHandler(CefBrowser browser,
+                CefFrame frame, CefRequest request, boolean isNavigation, boolean isDownload,
+                String requestInitiator, BoolRef disableDefaultHandling) {
+            CefRequestHandler delegate = delegate_;
+            if (delegate == null) return null;
+            return delegate.getResourceRequestHandler(browser, frame, request, isNavigation,
+                    isDownload, requestInitiator, disableDefaultHandling);
+        }
+
+        @Override
+        public boolean getAuthCredentials(CefBrowser browser, String origin_url, boolean isProxy,
+                String host, int port, String realm, String scheme, CefAuthCallback callback) {
+            CefRequestHandler delegate = delegate_;
+            return delegate != null
+                    && delegate.getAuthCredentials(
+                            browser, origin_url, isProxy, host, port, realm, scheme, callback);
+        }
+
+        @Override
+        public boolean onQuotaRequest(
+                CefBrowser browser, String origin_url, long new_size, CefCallback callback) {
+            CefRequestHandler delegate = delegate_;
+            return delegate != null
+                    && delegate.onQuotaRequest(browser, origin_url, new_size, callback);
+        }
+
+        @Override
+        public boolean onCertificateError(CefBrowser browser, ErrorCode cert_error,
+                String request_url, CefCallback callback) {
+            CefRequestHandler delegate = delegate_;
+            return delegate != null
+                    && delegate.onCertificateError(browser, cert_error, request_url, callback);
+        }
+
+        @Override
+        public void onPluginCrashed(CefBrowser browser, String pluginPath) {
+            CefRequestHandler delegate = delegate_;
+            if (delegate != null) delegate.onPluginCrashed(browser, pluginPath);
+        }
+
+        @Override
+        public void onRenderProcessTerminated(CefBrowser browser, TerminationStatus status) {
+            CefRequestHandler delegate = delegate_;
+            if (delegate != null) delegate.onRenderProcessTerminated(browser, status);
+            if (browser == entry_.browser_) evict(entry_, "render process " + status);
+        }
+    }
+}
@@ -655,6 +655,45 @@ abstract class CefBrowser_N extends CefNativeAdapter implements CefBrowser {
         }
     }
 
+    public final void sendMouseEvent(
+            int type, int x, int y, int button, int clickCount, int modifiers) {
+        if (type < CefInputEventBuffer.MOUSE_MOVE || type > CefInputEventBuffer.MOUSE_UP)
+            throw new IllegalArgumentException("Not a mouse event type: " + type);
+        try {
+            N_SendInputEvent(type, modifiers, x, y, button, clickCount);
+        } catch (UnsatisfiedLinkError ule) {
+            ule.printStackTrace();
+        }
+    }
+
+    public final void sendMouseWheelEvent(int x, int y, int deltaX, int deltaY, int modifiers) {
+        try {
+            N_SendInputEvent(CefInputEventBuffer.MOUSE_WHEEL, modifiers, x, y, deltaX, deltaY);
+        } catch (UnsatisfiedLinkError ule) {
+            ule.printStackTrace();
+        }
+    }
+
+    public final void sendKeyEvent(
+            int type, int windowsKeyCode, int nativeKeyCode, char character, int modifiers) {
+        if (type < CefInputEventBuffer.KEY_RAWKEYDOWN || type > CefInputEventBuffer.KEY_CHAR)
+            throw new IllegalArgumentException("Not a key event type: " + type);
+        try {
+            N_SendInputEvent(type, modifiers, windowsKeyCode, nativeKeyCode, character, character);
+        } catch (UnsatisfiedLinkError ule) {
+            ule.printStackTrace();
+        }
+    }
+
+    public final void sendInputEvents(CefInputEventBuffer events) {
+        if (events.size() == 0) return;
+        try {
+            N_SendInputEvents(events.getData(), events.size());
+        } catch (UnsatisfiedLinkError ule) {
+            ule.printStackTrace();
+        }
+    }
+
     /**
      * Call this method when the user drags the mouse into the web view (before
      * calling DragTargetDragOver/DragTargetLeave/DragTargetDrop).
@@ -832,6 +871,9 @@ abstract class CefBrowser_N extends CefNativeAdapter implements CefBrowser {
     private final native void N_SendKeyEvent(KeyEvent e);
     private final native void N_SendMouseEvent(MouseEvent e);
     private final native void N_SendMouseWheelEvent(MouseWheelEvent e);
+    private final native void N_SendInputEvent(
+            int type, int modifiers, int p0, int p1, int p2, int p3);
+    private final native void N_SendInputEvents(int[] events, int count);
     private final native void N_DragTargetDragEnter(
             CefDragData dragData, Point pos, int modifiers, int allowed_ops);
     private final native void N_DragTargetDragOver(Point pos, int modifiers, int allowed_ops);
@@ -0,0 +1,163 @@
+package org.cef.browser;
+
+import java.awt.Component;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+
+/**
+ * Schedules the presentation of painted frames of an off-screen browser on the AWT event
+ * thread.
+ * <p>
+ * A paint requests a display of the view. While a display is pending further paints are
+ * coalesced into it, so a burst of paints results in a single display. Displays are started at
+ * most at the maximum frame rate, a display that is requested earlier is delayed until the
+ * frame interval has passed. A pending display is dropped if the view isn't showing when it
+ * is due. The latency of a frame is measured from the first paint it contains until the
+ * buffers have been swapped.
+ * <p>
+ * Paints are reported on the CEF UI thread, displays run on the AWT event thread. All methods
+ * are thread-safe.
+ *
+ * @since api-1.8
+ */
+public final class CefFrameScheduler {
+    private static final int DEFAULT_MAX_FRAME_RATE = 60;
+
+    private final Component component_;
+    private final Runnable display_;
+    private final Timer timer_;
+    private long frameIntervalNanos_ = 1_000_000_000L / DEFAULT_MAX_FRAME_RATE;
+    private boolean pending_;
+    private long pendingSinceNanos_;
+    private long lastPresentNanos_;
+
+    private long paintCount_;
+    private long presentedCount_;
+    private long coalescedCount_;
+    private long droppedCount_;
+    private long lastLatencyNanos_;
+    private long totalLatencyNanos_;
+
+    /**
+     * @param component The component that shows the frames.
+     * @param display Renders and swaps the frame, called on the AWT event thread.
+     */
+    CefFrameScheduler(Component component, Runnable display) {
+        component_ = component;
+        display_ = display;
+        timer_ = new Timer(0, e -> present());
+        timer_.setRepeats(false);
+    }
+
+    /**
+     * Sets the maximum rate at which frames are presented or 0 to present every frame as soon
+     * as possible. Pending displays are still coalesced without a limit.
+     */
+    public synchronized void setMaxFrameRate(int frameRate) {
+        if (frameRate < 0) throw new IllegalArgumentException("Negative frameRate");
+        frameIntervalNanos_ = frameRate == 0 ? 0 : 1_000_000_000L / frameRate;
+    }
+
+    /**
+     * Returns the maximum frame rate or 0 if it isn't limited.
+     */
+    public synchronized int getMaxFrameRate() {
+        return frameIntervalNanos_ == 0 ? 0 : (int) (1_000_000_000L / frameIntervalNanos_);
+    }
+
+    /**
+     * Returns the number of paints received from CEF.
+     */
+    public synchronized long getPaintCount() {
+        return paintCount_;
+    }
+
+    /**
+     * Returns the number of frames that were displayed.
+     */
+    public synchronized long getPresentedCount() {
+        return presentedCount_;
+    }
+
+    /**
+     * Returns the number of paints that were merged into an already pending display.
+     */
+    public synchronized long getCoalescedCount() {
+        return coalescedCount_;
+    }
+
+    /**
+     * Returns the number of displays that were skipped because the view wasn't showing.
+     */
+    public synchronized long getDroppedCount() {
+        return droppedCount_;
+    }
+
+    /**
+     * Returns the time from the paint to the buffer swap of the last presented frame.
+     */
+    public synchronized long getLastLatencyNanos() {
+        return lastLatencyNanos_;
+    }
+
+    /**
+     * Returns the average time from the paint to the buffer swap of the presented frames.
+     */
+    public synchronized long getAverageLatencyNanos() {
+        return presentedCount_ == 0 ? 0 : totalLatencyNanos_ / presentedCount_;
+    }
+
+    public synchronized void resetCounters() {
+        paintCount_ = 0;
+        presentedCount_ = 0;
+        coalescedCount_ = 0;
+        droppedCount_ = 0;
+        lastLatencyNanos_ = 0;
+        totalLatencyNanos_ = 0;
+    }
+
+    /**
+     * Requests a display of the view after a paint.
+     */
+    synchronized void frameReady() {
+        paintCount_++;
+        if (pending_) {
+            coalescedCount_++;
+            return;
+        }
+
+        long now = System.nanoTime();
+        pending_ = true;
+        pendingSinceNanos_ = now;
+        long delay = lastPresentNanos_ + frameIntervalNanos_ - now;
+        if (frameIntervalNanos_ == 0 || delay <= 0) {
+            SwingUtilities.invokeLater(this::present);
+        } else {
+            timer_.setInitialDelay((int) Math.max(1, delay / 1_000_000L));
+            timer_.restart();
+        }
+    }
+
+    private void present() {
+        long since;
+        synchronized (this) {
+            if (!pending_) return;
+            pending_ = false;
+            since = pendingSinceNanos_;
+            if (!component_.isShowing()) {
+                droppedCount_++;
+                return;
+            }
+        }
+
+        display_.run();
+
+        long now = System.nanoTime();
+        synchronized (this) {
+            lastPresentNanos_ = now;
+            presentedCount_++;
+            lastLatencyNanos_ = now - since;
+            totalLatencyNanos_ += lastLatencyNanos_;
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package org.cef.browser;
+
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * CPU-side copy of the last painted view of an off-screen browser that screenshots are
+ * created from with bulk array copies.
+ * <p>
+ * Copying starts with the first capture request, so browsers that never take a screenshot
+ * don't pay for it. The copy can serve captures once a paint has covered the whole view,
+ * which is the case for the first paint after a resize or an invalidation. Popups are not
+ * part of the copy. All methods are thread-safe.
+ */
+final class CefFrameSnapshot {
+    // A capture waiting for a complete frame.
+    private static class Request {
+        final Rectangle region;
+        final double scale;
+        final CompletableFuture<BufferedImage> future = new CompletableFuture<>();
+        BufferedImage image;
+        RuntimeException error;
+
+        Request(Rectangle region, double scale) {
+            this.region = region;
+            this.scale = scale;
+        }
+    }
+
+    private boolean enabled_;
+    private boolean complete_;
+    private int[] pixels_;
+    private int width_;
+    private int height_;
+    private final List<Request> requests_ = new ArrayList<>();
+
+    /**
+     * Returns |region| of the last frame scaled by |scale| or null if there is no complete
+     * frame yet. Starts copying paints if it wasn't already.
+     */
+    synchronized BufferedImage capture(Rectangle region, double scale) {
+        enabled_ = true;
+        if (!complete_) return null;
+        return scale(crop(pixels_, width_, height_, region), scale);
+    }
+
+    /**
+     * Returns the future of |region| of the next complete frame scaled by |scale|, which is
+     * the current frame if it is complete. Starts copying paints if it wasn't already.
+     */
+    synchronized CompletableFuture<BufferedImage> captureNext(Rectangle region, double scale) {
+        BufferedImage image = capture(region, scale);
+        if (image != null) return CompletableFuture.completedFuture(image);
+
+        Request request = new Request(region, scale);
+        requests_.add(request);
+        return request.future;
+    }
+
+    /**
+     * Copies the dirty rectangles of a paint of the view.
+     */
+    void onPaint(ByteBuffer buffer, int width, int height, Rectangle[] dirtyRects) {
+        List<Request> requests;
+        synchronized (this) {
+            if (!enabled_ || !resize(width, height)) return;
+            IntBuffer source = asIntBuffer(buffer);
+            for (Rectangle rect : dirtyRects) {
+                copyRect(rect.x, rect.y, rect.width, rect.height, source);
+            }
+            requests = takeRequests();
+        }
+        completeRequests(requests);
+    }
+
+    /**
+     * Copies the dirty rectangles of a paint of the view in the (x, y, width, height)
+     * quadruple layout of {@link org.cef.handler.CefFrameBuffer#getDirtyRects()}.
+     */
+    void onPaint(ByteBuffer buffer, int width, int height, int[] dirtyRects, int count) {
+        List<Request> requests;
+        synchronized (this) {
+            if (!enabled_ || !resize(width, height)) return;
+            IntBuffer source = asIntBuffer(buffer);
+            for (int i = 0; i < count; ++i) {
+                copyRect(dirtyRects[4 * i], dirtyRects[4 * i + 1], dirtyRects[4 * i + 2],
+                        dirtyRects[4 * i + 3], source);
+            }
+            requests = takeRequests();
+        }
+        completeRequests(requests);
+    }
+
+    // Reallocates the copy if the view size changed. Returns false for an empty view.
+    private boolean resize(int width, int height) {
+        if (width <= 0 || height <= 0) return false;
+        if (width != width_ || height != height_) {
+            pixels_ = new int[width * height];
+            width_ = width;
+            height_ = height;
+            complete_ = false;
+        }
+        return true;
+    }
+
+    private void copyRect(int x, int y, int width, int height, IntBuffer source) {
+        Rectangle rect = new Rectangle(x, y, width, height).intersection(
+                new Rectangle(0, 0, width_, height_));
+        if (rect.isEmpty()) return;
+        copyRect(source, pixels_, width_, rect);
+        if (rect.width == width_ && rect.height == height_) complete_ = true;
+    }
+
+    // Creates the images of the waiting requests if the frame is complete.
+    private List<Request> takeRequests() {
+        if (!complete_ || requests_.isEmpty()) return null;
+        List<Request> requests = new ArrayList<>(requests_);
+        requests_.clear();
+        for (Request request : requests) {
+            try {
+                request.image =
+                        scale(crop(pixels_, width_, height_, request.region), request.scale);
+            } catch (RuntimeException e) {
+                request.error = e;
+            }
+        }
+        return requests;
+    }
+
+    // Completes the futures outside of the lock, dependent actions run synchronously.
+    private static void completeRequests(List<Request> requests) {
+        if (requests == null) return;
+        for (Request request : requests) {
+            if (request.error != null)
+                request.future.completeExceptionally(request.error);
+            else
+                request.future.complete(request.image);
+        }
+    }
+
+    /**
+     * Returns the pixels of a paint buffer. The BGRA bytes with premultiplied alpha form
+     * INT_ARGB_PRE ints in little endian order.
+     */
+    static IntBuffer asIntBuffer(ByteBuffer buffer) {
+        return buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+    }
+
+    /**
+     * Copies |rect| of |source| into |target|, both with rows of |stride| pixels.
+     */
+    static void copyRect(IntBuffer source, int[] target, int stride, Rectangle rect) {
+        if (rect.x == 0 && rect.width == stride) {
+            int offset = rect.y * stride;
+            source.position(offset);
+            source.get(target, offset, rect.height * stride);
+            return;
+        }
+        for (int row = rect.y; row < rect.y + rect.height; ++row) {
+            int offset = row * stride + rect.x;
+            source.position(offset);
+            source.get(target, offset, rect.width);
+        }
+    }
+
+    /**
+     * Returns an INT_ARGB_PRE image of |region| of |pixels|, or of all pixels if |region| is
+     * null.
+     */
+    static BufferedImage crop(int[] pixels, int width, int height, Rectangle region) {
+        Rectangle rect = new Rectangle(0, 0, width, height);
+        if (region != null) rect = rect.intersection(region);
+        if (rect.isEmpty())
+            throw new IllegalArgumentException("Region " + region + " is outside of the view");
+
+        BufferedImage image =
+                new BufferedImage(rect.width, rect.height, BufferedImage.TYPE_INT_ARGB_PRE);
+        int[] data = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        if (rect.x == 0 && rect.width == width) {
+            System.arraycopy(pixels, rect.y * width, data, 0, rect.width * rect.height);
+        } else {
+            for (int row = 0; row < rect.height; ++row) {
+                System.arraycopy(pixels, (rect.y + row) * width + rect.x, data,
+                        row * rect.width, rect.width);
+            }
+        }
+        return image;
+    }
+
+    /**
+     * Returns |image| scaled by |scale| with bilinear filtering, or |image| itself if |scale|
+     * is 1.
+     */
+    static BufferedImage scale(BufferedImage image, double scale) {
+        if (scale == 1.0) return image;
+        int width = Math.max(1, (int) Math.round(image.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * scale));
+        BufferedImage scaled = new BufferedImage(width, height, image.getType());
+        Graphics2D g = scaled.createGraphics();
+        try {
+            g.setRenderingHint(
+                    RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return scaled;
+    }
+
+    /**
+     * Throws if |scale| isn't a downscaling factor.
+     */
+    static void checkScale(double scale) {
+        if (!(scale > 0 && scale <= 1.0))
+            throw new IllegalArgumentException("scale must be in (0, 1]: " + scale);
+    }
+}
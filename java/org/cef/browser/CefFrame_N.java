@@ -108,6 +108,17 @@ class CefFrame_N extends CefNativeAdapter implements CefFrame {
         }
     }
 
+    /**
+     * Executes |code[i]| in |frames[i]| for all indices with a single native call.
+     */
+    static void executeJavaScript(CefFrame_N[] frames, String[] code, String url) {
+        try {
+            N_ExecuteJavaScriptBatch(frames, code, url);
+        } catch (UnsatisfiedLinkError ule) {
+            ule.printStackTrace();
+        }
+    }
+
     @Override
     public void undo() {
         try {
@@ -180,6 +191,8 @@ class CefFrame_N extends CefNativeAdapter implements CefFrame {
     private final native boolean N_IsFocused(long self);
     private final native CefFrame N_GetParent(long self);
     private final native void N_ExecuteJavaScript(long self, String code, String url, int line);
+    private static native void N_ExecuteJavaScriptBatch(
+            CefFrame[] frames, String[] code, String url);
     private final native void N_Undo(long self);
     private final native void N_Redo(long self);
     private final native void N_Cut(long self);
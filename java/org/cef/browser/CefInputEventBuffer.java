@@ -0,0 +1,146 @@
+package org.cef.browser;
+
+/**
+ * Reusable list of input events in CEF terms that is sent to a browser with a single native
+ * call by {@link CefOsrBrowser#sendInputEvents(CefInputEventBuffer)}. Events are stored as
+ * primitives, adding events doesn't allocate once the buffer has grown to its working size.
+ * <p>
+ * Coordinates are in view coordinates, modifiers are a combination of the EVENTFLAG_*
+ * constants of this class. The buffer is not thread-safe.
+ *
+ * @since api-1.8
+ */
+public final class CefInputEventBuffer {
+    // Event types.
+    public static final int MOUSE_MOVE = 0;
+    public static final int MOUSE_EXIT = 1;
+    public static final int MOUSE_DOWN = 2;
+    public static final int MOUSE_UP = 3;
+    public static final int MOUSE_WHEEL = 4;
+    public static final int KEY_RAWKEYDOWN = 5;
+    public static final int KEY_DOWN = 6;
+    public static final int KEY_UP = 7;
+    public static final int KEY_CHAR = 8;
+
+    // Mouse buttons.
+    public static final int BUTTON_LEFT = 0;
+    public static final int BUTTON_MIDDLE = 1;
+    public static final int BUTTON_RIGHT = 2;
+
+    // Modifier flags, same values as cef_event_flags_t.
+    public static final int EVENTFLAG_NONE = 0;
+    public static final int EVENTFLAG_CAPS_LOCK_ON = 1 << 0;
+    public static final int EVENTFLAG_SHIFT_DOWN = 1 << 1;
+    public static final int EVENTFLAG_CONTROL_DOWN = 1 << 2;
+    public static final int EVENTFLAG_ALT_DOWN = 1 << 3;
+    public static final int EVENTFLAG_LEFT_MOUSE_BUTTON = 1 << 4;
+    public static final int EVENTFLAG_MIDDLE_MOUSE_BUTTON = 1 << 5;
+    public static final int EVENTFLAG_RIGHT_MOUSE_BUTTON = 1 << 6;
+    public static final int EVENTFLAG_COMMAND_DOWN = 1 << 7;
+
+    // Each event is stored as {type, modifiers, p0, p1, p2, p3}. The meaning of the parameters
+    // depends on the type and must match SendInputEvent in CefBrowser_N.cpp:
+    //   mouse: x, y, button, click count
+    //   wheel: x, y, delta x, delta y
+    //   key:   windows key code, native key code, character, unmodified character
+    static final int STRIDE = 6;
+
+    private int[] data_;
+    private int size_;
+
+    public CefInputEventBuffer() {
+        this(64);
+    }
+
+    /**
+     * @param capacity The initial capacity in events.
+     */
+    public CefInputEventBuffer(int capacity) {
+        data_ = new int[Math.max(1, capacity) * STRIDE];
+    }
+
+    /**
+     * Adds a mouse move event.
+     */
+    public CefInputEventBuffer addMouseMove(int x, int y, int modifiers) {
+        return add(MOUSE_MOVE, modifiers, x, y, 0, 0);
+    }
+
+    /**
+     * Adds an event for the mouse leaving the view.
+     */
+    public CefInputEventBuffer addMouseExit(int x, int y, int modifiers) {
+        return add(MOUSE_EXIT, modifiers, x, y, 0, 0);
+    }
+
+    /**
+     * Adds a mouse button event.
+     * @param button One of the BUTTON_* constants.
+     * @param mouseUp True for a release, false for a press.
+     * @param clickCount The number of consecutive clicks.
+     */
+    public CefInputEventBuffer addMouseClick(
+            int x, int y, int button, boolean mouseUp, int clickCount, int modifiers) {
+        return add(mouseUp ? MOUSE_UP : MOUSE_DOWN, modifiers, x, y, button, clickCount);
+    }
+
+    /**
+     * Adds a mouse wheel event. The deltas are in pixels, positive values scroll the content
+     * to the left and up.
+     */
+    public CefInputEventBuffer addMouseWheel(
+            int x, int y, int deltaX, int deltaY, int modifiers) {
+        return add(MOUSE_WHEEL, modifiers, x, y, deltaX, deltaY);
+    }
+
+    /**
+     * Adds a keyboard event.
+     * @param type One of the KEY_* constants.
+     * @param windowsKeyCode The Windows virtual key code.
+     * @param nativeKeyCode The platform key code.
+     * @param character The character generated by the keystroke.
+     * @param unmodifiedCharacter The character without any modifiers applied.
+     */
+    public CefInputEventBuffer addKey(int type, int windowsKeyCode, int nativeKeyCode,
+            char character, char unmodifiedCharacter, int modifiers) {
+        if (type < KEY_RAWKEYDOWN || type > KEY_CHAR)
+            throw new IllegalArgumentException("Not a key event type: " + type);
+        return add(type, modifiers, windowsKeyCode, nativeKeyCode, character,
+                unmodifiedCharacter);
+    }
+
+    /**
+     * Returns the number of events.
+     */
+    public int size() {
+        return size_;
+    }
+
+    /**
+     * Removes all events and keeps the capacity.
+     */
+    public void clear() {
+        size_ = 0;
+    }
+
+    int[] getData() {
+        return data_;
+    }
+
+    private CefInputEventBuffer add(int type, int modifiers, int p0, int p1, int p2, int p3) {
+        int offset = size_ * STRIDE;
+        if (offset + STRIDE > data_.length) {
+            int[] data = new int[data_.length * 2];
+            System.arraycopy(data_, 0, data, 0, offset);
+            data_ = data;
+        }
+        data_[offset] = type;
+        data_[offset + 1] = modifiers;
+        data_[offset + 2] = p0;
+        data_[offset + 3] = p1;
+        data_[offset + 4] = p2;
+        data_[offset + 5] = p3;
+        size_++;
+        return this;
+    }
+}
@@ -0,0 +1,233 @@
+package org.cef.browser;
+
+import java.awt.event.InputEvent;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+
+/**
+ * Per-browser queue that coalesces high-rate AWT mouse input before it is sent to CEF.
+ * <p>
+ * Consecutive mouse move or drag events with the same modifiers are replaced by the latest
+ * one, consecutive wheel events with the same modifiers and scroll type are merged into one
+ * with the summed rotation. Coalesced events are delivered at most once per frame: when the
+ * browser paints or, if no paint arrives, when the frame interval has passed. Any other event
+ * (button, enter/exit, key) delivers the queued events first and is then delivered
+ * immediately, so the order of events that change state is kept.
+ * <p>
+ * Events are received on the AWT event thread and are only sent to CEF from it, outside of
+ * the lock of the queue. All methods are thread-safe.
+ *
+ * @since api-1.8
+ */
+public final class CefInputEventQueue {
+    private static final int DEFAULT_FRAME_RATE = 60;
+
+    private final CefBrowser browser_;
+    private ArrayList<InputEvent> events_ = new ArrayList<>();
+    private Timer timer_;
+    private boolean flushPosted_;
+    private boolean enabled_ = true;
+    private long frameIntervalNanos_ = 1_000_000_000L / DEFAULT_FRAME_RATE;
+    private long lastDeliveryNanos_;
+    private long received_;
+    private long delivered_;
+
+    CefInputEventQueue(CefBrowser browser) {
+        browser_ = browser;
+    }
+
+    /**
+     * Enables or disables coalescing. While disabled every event is delivered immediately.
+     */
+    public void setEnabled(boolean enabled) {
+        synchronized (this) {
+            enabled_ = enabled;
+        }
+        if (!enabled) flush();
+    }
+
+    public synchronized boolean isEnabled() {
+        return enabled_;
+    }
+
+    /**
+     * Sets the maximum rate at which coalesced events are delivered. Should match the frame
+     * rate of the browser.
+     */
+    public synchronized void setFrameRate(int frameRate) {
+        if (frameRate < 1) throw new IllegalArgumentException("frameRate must be positive");
+        frameIntervalNanos_ = 1_000_000_000L / frameRate;
+    }
+
+    /**
+     * Returns the number of events received from AWT.
+     */
+    public synchronized long getReceivedCount() {
+        return received_;
+    }
+
+    /**
+     * Returns the number of events sent to CEF. The difference to {@link #getReceivedCount()}
+     * is the number of coalesced events plus the queued ones.
+     */
+    public synchronized long getDeliveredCount() {
+        return delivered_;
+    }
+
+    /**
+     * Returns the number of events waiting to be delivered.
+     */
+    public synchronized int getQueuedCount() {
+        return events_.size();
+    }
+
+    public synchronized void resetCounters() {
+        received_ = 0;
+        delivered_ = 0;
+    }
+
+    /**
+     * Queues or delivers an AWT key, mouse or mouse wheel event. Called on the AWT event
+     * thread.
+     */
+    void post(InputEvent event) {
+        List<InputEvent> batch;
+        synchronized (this) {
+            received_++;
+            if (enabled_ && event instanceof MouseWheelEvent) {
+                MouseWheelEvent wheel = (MouseWheelEvent) event;
+                int last = events_.size() - 1;
+                if (last >= 0 && canMerge(events_.get(last), wheel)) {
+                    events_.set(last, merge((MouseWheelEvent) events_.get(last), wheel));
+                } else {
+                    events_.add(wheel);
+                }
+                batch = schedule();
+            } else if (enabled_ && isMove(event)) {
+                int last = events_.size() - 1;
+                if (last >= 0 && canReplace(events_.get(last), (MouseEvent) event)) {
+                    events_.set(last, event);
+                } else {
+                    events_.add(event);
+                }
+                batch = schedule();
+            } else {
+                batch = takeQueued();
+                batch.add(event);
+            }
+        }
+        deliver(batch);
+    }
+
+    /**
+     * Delivers the queued events. Called when the browser paints, on any thread. Events are
+     * only sent from the AWT event thread, so that their order doesn't depend on which thread
+     * runs first.
+     */
+    void flush() {
+        if (SwingUtilities.isEventDispatchThread()) {
+            deliverQueued();
+            return;
+        }
+        synchronized (this) {
+            if (flushPosted_ || events_.isEmpty()) return;
+            flushPosted_ = true;
+        }
+        SwingUtilities.invokeLater(() -> {
+            synchronized (this) {
+                flushPosted_ = false;
+            }
+            deliverQueued();
+        });
+    }
+
+    // Must be called on the AWT event thread.
+    private void deliverQueued() {
+        List<InputEvent> batch;
+        synchronized (this) {
+            batch = takeQueued();
+        }
+        deliver(batch);
+    }
+
+    // Removes the queued events. The caller sends them after releasing the lock.
+    private ArrayList<InputEvent> takeQueued() {
+        ArrayList<InputEvent> batch = events_;
+        events_ = new ArrayList<>();
+        if (!batch.isEmpty()) {
+            lastDeliveryNanos_ = System.nanoTime();
+            if (timer_ != null) timer_.stop();
+        }
+        return batch;
+    }
+
+    private void deliver(List<InputEvent> batch) {
+        if (batch.isEmpty()) return;
+        int delivered = 0;
+        for (InputEvent event : batch) {
+            if (event instanceof MouseWheelEvent)
+                browser_.sendMouseWheelEvent((MouseWheelEvent) event);
+            else if (event instanceof MouseEvent)
+                browser_.sendMouseEvent((MouseEvent) event);
+            else if (event instanceof KeyEvent)
+                browser_.sendKeyEvent((KeyEvent) event);
+            else
+                continue;
+            delivered++;
+        }
+        synchronized (this) {
+            delivered_ += delivered;
+        }
+    }
+
+    // Returns the queued events if they are due, otherwise delivers them one frame interval
+    // after the last delivery unless a paint delivers them earlier.
+    private List<InputEvent> schedule() {
+        long elapsed = System.nanoTime() - lastDeliveryNanos_;
+        if (elapsed >= frameIntervalNanos_) return takeQueued();
+        if (timer_ == null) {
+            timer_ = new Timer(0, e -> deliverQueued());
+            timer_.setRepeats(false);
+        }
+        if (!timer_.isRunning()) {
+            int delayMillis = (int) Math.max(1, (frameIntervalNanos_ - elapsed) / 1_000_000L);
+            timer_.setInitialDelay(delayMillis);
+            timer_.start();
+        }
+        return Collections.emptyList();
+    }
+
+    private static boolean isMove(InputEvent event) {
+        int id = event.getID();
+        return id == MouseEvent.MOUSE_MOVED || id == MouseEvent.MOUSE_DRAGGED;
+    }
+
+    private static boolean canReplace(InputEvent queued, MouseEvent event) {
+        return queued.getID() == event.getID() && !(queued instanceof MouseWheelEvent)
+                && queued.getModifiersEx() == event.getModifiersEx();
+    }
+
+    private static boolean canMerge(InputEvent queued, MouseWheelEvent event) {
+        if (!(queued instanceof MouseWheelEvent)) return false;
+        MouseWheelEvent wheel = (MouseWheelEvent) queued;
+        return wheel.getModifiersEx() == event.getModifiersEx()
+                && wheel.getScrollType() == event.getScrollType()
+                && wheel.getScrollAmount() == event.getScrollAmount();
+    }
+
+    // Returns an event at the position of |event| with the rotation of both events.
+    private static MouseWheelEvent merge(MouseWheelEvent queued, MouseWheelEvent event) {
+        return new MouseWheelEvent(event.getComponent(), event.getID(), event.getWhen(),
+                event.getModifiersEx(), event.getX(), event.getY(), event.getXOnScreen(),
+                event.getYOnScreen(), event.getClickCount(), event.isPopupTrigger(),
+                event.getScrollType(), event.getScrollAmount(),
+                queued.getWheelRotation() + event.getWheelRotation(),
+                queued.getPreciseWheelRotation() + event.getPreciseWheelRotation());
+    }
+}
@@ -0,0 +1,313 @@
+package org.cef.browser;
+
+import org.cef.CefClient;
+import org.cef.browser.CefMessageRouter.CefMessageRouterConfig;
+import org.cef.callback.CefQueryCallback;
+import org.cef.handler.CefMessageRouterHandlerAdapter;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Executes JavaScript in frames and returns the results as {@link CompletableFuture}s.
+ * <p>
+ * The scripts of a {@link Batch} are sent to all of their frames with a single native call.
+ * The value of a script, or the value it resolves to if it is a Promise, is serialized with
+ * JSON.stringify and sent back through a message router of its own. Futures complete with the
+ * JSON string or with a {@link JavaScriptException} if the script throws or the value can't be
+ * serialized. Futures of frames that navigate away before the script runs never complete, use
+ * {@link CompletableFuture#orTimeout} where that matters.
+ * <p>
+ * All executors use the same message router configuration, and the executors of a client
+ * share one message router. Each result carries a random id and is only accepted from the
+ * frame its script was sent to. The reporting function is visible to the page though, so a
+ * script of that page can send results of its own: treat the results as input from the page.
+ * <p>
+ * The futures are completed on the CEF UI thread, dependent actions shouldn't block. Batches
+ * and executors may be used from any thread.
+ *
+ * @since api-1.8
+ */
+public class CefJavaScriptExecutor {
+    private static final String QUERY_FUNCTION = "cefJavaScriptResult";
+    private static final String CANCEL_FUNCTION = "cefJavaScriptResultCancel";
+    private static final String SCRIPT_URL = "jcef://javascript-executor";
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    // The message router of each client that has executors, with the number of executors.
+    private static final Map<CefClient, SharedRouter> ROUTERS = new HashMap<>();
+
+    private static final class SharedRouter {
+        private final CefMessageRouter router_ = CefMessageRouter.create(
+                new CefMessageRouterConfig(QUERY_FUNCTION, CANCEL_FUNCTION));
+        private int users_;
+    }
+
+    // An outstanding result.
+    private static final class Pending {
+        private final CompletableFuture<String> future_ = new CompletableFuture<>();
+        private final long frameId_;
+
+        private Pending(long frameId) {
+            frameId_ = frameId;
+        }
+    }
+
+    /**
+     * Signals that a script threw an exception or returned a value that isn't serializable.
+     */
+    public static class JavaScriptException extends Exception {
+        private static final long serialVersionUID = -2712301865404315927L;
+
+        public JavaScriptException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Scripts that are sent together. A batch can be submitted once. The futures of a batch
+     * that is never submitted don't complete unless it is cancelled.
+     */
+    public class Batch {
+        // Guarded by |this|.
+        private final Map<CefFrame, StringBuilder> code_ = new LinkedHashMap<>();
+        private final Map<Long, Pending> pending_ = new LinkedHashMap<>();
+        private boolean submitted_;
+
+        private Batch() {}
+
+        /**
+         * Adds a script that is executed in |frame|. Scripts of the same frame run in the order
+         * they were added.
+         * @return The future of the JSON-serialized result.
+         */
+        public synchronized CompletableFuture<String> add(CefFrame frame, String script) {
+            if (submitted_) throw new IllegalStateException("Batch was already submitted");
+            long id = newId();
+            Pending pending = new Pending(frame.getIdentifier());
+            pending_.put(id, pending);
+            code_.computeIfAbsent(frame, key -> new StringBuilder())
+                    .append(wrap(id, script))
+                    .append('\n');
+            return pending.future_;
+        }
+
+        /**
+         * Sends the scripts to the renderer processes.
+         */
+        public synchronized void submit() {
+            if (submitted_) throw new IllegalStateException("Batch was already submitted");
+            submitted_ = true;
+            // Only register the futures now, so unsubmitted batches don't leave entries behind.
+            for (Map.Entry<Long, Pending> entry : pending_.entrySet()) {
+                if (!entry.getValue().future_.isDone())
+                    CefJavaScriptExecutor.this.pending_.put(entry.getKey(), entry.getValue());
+            }
+
+            List<CefFrame_N> nativeFrames = new ArrayList<>();
+            List<String> nativeCode = new ArrayList<>();
+            for (Map.Entry<CefFrame, StringBuilder> entry : code_.entrySet()) {
+                CefFrame frame = entry.getKey();
+                if (frame instanceof CefFrame_N) {
+                    nativeFrames.add((CefFrame_N) frame);
+                    nativeCode.add(entry.getValue().toString());
+                } else {
+                    frame.executeJavaScript(entry.getValue().toString(), SCRIPT_URL, 1);
+                }
+            }
+            if (!nativeFrames.isEmpty()) {
+                CefFrame_N.executeJavaScript(nativeFrames.toArray(new CefFrame_N[0]),
+                        nativeCode.toArray(new String[0]), SCRIPT_URL);
+            }
+        }
+
+        /**
+         * Fails the futures of the batch that haven't completed yet. Doesn't stop scripts that
+         * were already submitted, a batch that wasn't submitted yet can't be submitted anymore.
+         */
+        public synchronized void cancel() {
+            submitted_ = true;
+            for (Map.Entry<Long, Pending> entry : pending_.entrySet()) {
+                CefJavaScriptExecutor.this.pending_.remove(entry.getKey());
+                entry.getValue().future_.cancel(false);
+            }
+        }
+    }
+
+    private final CefClient client_;
+    private final CefMessageRouterHandlerAdapter handler_ = new CefMessageRouterHandlerAdapter() {
+        @Override
+        public boolean onQuery(CefBrowser browser, CefFrame frame, long queryId, String request,
+                boolean persistent, CefQueryCallback callback) {
+            boolean handled = onResult(frame, request);
+            if (handled) callback.success("");
+            return handled;
+        }
+    };
+    private final ConcurrentHashMap<Long, Pending> pending_ = new ConcurrentHashMap<>();
+
+    /**
+     * Creates an executor for the frames of the browsers of |client|. The first executor of a
+     * client adds a message router to it, which is removed when the last one is disposed.
+     */
+    public CefJavaScriptExecutor(CefClient client) {
+        client_ = client;
+        synchronized (ROUTERS) {
+            SharedRouter shared = ROUTERS.get(client);
+            if (shared == null) {
+                shared = new SharedRouter();
+                ROUTERS.put(client, shared);
+                client.addMessageRouter(shared.router_);
+            }
+            shared.users_++;
+            shared.router_.addHandler(handler_, false);
+        }
+    }
+
+    /**
+     * Returns a new, empty batch.
+     */
+    public Batch newBatch() {
+        return new Batch();
+    }
+
+    /**
+     * Executes a single script in |frame|.
+     * @return The future of the JSON-serialized result.
+     */
+    public CompletableFuture<String> execute(CefFrame frame, String script) {
+        Batch batch = newBatch();
+        CompletableFuture<String> future = batch.add(frame, script);
+        batch.submit();
+        return future;
+    }
+
+    /**
+     * Executes each of |scripts| in each of |frames| in a single batch.
+     * @return The futures in frame-major order, i.e. the result of script j in frame i is at
+     *         index i * scripts.size() + j.
+     */
+    public List<CompletableFuture<String>> execute(List<CefFrame> frames, List<String> scripts) {
+        Batch batch = newBatch();
+        List<CompletableFuture<String>> futures = new ArrayList<>(frames.size() * scripts.size());
+        for (CefFrame frame : frames) {
+            for (String script : scripts) futures.add(batch.add(frame, script));
+        }
+        batch.submit();
+        return futures;
+    }
+
+    /**
+     * Returns the number of scripts whose results are outstanding.
+     */
+    public int getPendingCount() {
+        return pending_.size();
+    }
+
+    /**
+     * Cancels all outstanding futures. The message router is removed from the client when
+     * its last executor is disposed. Calling it more than once has no effect.
+     */
+    public void dispose() {
+        synchronized (ROUTERS) {
+            SharedRouter shared = ROUTERS.get(client_);
+            if (shared != null && shared.router_.removeHandler(handler_)
+                    && --shared.users_ == 0) {
+                ROUTERS.remove(client_);
+                client_.removeMessageRouter(shared.router_);
+                shared.router_.dispose();
+            }
+        }
+        for (Long id : pending_.keySet()) {
+            Pending pending = pending_.remove(id);
+            if (pending != null) pending.future_.cancel(false);
+        }
+    }
+
+    // Parses "<id>:<1|0>:<JSON result or error message>" sent by |frame|.
+    private boolean onResult(CefFrame frame, String request) {
+        int first = request.indexOf(':');
+        int second = first < 0 ? -1 : request.indexOf(':', first + 1);
+        if (second < 0) return false;
+
+        long id;
+        try {
+            id = Long.parseLong(request.substring(0, first));
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        // Leave queries with unknown ids, or from other frames, to other handlers.
+        Pending pending = pending_.get(id);
+        if (pending == null || frame == null || frame.getIdentifier() != pending.frameId_
+                || !pending_.remove(id, pending)) {
+            return false;
+        }
+        CompletableFuture<String> future = pending.future_;
+
+        String payload = request.substring(second + 1);
+        if (request.substring(first + 1, second).equals("1"))
+            future.complete(payload);
+        else
+            future.completeExceptionally(new JavaScriptException(payload));
+        return true;
+    }
+
+    // Returns a random id that isn't pending.
+    private long newId() {
+        long id;
+        do {
+            id = RANDOM.nextLong() & Long.MAX_VALUE;
+        } while (pending_.containsKey(id));
+        return id;
+    }
+
+    // Evaluates |script| in the global scope and reports its result.
+    private String wrap(long id, String script) {
+        return "(function(){var q=window." + QUERY_FUNCTION + ";"
+                + "function r(ok,v){if(q)q({request:'" + id + ":'+ok+':'+v,persistent:false,"
+                + "onSuccess:function(){},onFailure:function(){}});}"
+                + "function f(e){r(0,String(e&&e.stack||e));}"
+                + "try{Promise.resolve((0,eval)(" + quote(script) + ")).then(function(v){"
+                + "var j;try{j=JSON.stringify(v);}catch(e){f(e);return;}"
+                + "r(1,j===undefined?'null':j);},f);}catch(e){f(e);}})();";
+    }
+
+    // Returns |value| as a JavaScript string literal.
+    static String quote(String value) {
+        StringBuilder result = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    result.append("\\\"");
+                    break;
+                case '\\':
+                    result.append("\\\\");
+                    break;
+                case '\n':
+                    result.append("\\n");
+                    break;
+                case '\r':
+                    result.append("\\r");
+                    break;
+                case '\t':
+                    result.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20 || c == '\u2028' || c == '\u2029' || c == '<') {
+                        // '<' is escaped so that "</script>" can't end an inline script.
+                        result.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        result.append(c);
+                    }
+            }
+        }
+        return result.append('"').toString();
+    }
+}
@@ -0,0 +1,87 @@
+package org.cef.browser;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Browser that renders off-screen. The browsers created with {@link CefRendering#OFFSCREEN},
+ * {@link CefRendering#OFFSCREEN_SOFTWARE} and {@link CefRendering.CefRenderingWithHandler}
+ * implement it, in addition to {@link CefBrowser} it offers input without AWT event objects,
+ * access to the presentation of the painted frames and screenshots of regions of the view.
+ *
+ * @since api-1.8
+ */
+public interface CefOsrBrowser extends CefBrowser {
+    /**
+     * Sends a mouse event without an AWT event object.
+     * @param type One of the MOUSE_* constants of {@link CefInputEventBuffer} except
+     *         MOUSE_WHEEL.
+     * @param x The x coordinate in view coordinates.
+     * @param y The y coordinate in view coordinates.
+     * @param button One of the BUTTON_* constants of {@link CefInputEventBuffer}. Only used by
+     *         MOUSE_DOWN and MOUSE_UP.
+     * @param clickCount The number of consecutive clicks. Only used by MOUSE_DOWN and MOUSE_UP.
+     * @param modifiers A combination of the EVENTFLAG_* constants of {@link
+     *         CefInputEventBuffer}.
+     */
+    void sendMouseEvent(int type, int x, int y, int button, int clickCount, int modifiers);
+
+    /**
+     * Sends a mouse wheel event without an AWT event object. The deltas are in pixels,
+     * positive values scroll the content to the left and up.
+     */
+    void sendMouseWheelEvent(int x, int y, int deltaX, int deltaY, int modifiers);
+
+    /**
+     * Sends a keyboard event without an AWT event object.
+     * @param type One of the KEY_* constants of {@link CefInputEventBuffer}.
+     * @param windowsKeyCode The Windows virtual key code.
+     * @param nativeKeyCode The platform key code.
+     * @param character The character generated by the keystroke, also used as the unmodified
+     *         character.
+     * @param modifiers A combination of the EVENTFLAG_* constants of {@link
+     *         CefInputEventBuffer}.
+     */
+    void sendKeyEvent(int type, int windowsKeyCode, int nativeKeyCode, char character,
+            int modifiers);
+
+    /**
+     * Sends all events of |events| in order with a single native call. The buffer isn't
+     * modified and can be cleared and reused afterwards.
+     */
+    void sendInputEvents(CefInputEventBuffer events);
+
+    /**
+     * Returns the queue that coalesces the AWT input of this browser before it is sent to CEF
+     * or null if the browser forwards no AWT input.
+     */
+    CefInputEventQueue getInputEventQueue();
+
+    /**
+     * Returns the scheduler that presents the painted frames or null if the browser doesn't
+     * display them itself.
+     */
+    CefFrameScheduler getFrameScheduler();
+
+    /**
+     * Returns the statistics of the texture uploads if the browser renders with OpenGL or
+     * null otherwise.
+     */
+    CefUploadStats getUploadStats();
+
+    /**
+     * Captures a region of the currently displayed content and returns it downscaled by the
+     * given factor.
+     * <p>
+     * The browser keeps a copy of the painted view once a screenshot was requested, later
+     * screenshots are created from it without reading pixels back from the graphics hardware.
+     * Until the copy holds a complete frame the returned future may only be resolved with the
+     * next paint.
+     *
+     * @param region the region in native pixels or null for the whole view
+     * @param scale the factor in (0, 1] applied to the width and height of the region
+     * @return the screenshot image
+     */
+    CompletableFuture<BufferedImage> createScreenshot(Rectangle region, double scale);
+}
@@ -6,6 +6,8 @@ package org.cef.browser;
 
 import com.jogamp.opengl.GL2;
 
+import org.cef.misc.CefLog;
+
 import java.awt.Rectangle;
 import java.nio.ByteBuffer;
 import java.nio.FloatBuffer;
@@ -22,6 +24,24 @@ class CefRenderer {
     private Rectangle original_popup_rect_ = new Rectangle(0, 0, 0, 0);
     private boolean use_draw_pixels_ = false;
 
+    // Pixel buffer objects that are used in turn to upload the paint data. Writing a frame into
+    // a mapped buffer returns as soon as the copy is done and the driver transfers the data to
+    // the texture asynchronously. Disabled with -Djcef.osr.disablePixelBuffers=true.
+    private static final int PIXEL_BUFFER_COUNT = 2;
+    private static final boolean DISABLE_PIXEL_BUFFERS =
+            Boolean.getBoolean("jcef.osr.disablePixelBuffers");
+    private static final boolean TRACE_UPLOAD = Boolean.getBoolean("trace.renderer.upload");
+    private static final int TRACE_UPLOAD_INTERVAL = 100;
+    private int[] pixel_buffer_ids_ = new int[PIXEL_BUFFER_COUNT];
+    private int pixel_buffer_index_ = 0;
+    private volatile boolean use_pixel_buffers_ = false;
+
+    // Upload metrics of the main view, guarded by |this|.
+    private long last_upload_nanos_ = 0;
+    private long total_upload_nanos_ = 0;
+    private long upload_count_ = 0;
+    private long uploaded_bytes_ = 0;
+
     protected CefRenderer(boolean transparent) {
         transparent_ = transparent;
     }
@@ -40,6 +60,8 @@ class CefRenderer {
 
         initialized_context_ = gl2;
 
+        initializePixelBuffers(gl2);
+
         if (!gl2.getContext().isHardwareRasterizer()) {
             // Workaround for Windows Remote Desktop which requires pot textures.
             System.out.println(
@@ -65,11 +87,114 @@ class CefRenderer {
         gl2.glTexEnvf(gl2.GL_TEXTURE_ENV, gl2.GL_TEXTURE_ENV_MODE, gl2.GL_MODULATE);
     }
 
+    private void initializePixelBuffers(GL2 gl2) {
+        use_pixel_buffers_ = false;
+        if (DISABLE_PIXEL_BUFFERS || !gl2.isExtensionAvailable("GL_ARB_pixel_buffer_object")
+                || !gl2.isFunctionAvailable("glMapBufferRange")) {
+            return;
+        }
+
+        gl2.glGenBuffers(PIXEL_BUFFER_COUNT, pixel_buffer_ids_, 0);
+        for (int id : pixel_buffer_ids_) {
+            if (id == 0) {
+                deletePixelBuffers(gl2);
+                return;
+            }
+        }
+        pixel_buffer_index_ = 0;
+        use_pixel_buffers_ = true;
+    }
+
+    private void deletePixelBuffers(GL2 gl2) {
+        use_pixel_buffers_ = false;
+        for (int i = 0; i < PIXEL_BUFFER_COUNT; ++i) {
+            if (pixel_buffer_ids_[i] != 0) gl2.glDeleteBuffers(1, pixel_buffer_ids_, i);
+            pixel_buffer_ids_[i] = 0;
+        }
+    }
+
     protected void cleanup(GL2 gl2) {
         if (texture_id_[0] != 0) gl2.glDeleteTextures(1, texture_id_, 0);
+        deletePixelBuffers(gl2);
         view_width_ = view_height_ = 0;
     }
 
+    /**
+     * Returns a snapshot of the upload metrics of the view. Can be called on any thread.
+     */
+    synchronized CefUploadStats getUploadStats() {
+        return new CefUploadStats(upload_count_, uploaded_bytes_, last_upload_nanos_,
+                total_upload_nanos_, use_pixel_buffers_);
+    }
+
+    // Copies |rects| of |buffer|, or the whole frame if |rects| is null, to the same offsets in
+    // the next pixel buffer and leaves it bound to GL_PIXEL_UNPACK_BUFFER. Returns false, with
+    // no buffer bound, if the data has to be read from |buffer| instead.
+    @SuppressWarnings("static-access")
+    private boolean fillPixelBuffer(
+            GL2 gl2, Rectangle[] rects, ByteBuffer buffer, int width, int height) {
+        if (!use_pixel_buffers_) return false;
+
+        long size = (long) width * height * 4;
+        if (size == 0 || size > buffer.capacity()) return false;
+
+        int id = pixel_buffer_ids_[pixel_buffer_index_];
+        pixel_buffer_index_ = (pixel_buffer_index_ + 1) % PIXEL_BUFFER_COUNT;
+
+        gl2.glBindBuffer(gl2.GL_PIXEL_UNPACK_BUFFER, id);
+        // Orphan the previous storage so that mapping doesn't wait for a pending transfer.
+        gl2.glBufferData(gl2.GL_PIXEL_UNPACK_BUFFER, size, null, gl2.GL_STREAM_DRAW);
+        ByteBuffer mapped = gl2.glMapBufferRange(gl2.GL_PIXEL_UNPACK_BUFFER, 0, size,
+                gl2.GL_MAP_WRITE_BIT | gl2.GL_MAP_INVALIDATE_BUFFER_BIT);
+        if (mapped == null) {
+            gl2.glBindBuffer(gl2.GL_PIXEL_UNPACK_BUFFER, 0);
+            CefLog.Warn("CefRenderer: mapping a pixel buffer failed, uploading synchronously");
+            deletePixelBuffers(gl2);
+            return false;
+        }
+
+        ByteBuffer source = buffer.duplicate();
+        if (rects == null) {
+            copy(source, mapped, 0, (int) size);
+        } else {
+            int stride = width * 4;
+            for (Rectangle rect : rects) {
+                int offset = rect.y * stride + rect.x * 4;
+                if (rect.x == 0 && rect.width == width) {
+                    copy(source, mapped, offset, rect.height * stride);
+                    continue;
+                }
+                for (int row = 0; row < rect.height; ++row, offset += stride) {
+                    copy(source, mapped, offset, rect.width * 4);
+                }
+            }
+        }
+
+        if (!gl2.glUnmapBuffer(gl2.GL_PIXEL_UNPACK_BUFFER)) {
+            // The buffer contents were lost, e.g. on a mode switch.
+            gl2.glBindBuffer(gl2.GL_PIXEL_UNPACK_BUFFER, 0);
+            return false;
+        }
+        return true;
+    }
+
+    private static void copy(ByteBuffer source, ByteBuffer target, int offset, int length) {
+        source.limit(offset + length).position(offset);
+        target.position(offset);
+        target.put(source);
+    }
+
+    private synchronized void recordUpload(long startNanos, long bytes) {
+        last_upload_nanos_ = System.nanoTime() - startNanos;
+        total_upload_nanos_ += last_upload_nanos_;
+        uploaded_bytes_ += bytes;
+        if (++upload_count_ % TRACE_UPLOAD_INTERVAL == 0 && TRACE_UPLOAD) {
+            CefLog.Debug("CefRenderer: %d uploads, %.3f ms average, %d KB total, pixel buffers %s",
+                    upload_count_, total_upload_nanos_ / 1e6 / upload_count_,
+                    uploaded_bytes_ / 1024, use_pixel_buffers_ ? "on" : "off");
+        }
+    }
+
     @SuppressWarnings("static-access")
     protected void render(GL2 gl2) {
         if (use_draw_pixels_ || view_width_ == 0 || view_height_ == 0) return;
@@ -169,9 +294,16 @@ class CefRenderer {
         initialize(gl2);
 
         if (use_draw_pixels_) {
+            long start = System.nanoTime();
             gl2.glRasterPos2f(-1, 1);
             gl2.glPixelZoom(1, -1);
-            gl2.glDrawPixels(width, height, GL2.GL_BGRA, GL2.GL_UNSIGNED_BYTE, buffer);
+            if (fillPixelBuffer(gl2, null, buffer, width, height)) {
+                gl2.glDrawPixels(width, height, GL2.GL_BGRA, GL2.GL_UNSIGNED_BYTE, 0L);
+                gl2.glBindBuffer(gl2.GL_PIXEL_UNPACK_BUFFER, 0);
+            } else {
+                gl2.glDrawPixels(width, height, GL2.GL_BGRA, GL2.GL_UNSIGNED_BYTE, buffer);
+            }
+            if (!popup) recordUpload(start, (long) width * height * 4);
             return;
         }
 
@@ -187,6 +319,7 @@ class CefRenderer {
         gl2.glBindTexture(gl2.GL_TEXTURE_2D, texture_id_[0]);
 
         if (!popup) {
+            long start = System.nanoTime();
             int old_width = view_width_;
             int old_height = view_height_;
 
@@ -195,22 +328,40 @@ class CefRenderer {
 
             gl2.glPixelStorei(gl2.GL_UNPACK_ROW_LENGTH, view_width_);
 
+            long bytes = 0;
             if (old_width != view_width_ || old_height != view_height_) {
                 // Update/resize the whole texture.
+                boolean pbo = fillPixelBuffer(gl2, null, buffer, view_width_, view_height_);
                 gl2.glPixelStorei(gl2.GL_UNPACK_SKIP_PIXELS, 0);
                 gl2.glPixelStorei(gl2.GL_UNPACK_SKIP_ROWS, 0);
-                gl2.glTexImage2D(gl2.GL_TEXTURE_2D, 0, gl2.GL_RGBA, view_width_, view_height_, 0,
-                        gl2.GL_BGRA, gl2.GL_UNSIGNED_INT_8_8_8_8_REV, buffer);
+                if (pbo) {
+                    gl2.glTexImage2D(gl2.GL_TEXTURE_2D, 0, gl2.GL_RGBA, view_width_, view_height_,
+                            0, gl2.GL_BGRA, gl2.GL_UNSIGNED_INT_8_8_8_8_REV, 0L);
+                } else {
+                    gl2.glTexImage2D(gl2.GL_TEXTURE_2D, 0, gl2.GL_RGBA, view_width_, view_height_,
+                            0, gl2.GL_BGRA, gl2.GL_UNSIGNED_INT_8_8_8_8_REV, buffer);
+                }
+                bytes = (long) view_width_ * view_height_ * 4;
             } else {
-                // Update just the dirty rectangles.
+                // Update just the dirty rectangles. The pixel buffer has the same layout as
+                // |buffer| so the same unpack parameters apply.
+                boolean pbo = fillPixelBuffer(gl2, dirtyRects, buffer, view_width_, view_height_);
                 for (int i = 0; i < dirtyRects.length; ++i) {
                     Rectangle rect = dirtyRects[i];
                     gl2.glPixelStorei(gl2.GL_UNPACK_SKIP_PIXELS, rect.x);
                     gl2.glPixelStorei(gl2.GL_UNPACK_SKIP_ROWS, rect.y);
-                    gl2.glTexSubImage2D(gl2.GL_TEXTURE_2D, 0, rect.x, rect.y, rect.width,
-                            rect.height, gl2.GL_BGRA, gl2.GL_UNSIGNED_INT_8_8_8_8_REV, buffer);
+                    if (pbo) {
+                        gl2.glTexSubImage2D(gl2.GL_TEXTURE_2D, 0, rect.x, rect.y, rect.width,
+                                rect.height, gl2.GL_BGRA, gl2.GL_UNSIGNED_INT_8_8_8_8_REV, 0L);
+                    } else {
+                        gl2.glTexSubImage2D(gl2.GL_TEXTURE_2D, 0, rect.x, rect.y, rect.width,
+                                rect.height, gl2.GL_BGRA, gl2.GL_UNSIGNED_INT_8_8_8_8_REV, buffer);
+                    }
+                    bytes += (long) rect.width * rect.height * 4;
                 }
             }
+            if (use_pixel_buffers_) gl2.glBindBuffer(gl2.GL_PIXEL_UNPACK_BUFFER, 0);
+            recordUpload(start, bytes);
         } else if (popup && popup_rect_.width > 0 && popup_rect_.height > 0) {
             int skip_pixels = 0, x = popup_rect_.x;
             int skip_rows = 0, y = popup_rect_.y;
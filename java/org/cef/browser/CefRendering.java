@@ -18,6 +18,13 @@ public abstract class CefRendering {
      */
     public static final CefRendering OFFSCREEN = new CefRendering() {
     };
+    /**
+     * Render in offscreen mode, but paint the JCEF component with Java2D instead of OpenGL
+     *
+     * @since api-1.8
+     */
+    public static final CefRendering OFFSCREEN_SOFTWARE = new CefRendering() {
+    };
 
     private CefRendering() {
     }
@@ -0,0 +1,64 @@
+package org.cef.browser;
+
+/**
+ * Snapshot of the statistics of the texture uploads of an OpenGL off-screen browser, see
+ * {@link CefOsrBrowser#getUploadStats()}. Only paints of the main view are counted, not popups.
+ *
+ * @since api-1.8
+ */
+public final class CefUploadStats {
+    private final long uploadCount_;
+    private final long uploadedBytes_;
+    private final long lastUploadNanos_;
+    private final long totalUploadNanos_;
+    private final boolean usingPixelBuffers_;
+
+    CefUploadStats(long uploadCount, long uploadedBytes, long lastUploadNanos,
+            long totalUploadNanos, boolean usingPixelBuffers) {
+        uploadCount_ = uploadCount;
+        uploadedBytes_ = uploadedBytes;
+        lastUploadNanos_ = lastUploadNanos;
+        totalUploadNanos_ = totalUploadNanos;
+        usingPixelBuffers_ = usingPixelBuffers;
+    }
+
+    public long getUploadCount() {
+        return uploadCount_;
+    }
+
+    public long getUploadedBytes() {
+        return uploadedBytes_;
+    }
+
+    /**
+     * Returns the time the last upload took on the rendering thread.
+     */
+    public long getLastUploadNanos() {
+        return lastUploadNanos_;
+    }
+
+    public long getTotalUploadNanos() {
+        return totalUploadNanos_;
+    }
+
+    /**
+     * Returns the average time of an upload or 0 if there were no uploads.
+     */
+    public long getAverageUploadNanos() {
+        return uploadCount_ == 0 ? 0 : totalUploadNanos_ / uploadCount_;
+    }
+
+    /**
+     * Returns true if paint data is uploaded through pixel buffer objects.
+     */
+    public boolean isUsingPixelBuffers() {
+        return usingPixelBuffers_;
+    }
+
+    @Override
+    public String toString() {
+        return "CefUploadStats [uploads=" + uploadCount_ + ", bytes=" + uploadedBytes_
+                + ", last=" + lastUploadNanos_ + "ns, total=" + totalUploadNanos_
+                + "ns, pixelBuffers=" + usingPixelBuffers_ + "]";
+    }
+}
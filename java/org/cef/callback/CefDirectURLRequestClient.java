@@ -0,0 +1,26 @@
+package org.cef.callback;
+
+import org.cef.network.CefURLRequest;
+
+import java.nio.ByteBuffer;
+
+/**
+ * URL request client variant that receives the response data in a reusable direct buffer
+ * instead of a new Java byte array per chunk. Each request owns a single buffer that is only
+ * reallocated if a chunk is larger than its capacity, so downloading doesn't produce garbage.
+ * <p>
+ * If a client implements this interface the native code calls
+ * {@link #onDownloadData(CefURLRequest, ByteBuffer)} instead of
+ * {@link CefURLRequestClient#onDownloadData(CefURLRequest, byte[], int)}.
+ *
+ * @since api-1.8
+ */
+public interface CefDirectURLRequestClient extends CefURLRequestClient {
+    /**
+     * Called when some part of the response is read. The bytes received since the last call
+     * are between the position (always 0) and the limit of |data|. The buffer is reused for the
+     * next chunk once this method returns, copy the data to retain it. This method will not be
+     * called if the UR_FLAG_NO_DOWNLOAD_DATA flag is set on the request.
+     */
+    void onDownloadData(CefURLRequest request, ByteBuffer data);
+}
@@ -0,0 +1,25 @@
+package org.cef.callback;
+
+import org.cef.network.CefURLRequest;
+
+import java.nio.file.Path;
+
+/**
+ * URL request client variant that streams the response data into a file. The native code
+ * writes each chunk directly without calling into Java, neither
+ * {@link CefURLRequestClient#onDownloadData(CefURLRequest, byte[], int)} nor
+ * {@link CefDirectURLRequestClient#onDownloadData(CefURLRequest, java.nio.ByteBuffer)} are
+ * called. The file is complete when {@link #onRequestComplete(CefURLRequest)} is called. If it
+ * can't be written the request is canceled. If the request doesn't succeed the partially
+ * written file is deleted before {@link #onRequestComplete(CefURLRequest)} is called.
+ *
+ * @since api-1.8
+ */
+public interface CefFileURLRequestClient extends CefURLRequestClient {
+    /**
+     * Returns the file to write the response data to. An existing file is overwritten. Called
+     * once for every request that is created with this client, concurrent requests need
+     * different files.
+     */
+    Path getDownloadFile();
+}
@@ -1,8 +1,10 @@
 package org.cef.callback;
 
 public class CefNativeAdapter implements CefNative {
-    // Used internally to store a pointer to the CEF object.
-    private long N_CefHandle = 0;
+    // Used internally to store a pointer to the CEF object. The native code reads and
+    // writes this field directly instead of calling getNativeRef and setNativeRef, so an
+    // override of these methods is not consulted by the native code.
+    private volatile long N_CefHandle = 0;
 
     @Override
     public void setNativeRef(String identifer, long nativeRef) {
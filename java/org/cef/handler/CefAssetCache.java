@@ -0,0 +1,369 @@
+package org.cef.handler;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Size-bounded cache of resources for custom scheme handlers that is shared by all browsers.
+ * <p>
+ * The content of an asset is stored once off-heap and addressed by its SHA-256 digest, so
+ * keys with identical content share the memory. The response headers of an asset are computed
+ * when it is added, {@link #createHandler(String)} returns handlers that only copy memory.
+ * If the content of all assets exceeds the capacity, keys are evicted in least recently used
+ * order, but a key that was hit since it was last considered for eviction gets a second chance
+ * that is worth more the more often it was hit. So assets that are requested over and over
+ * survive a burst of assets that are requested once. All methods are thread-safe.
+ *
+ * @since api-1.8
+ */
+public class CefAssetCache {
+    /**
+     * A cached resource. Instances are immutable.
+     */
+    public static final class Asset {
+        private final Blob blob_;
+        private final ByteBuffer content_;
+        private final String mimeType_;
+        private final Map<String, String> headers_;
+        private final Map<String, String> extraHeaders_;
+
+        private Asset(Blob blob, String mimeType, Map<String, String> headers,
+                Map<String, String> extraHeaders) {
+            blob_ = blob;
+            content_ = blob.content;
+            mimeType_ = mimeType;
+            headers_ = headers;
+            extraHeaders_ = extraHeaders;
+        }
+
+        /**
+         * Returns the hex encoded SHA-256 digest of the content.
+         */
+        public String getDigest() {
+            return blob_.digest;
+        }
+
+        public String getMimeType() {
+            return mimeType_;
+        }
+
+        public int getContentLength() {
+            return content_.capacity();
+        }
+
+        /**
+         * Returns the response headers including "ETag" and "Content-Type".
+         */
+        public Map<String, String> getHeaders() {
+            return headers_;
+        }
+
+        /**
+         * Returns a new read-only view of the content.
+         */
+        public ByteBuffer getContent() {
+            return content_.asReadOnlyBuffer();
+        }
+
+        String getETag() {
+            return headers_.get("ETag");
+        }
+
+        // Returns the headers without "Content-Type", which is set through the MIME type.
+        Map<String, String> getExtraHeaders() {
+            return extraHeaders_;
+        }
+    }
+
+    /**
+     * Snapshot of the cache statistics.
+     */
+    public static final class Stats {
+        private final long hits_;
+        private final long misses_;
+        private final long evictions_;
+        private final int keyCount_;
+        private final int assetCount_;
+        private final long size_;
+        private final long capacity_;
+
+        private Stats(long hits, long misses, long evictions, int keyCount, int assetCount,
+                long size, long capacity) {
+            hits_ = hits;
+            misses_ = misses;
+            evictions_ = evictions;
+            keyCount_ = keyCount;
+            assetCount_ = assetCount;
+            size_ = size;
+            capacity_ = capacity;
+        }
+
+        public long getHitCount() {
+            return hits_;
+        }
+
+        public long getMissCount() {
+            return misses_;
+        }
+
+        /**
+         * Returns the ratio of hits to lookups or 0 if there were no lookups.
+         */
+        public double getHitRate() {
+            long lookups = hits_ + misses_;
+            return lookups == 0 ? 0 : (double) hits_ / lookups;
+        }
+
+        /**
+         * Returns the number of keys that were evicted to stay within the capacity.
+         */
+        public long getEvictionCount() {
+            return evictions_;
+        }
+
+        public int getKeyCount() {
+            return keyCount_;
+        }
+
+        /**
+         * Returns the number of distinct contents.
+         */
+        public int getAssetCount() {
+            return assetCount_;
+        }
+
+        /**
+         * Returns the size of all distinct contents in bytes.
+         */
+        public long getSize() {
+            return size_;
+        }
+
+        public long getCapacity() {
+            return capacity_;
+        }
+
+        @Override
+        public String toString() {
+            return "CefAssetCache.Stats [hits=" + hits_ + ", misses=" + misses_ + ", evictions="
+                    + evictions_ + ", keys=" + keyCount_ + ", assets=" + assetCount_
+                    + ", size=" + size_ + ", capacity=" + capacity_ + "]";
+        }
+    }
+
+    // Off-heap content shared by all keys with the same digest.
+    private static final class Blob {
+        final String digest;
+        final ByteBuffer content;
+        int refCount;
+
+        Blob(String digest, ByteBuffer content) {
+            this.digest = digest;
+            this.content = content;
+        }
+    }
+
+    // The asset of a key and how often it was hit.
+    private static final class Entry {
+        final Asset asset;
+        int frequency;
+
+        Entry(Asset asset) {
+            this.asset = asset;
+        }
+    }
+
+    // Bounds the second chances of a key, so that formerly popular keys age out.
+    private static final int MAX_FREQUENCY = 15;
+
+    // Keys in access order, the first entry is the least recently used one.
+    private final LinkedHashMap<String, Entry> keys_ = new LinkedHashMap<>(16, 0.75f, true);
+    private final HashMap<String, Blob> blobs_ = new HashMap<>();
+    private long capacity_;
+    private long size_;
+    private long hits_;
+    private long misses_;
+    private long evictions_;
+
+    /**
+     * @param capacity Maximum size of all distinct contents in bytes.
+     */
+    public CefAssetCache(long capacity) {
+        if (capacity < 0) throw new IllegalArgumentException("Negative capacity");
+        capacity_ = capacity;
+    }
+
+    /**
+     * Returns the asset of the specified key or null if it isn't cached.
+     */
+    public synchronized Asset get(String key) {
+        Entry entry = keys_.get(key);
+        if (entry == null) {
+            misses_++;
+            return null;
+        }
+        hits_++;
+        if (entry.frequency < MAX_FREQUENCY) entry.frequency++;
+        return entry.asset;
+    }
+
+    /**
+     * Adds or replaces the asset of the specified key. The remaining bytes of |content| are
+     * copied off-heap unless an asset with the same content is already cached. The position
+     * of the buffer is not changed.
+     * @param key The key, e.g. the path of the request URL.
+     * @param content The content of the asset.
+     * @param mimeType The MIME type of the asset.
+     * @param headers Additional response headers or null.
+     * @return The asset. Is not cached if its content is larger than the capacity.
+     */
+    public Asset put(String key, ByteBuffer content, String mimeType, Map<String, String> headers) {
+        // Hash and copy outside of the lock.
+        String digest = digest(content.duplicate());
+        Map<String, String> extraHeaders = new HashMap<>();
+        if (headers != null) {
+            for (Map.Entry<String, String> header : headers.entrySet()) {
+                if (!header.getKey().equalsIgnoreCase("Content-Type"))
+                    extraHeaders.put(header.getKey(), header.getValue());
+            }
+        }
+        extraHeaders.put("ETag", "\"" + digest + "\"");
+        Map<String, String> responseHeaders = new HashMap<>(extraHeaders);
+        responseHeaders.put("Content-Type", mimeType);
+        responseHeaders = Collections.unmodifiableMap(responseHeaders);
+        extraHeaders = Collections.unmodifiableMap(extraHeaders);
+
+        boolean cached;
+        synchronized (this) {
+            cached = blobs_.containsKey(digest);
+        }
+        ByteBuffer copy = cached ? null : copy(content);
+
+        synchronized (this) {
+            Blob blob = blobs_.get(digest);
+            if (blob == null) {
+                if (copy == null) copy = copy(content);
+                blob = new Blob(digest, copy);
+                if (copy.capacity() > capacity_) {
+                    remove(key);
+                    return new Asset(blob, mimeType, responseHeaders, extraHeaders);
+                }
+                blobs_.put(digest, blob);
+                size_ += copy.capacity();
+            }
+
+            blob.refCount++;
+            Asset asset = new Asset(blob, mimeType, responseHeaders, extraHeaders);
+            Entry previous = keys_.put(key, new Entry(asset));
+            if (previous != null) release(previous.asset.blob_);
+            trim();
+            return asset;
+        }
+    }
+
+    /**
+     * Adds or replaces the asset of the specified key.
+     * @see #put(String, ByteBuffer, String, Map)
+     */
+    public Asset put(String key, byte[] content, String mimeType, Map<String, String> headers) {
+        return put(key, ByteBuffer.wrap(content), mimeType, headers);
+    }
+
+    /**
+     * Removes the specified key.
+     * @return True if the key was cached.
+     */
+    public synchronized boolean remove(String key) {
+        Entry entry = keys_.remove(key);
+        if (entry == null) return false;
+        release(entry.asset.blob_);
+        return true;
+    }
+
+    public synchronized void clear() {
+        keys_.clear();
+        blobs_.clear();
+        size_ = 0;
+    }
+
+    /**
+     * Changes the capacity and evicts keys if necessary.
+     */
+    public synchronized void setCapacity(long capacity) {
+        if (capacity < 0) throw new IllegalArgumentException("Negative capacity");
+        capacity_ = capacity;
+        trim();
+    }
+
+    public synchronized long getCapacity() {
+        return capacity_;
+    }
+
+    public synchronized Stats getStats() {
+        return new Stats(
+                hits_, misses_, evictions_, keys_.size(), blobs_.size(), size_, capacity_);
+    }
+
+    public synchronized void resetStats() {
+        hits_ = 0;
+        misses_ = 0;
+        evictions_ = 0;
+    }
+
+    /**
+     * Returns a handler that serves the asset of the specified key or null if it isn't cached.
+     */
+    public CefResourceHandler createHandler(String key) {
+        Asset asset = get(key);
+        return asset != null ? new CefAssetResourceHandler(asset) : null;
+    }
+
+    private void release(Blob blob) {
+        if (--blob.refCount > 0) return;
+        blobs_.remove(blob.digest);
+        size_ -= blob.content.capacity();
+    }
+
+    // Evicts keys in access order. A key that was hit is instead moved to the end with half of
+    // its hits, so it is only evicted once the other keys had the same chances.
+    private void trim() {
+        while (size_ > capacity_ && !keys_.isEmpty()) {
+            Iterator<Map.Entry<String, Entry>> it = keys_.entrySet().iterator();
+            Map.Entry<String, Entry> eldest = it.next();
+            Entry entry = eldest.getValue();
+            if (entry.frequency > 0) {
+                entry.frequency /= 2;
+                keys_.get(eldest.getKey());
+                continue;
+            }
+            it.remove();
+            release(entry.asset.blob_);
+            evictions_++;
+        }
+    }
+
+    private static ByteBuffer copy(ByteBuffer content) {
+        ByteBuffer copy = ByteBuffer.allocateDirect(content.remaining());
+        copy.put(content.duplicate()).flip();
+        return copy;
+    }
+
+    private static String digest(ByteBuffer content) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        digest.update(content);
+        StringBuilder result = new StringBuilder();
+        for (byte b : digest.digest()) result.append(String.format("%02x", b));
+        return result.toString();
+    }
+}
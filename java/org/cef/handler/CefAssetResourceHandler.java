@@ -0,0 +1,55 @@
+package org.cef.handler;
+
+import org.cef.callback.CefCallback;
+import org.cef.misc.IntRef;
+import org.cef.misc.StringRef;
+import org.cef.network.CefRequest;
+import org.cef.network.CefResponse;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Resource handler that serves an asset of {@link CefAssetCache} with its precomputed
+ * response headers. Answers a matching "If-None-Match" header with 304 Not Modified.
+ * A handler instance serves a single request.
+ *
+ * @since api-1.8
+ */
+public class CefAssetResourceHandler extends CefDirectResourceHandlerAdapter {
+    private final CefAssetCache.Asset asset_;
+    private boolean notModified_;
+    private ByteBuffer content_;
+
+    public CefAssetResourceHandler(CefAssetCache.Asset asset) {
+        asset_ = asset;
+    }
+
+    @Override
+    public boolean processRequest(CefRequest request, CefCallback callback) {
+        String ifNoneMatch = request.getHeaderByName("If-None-Match");
+        notModified_ = ifNoneMatch != null && ifNoneMatch.contains(asset_.getETag());
+        if (!notModified_ && !"HEAD".equals(request.getMethod())) content_ = asset_.getContent();
+        callback.Continue();
+        return true;
+    }
+
+    @Override
+    public void getResponseHeaders(
+            CefResponse response, IntRef responseLength, StringRef redirectUrl) {
+        response.setStatus(notModified_ ? 304 : 200);
+        response.setStatusText(notModified_ ? "Not Modified" : "OK");
+        response.setMimeType(asset_.getMimeType());
+        response.setHeaderMap(asset_.getExtraHeaders());
+        responseLength.set(content_ != null ? content_.remaining() : 0);
+    }
+
+    @Override
+    public int readResponse(ByteBuffer dataOut, CefCallback callback) {
+        return copyResponse(content_, dataOut);
+    }
+
+    @Override
+    public void cancel() {
+        content_ = null;
+    }
+}
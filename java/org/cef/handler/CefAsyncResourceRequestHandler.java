@@ -0,0 +1,71 @@
+package org.cef.handler;
+
+import org.cef.browser.CefBrowser;
+import org.cef.browser.CefFrame;
+import org.cef.callback.CefCallback;
+import org.cef.network.CefRequest;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Resource request handler variant that can decide asynchronously whether a resource request
+ * continues, so that lookups like policy checks don't block the IO thread.
+ * <p>
+ * If a handler implements this interface the native code calls
+ * {@link #onBeforeResourceLoad(CefBrowser, CefFrame, CefRequest, CefCallback)} instead of
+ * {@link CefResourceRequestHandler#onBeforeResourceLoad(CefBrowser, CefFrame, CefRequest)}.
+ *
+ * @since api-1.8
+ */
+public interface CefAsyncResourceRequestHandler extends CefResourceRequestHandler {
+    /**
+     * Cancel the request.
+     */
+    public static final int RV_CANCEL = 0;
+
+    /**
+     * Continue the request immediately.
+     */
+    public static final int RV_CONTINUE = 1;
+
+    /**
+     * Continue or cancel the request later by executing the callback.
+     */
+    public static final int RV_CONTINUE_ASYNC = 2;
+
+    /**
+     * Called on the IO thread before a resource request is loaded. The |browser| and |frame|
+     * values represent the source of the request, and may be null for requests originating from
+     * service workers or CefURLRequest. To redirect or change the resource load optionally modify
+     * |request|. Modification of the request URL will be treated as a redirect.
+     *
+     * @param browser The corresponding browser.
+     * @param frame The frame generating the event. Instance only valid within the scope of this
+     *         method.
+     * @param request The request itself. May be modified in this callback. If the method returns
+     *         {@link #RV_CONTINUE_ASYNC} the instance stays valid, and may still be modified,
+     *         until |callback| is executed. Otherwise it is only valid within the scope of this
+     *         method.
+     * @param callback Execute CefCallback.Continue() or CefCallback.cancel() from any thread if
+     *         the method returns {@link #RV_CONTINUE_ASYNC}.
+     * @return {@link #RV_CANCEL}, {@link #RV_CONTINUE} or {@link #RV_CONTINUE_ASYNC}.
+     */
+    int onBeforeResourceLoad(
+            CefBrowser browser, CefFrame frame, CefRequest request, CefCallback callback);
+
+    /**
+     * Completes |callback| with a decision that is still pending: the request is canceled if
+     * |cancel| completes with true or exceptionally and continues otherwise. Return the result
+     * from {@link #onBeforeResourceLoad(CefBrowser, CefFrame, CefRequest, CefCallback)}.
+     * @return {@link #RV_CONTINUE_ASYNC}.
+     */
+    static int continueWhen(CompletionStage<Boolean> cancel, CefCallback callback) {
+        cancel.whenComplete((result, error) -> {
+            if (error != null || Boolean.TRUE.equals(result))
+                callback.cancel();
+            else
+                callback.Continue();
+        });
+        return RV_CONTINUE_ASYNC;
+    }
+}
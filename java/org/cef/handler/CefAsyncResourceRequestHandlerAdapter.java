@@ -0,0 +1,22 @@
+package org.cef.handler;
+
+import org.cef.browser.CefBrowser;
+import org.cef.browser.CefFrame;
+import org.cef.callback.CefCallback;
+import org.cef.network.CefRequest;
+
+/**
+ * An abstract adapter class for resource request handlers that decide asynchronously whether a
+ * request continues. By default the asynchronous variant of onBeforeResourceLoad forwards to
+ * the synchronous one.
+ *
+ * @since api-1.8
+ */
+public abstract class CefAsyncResourceRequestHandlerAdapter
+        extends CefResourceRequestHandlerAdapter implements CefAsyncResourceRequestHandler {
+    @Override
+    public int onBeforeResourceLoad(
+            CefBrowser browser, CefFrame frame, CefRequest request, CefCallback callback) {
+        return onBeforeResourceLoad(browser, frame, request) ? RV_CANCEL : RV_CONTINUE;
+    }
+}
@@ -8,19 +8,75 @@ import org.cef.browser.CefBrowser;
 import org.cef.browser.CefMessageRouter;
 import org.cef.callback.CefNative;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Vector;
 
 /**
  * Implement this interface to provide handler implementations.
  */
 public abstract class CefClientHandler implements CefNative {
-    // Used internally to store a pointer to the CEF object.
-    private HashMap<String, Long> N_CefHandle = new HashMap<String, Long>();
+    // Identifiers of the native refs that are stored in N_CefHandles, in the order of their
+    // slots.
+    private enum NativeRefId {
+        CefClientHandler,
+        CefContextMenuHandler,
+        CefDialogHandler,
+        CefDisplayHandler,
+        CefDownloadHandler,
+        CefDragHandler,
+        CefFocusHandler,
+        CefMediaAccessHandler,
+        CefJSDialogHandler,
+        CefKeyboardHandler,
+        CefLifeSpanHandler,
+        CefLoadHandler,
+        CefPrintHandler,
+        CefRenderHandler,
+        CefRequestHandler,
+        CefWindowHandler;
+
+        private static final NativeRefId[] VALUES = values();
+
+        static int indexOf(String identifer) {
+            for (NativeRefId id : VALUES) {
+                if (id.name().equals(identifer)) return id.ordinal();
+            }
+            return -1;
+        }
+    }
+
+    // The slot identifiers of N_CefHandles. The native code reads them once and then accesses
+    // the array directly without calling getNativeRef and setNativeRef.
+    private static final String[] NATIVE_REF_IDS = nativeRefIds();
+    // Accesses the slots of N_CefHandles with volatile semantics.
+    private static final VarHandle N_CefHandlesSlot =
+            MethodHandles.arrayElementVarHandle(long[].class);
+
+    // Used internally to store the pointers to the CEF objects.
+    private final long[] N_CefHandles = new long[NativeRefId.VALUES.length];
+    // Pointers with identifiers that are not part of NativeRefId.
+    private final HashMap<String, Long> N_CefHandle = new HashMap<String, Long>();
     private Vector<CefMessageRouter> msgRouters = new Vector<>();
 
+    private static String[] nativeRefIds() {
+        String[] ids = new String[NativeRefId.VALUES.length];
+        for (NativeRefId id : NativeRefId.VALUES) ids[id.ordinal()] = id.name();
+        return ids;
+    }
+
+    // The native code doesn't call the native ref accessors for the identifiers in
+    // NativeRefId, an override is only consulted for other identifiers.
     @Override
     public void setNativeRef(String identifer, long nativeRef) {
+        int index = NativeRefId.indexOf(identifer);
+        if (index >= 0) {
+            N_CefHandlesSlot.setVolatile(N_CefHandles, index, nativeRef);
+            return;
+        }
         synchronized (N_CefHandle) {
             N_CefHandle.put(identifer, nativeRef);
         }
@@ -28,6 +84,8 @@ public abstract class CefClientHandler implements CefNative {
 
     @Override
     public long getNativeRef(String identifer) {
+        int index = NativeRefId.indexOf(identifer);
+        if (index >= 0) return (long) N_CefHandlesSlot.getVolatile(N_CefHandles, index);
         synchronized (N_CefHandle) {
             if (N_CefHandle.containsKey(identifer)) return N_CefHandle.get(identifer);
         }
@@ -182,6 +240,50 @@ public abstract class CefClientHandler implements CefNative {
         }
     }
 
+    /**
+     * Returns a copy of the list of message routers added to this client.
+     */
+    protected synchronized List<CefMessageRouter> getMessageRouters() {
+        return new ArrayList<>(msgRouters);
+    }
+
+    /**
+     * Sets the filter for resource requests, null passes all requests to Java.
+     */
+    protected void setResourceRequestFilter(CefResourceRequestFilter filter) {
+        int count = filter == null ? 0 : filter.getRules().size();
+        boolean[] prefixes = new boolean[count];
+        String[] patterns = new String[count];
+        String[] methods = new String[count];
+        int[] resourceTypeMasks = new int[count];
+        for (int i = 0; i < count; ++i) {
+            CefResourceRequestFilter.Rule rule = filter.getRules().get(i);
+            prefixes[i] = rule.getPatternType() == CefResourceRequestFilter.PatternType.PREFIX;
+            patterns[i] = rule.getPattern();
+            methods[i] = rule.getMethod();
+            resourceTypeMasks[i] = rule.getResourceTypeMask();
+        }
+        try {
+            N_SetResourceRequestFilter(
+                    filter != null, prefixes, patterns, methods, resourceTypeMasks);
+        } catch (UnsatisfiedLinkError err) {
+            err.printStackTrace();
+        }
+    }
+
+    /**
+     * Returns the number of resource requests that matched the filter and the number of
+     * requests that bypassed Java, counted since the filter was set.
+     */
+    protected long[] getResourceRequestFilterCounts() {
+        try {
+            return N_GetResourceRequestFilterCounts();
+        } catch (UnsatisfiedLinkError err) {
+            err.printStackTrace();
+        }
+        return new long[2];
+    }
+
     protected void removeContextMenuHandler(CefContextMenuHandler h) {
         try {
             N_removeContextMenuHandler(h);
@@ -321,4 +423,7 @@ public abstract class CefClientHandler implements CefNative {
     private final native void N_removeRequestHandler(CefRequestHandler h);
     private final native void N_removeWindowHandler(CefWindowHandler h);
     private final native void N_CefClientHandler_DTOR();
+    private final native void N_SetResourceRequestFilter(boolean enabled, boolean[] prefixes,
+            String[] patterns, String[] methods, int[] resourceTypeMasks);
+    private final native long[] N_GetResourceRequestFilterCounts();
 }
@@ -0,0 +1,38 @@
+package org.cef.handler;
+
+import org.cef.callback.CefCallback;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Resource handler variant that writes the response data directly into the native buffer of
+ * CEF instead of a new Java byte array per chunk. The buffer can be filled from a
+ * {@link java.nio.channels.FileChannel}, a memory-mapped file or another direct buffer without
+ * copying the data through the Java heap.
+ * <p>
+ * If a handler implements this interface the native code calls
+ * {@link #readResponse(ByteBuffer, CefCallback)} instead of
+ * {@link CefResourceHandler#readResponse(byte[], int, org.cef.misc.IntRef, CefCallback)}.
+ * The methods of this class will always be called on the IO thread.
+ *
+ * @since api-1.8
+ */
+public interface CefDirectResourceHandler extends CefResourceHandler {
+    /**
+     * Value returned by {@link #readResponse(ByteBuffer, CefCallback)} to indicate response
+     * completion.
+     */
+    public static final int READ_COMPLETE = -1;
+
+    /**
+     * Read response data. If data is available immediately copy up to
+     * {@code dataOut.remaining()} bytes into |dataOut| and return the number of bytes copied. To
+     * read the data at a later time return 0 and call CefCallback.Continue() when the data is
+     * available. To indicate response completion return {@link #READ_COMPLETE}.
+     * @param dataOut Write data to this buffer. Wraps native memory and is only valid within the
+     *         scope of this method, it must not be used afterwards.
+     * @param callback Callback to execute if data will be available asynchronously.
+     * @return Number of bytes written, 0 or {@link #READ_COMPLETE}.
+     */
+    int readResponse(ByteBuffer dataOut, CefCallback callback);
+}
@@ -0,0 +1,46 @@
+package org.cef.handler;
+
+import org.cef.callback.CefCallback;
+import org.cef.misc.IntRef;
+
+import java.nio.ByteBuffer;
+
+/**
+ * An abstract adapter class for resource handlers that write the response data into a
+ * {@link ByteBuffer}. Calls to the byte array variant of readResponse are forwarded to
+ * {@link #readResponse(ByteBuffer, CefCallback)}.
+ *
+ * @since api-1.8
+ */
+public abstract class CefDirectResourceHandlerAdapter
+        extends CefResourceHandlerAdapter implements CefDirectResourceHandler {
+    @Override
+    public boolean readResponse(
+            byte[] dataOut, int bytesToRead, IntRef bytesRead, CefCallback callback) {
+        int result = readResponse(ByteBuffer.wrap(dataOut, 0, bytesToRead), callback);
+        bytesRead.set(Math.max(result, 0));
+        return result >= 0;
+    }
+
+    @Override
+    public int readResponse(ByteBuffer dataOut, CefCallback callback) {
+        return READ_COMPLETE;
+    }
+
+    /**
+     * Copies as many of the remaining bytes of |content| as fit into |dataOut| and advances
+     * the position of |content|. A result for
+     * {@link #readResponse(ByteBuffer, CefCallback)} of handlers that serve a buffer.
+     * @return The number of bytes copied or READ_COMPLETE if |content| is null or exhausted.
+     */
+    protected static int copyResponse(ByteBuffer content, ByteBuffer dataOut) {
+        if (content == null || !content.hasRemaining()) return READ_COMPLETE;
+
+        int count = Math.min(content.remaining(), dataOut.remaining());
+        int limit = content.limit();
+        content.limit(content.position() + count);
+        dataOut.put(content);
+        content.limit(limit);
+        return count;
+    }
+}
@@ -0,0 +1,286 @@
+package org.cef.handler;
+
+import java.awt.Rectangle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Tracks which tiles of the view of an off-screen browser changed across paints, for
+ * consumers that send the view incrementally, e.g. to remote clients.
+ * <p>
+ * Call one of the {@code onPaint} methods from {@link CefRenderHandler#onPaint} or
+ * {@link CefFrameBufferRenderHandler#onPaint} for paints of the view. Each paint copies its
+ * dirty rectangles into a frame kept by the tracker, increments the sequence number and stamps
+ * the tiles it touched with it. Consumers remember the sequence number of the last
+ * {@link TileUpdate} they received and pass it to {@link #getChangedTiles(long)} to get the
+ * tiles that changed since. The pixels of an update are copied out of the frame once and
+ * consumers that ask at the same time for the same sequence number share the update.
+ * <p>
+ * A size change marks all tiles as changed. All methods are thread-safe.
+ *
+ * @since api-1.8
+ */
+public class CefDirtyTileTracker {
+    /**
+     * The tiles that changed between two sequence numbers together with their pixels.
+     * Updates are immutable.
+     */
+    public static final class TileUpdate {
+        private final long sinceSequence_;
+        private final long sequence_;
+        private final int width_;
+        private final int height_;
+        private final Rectangle[] tiles_;
+        private final int[] offsets_;
+        private final ByteBuffer pixels_;
+        private List<Rectangle> mergedRects_;
+
+        private TileUpdate(long sinceSequence, long sequence, int width, int height,
+                Rectangle[] tiles, int[] offsets, ByteBuffer pixels) {
+            sinceSequence_ = sinceSequence;
+            sequence_ = sequence;
+            width_ = width;
+            height_ = height;
+            tiles_ = tiles;
+            offsets_ = offsets;
+            pixels_ = pixels;
+        }
+
+        /**
+         * Returns the sequence number to pass to the next {@link #getChangedTiles(long)} call.
+         */
+        public long getSequence() {
+            return sequence_;
+        }
+
+        /**
+         * Returns the width of the view.
+         */
+        public int getWidth() {
+            return width_;
+        }
+
+        /**
+         * Returns the height of the view.
+         */
+        public int getHeight() {
+            return height_;
+        }
+
+        public int getTileCount() {
+            return tiles_.length;
+        }
+
+        /**
+         * Returns the bounds of a changed tile in view coordinates. Tiles at the right and
+         * bottom edge may be smaller than the tile size.
+         */
+        public Rectangle getTileRect(int index) {
+            return new Rectangle(tiles_[index]);
+        }
+
+        /**
+         * Returns the pixels of a changed tile in BGRA format with a stride of
+         * {@code getTileRect(index).width * 4}.
+         */
+        public ByteBuffer getTilePixels(int index) {
+            Rectangle tile = tiles_[index];
+            ByteBuffer pixels = pixels_.duplicate();
+            pixels.limit(offsets_[index] + tile.width * tile.height * 4).position(offsets_[index]);
+            return pixels.slice();
+        }
+
+        /**
+         * Returns the changed tiles merged into as few rectangles as the tile grid allows:
+         * adjacent tiles of a row are joined and equal runs of consecutive rows are stacked.
+         */
+        public synchronized List<Rectangle> getMergedRects() {
+            if (mergedRects_ == null) mergedRects_ = Collections.unmodifiableList(merge(tiles_));
+            return mergedRects_;
+        }
+    }
+
+    private final int tileSize_;
+    private ByteBuffer frame_;
+    private int width_;
+    private int height_;
+    private int columns_;
+    private int rows_;
+    private long[] tileSequences_;
+    private long sequence_;
+    private TileUpdate lastUpdate_;
+
+    /**
+     * @param tileSize The width and height of a tile in pixels.
+     */
+    public CefDirtyTileTracker(int tileSize) {
+        if (tileSize < 1) throw new IllegalArgumentException("tileSize must be positive");
+        tileSize_ = tileSize;
+    }
+
+    public int getTileSize() {
+        return tileSize_;
+    }
+
+    /**
+     * Returns the sequence number of the last paint, or 0 if nothing was painted yet.
+     */
+    public synchronized long getSequence() {
+        return sequence_;
+    }
+
+    /**
+     * Tracks a paint of the view.
+     * @param buffer The pixels of the whole view in BGRA format.
+     */
+    public synchronized void onPaint(
+            ByteBuffer buffer, int width, int height, Rectangle[] dirtyRects) {
+        if (!begin(width, height)) return;
+        for (Rectangle rect : dirtyRects) {
+            update(buffer, rect.x, rect.y, rect.width, rect.height);
+        }
+    }
+
+    /**
+     * Tracks a paint of the view from a frame buffer. Synchronizes on the frame buffer while
+     * copying.
+     */
+    public void onPaint(CefFrameBuffer frameBuffer, int dirtyRectCount) {
+        synchronized (frameBuffer) {
+            synchronized (this) {
+                if (!begin(frameBuffer.getWidth(), frameBuffer.getHeight())) return;
+                int[] rects = frameBuffer.getDirtyRects();
+                for (int i = 0; i < dirtyRectCount; ++i) {
+                    update(frameBuffer.getBuffer(), rects[4 * i], rects[4 * i + 1],
+                            rects[4 * i + 2], rects[4 * i + 3]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the tiles that changed after |sinceSequence|. Pass 0 to get all tiles.
+     */
+    public synchronized TileUpdate getChangedTiles(long sinceSequence) {
+        if (lastUpdate_ != null && lastUpdate_.sinceSequence_ == sinceSequence
+                && lastUpdate_.sequence_ == sequence_) {
+            return lastUpdate_;
+        }
+
+        List<Rectangle> tiles = new ArrayList<>();
+        int size = 0;
+        for (int row = 0; row < rows_; ++row) {
+            for (int column = 0; column < columns_; ++column) {
+                if (tileSequences_[row * columns_ + column] <= sinceSequence) continue;
+                Rectangle tile = getTile(column, row);
+                tiles.add(tile);
+                size += tile.width * tile.height * 4;
+            }
+        }
+
+        int[] offsets = new int[tiles.size()];
+        ByteBuffer pixels = ByteBuffer.allocate(size).order(ByteOrder.nativeOrder());
+        ByteBuffer source = tiles.isEmpty() ? null : frame_.duplicate();
+        int stride = width_ * 4;
+        for (int i = 0; i < tiles.size(); ++i) {
+            Rectangle tile = tiles.get(i);
+            offsets[i] = pixels.position();
+            for (int y = tile.y; y < tile.y + tile.height; ++y) {
+                int offset = y * stride + tile.x * 4;
+                source.limit(offset + tile.width * 4).position(offset);
+                pixels.put(source);
+            }
+        }
+        pixels.clear();
+
+        lastUpdate_ = new TileUpdate(sinceSequence, sequence_, width_, height_,
+                tiles.toArray(new Rectangle[0]), offsets, pixels.asReadOnlyBuffer());
+        return lastUpdate_;
+    }
+
+    // Starts a paint. Returns false for an empty view.
+    private boolean begin(int width, int height) {
+        if (width <= 0 || height <= 0) return false;
+        sequence_++;
+        if (width != width_ || height != height_) {
+            int size = CefFrameBuffer.getByteSize(width, height);
+            width_ = width;
+            height_ = height;
+            columns_ = (width + tileSize_ - 1) / tileSize_;
+            rows_ = (height + tileSize_ - 1) / tileSize_;
+            tileSequences_ = new long[columns_ * rows_];
+            frame_ = ByteBuffer.allocateDirect(size).order(ByteOrder.nativeOrder());
+            // Everything changed, consumers have to start over.
+            Arrays.fill(tileSequences_, sequence_);
+        }
+        return true;
+    }
+
+    // Copies a dirty rectangle into the frame and stamps its tiles.
+    private void update(ByteBuffer buffer, int x, int y, int width, int height) {
+        Rectangle rect = new Rectangle(x, y, width, height).intersection(
+                new Rectangle(0, 0, width_, height_));
+        if (rect.isEmpty()) return;
+
+        ByteBuffer source = buffer.duplicate();
+        ByteBuffer target = frame_.duplicate();
+        int stride = width_ * 4;
+        for (int row = rect.y; row < rect.y + rect.height; ++row) {
+            int offset = row * stride + rect.x * 4;
+            source.limit(offset + rect.width * 4).position(offset);
+            target.position(offset);
+            target.put(source);
+        }
+
+        int lastColumn = (rect.x + rect.width - 1) / tileSize_;
+        int lastRow = (rect.y + rect.height - 1) / tileSize_;
+        for (int row = rect.y / tileSize_; row <= lastRow; ++row) {
+            for (int column = rect.x / tileSize_; column <= lastColumn; ++column) {
+                tileSequences_[row * columns_ + column] = sequence_;
+            }
+        }
+    }
+
+    private Rectangle getTile(int column, int row) {
+        int x = column * tileSize_;
+        int y = row * tileSize_;
+        return new Rectangle(
+                x, y, Math.min(tileSize_, width_ - x), Math.min(tileSize_, height_ - y));
+    }
+
+    // Joins horizontally adjacent tiles of a row, then stacks runs with the same horizontal
+    // extent in consecutive rows. |tiles| are in row-major order.
+    private static List<Rectangle> merge(Rectangle[] tiles) {
+        List<Rectangle> runs = new ArrayList<>();
+        for (Rectangle tile : tiles) {
+            Rectangle last = runs.isEmpty() ? null : runs.get(runs.size() - 1);
+            if (last != null && last.y == tile.y && last.x + last.width == tile.x) {
+                last.width += tile.width;
+            } else {
+                runs.add(new Rectangle(tile));
+            }
+        }
+
+        List<Rectangle> merged = new ArrayList<>();
+        for (Rectangle run : runs) {
+            Rectangle above = null;
+            for (int i = merged.size() - 1; i >= 0; --i) {
+                Rectangle candidate = merged.get(i);
+                if (candidate.y + candidate.height == run.y && candidate.x == run.x
+                        && candidate.width == run.width) {
+                    above = candidate;
+                    break;
+                }
+            }
+            if (above != null)
+                above.height += run.height;
+            else
+                merged.add(run);
+        }
+        return merged;
+    }
+}
@@ -0,0 +1,112 @@
+package org.cef.handler;
+
+import java.awt.Rectangle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Long-lived off-heap frame buffer that is filled by the native code on every paint of
+ * an off-screen browser (see {@link CefFrameBufferRenderHandler}).
+ * <p>
+ * The pixel buffer holds the whole view in BGRA format with a stride of {@code width * 4}.
+ * Only the dirty regions of a paint are copied into it, the rest of the buffer keeps the
+ * content of the previous frames. The dirty rectangles of the last paint are stored as
+ * (x, y, width, height) quadruples in a preallocated int array.
+ * <p>
+ * The native code writes into the buffer while holding the monitor of this object, so
+ * threads other than the CEF UI thread must synchronize on it to read a consistent frame.
+ *
+ * @since api-1.8
+ */
+public final class CefFrameBuffer {
+    /**
+     * Default capacity of the dirty rectangle array.
+     */
+    public static final int DEFAULT_MAX_DIRTY_RECTS = 64;
+
+    private final int width_;
+    private final int height_;
+    private final ByteBuffer buffer_;
+    private final int[] dirtyRects_;
+
+    public CefFrameBuffer(int width, int height) {
+        this(width, height, DEFAULT_MAX_DIRTY_RECTS);
+    }
+
+    /**
+     * @param width Width of the view in pixels.
+     * @param height Height of the view in pixels.
+     * @param maxDirtyRects Capacity of the dirty rectangle array. If a paint has more dirty
+     *         rectangles they are merged into their bounding rectangle.
+     * @throws IllegalArgumentException if the size isn't positive or the pixels don't fit into
+     *         a ByteBuffer.
+     */
+    public CefFrameBuffer(int width, int height, int maxDirtyRects) {
+        if (width <= 0 || height <= 0)
+            throw new IllegalArgumentException("Invalid frame size " + width + "x" + height);
+        if (maxDirtyRects <= 0)
+            throw new IllegalArgumentException("maxDirtyRects must be positive");
+        int size = getByteSize(width, height);
+        width_ = width;
+        height_ = height;
+        buffer_ = ByteBuffer.allocateDirect(size).order(ByteOrder.nativeOrder());
+        dirtyRects_ = new int[maxDirtyRects * 4];
+    }
+
+    public int getWidth() {
+        return width_;
+    }
+
+    public int getHeight() {
+        return height_;
+    }
+
+    /**
+     * Returns true if this buffer can hold a frame of the specified size.
+     */
+    public boolean fits(int width, int height) {
+        return width_ == width && height_ == height;
+    }
+
+    /**
+     * Returns the pixel buffer. Use {@link ByteBuffer#duplicate()} if the position or the
+     * limit must be changed.
+     */
+    public ByteBuffer getBuffer() {
+        return buffer_;
+    }
+
+    /**
+     * Returns the raw dirty rectangle array. Rectangle {@code i} of the last paint is stored
+     * at the indices {@code [4 * i, 4 * i + 3]}.
+     */
+    public int[] getDirtyRects() {
+        return dirtyRects_;
+    }
+
+    public int getMaxDirtyRects() {
+        return dirtyRects_.length / 4;
+    }
+
+    /**
+     * Copies the dirty rectangle with the specified index into {@code dest}.
+     * @return {@code dest}
+     */
+    public Rectangle getDirtyRect(int index, Rectangle dest) {
+        int offset = index * 4;
+        dest.setBounds(dirtyRects_[offset], dirtyRects_[offset + 1], dirtyRects_[offset + 2],
+                dirtyRects_[offset + 3]);
+        return dest;
+    }
+
+    // Returns the size of the BGRA pixels of a frame. Computed in long, the int product
+    // overflows for frames of more than 2^29 pixels.
+    static int getByteSize(int width, int height) {
+        long size = (long) width * height * 4;
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(
+                    "Frame size " + width + "x" + height + " is too large");
+        }
+        return (int) size;
+    }
+}
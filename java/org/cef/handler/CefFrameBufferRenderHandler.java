@@ -0,0 +1,41 @@
+package org.cef.handler;
+
+import org.cef.browser.CefBrowser;
+
+/**
+ * Render handler variant that receives paints through reusable {@link CefFrameBuffer}
+ * objects instead of a new {@link java.nio.ByteBuffer} and {@link java.awt.Rectangle} array
+ * per frame. Pass an implementation to
+ * {@link org.cef.browser.CefBrowserOsrWithHandler} or
+ * {@link org.cef.browser.CefRendering.CefRenderingWithHandler} to opt in.
+ * <p>
+ * The native code caches the frame buffer of each browser and requests a new one only when
+ * the size of the view or the popup changes, so a paint does not allocate any Java objects.
+ * If {@link #getFrameBuffer} returns null the paints of that size are delivered through
+ * {@link CefRenderHandler#onPaint} as usual.
+ * The methods of this class will be called on the UI thread.
+ *
+ * @since api-1.8
+ */
+public interface CefFrameBufferRenderHandler extends CefRenderHandler {
+    /**
+     * Returns the frame buffer that should receive the paints of the specified size.
+     * @param browser The browser generating the event.
+     * @param popup True if the buffer is requested for a popup window.
+     * @param width Width of the view.
+     * @param height Height of the view.
+     * @return A buffer with matching size or null to use {@link CefRenderHandler#onPaint}.
+     */
+    public CefFrameBuffer getFrameBuffer(CefBrowser browser, boolean popup, int width, int height);
+
+    /**
+     * Handle painting. The dirty regions of the paint were already copied into
+     * {@code frameBuffer}.
+     * @param browser The browser generating the event.
+     * @param popup True if painting a popup window.
+     * @param frameBuffer The frame buffer that was returned by {@link #getFrameBuffer}.
+     * @param dirtyRectCount Number of valid entries in {@link CefFrameBuffer#getDirtyRects()}.
+     */
+    public void onPaint(CefBrowser browser, boolean popup, CefFrameBuffer frameBuffer,
+            int dirtyRectCount);
+}
@@ -0,0 +1,43 @@
+package org.cef.handler;
+
+import org.cef.browser.CefBrowser;
+
+/**
+ * An abstract adapter class for receiving render events through frame buffers.
+ * Keeps one frame buffer for the view and one for the popup and reallocates them when
+ * their size changes, so an instance should be used with a single browser.
+ *
+ * @since api-1.8
+ */
+public abstract class CefFrameBufferRenderHandlerAdapter
+        extends CefRenderHandlerAdapter implements CefFrameBufferRenderHandler {
+    private CefFrameBuffer viewBuffer_;
+    private CefFrameBuffer popupBuffer_;
+
+    @Override
+    public CefFrameBuffer getFrameBuffer(CefBrowser browser, boolean popup, int width, int height) {
+        synchronized (this) {
+            CefFrameBuffer frameBuffer = popup ? popupBuffer_ : viewBuffer_;
+            if (frameBuffer == null || !frameBuffer.fits(width, height)) {
+                frameBuffer = new CefFrameBuffer(width, height);
+                if (popup)
+                    popupBuffer_ = frameBuffer;
+                else
+                    viewBuffer_ = frameBuffer;
+            }
+            return frameBuffer;
+        }
+    }
+
+    /**
+     * Returns the current frame buffer of the view or the popup, or null if nothing was
+     * painted yet.
+     */
+    public synchronized CefFrameBuffer getCurrentFrameBuffer(boolean popup) {
+        return popup ? popupBuffer_ : viewBuffer_;
+    }
+
+    @Override
+    public void onPaint(CefBrowser browser, boolean popup, CefFrameBuffer frameBuffer,
+            int dirtyRectCount) {}
+}
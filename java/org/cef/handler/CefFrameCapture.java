@@ -0,0 +1,439 @@
+package org.cef.handler;
+
+import org.cef.misc.CefLog;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import javax.imageio.ImageIO;
+
+/**
+ * Records the view of an off-screen browser by passing snapshots of its paints to an
+ * {@link Encoder} on a background thread.
+ * <p>
+ * Call one of the {@code offer} methods from {@link CefRenderHandler#onPaint} or
+ * {@link CefFrameBufferRenderHandler#onPaint} for paints of the view. A paint is captured if
+ * at least one frame interval has passed since the previous capture, CEF only paints when the
+ * content changes so the timestamps of the frames are not evenly spaced. The frame is copied
+ * into one of a fixed number of reusable direct buffers and queued for the encoder thread.
+ * If all buffers are in use the {@link OverflowPolicy} decides whether the oldest queued frame
+ * is dropped or the paint thread waits for the encoder.
+ * <p>
+ * All methods are thread-safe.
+ *
+ * @since api-1.8
+ */
+public class CefFrameCapture implements AutoCloseable {
+    /**
+     * What to do with a captured frame when all buffers are in use.
+     */
+    public enum OverflowPolicy {
+        /**
+         * Replace the oldest frame that waits for the encoder. The paint thread never waits.
+         */
+        DROP_OLDEST,
+        /**
+         * Wait until the encoder releases a buffer.
+         */
+        BLOCK
+    }
+
+    /**
+     * Receives the captured frames on the encoder thread.
+     */
+    public interface Encoder {
+        /**
+         * Encodes a frame. The frame and its buffer are reused after this method returns.
+         */
+        void encode(Frame frame) throws IOException;
+
+        /**
+         * Called on the encoder thread after the last frame.
+         */
+        default void close() throws IOException {}
+    }
+
+    /**
+     * A captured frame in BGRA format with premultiplied alpha and a stride of
+     * {@code width * 4}.
+     */
+    public static final class Frame {
+        private ByteBuffer buffer_;
+        private int width_;
+        private int height_;
+        private long index_;
+        private long timestampNanos_;
+
+        private Frame() {}
+
+        /**
+         * Returns a read-only view of the pixels of the frame.
+         */
+        public ByteBuffer getBuffer() {
+            ByteBuffer buffer = buffer_.asReadOnlyBuffer();
+            buffer.clear().limit(width_ * height_ * 4);
+            return buffer;
+        }
+
+        public int getWidth() {
+            return width_;
+        }
+
+        public int getHeight() {
+            return height_;
+        }
+
+        /**
+         * Returns the number of the frame. Frames are numbered in capture order starting at
+         * 0, the numbers of dropped frames are missing.
+         */
+        public long getIndex() {
+            return index_;
+        }
+
+        /**
+         * Returns the capture time in nanoseconds relative to the creation of the capture.
+         */
+        public long getTimestampNanos() {
+            return timestampNanos_;
+        }
+    }
+
+    private final long frameIntervalNanos_;
+    private final OverflowPolicy policy_;
+    private final Encoder encoder_;
+    private final long startNanos_ = System.nanoTime();
+    private final ArrayDeque<Frame> free_ = new ArrayDeque<>();
+    private final ArrayDeque<Frame> queue_ = new ArrayDeque<>();
+    private final Thread thread_;
+    private boolean closed_;
+    private long nextCaptureNanos_;
+    private long nextIndex_;
+    private Exception failure_;
+
+    private long offeredCount_;
+    private long skippedCount_;
+    private long droppedCount_;
+    private long encodedCount_;
+    private long encodedBytes_;
+    private long encodeNanos_;
+    private long blockedNanos_;
+
+    /**
+     * Creates a capture and starts its encoder thread.
+     * @param frameRate The maximum number of frames captured per second.
+     * @param bufferCount The number of frame buffers, at least 2.
+     * @param policy What to do when all buffers are in use.
+     * @param encoder Receives the frames.
+     */
+    public CefFrameCapture(
+            double frameRate, int bufferCount, OverflowPolicy policy, Encoder encoder) {
+        if (!(frameRate > 0)) throw new IllegalArgumentException("frameRate must be positive");
+        if (bufferCount < 2) throw new IllegalArgumentException("bufferCount must be at least 2");
+        frameIntervalNanos_ = (long) (1_000_000_000L / frameRate);
+        policy_ = policy;
+        encoder_ = encoder;
+        for (int i = 0; i < bufferCount; ++i) free_.add(new Frame());
+        nextCaptureNanos_ = startNanos_;
+
+        thread_ = new Thread(this::run, "CefFrameCapture");
+        thread_.setDaemon(true);
+        thread_.start();
+    }
+
+    /**
+     * Captures the view from a frame buffer. Synchronizes on the frame buffer while copying.
+     * @return True if the frame was captured.
+     */
+    public boolean offer(CefFrameBuffer frameBuffer) {
+        synchronized (frameBuffer) {
+            return offer(frameBuffer.getBuffer(), frameBuffer.getWidth(), frameBuffer.getHeight());
+        }
+    }
+
+    /**
+     * Captures the view from a paint buffer.
+     * @param buffer The pixels of the whole view in BGRA format.
+     * @return True if the frame was captured.
+     */
+    public boolean offer(ByteBuffer buffer, int width, int height) {
+        // Check the size before a frame is taken from the pool.
+        int size = CefFrameBuffer.getByteSize(width, height);
+        long now = System.nanoTime();
+        Frame frame;
+        synchronized (this) {
+            if (closed_) return false;
+            offeredCount_++;
+            if (now < nextCaptureNanos_) {
+                skippedCount_++;
+                return false;
+            }
+            frame = acquire();
+            if (frame == null) return false;
+            // Keep a fixed rate but don't try to catch up after a pause.
+            nextCaptureNanos_ = now - nextCaptureNanos_ >= frameIntervalNanos_
+                    ? now + frameIntervalNanos_
+                    : nextCaptureNanos_ + frameIntervalNanos_;
+            frame.index_ = nextIndex_++;
+        }
+
+        // The frame is owned by this thread until it is queued.
+        if (frame.buffer_ == null || frame.buffer_.capacity() < size)
+            frame.buffer_ = ByteBuffer.allocateDirect(size).order(ByteOrder.nativeOrder());
+        ByteBuffer source = buffer.duplicate();
+        source.limit(size).position(0);
+        frame.buffer_.clear();
+        frame.buffer_.put(source);
+        frame.width_ = width;
+        frame.height_ = height;
+        frame.timestampNanos_ = now - startNanos_;
+
+        synchronized (this) {
+            if (closed_) {
+                free_.add(frame);
+                return false;
+            }
+            queue_.add(frame);
+            notifyAll();
+        }
+        return true;
+    }
+
+    // Returns a free frame according to the overflow policy or null if the capture was closed
+    // or the thread interrupted while waiting.
+    private Frame acquire() {
+        Frame frame = free_.poll();
+        if (frame != null) return frame;
+
+        if (policy_ == OverflowPolicy.DROP_OLDEST) {
+            // Drops the new frame if every buffer is being encoded or filled.
+            droppedCount_++;
+            return queue_.poll();
+        }
+
+        long start = System.nanoTime();
+        try {
+            while ((frame = free_.poll()) == null && !closed_) wait();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            blockedNanos_ += System.nanoTime() - start;
+        }
+        return closed_ ? null : frame;
+    }
+
+    private void run() {
+        while (true) {
+            Frame frame;
+            synchronized (this) {
+                while (queue_.isEmpty() && !closed_) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        closed_ = true;
+                    }
+                }
+                frame = queue_.poll();
+                if (frame == null) break;
+            }
+
+            long start = System.nanoTime();
+            try {
+                encoder_.encode(frame);
+            } catch (IOException | RuntimeException e) {
+                fail(e);
+            }
+            long elapsed = System.nanoTime() - start;
+
+            synchronized (this) {
+                encodedCount_++;
+                encodedBytes_ += (long) frame.width_ * frame.height_ * 4;
+                encodeNanos_ += elapsed;
+                free_.add(frame);
+                notifyAll();
+            }
+        }
+
+        try {
+            encoder_.close();
+        } catch (IOException | RuntimeException e) {
+            fail(e);
+        }
+    }
+
+    private synchronized void fail(Exception e) {
+        if (failure_ == null) {
+            failure_ = e;
+            CefLog.Error("CefFrameCapture: encoder failed: %s", e);
+        }
+    }
+
+    /**
+     * Stops capturing, encodes the queued frames and closes the encoder. Waits for the encoder
+     * thread to finish unless the calling thread is interrupted, in which case the encoder
+     * finishes in the background and the interrupt status is kept.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            closed_ = true;
+            notifyAll();
+        }
+        if (Thread.currentThread() == thread_) return;
+        try {
+            thread_.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Returns the first exception thrown by the encoder or null.
+     */
+    public synchronized Exception getFailure() {
+        return failure_;
+    }
+
+    /**
+     * Returns the number of offered paints.
+     */
+    public synchronized long getOfferedCount() {
+        return offeredCount_;
+    }
+
+    /**
+     * Returns the number of offered paints that were skipped because they arrived before the
+     * next frame interval.
+     */
+    public synchronized long getSkippedCount() {
+        return skippedCount_;
+    }
+
+    /**
+     * Returns the number of captured frames that were replaced before they were encoded.
+     */
+    public synchronized long getDroppedCount() {
+        return droppedCount_;
+    }
+
+    /**
+     * Returns the number of frames passed to the encoder.
+     */
+    public synchronized long getEncodedCount() {
+        return encodedCount_;
+    }
+
+    /**
+     * Returns the number of pixel bytes passed to the encoder.
+     */
+    public synchronized long getEncodedBytes() {
+        return encodedBytes_;
+    }
+
+    /**
+     * Returns the average time the encoder took per frame.
+     */
+    public synchronized long getAverageEncodeNanos() {
+        return encodedCount_ == 0 ? 0 : encodeNanos_ / encodedCount_;
+    }
+
+    /**
+     * Returns the time paint threads waited for a free buffer with {@link OverflowPolicy#BLOCK}.
+     */
+    public synchronized long getBlockedNanos() {
+        return blockedNanos_;
+    }
+
+    /**
+     * Returns the number of frames waiting for the encoder.
+     */
+    public synchronized int getQueuedCount() {
+        return queue_.size();
+    }
+
+    /**
+     * Returns the number of encoded frames per second since the capture was created.
+     */
+    public synchronized double getEncodedFramesPerSecond() {
+        long elapsed = System.nanoTime() - startNanos_;
+        return elapsed <= 0 ? 0 : encodedCount_ * 1e9 / elapsed;
+    }
+
+    /**
+     * Returns an encoder that writes each frame to a PNG file named
+     * {@code <prefix><index>.png} in |directory|.
+     */
+    public static Encoder pngSequence(Path directory, String prefix) {
+        return new PngSequenceEncoder(directory, prefix);
+    }
+
+    /**
+     * Returns an encoder that appends the raw BGRA pixels of each frame to |file|. An existing
+     * file is overwritten. The file has no header, all frames should have the same size.
+     */
+    public static Encoder rawFile(Path file) {
+        return new RawFileEncoder(file);
+    }
+
+    private static class PngSequenceEncoder implements Encoder {
+        private final Path directory_;
+        private final String prefix_;
+        private BufferedImage image_;
+        private int[] pixels_;
+
+        PngSequenceEncoder(Path directory, String prefix) {
+            directory_ = directory;
+            prefix_ = prefix;
+        }
+
+        @Override
+        public void encode(Frame frame) throws IOException {
+            int width = frame.getWidth();
+            int height = frame.getHeight();
+            if (image_ == null || image_.getWidth() != width || image_.getHeight() != height) {
+                image_ = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+                pixels_ = ((DataBufferInt) image_.getRaster().getDataBuffer()).getData();
+            }
+            // BGRA bytes are INT_ARGB_PRE ints in little endian order.
+            frame.getBuffer().order(ByteOrder.LITTLE_ENDIAN).asIntBuffer().get(pixels_);
+
+            Path file = directory_.resolve(String.format("%s%06d.png", prefix_, frame.getIndex()));
+            if (!ImageIO.write(image_, "png", file.toFile()))
+                throw new IOException("No PNG writer available");
+        }
+    }
+
+    private static class RawFileEncoder implements Encoder {
+        private final Path file_;
+        private FileChannel channel_;
+
+        RawFileEncoder(Path file) {
+            file_ = file;
+        }
+
+        @Override
+        public void encode(Frame frame) throws IOException {
+            if (channel_ == null) {
+                channel_ = FileChannel.open(file_, StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            }
+            ByteBuffer buffer = frame.getBuffer();
+            while (buffer.hasRemaining()) channel_.write(buffer);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (channel_ != null)
+                channel_.close();
+            else
+                Files.write(file_, new byte[0]);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package org.cef.handler;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Read-only memory mapping of a file that is served by {@link CefMappedFileResourceHandler}.
+ * A mapping is immutable and can be shared by any number of handlers and threads. Use
+ * {@link #isStale()} to detect whether the file was modified after it was mapped.
+ * Files larger than {@link Integer#MAX_VALUE} bytes can't be mapped.
+ *
+ * @since api-1.8
+ */
+public final class CefMappedFile {
+    private static final Map<String, String> MIME_TYPES = new HashMap<>();
+    static {
+        String[] types = {"html", "text/html", "htm", "text/html", "css", "text/css", "js",
+                "text/javascript", "mjs", "text/javascript", "json", "application/json", "map",
+                "application/json", "wasm", "application/wasm", "xml", "text/xml", "txt",
+                "text/plain", "svg", "image/svg+xml", "png", "image/png", "jpg", "image/jpeg",
+                "jpeg", "image/jpeg", "gif", "image/gif", "webp", "image/webp", "ico",
+                "image/x-icon", "bmp", "image/bmp", "woff", "font/woff", "woff2", "font/woff2",
+                "ttf", "font/ttf", "otf", "font/otf", "mp4", "video/mp4", "webm", "video/webm",
+                "mp3", "audio/mpeg", "ogg", "audio/ogg", "wav", "audio/wav", "pdf",
+                "application/pdf", "zip", "application/zip"};
+        for (int i = 0; i < types.length; i += 2) MIME_TYPES.put(types[i], types[i + 1]);
+    }
+
+    private static final String DEFAULT_MIME_TYPE = "application/octet-stream";
+
+    private final Path path_;
+    private final ByteBuffer buffer_;
+    private final long lastModified_;
+    private final String eTag_;
+    private final String mimeType_;
+
+    private CefMappedFile(Path path, ByteBuffer buffer, long lastModified) {
+        path_ = path;
+        buffer_ = buffer;
+        lastModified_ = lastModified;
+        eTag_ = "\"" + Long.toHexString(buffer.capacity()) + "-" + Long.toHexString(lastModified)
+                + "\"";
+        mimeType_ = getMimeType(path.getFileName().toString());
+    }
+
+    /**
+     * Maps the specified regular file.
+     * @throws IOException If the file can't be read or is too large to be mapped.
+     */
+    public static CefMappedFile open(Path path) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        if (!attributes.isRegularFile()) throw new IOException("Not a regular file: " + path);
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) throw new IOException("File too large to map: " + path);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            return new CefMappedFile(path, buffer, attributes.lastModifiedTime().toMillis());
+        }
+    }
+
+    /**
+     * Returns the MIME type for the extension of the specified file name.
+     */
+    public static String getMimeType(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        if (dot < 0) return DEFAULT_MIME_TYPE;
+        String mimeType = MIME_TYPES.get(fileName.substring(dot + 1).toLowerCase(Locale.ROOT));
+        return mimeType != null ? mimeType : DEFAULT_MIME_TYPE;
+    }
+
+    public Path getPath() {
+        return path_;
+    }
+
+    public long getSize() {
+        return buffer_.capacity();
+    }
+
+    public long getLastModified() {
+        return lastModified_;
+    }
+
+    /**
+     * Returns the strong entity tag of the mapped content, derived from size and modification
+     * time.
+     */
+    public String getETag() {
+        return eTag_;
+    }
+
+    public String getMimeType() {
+        return mimeType_;
+    }
+
+    /**
+     * Returns true if the file was modified, replaced or removed after it was mapped.
+     */
+    public boolean isStale() {
+        try {
+            BasicFileAttributes attributes =
+                    Files.readAttributes(path_, BasicFileAttributes.class);
+            return attributes.size() != buffer_.capacity()
+                    || attributes.lastModifiedTime().toMillis() != lastModified_;
+        } catch (IOException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Returns a new read-only view of the mapped content. The view has its own position and
+     * limit.
+     */
+    public ByteBuffer getContent() {
+        return buffer_.asReadOnlyBuffer();
+    }
+}
@@ -0,0 +1,154 @@
+package org.cef.handler;
+
+import org.cef.callback.CefCallback;
+import org.cef.misc.IntRef;
+import org.cef.misc.StringRef;
+import org.cef.network.CefRequest;
+import org.cef.network.CefResponse;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Resource handler that serves a {@link CefMappedFile}. The response data is copied from the
+ * mapping straight into the native buffer of CEF. Supports single byte range requests
+ * ("Range: bytes=...") and conditional requests with "If-None-Match". Like HTTP servers it
+ * ignores the range of requests other than GET, so HEAD is answered like a full GET.
+ * A handler instance serves a single request.
+ *
+ * @since api-1.8
+ */
+public class CefMappedFileResourceHandler extends CefDirectResourceHandlerAdapter {
+    private final CefMappedFile file_;
+    private int status_ = 200;
+    private long start_;
+    private long length_;
+    private ByteBuffer content_;
+
+    public CefMappedFileResourceHandler(CefMappedFile file) {
+        file_ = file;
+    }
+
+    public CefMappedFile getFile() {
+        return file_;
+    }
+
+    @Override
+    public boolean processRequest(CefRequest request, CefCallback callback) {
+        long size = file_.getSize();
+        start_ = 0;
+        length_ = size;
+
+        if (matchesETag(request.getHeaderByName("If-None-Match"))) {
+            status_ = 304;
+            length_ = 0;
+        } else if ("GET".equals(request.getMethod())) {
+            String range = request.getHeaderByName("Range");
+            if (range != null && !range.isEmpty()) {
+                long[] bounds = parseRange(range, size);
+                if (bounds == null) {
+                    status_ = 416;
+                    length_ = 0;
+                } else if (bounds.length == 2) {
+                    status_ = 206;
+                    start_ = bounds[0];
+                    length_ = bounds[1] - bounds[0] + 1;
+                }
+            }
+        }
+
+        if ("HEAD".equals(request.getMethod())) length_ = 0;
+        if (length_ > 0) {
+            content_ = file_.getContent();
+            content_.position((int) start_);
+            content_.limit((int) (start_ + length_));
+        }
+
+        callback.Continue();
+        return true;
+    }
+
+    @Override
+    public void getResponseHeaders(
+            CefResponse response, IntRef responseLength, StringRef redirectUrl) {
+        response.setStatus(status_);
+        response.setStatusText(getStatusText(status_));
+        response.setMimeType(file_.getMimeType());
+        response.setHeaderByName("ETag", file_.getETag(), true);
+        response.setHeaderByName("Accept-Ranges", "bytes", true);
+        if (status_ == 206) {
+            response.setHeaderByName("Content-Range",
+                    "bytes " + start_ + "-" + (start_ + length_ - 1) + "/" + file_.getSize(),
+                    true);
+        } else if (status_ == 416) {
+            response.setHeaderByName("Content-Range", "bytes */" + file_.getSize(), true);
+        }
+        responseLength.set((int) length_);
+    }
+
+    @Override
+    public int readResponse(ByteBuffer dataOut, CefCallback callback) {
+        return copyResponse(content_, dataOut);
+    }
+
+    @Override
+    public void cancel() {
+        content_ = null;
+    }
+
+    private boolean matchesETag(String ifNoneMatch) {
+        if (ifNoneMatch == null || ifNoneMatch.isEmpty()) return false;
+        String eTag = file_.getETag();
+        for (String tag : ifNoneMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.startsWith("W/")) tag = tag.substring(2);
+            if (tag.equals("*") || tag.equals(eTag)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Parses a "Range" header value for content of the specified size.
+     * @return The inclusive [first, last] byte positions, an empty array if the header should
+     *         be ignored (multiple or malformed ranges) or null if the range is not satisfiable.
+     */
+    public static long[] parseRange(String range, long size) {
+        final long[] ignore = new long[0];
+        range = range.trim();
+        if (!range.startsWith("bytes=") || range.indexOf(',') >= 0) return ignore;
+
+        String spec = range.substring(6).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) return ignore;
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            if (first.isEmpty()) {
+                // Suffix range with the last N bytes.
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0 || size == 0) return null;
+                return new long[] {Math.max(0, size - suffix), size - 1};
+            }
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? size - 1 : Long.parseLong(last);
+            if (start < 0) return ignore;
+            if (start >= size) return null;
+            if (end < start) return ignore;
+            return new long[] {start, Math.min(end, size - 1)};
+        } catch (NumberFormatException e) {
+            return ignore;
+        }
+    }
+
+    private static String getStatusText(int status) {
+        switch (status) {
+            case 206:
+                return "Partial Content";
+            case 304:
+                return "Not Modified";
+            case 416:
+                return "Range Not Satisfiable";
+            default:
+                return "OK";
+        }
+    }
+}
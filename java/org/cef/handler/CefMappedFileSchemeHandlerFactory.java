@@ -0,0 +1,105 @@
+package org.cef.handler;
+
+import org.cef.browser.CefBrowser;
+import org.cef.browser.CefFrame;
+import org.cef.callback.CefSchemeHandlerFactory;
+import org.cef.network.CefRequest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Scheme handler factory that serves the files of a directory through
+ * {@link CefMappedFileResourceHandler}. The path of the request URL is resolved against the
+ * root directory; requests for paths outside of it, also through symbolic links, or for
+ * missing files get the default handling. Mappings are cached and shared by all browsers
+ * until the file changes, register a single instance with
+ * {@link org.cef.CefApp#registerSchemeHandlerFactory}.
+ *
+ * @since api-1.8
+ */
+public class CefMappedFileSchemeHandlerFactory implements CefSchemeHandlerFactory {
+    private final Path root_;
+    private final String indexFile_;
+    private final ConcurrentHashMap<Path, CefMappedFile> files_ = new ConcurrentHashMap<>();
+
+    public CefMappedFileSchemeHandlerFactory(Path root) {
+        this(root, "index.html");
+    }
+
+    /**
+     * @param root Directory with the files to serve.
+     * @param indexFile File that is served for a request of a directory or null.
+     */
+    public CefMappedFileSchemeHandlerFactory(Path root, String indexFile) {
+        root_ = root.toAbsolutePath().normalize();
+        indexFile_ = indexFile;
+    }
+
+    @Override
+    public CefResourceHandler create(
+            CefBrowser browser, CefFrame frame, String schemeName, CefRequest request) {
+        Path path = resolve(request.getURL());
+        if (path == null) return null;
+
+        CefMappedFile file = getFile(path);
+        return file != null ? new CefMappedFileResourceHandler(file) : null;
+    }
+
+    /**
+     * Returns the cached mapping of the specified file and remaps it if the file was modified.
+     * @return The mapping or null if the file can't be mapped.
+     */
+    public CefMappedFile getFile(Path path) {
+        CefMappedFile file = files_.get(path);
+        if (file != null && !file.isStale()) return file;
+
+        try {
+            CefMappedFile mapped = CefMappedFile.open(path);
+            files_.put(path, mapped);
+            return mapped;
+        } catch (IOException e) {
+            files_.remove(path);
+            return null;
+        }
+    }
+
+    /**
+     * Drops all cached mappings. The mappings are released once the handlers that use them
+     * are garbage collected.
+     */
+    public void clear() {
+        files_.clear();
+    }
+
+    /**
+     * Returns the file that the path of |url| refers to, or null if it doesn't exist or is
+     * outside of the root directory. Symbolic links are resolved before the check, so a link
+     * inside the root directory can't point outside of it.
+     */
+    public Path resolve(String url) {
+        String urlPath;
+        try {
+            urlPath = new URI(url).getPath();
+        } catch (URISyntaxException e) {
+            return null;
+        }
+        if (urlPath == null) return null;
+
+        while (urlPath.startsWith("/")) urlPath = urlPath.substring(1);
+        if ((urlPath.isEmpty() || urlPath.endsWith("/")) && indexFile_ != null)
+            urlPath += indexFile_;
+
+        try {
+            Path root = root_.toRealPath();
+            Path path = root.resolve(urlPath).toRealPath();
+            return path.startsWith(root) ? path : null;
+        } catch (IOException | InvalidPathException e) {
+            return null;
+        }
+    }
+}
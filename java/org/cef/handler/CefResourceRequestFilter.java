@@ -0,0 +1,170 @@
+package org.cef.handler;
+
+import org.cef.network.CefRequest.ResourceType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Declarative rules that decide which resource requests of a client reach
+ * {@link CefRequestHandler#getResourceRequestHandler}. The rules are evaluated in native code
+ * on the IO thread: requests that match no rule get the default handling without calling into
+ * Java at all. Set a filter with {@link org.cef.CefClient#setResourceRequestFilter}.
+ * <p>
+ * A rule matches a request if its URL pattern matches the URL and, when set, the method and
+ * the resource type match too. Filters are immutable. URLs are compared character by
+ * character, Chromium passes them canonicalized and percent-encoded.
+ *
+ * @since api-1.8
+ */
+public final class CefResourceRequestFilter {
+    /**
+     * Glob rules match any URL longer than this number of characters, such as large data:
+     * URLs, so that those are passed to Java without being scanned.
+     */
+    public static final int MAX_GLOB_URL_LENGTH = 8192;
+
+    public enum PatternType {
+        /** The URL starts with the pattern. */
+        PREFIX,
+        /**
+         * The whole URL matches the pattern, where '*' matches any characters and '?' one.
+         * There is no escape character.
+         */
+        GLOB
+    }
+
+    /**
+     * A single rule. Rules are immutable, the {@code with} methods return a new rule.
+     */
+    public static final class Rule {
+        private final PatternType type_;
+        private final String pattern_;
+        private final String method_;
+        private final EnumSet<ResourceType> resourceTypes_;
+
+        private Rule(PatternType type, String pattern, String method,
+                EnumSet<ResourceType> resourceTypes) {
+            if (pattern == null) throw new NullPointerException("pattern");
+            type_ = type;
+            pattern_ = pattern;
+            method_ = method;
+            resourceTypes_ = resourceTypes;
+        }
+
+        public static Rule prefix(String prefix) {
+            return new Rule(PatternType.PREFIX, prefix, null, EnumSet.noneOf(ResourceType.class));
+        }
+
+        public static Rule glob(String glob) {
+            return new Rule(PatternType.GLOB, glob, null, EnumSet.noneOf(ResourceType.class));
+        }
+
+        /**
+         * Returns a rule that only matches requests with the HTTP method |method|, e.g. "GET".
+         */
+        public Rule withMethod(String method) {
+            String upperCaseMethod = method == null ? null : method.toUpperCase(Locale.ROOT);
+            return new Rule(type_, pattern_, upperCaseMethod, resourceTypes_);
+        }
+
+        /**
+         * Returns a rule that only matches requests of one of the resource types |types|.
+         */
+        public Rule withResourceTypes(ResourceType... types) {
+            EnumSet<ResourceType> resourceTypes = EnumSet.noneOf(ResourceType.class);
+            Collections.addAll(resourceTypes, types);
+            return new Rule(type_, pattern_, method_, resourceTypes);
+        }
+
+        public PatternType getPatternType() {
+            return type_;
+        }
+
+        public String getPattern() {
+            return pattern_;
+        }
+
+        /**
+         * Returns the method the rule is limited to, or null for all methods.
+         */
+        public String getMethod() {
+            return method_;
+        }
+
+        /**
+         * Returns the resource types the rule is limited to, empty for all types.
+         */
+        public EnumSet<ResourceType> getResourceTypes() {
+            return EnumSet.copyOf(resourceTypes_);
+        }
+
+        boolean matches(String url, String method, ResourceType resourceType) {
+            if (!resourceTypes_.isEmpty() && !resourceTypes_.contains(resourceType)) return false;
+            if (method_ != null && !method_.equals(method)) return false;
+            if (type_ == PatternType.PREFIX) return url.startsWith(pattern_);
+            if (url.length() > MAX_GLOB_URL_LENGTH) return true;
+            return globMatches(pattern_, url);
+        }
+
+        // Returns the resource types as a bit mask indexed by ordinal, 0 for all types.
+        int getResourceTypeMask() {
+            int mask = 0;
+            for (ResourceType resourceType : resourceTypes_) mask |= 1 << resourceType.ordinal();
+            return mask;
+        }
+    }
+
+    private final List<Rule> rules_;
+
+    public CefResourceRequestFilter(Rule... rules) {
+        this(List.of(rules));
+    }
+
+    public CefResourceRequestFilter(List<Rule> rules) {
+        rules_ = Collections.unmodifiableList(new ArrayList<>(rules));
+    }
+
+    public List<Rule> getRules() {
+        return rules_;
+    }
+
+    /**
+     * Returns true if any rule matches. The native matcher implements the same logic.
+     */
+    public boolean matches(String url, String method, ResourceType resourceType) {
+        for (Rule rule : rules_) {
+            if (rule.matches(url, method, resourceType)) return true;
+        }
+        return false;
+    }
+
+    // Matches |glob| against the whole |url| greedily and backtracks to the last '*' on a
+    // mismatch, without recursion. resource_request_filter.cpp uses the same algorithm.
+    static boolean globMatches(String glob, String url) {
+        int g = 0;
+        int u = 0;
+        int star = -1;
+        int starU = 0;
+        while (u < url.length()) {
+            if (g < glob.length() && glob.charAt(g) == '*') {
+                star = g++;
+                starU = u;
+            } else if (g < glob.length()
+                    && (glob.charAt(g) == '?' || glob.charAt(g) == url.charAt(u))) {
+                g++;
+                u++;
+            } else if (star >= 0) {
+                g = star + 1;
+                u = ++starU;
+            } else {
+                return false;
+            }
+        }
+        while (g < glob.length() && glob.charAt(g) == '*') g++;
+        return g == glob.length();
+    }
+}
@@ -0,0 +1,253 @@
+package org.cef.network;
+
+import java.util.Arrays;
+import java.util.Date;
+
+/**
+ * An immutable list of cookies stored in a few flat arrays, with times as milliseconds since
+ * the epoch. It is transferred to and from native code in a single call, unlike a list of
+ * {@link CefCookie} objects that needs a call and several objects per cookie.
+ * <p>
+ * A cookie can have a URL for {@link CefCookieManager#setCookies} and
+ * {@link CefCookieManager#deleteCookies(CefCookieList)}. Cookies returned by
+ * {@link CefCookieManager#getAllCookies()} have none. Without a URL the URL of a cookie is
+ * derived from its domain, path and secure flag, see {@link #getEffectiveUrl(int)}.
+ *
+ * @since api-1.8
+ */
+public final class CefCookieList {
+    static final int FLAG_SECURE = 1;
+    static final int FLAG_HTTP_ONLY = 2;
+    static final int FLAG_HAS_EXPIRES = 4;
+
+    // Name, value, domain and path of each cookie.
+    static final int STRINGS_PER_COOKIE = 4;
+    // Creation, last access and expiration time of each cookie.
+    static final int TIMES_PER_COOKIE = 3;
+
+    private static final CefCookieList EMPTY =
+            new CefCookieList(null, new String[0], new long[0], new int[0]);
+
+    private final String[] urls_;
+    private final String[] strings_;
+    private final long[] times_;
+    private final int[] flags_;
+
+    CefCookieList(String[] urls, String[] strings, long[] times, int[] flags) {
+        urls_ = urls;
+        strings_ = strings;
+        times_ = times;
+        flags_ = flags;
+    }
+
+    public static CefCookieList empty() {
+        return EMPTY;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int size() {
+        return flags_.length;
+    }
+
+    public boolean isEmpty() {
+        return flags_.length == 0;
+    }
+
+    /**
+     * Returns the URL the cookie was added with, or null.
+     */
+    public String getUrl(int index) {
+        checkIndex(index);
+        return urls_ == null ? null : urls_[index];
+    }
+
+    /**
+     * Returns the URL the cookie was added with or, if there is none, "https://" for secure
+     * cookies and "http://" otherwise followed by the domain without a leading '.' and the
+     * path.
+     */
+    public String getEffectiveUrl(int index) {
+        String url = getUrl(index);
+        if (url != null) return url;
+        String domain = getDomain(index);
+        if (domain.startsWith(".")) domain = domain.substring(1);
+        String path = getPath(index);
+        return (isSecure(index) ? "https://" : "http://") + domain
+                + (path.startsWith("/") ? path : "/" + path);
+    }
+
+    public String getName(int index) {
+        return getString(index, 0);
+    }
+
+    public String getValue(int index) {
+        return getString(index, 1);
+    }
+
+    public String getDomain(int index) {
+        return getString(index, 2);
+    }
+
+    public String getPath(int index) {
+        return getString(index, 3);
+    }
+
+    public boolean isSecure(int index) {
+        return (getFlags(index) & FLAG_SECURE) != 0;
+    }
+
+    public boolean isHttpOnly(int index) {
+        return (getFlags(index) & FLAG_HTTP_ONLY) != 0;
+    }
+
+    public long getCreationMillis(int index) {
+        return getTime(index, 0);
+    }
+
+    public long getLastAccessMillis(int index) {
+        return getTime(index, 1);
+    }
+
+    public boolean hasExpires(int index) {
+        return (getFlags(index) & FLAG_HAS_EXPIRES) != 0;
+    }
+
+    /**
+     * Returns the expiration time, only valid if {@link #hasExpires(int)} returns true.
+     */
+    public long getExpiresMillis(int index) {
+        return getTime(index, 2);
+    }
+
+    /**
+     * Creates a {@link CefCookie} for the cookie at |index|.
+     */
+    public CefCookie getCookie(int index) {
+        boolean hasExpires = hasExpires(index);
+        return new CefCookie(getName(index), getValue(index), getDomain(index), getPath(index),
+                isSecure(index), isHttpOnly(index), new Date(getCreationMillis(index)),
+                new Date(getLastAccessMillis(index)), hasExpires,
+                hasExpires ? new Date(getExpiresMillis(index)) : null);
+    }
+
+    // Returns the effective URL of every cookie.
+    String[] getEffectiveUrls() {
+        String[] urls = new String[size()];
+        for (int i = 0; i < urls.length; i++) urls[i] = getEffectiveUrl(i);
+        return urls;
+    }
+
+    String[] getStrings() {
+        return strings_;
+    }
+
+    long[] getTimes() {
+        return times_;
+    }
+
+    int[] getFlags() {
+        return flags_;
+    }
+
+    private String getString(int index, int field) {
+        checkIndex(index);
+        return strings_[index * STRINGS_PER_COOKIE + field];
+    }
+
+    private long getTime(int index, int field) {
+        checkIndex(index);
+        return times_[index * TIMES_PER_COOKIE + field];
+    }
+
+    private int getFlags(int index) {
+        checkIndex(index);
+        return flags_[index];
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= flags_.length)
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + flags_.length);
+    }
+
+    /**
+     * Builds a {@link CefCookieList}. Strings that are null are stored as empty strings.
+     */
+    public static final class Builder {
+        private String[] urls_ = new String[16];
+        private String[] strings_ = new String[16 * STRINGS_PER_COOKIE];
+        private long[] times_ = new long[16 * TIMES_PER_COOKIE];
+        private int[] flags_ = new int[16];
+        private int size_;
+        private boolean hasUrls_;
+
+        private Builder() {}
+
+        /**
+         * Adds a cookie without times. The creation and last access times are set by CEF when
+         * the cookie is set. |expiresMillis| is only used if |hasExpires| is true.
+         */
+        public Builder add(String url, String name, String value, String domain, String path,
+                boolean secure, boolean httpOnly, boolean hasExpires, long expiresMillis) {
+            return add(url, name, value, domain, path, secure, httpOnly, 0, 0, hasExpires,
+                    expiresMillis);
+        }
+
+        public Builder add(String url, String name, String value, String domain, String path,
+                boolean secure, boolean httpOnly, long creationMillis, long lastAccessMillis,
+                boolean hasExpires, long expiresMillis) {
+            if (size_ == flags_.length) grow();
+            urls_[size_] = url;
+            hasUrls_ |= url != null;
+            int s = size_ * STRINGS_PER_COOKIE;
+            strings_[s] = name == null ? "" : name;
+            strings_[s + 1] = value == null ? "" : value;
+            strings_[s + 2] = domain == null ? "" : domain;
+            strings_[s + 3] = path == null ? "" : path;
+            int t = size_ * TIMES_PER_COOKIE;
+            times_[t] = creationMillis;
+            times_[t + 1] = lastAccessMillis;
+            times_[t + 2] = hasExpires ? expiresMillis : 0;
+            flags_[size_] = (secure ? FLAG_SECURE : 0) | (httpOnly ? FLAG_HTTP_ONLY : 0)
+                    | (hasExpires ? FLAG_HAS_EXPIRES : 0);
+            size_++;
+            return this;
+        }
+
+        public Builder add(String url, CefCookie cookie) {
+            return add(url, cookie.name, cookie.value, cookie.domain, cookie.path, cookie.secure,
+                    cookie.httponly, cookie.creation == null ? 0 : cookie.creation.getTime(),
+                    cookie.lastAccess == null ? 0 : cookie.lastAccess.getTime(),
+                    cookie.hasExpires && cookie.expires != null,
+                    cookie.expires == null ? 0 : cookie.expires.getTime());
+        }
+
+        /**
+         * Adds the cookie at |index| of |list|, with its URL if it has one.
+         */
+        public Builder add(CefCookieList list, int index) {
+            return add(list.getUrl(index), list.getName(index), list.getValue(index),
+                    list.getDomain(index), list.getPath(index), list.isSecure(index),
+                    list.isHttpOnly(index), list.getCreationMillis(index),
+                    list.getLastAccessMillis(index), list.hasExpires(index),
+                    list.getExpiresMillis(index));
+        }
+
+        public CefCookieList build() {
+            return new CefCookieList(hasUrls_ ? Arrays.copyOf(urls_, size_) : null,
+                    Arrays.copyOf(strings_, size_ * STRINGS_PER_COOKIE),
+                    Arrays.copyOf(times_, size_ * TIMES_PER_COOKIE),
+                    Arrays.copyOf(flags_, size_));
+        }
+
+        private void grow() {
+            int capacity = flags_.length * 2;
+            urls_ = Arrays.copyOf(urls_, capacity);
+            strings_ = Arrays.copyOf(strings_, capacity * STRINGS_PER_COOKIE);
+            times_ = Arrays.copyOf(times_, capacity * TIMES_PER_COOKIE);
+            flags_ = Arrays.copyOf(flags_, capacity);
+        }
+    }
+}
@@ -8,6 +8,7 @@ import org.cef.callback.CefCompletionCallback;
 import org.cef.callback.CefCookieVisitor;
 
 import java.util.Vector;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Class used for managing cookies. The methods of this class may be called on any thread unless
@@ -79,6 +80,46 @@ public abstract class CefCookieManager {
      */
     public abstract boolean deleteCookies(String url, String cookieName);
 
+    /**
+     * Returns all cookies in one call, ordered like {@link #visitAllCookies}. The cookies are
+     * collected natively and passed to Java at once instead of calling a visitor with a new
+     * {@link CefCookie} per cookie. The future completes on the UI thread, exceptionally with
+     * an {@link IllegalStateException} if cookies cannot be accessed.
+     *
+     * @since api-1.8
+     */
+    public abstract CompletableFuture<CefCookieList> getAllCookies();
+
+    /**
+     * Returns the cookies for |url| in one call, see {@link #visitUrlCookies} and
+     * {@link #getAllCookies()}.
+     *
+     * @since api-1.8
+     */
+    public abstract CompletableFuture<CefCookieList> getUrlCookies(
+            String url, boolean includeHttpOnly);
+
+    /**
+     * Sets all |cookies| in one call, each for its effective URL, see
+     * {@link CefCookieList#getEffectiveUrl(int)}. Every cookie is validated like
+     * {@link #setCookie}. The future completes on the UI thread with the number of cookies
+     * that were set once all of them were processed, or exceptionally with an
+     * {@link IllegalStateException} if cookies cannot be accessed.
+     *
+     * @since api-1.8
+     */
+    public abstract CompletableFuture<Integer> setCookies(CefCookieList cookies);
+
+    /**
+     * Deletes the cookies with the effective URL and name of each of |cookies| in one call, like
+     * {@link #deleteCookies(String, String)} does for a single URL and name. The future
+     * completes on the UI thread with the number of cookies that were deleted, or exceptionally
+     * with an {@link IllegalStateException} if cookies cannot be accessed.
+     *
+     * @since api-1.8
+     */
+    public abstract CompletableFuture<Integer> deleteCookies(CefCookieList cookies);
+
     /**
      * Flush the backing store (if any) to disk.
      * @param handler Callback that will be executed on the UI thread upon completion.
@@ -9,6 +9,7 @@ import org.cef.callback.CefCookieVisitor;
 import org.cef.callback.CefNative;
 
 import java.util.Vector;
+import java.util.concurrent.CompletableFuture;
 
 class CefCookieManager_N extends CefCookieManager implements CefNative {
     // Used internally to store a pointer to the CEF object.
@@ -95,6 +96,58 @@ class CefCookieManager_N extends CefCookieManager implements CefNative {
         return false;
     }
 
+    @Override
+    public CompletableFuture<CefCookieList> getAllCookies() {
+        return getUrlCookies(null, true);
+    }
+
+    @Override
+    public CompletableFuture<CefCookieList> getUrlCookies(String url, boolean includeHttpOnly) {
+        CookieListCallback callback = new CookieListCallback();
+        try {
+            if (!N_GetCookieList(N_CefHandle, url, includeHttpOnly, callback))
+                callback.future_.completeExceptionally(
+                        new IllegalStateException("Cookies cannot be accessed"));
+        } catch (UnsatisfiedLinkError ule) {
+            ule.printStackTrace();
+            callback.future_.completeExceptionally(ule);
+        }
+        return callback.future_;
+    }
+
+    @Override
+    public CompletableFuture<Integer> setCookies(CefCookieList cookies) {
+        if (cookies.isEmpty()) return CompletableFuture.completedFuture(0);
+        CountCallback callback = new CountCallback();
+        try {
+            if (!N_SetCookieList(N_CefHandle, cookies.getEffectiveUrls(), cookies.getStrings(),
+                        cookies.getTimes(), cookies.getFlags(), callback))
+                callback.future_.completeExceptionally(
+                        new IllegalStateException("Cookies cannot be accessed"));
+        } catch (UnsatisfiedLinkError ule) {
+            ule.printStackTrace();
+            callback.future_.completeExceptionally(ule);
+        }
+        return callback.future_;
+    }
+
+    @Override
+    public CompletableFuture<Integer> deleteCookies(CefCookieList cookies) {
+        if (cookies.isEmpty()) return CompletableFuture.completedFuture(0);
+        String[] names = new String[cookies.size()];
+        for (int i = 0; i < names.length; i++) names[i] = cookies.getName(i);
+        CountCallback callback = new CountCallback();
+        try {
+            if (!N_DeleteCookieList(N_CefHandle, cookies.getEffectiveUrls(), names, callback))
+                callback.future_.completeExceptionally(
+                        new IllegalStateException("Cookies cannot be accessed"));
+        } catch (UnsatisfiedLinkError ule) {
+            ule.printStackTrace();
+            callback.future_.completeExceptionally(ule);
+        }
+        return callback.future_;
+    }
+
     @Override
     public boolean flushStore(CefCompletionCallback handler) {
         try {
@@ -113,4 +166,30 @@ class CefCookieManager_N extends CefCookieManager implements CefNative {
     private final native boolean N_SetCookie(long self, String url, CefCookie cookie);
     private final native boolean N_DeleteCookies(long self, String url, String cookieName);
     private final native boolean N_FlushStore(long self, CefCompletionCallback handler);
+    private final native boolean N_GetCookieList(
+            long self, String url, boolean includeHttpOnly, CookieListCallback callback);
+    private final native boolean N_SetCookieList(long self, String[] urls, String[] strings,
+            long[] times, int[] flags, CountCallback callback);
+    private final native boolean N_DeleteCookieList(
+            long self, String[] urls, String[] names, CountCallback callback);
+
+    // Called natively with all collected cookies, see CefCookieList for the array layout.
+    private static class CookieListCallback {
+        final CompletableFuture<CefCookieList> future_ = new CompletableFuture<>();
+
+        void onComplete(String[] strings, long[] times, int[] flags) {
+            future_.complete(flags == null || flags.length == 0
+                            ? CefCookieList.empty()
+                            : new CefCookieList(null, strings, times, flags));
+        }
+    }
+
+    // Called natively once all cookies of a bulk operation were processed.
+    private static class CountCallback {
+        final CompletableFuture<Integer> future_ = new CompletableFuture<>();
+
+        void onComplete(int count) {
+            future_.complete(count);
+        }
+    }
 }
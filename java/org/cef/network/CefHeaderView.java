@@ -0,0 +1,115 @@
+package org.cef.network;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * A view of the headers of a {@link CefRequest} or {@link CefResponse} that doesn't copy them
+ * into a map. {@link #getFirst(String)} reads a single header through from the native object.
+ * The other methods use a copy of all headers that is fetched in one native call, as an array
+ * of names and values, the first time it is needed and again after the headers were changed
+ * through the owning object. Header names are compared case-insensitively.
+ *
+ * @since api-1.8
+ */
+public final class CefHeaderView {
+    // Provides the headers of the owning request or response.
+    interface Source {
+        String getHeaderByName(String name);
+
+        // Returns alternating header names and values.
+        String[] getHeaderArray();
+    }
+
+    private static final String[] EMPTY = new String[0];
+
+    private final Source source_;
+    private volatile String[] headers_;
+
+    CefHeaderView(Source source) {
+        source_ = source;
+    }
+
+    // Throws if |namesAndValues| isn't a list of name and value pairs.
+    static void checkNamesAndValues(String[] namesAndValues) {
+        if (namesAndValues.length % 2 != 0)
+            throw new IllegalArgumentException("A header name has no value");
+    }
+
+    /**
+     * Returns the first value of the header |name|, or an empty string if it isn't present.
+     * Like {@link CefRequest#getHeaderByName(String)} this can't retrieve the Referer of a
+     * request.
+     */
+    public String getFirst(String name) {
+        String[] headers = headers_;
+        if (headers == null) {
+            String value = source_.getHeaderByName(name);
+            return value == null ? "" : value;
+        }
+        for (int i = 0; i < headers.length; i += 2) {
+            if (headers[i].equalsIgnoreCase(name)) return headers[i + 1];
+        }
+        return "";
+    }
+
+    /**
+     * Returns all values of the header |name| in order.
+     */
+    public List<String> getAll(String name) {
+        String[] headers = getHeaders();
+        List<String> values = new ArrayList<>(1);
+        for (int i = 0; i < headers.length; i += 2) {
+            if (headers[i].equalsIgnoreCase(name)) values.add(headers[i + 1]);
+        }
+        return values;
+    }
+
+    public boolean contains(String name) {
+        String[] headers = getHeaders();
+        for (int i = 0; i < headers.length; i += 2) {
+            if (headers[i].equalsIgnoreCase(name)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of header values, a header with several values is counted once per
+     * value.
+     */
+    public int size() {
+        return getHeaders().length / 2;
+    }
+
+    public String getName(int index) {
+        return getHeaders()[2 * index];
+    }
+
+    public String getValue(int index) {
+        return getHeaders()[2 * index + 1];
+    }
+
+    /**
+     * Calls |action| with the name and value of every header value in order.
+     */
+    public void forEach(BiConsumer<String, String> action) {
+        String[] headers = getHeaders();
+        for (int i = 0; i < headers.length; i += 2) action.accept(headers[i], headers[i + 1]);
+    }
+
+    // Drops the copy of the headers after they were changed.
+    void invalidate() {
+        headers_ = null;
+    }
+
+    private String[] getHeaders() {
+        String[] headers = headers_;
+        if (headers == null) {
+            headers = source_.getHeaderArray();
+            if (headers == null) headers = EMPTY;
+            headers_ = headers;
+        }
+        return headers;
+    }
+}
@@ -4,6 +4,13 @@
 
 package org.cef.network;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Vector;
 
 /**
@@ -63,6 +70,57 @@ public abstract class CefPostData {
      */
     public abstract void removeElements();
 
+    /**
+     * Returns a channel that reads the content of all elements in order. The bytes of a byte
+     * element are copied when the channel reaches it and file elements are read from the file
+     * in chunks, so the whole body is never held in memory at once. The elements are fixed
+     * when this method is called. The channel is not thread-safe.
+     *
+     * @since api-1.8
+     */
+    public ReadableByteChannel openChannel() {
+        Vector<CefPostDataElement> elements = new Vector<CefPostDataElement>();
+        getElements(elements);
+        return new CefPostDataChannel(elements);
+    }
+
+    /**
+     * Returns a stream that reads the content of all elements in order. See
+     * {@link #openChannel()}.
+     *
+     * @since api-1.8
+     */
+    public InputStream openStream() {
+        return Channels.newInputStream(openChannel());
+    }
+
+    /**
+     * Returns at most the first |maxSize| bytes of the content of all elements, including the
+     * content of file elements. Only the returned bytes are read.
+     *
+     * @since api-1.8
+     */
+    public byte[] peek(int maxSize) throws IOException {
+        if (maxSize < 0) throw new IllegalArgumentException("Negative maxSize");
+        Vector<CefPostDataElement> elements = new Vector<CefPostDataElement>();
+        getElements(elements);
+        ByteBuffer buffer = ByteBuffer.allocate(maxSize);
+        for (CefPostDataElement element : elements) {
+            if (!buffer.hasRemaining()) break;
+            if (element.getType() == CefPostDataElement.Type.PDE_TYPE_BYTES) {
+                buffer.put(element.peekBytes(buffer.remaining()));
+            } else if (element.getType() == CefPostDataElement.Type.PDE_TYPE_FILE) {
+                try (ReadableByteChannel channel =
+                                new CefPostDataChannel(Collections.singletonList(element))) {
+                    while (buffer.hasRemaining()) {
+                        if (channel.read(buffer) < 0) break;
+                    }
+                }
+            }
+        }
+        return Arrays.copyOf(buffer.array(), buffer.position());
+    }
+
     @Override
     public String toString() {
         return toString(null);
@@ -72,10 +130,11 @@ public abstract class CefPostData {
         Vector<CefPostDataElement> elements = new Vector<CefPostDataElement>();
         getElements(elements);
 
-        String returnValue = "";
+        StringBuilder builder = new StringBuilder();
         for (CefPostDataElement el : elements) {
-            returnValue += el.toString(mimeType) + "\n";
+            el.appendTo(builder, mimeType);
+            builder.append('\n');
         }
-        return returnValue;
+        return builder.toString();
     }
 }
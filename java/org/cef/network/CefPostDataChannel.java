@@ -0,0 +1,89 @@
+package org.cef.network;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Reads the elements of a {@link CefPostData} in order. Only the current element is open at a
+ * time: the bytes of a byte element are copied from native when it is reached and file
+ * elements are read through a {@link FileChannel} without loading the file.
+ *
+ * @since api-1.8
+ */
+final class CefPostDataChannel implements ReadableByteChannel {
+    private final List<CefPostDataElement> elements_;
+    private int index_;
+    private ByteBuffer bytes_;
+    private FileChannel file_;
+    private boolean open_ = true;
+
+    CefPostDataChannel(List<CefPostDataElement> elements) {
+        elements_ = elements;
+    }
+
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+        if (!open_) throw new ClosedChannelException();
+        if (!dst.hasRemaining()) return 0;
+        while (true) {
+            if (bytes_ != null) {
+                if (bytes_.hasRemaining()) {
+                    int count = Math.min(bytes_.remaining(), dst.remaining());
+                    ByteBuffer slice = bytes_.slice();
+                    slice.limit(count);
+                    dst.put(slice);
+                    bytes_.position(bytes_.position() + count);
+                    return count;
+                }
+                bytes_ = null;
+            } else if (file_ != null) {
+                int count = file_.read(dst);
+                if (count > 0) return count;
+                if (count == 0) continue;
+                file_.close();
+                file_ = null;
+            }
+            if (index_ >= elements_.size()) return -1;
+            openElement(elements_.get(index_++));
+        }
+    }
+
+    @Override
+    public boolean isOpen() {
+        return open_;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!open_) return;
+        open_ = false;
+        bytes_ = null;
+        if (file_ != null) {
+            file_.close();
+            file_ = null;
+        }
+    }
+
+    private void openElement(CefPostDataElement element) throws IOException {
+        switch (element.getType()) {
+            case PDE_TYPE_BYTES:
+                int count = element.getBytesCount();
+                if (count > 0) {
+                    byte[] bytes = new byte[count];
+                    bytes_ = ByteBuffer.wrap(bytes, 0, element.getBytes(count, bytes));
+                }
+                break;
+            case PDE_TYPE_FILE:
+                file_ = FileChannel.open(Paths.get(element.getFile()), StandardOpenOption.READ);
+                break;
+            default:
+                break;
+        }
+    }
+}
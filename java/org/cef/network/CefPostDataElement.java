@@ -4,11 +4,17 @@
 
 package org.cef.network;
 
+import java.util.Arrays;
+
 /**
  * Class used to represent a single element in the request post data. The
  * methods of this class may be called on any thread.
  */
 public abstract class CefPostDataElement {
+    // The maximum number of content bytes included by toString().
+    private static final int MAX_DUMP_SIZE = 4096;
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
     /**
      * Post data elements may represent either bytes or files.
      */
@@ -81,18 +87,35 @@ public abstract class CefPostDataElement {
      */
     public abstract int getBytes(int size, byte[] bytes);
 
+    /**
+     * Returns at most the first |maxSize| bytes of a byte element, without copying the rest.
+     * Returns an empty array for other element types.
+     *
+     * @since api-1.8
+     */
+    public byte[] peekBytes(int maxSize) {
+        if (maxSize < 0) throw new IllegalArgumentException("Negative maxSize");
+        int size = Math.min(maxSize, getBytesCount());
+        if (size <= 0 || getType() != Type.PDE_TYPE_BYTES) return new byte[0];
+        byte[] bytes = new byte[size];
+        int read = getBytes(size, bytes);
+        return read == size ? bytes : Arrays.copyOf(bytes, read);
+    }
+
     @Override
     public String toString() {
         return toString(null);
     }
 
     public String toString(String mimeType) {
-        int bytesCnt = getBytesCount();
-        byte[] bytes = null;
-        if (bytesCnt > 0) {
-            bytes = new byte[bytesCnt];
-        }
+        StringBuilder builder = new StringBuilder();
+        appendTo(builder, mimeType);
+        return builder.toString();
+    }
 
+    // Appends the description of this element to |builder|. At most MAX_DUMP_SIZE bytes of the
+    // content are included.
+    void appendTo(StringBuilder builder, String mimeType) {
         boolean asText = false;
         if (mimeType != null) {
             if (mimeType.startsWith("text/"))
@@ -105,23 +128,26 @@ public abstract class CefPostDataElement {
                 asText = true;
         }
 
-        String returnValue = "";
-
-        if (getType() == Type.PDE_TYPE_BYTES) {
-            int setBytes = getBytes(bytes.length, bytes);
-            returnValue += "    Content-Length: " + bytesCnt + "\n";
+        Type type = getType();
+        if (type == Type.PDE_TYPE_BYTES) {
+            int bytesCnt = getBytesCount();
+            byte[] bytes = peekBytes(MAX_DUMP_SIZE);
+            builder.append("    Content-Length: ").append(bytesCnt).append('\n');
             if (asText) {
-                returnValue += "\n    " + new String(bytes);
+                builder.append("\n    ").append(new String(bytes));
             } else {
-                for (int i = 0; i < setBytes; i++) {
-                    if (i % 40 == 0) returnValue += "\n    ";
-                    returnValue += String.format("%02X", bytes[i]) + " ";
+                for (int i = 0; i < bytes.length; i++) {
+                    if (i % 40 == 0) builder.append("\n    ");
+                    builder.append(HEX_DIGITS[(bytes[i] >> 4) & 0xF])
+                            .append(HEX_DIGITS[bytes[i] & 0xF])
+                            .append(' ');
                 }
             }
-            returnValue += "\n";
-        } else if (getType() == Type.PDE_TYPE_FILE) {
-            returnValue += "\n    Bytes of file: " + getFile() + "\n";
+            if (bytesCnt > bytes.length)
+                builder.append("\n    ... ").append(bytesCnt - bytes.length).append(" more bytes");
+            builder.append('\n');
+        } else if (type == Type.PDE_TYPE_FILE) {
+            builder.append("\n    Bytes of file: ").append(getFile()).append('\n');
         }
-        return returnValue;
     }
 }
@@ -4,10 +4,7 @@
 
 package org.cef.network;
 
-import java.util.HashMap;
 import java.util.Map;
-import java.util.Map.Entry;
-import java.util.Set;
 
 /**
  * Class used to represent a web request. The methods of this class may be
@@ -429,6 +426,34 @@ public abstract class CefRequest {
      */
     public abstract void setHeaderMap(Map<String, String> headerMap);
 
+    /**
+     * Returns a view of the headers that reads single headers through from the native object
+     * instead of copying all headers into a map.
+     *
+     * @since api-1.8
+     */
+    public abstract CefHeaderView getHeaders();
+
+    /**
+     * Sets several header fields in one native call, like calling setHeaderByName for each.
+     * @param overwrite If true any existing values will be replaced with the new values. If false
+     *         any existing values will not be overwritten.
+     * @param namesAndValues Alternating header names and values.
+     * @throws IllegalArgumentException if the number of names and values is odd.
+     *
+     * @since api-1.8
+     */
+    public abstract void setHeaders(boolean overwrite, String... namesAndValues);
+
+    /**
+     * Adds header values in one native call. Existing values, also of the same names, are kept.
+     * @param namesAndValues Alternating header names and values.
+     * @throws IllegalArgumentException if the number of names and values is odd.
+     *
+     * @since api-1.8
+     */
+    public abstract void appendHeaders(String... namesAndValues);
+
     /**
      * Set all values at one time.
      */
@@ -483,15 +508,13 @@ public abstract class CefRequest {
         returnValue += "\n  referrerPolicy: " + getReferrerPolicy();
         returnValue += "\n    " + getMethod() + " " + getURL() + " HTTP/1.1\n";
 
-        Map<String, String> headerMap = new HashMap<>();
-        getHeaderMap(headerMap);
-        Set<Entry<String, String>> entrySet = headerMap.entrySet();
+        CefHeaderView headers = getHeaders();
         String mimeType = null;
-        for (Entry<String, String> entry : entrySet) {
-            String key = entry.getKey();
-            returnValue += "    " + key + "=" + entry.getValue() + "\n";
+        for (int i = 0; i < headers.size(); ++i) {
+            String key = headers.getName(i);
+            returnValue += "    " + key + "=" + headers.getValue(i) + "\n";
             if (key.equals("Content-Type")) {
-                mimeType = entry.getValue();
+                mimeType = headers.getValue(i);
             }
         }
 
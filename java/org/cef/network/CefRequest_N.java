@@ -11,6 +11,7 @@ import java.util.Map;
 class CefRequest_N extends CefRequest implements CefNative {
     // Used internally to store a pointer to the CEF object.
     private long N_CefHandle = 0;
+    private CefHeaderView headerView_;
 
     @Override
     public void setNativeRef(String identifer, long nativeRef) {
@@ -167,6 +168,7 @@ class CefRequest_N extends CefRequest implements CefNative {
         } catch (UnsatisfiedLinkError ule) {
             ule.printStackTrace();
         }
+        invalidateHeaders();
     }
 
     @Override
@@ -185,6 +187,56 @@ class CefRequest_N extends CefRequest implements CefNative {
         } catch (UnsatisfiedLinkError ule) {
             ule.printStackTrace();
         }
+        invalidateHeaders();
+    }
+
+    @Override
+    public CefHeaderView getHeaders() {
+        if (headerView_ == null) {
+            headerView_ = new CefHeaderView(new CefHeaderView.Source() {
+                @Override
+                public String getHeaderByName(String name) {
+                    return CefRequest_N.this.getHeaderByName(name);
+                }
+
+                @Override
+                public String[] getHeaderArray() {
+                    try {
+                        return N_GetHeaders(N_CefHandle);
+                    } catch (UnsatisfiedLinkError ule) {
+                        ule.printStackTrace();
+                    }
+                    return null;
+                }
+            });
+        }
+        return headerView_;
+    }
+
+    @Override
+    public void setHeaders(boolean overwrite, String... namesAndValues) {
+        CefHeaderView.checkNamesAndValues(namesAndValues);
+        try {
+            N_SetHeaders(N_CefHandle, namesAndValues, overwrite);
+        } catch (UnsatisfiedLinkError ule) {
+            ule.printStackTrace();
+        }
+        invalidateHeaders();
+    }
+
+    @Override
+    public void appendHeaders(String... namesAndValues) {
+        CefHeaderView.checkNamesAndValues(namesAndValues);
+        try {
+            N_AppendHeaders(N_CefHandle, namesAndValues);
+        } catch (UnsatisfiedLinkError ule) {
+            ule.printStackTrace();
+        }
+        invalidateHeaders();
+    }
+
+    private void invalidateHeaders() {
+        if (headerView_ != null) headerView_.invalidate();
     }
 
     @Override
@@ -195,6 +247,7 @@ class CefRequest_N extends CefRequest implements CefNative {
         } catch (UnsatisfiedLinkError ule) {
             ule.printStackTrace();
         }
+        invalidateHeaders();
     }
 
     @Override
@@ -273,6 +326,9 @@ class CefRequest_N extends CefRequest implements CefNative {
             long self, String name, String value, boolean overwrite);
     private final native void N_GetHeaderMap(long self, Map<String, String> headerMap);
     private final native void N_SetHeaderMap(long self, Map<String, String> headerMap);
+    private final native String[] N_GetHeaders(long self);
+    private final native void N_SetHeaders(long self, String[] namesAndValues, boolean overwrite);
+    private final native void N_AppendHeaders(long self, String[] namesAndValues);
     private final native void N_Set(long self, String url, String method, CefPostData postData,
             Map<String, String> headerMap);
     private final native int N_GetFlags(long self);
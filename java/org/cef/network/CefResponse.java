@@ -6,10 +6,7 @@ package org.cef.network;
 
 import org.cef.handler.CefLoadHandler.ErrorCode;
 
-import java.util.HashMap;
 import java.util.Map;
-import java.util.Map.Entry;
-import java.util.Set;
 
 /**
  * Class used to represent a web response. The methods of this class may be
@@ -109,6 +106,34 @@ public abstract class CefResponse {
      */
     public abstract void setHeaderMap(Map<String, String> headerMap);
 
+    /**
+     * Returns a view of the headers that reads single headers through from the native object
+     * instead of copying all headers into a map.
+     *
+     * @since api-1.8
+     */
+    public abstract CefHeaderView getHeaders();
+
+    /**
+     * Sets several header fields in one native call, like calling setHeaderByName for each.
+     * @param overwrite If true any existing values will be replaced with the new values. If false
+     *         any existing values will not be overwritten.
+     * @param namesAndValues Alternating header names and values.
+     * @throws IllegalArgumentException if the number of names and values is odd.
+     *
+     * @since api-1.8
+     */
+    public abstract void setHeaders(boolean overwrite, String... namesAndValues);
+
+    /**
+     * Adds header values in one native call. Existing values, also of the same names, are kept.
+     * @param namesAndValues Alternating header names and values.
+     * @throws IllegalArgumentException if the number of names and values is odd.
+     *
+     * @since api-1.8
+     */
+    public abstract void appendHeaders(String... namesAndValues);
+
     @Override
     public String toString() {
         String returnValue = "\nHTTP-Response:";
@@ -118,11 +143,9 @@ public abstract class CefResponse {
         returnValue += "\n    HTTP/1.1 " + getStatus() + " " + getStatusText();
         returnValue += "\n    Content-Type: " + getMimeType();
 
-        Map<String, String> headerMap = new HashMap<>();
-        getHeaderMap(headerMap);
-        Set<Entry<String, String>> entrySet = headerMap.entrySet();
-        for (Entry<String, String> entry : entrySet) {
-            returnValue += "    " + entry.getKey() + "=" + entry.getValue() + "\n";
+        CefHeaderView headers = getHeaders();
+        for (int i = 0; i < headers.size(); ++i) {
+            returnValue += "    " + headers.getName(i) + "=" + headers.getValue(i) + "\n";
         }
 
         return returnValue;
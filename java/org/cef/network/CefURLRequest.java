@@ -7,6 +7,8 @@ package org.cef.network;
 import org.cef.callback.CefURLRequestClient;
 import org.cef.handler.CefLoadHandler.ErrorCode;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Class used to make a URL request. URL requests are not associated with a
  * browser instance so no CefClient callbacks will be executed. URL requests
@@ -48,6 +50,17 @@ public abstract class CefURLRequest {
         return CefURLRequest_N.createNative(request, client);
     }
 
+    /**
+     * Sends the request with {@link CefURLRequestExecutor#getDefault()} and collects the
+     * response body in memory. Use a {@link CefURLRequestExecutor} of your own for timeouts,
+     * a different concurrency limit or to write the body to a file.
+     * @return A future that completes with the response. Canceling it cancels the request.
+     * @since api-1.8
+     */
+    public static final CompletableFuture<CefURLResponse> sendAsync(CefRequest request) {
+        return CefURLRequestExecutor.getDefault().send(request);
+    }
+
     /**
      * Removes the native reference from an unused object.
      */
@@ -0,0 +1,31 @@
+package org.cef.network;
+
+import org.cef.handler.CefLoadHandler.ErrorCode;
+
+import java.io.IOException;
+
+/**
+ * Signals that a request sent with {@link CefURLRequestExecutor} didn't complete successfully.
+ *
+ * @since api-1.8
+ */
+public class CefURLRequestException extends IOException {
+    private static final long serialVersionUID = 6042396733584209342L;
+
+    private final CefURLRequest.Status status_;
+    private final ErrorCode error_;
+
+    public CefURLRequestException(String url, CefURLRequest.Status status, ErrorCode error) {
+        super("Request for " + url + " finished with " + status + " (" + error + ")");
+        status_ = status;
+        error_ = error;
+    }
+
+    public CefURLRequest.Status getStatus() {
+        return status_;
+    }
+
+    public ErrorCode getError() {
+        return error_;
+    }
+}
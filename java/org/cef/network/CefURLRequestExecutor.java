@@ -0,0 +1,318 @@
+package org.cef.network;
+
+import org.cef.callback.CefAuthCallback;
+import org.cef.callback.CefDirectURLRequestClient;
+import org.cef.callback.CefFileURLRequestClient;
+import org.cef.callback.CefNativeAdapter;
+import org.cef.callback.CefURLRequestClient;
+import org.cef.handler.CefLoadHandler.ErrorCode;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Sends {@link CefURLRequest}s and returns their responses as {@link CompletableFuture}s.
+ * <p>
+ * At most a fixed number of requests of an executor are in flight at the same time, further
+ * requests are queued and started in order. Canceling a returned future cancels the request.
+ * If a timeout is set, futures of requests that take longer complete with a
+ * {@link TimeoutException} and the requests are canceled. Requests that don't finish with
+ * UR_SUCCESS complete with a {@link CefURLRequestException}, HTTP error statuses are regular
+ * responses.
+ * <p>
+ * The futures are completed on the CEF UI thread, dependent actions shouldn't block.
+ *
+ * @since api-1.8
+ */
+public class CefURLRequestExecutor {
+    private static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 16;
+    private static CefURLRequestExecutor defaultExecutor_;
+    private static ScheduledThreadPoolExecutor timer_;
+
+    private final int maxConcurrentRequests_;
+    private final long timeoutMillis_;
+    private final ArrayDeque<Exchange> pending_ = new ArrayDeque<>();
+    private int active_;
+
+    /**
+     * @param maxConcurrentRequests Maximum number of requests in flight.
+     * @param timeout Time after which a request is canceled or 0 for no timeout.
+     * @param unit The unit of |timeout|.
+     */
+    public CefURLRequestExecutor(int maxConcurrentRequests, long timeout, TimeUnit unit) {
+        if (maxConcurrentRequests < 1)
+            throw new IllegalArgumentException("maxConcurrentRequests must be positive");
+        if (timeout < 0) throw new IllegalArgumentException("Negative timeout");
+        maxConcurrentRequests_ = maxConcurrentRequests;
+        timeoutMillis_ = unit.toMillis(timeout);
+    }
+
+    /**
+     * Returns the executor used by {@link CefURLRequest#sendAsync(CefRequest)}. Runs up to 16
+     * requests at the same time without a timeout.
+     */
+    public static synchronized CefURLRequestExecutor getDefault() {
+        if (defaultExecutor_ == null) {
+            defaultExecutor_ = new CefURLRequestExecutor(
+                    DEFAULT_MAX_CONCURRENT_REQUESTS, 0, TimeUnit.MILLISECONDS);
+        }
+        return defaultExecutor_;
+    }
+
+    /**
+     * Sends the request and collects the response body in memory. The |request| object will
+     * be marked as read-only.
+     */
+    public CompletableFuture<CefURLResponse> send(CefRequest request) {
+        return submit(new BufferExchange(this, request));
+    }
+
+    /**
+     * Sends the request and writes the response body to |file| without passing it through
+     * Java. An existing file is overwritten. The |request| object will be marked as read-only.
+     */
+    public CompletableFuture<CefURLResponse> send(CefRequest request, Path file) {
+        return submit(new FileExchange(this, request, file));
+    }
+
+    public int getMaxConcurrentRequests() {
+        return maxConcurrentRequests_;
+    }
+
+    /**
+     * Returns the number of requests in flight.
+     */
+    public synchronized int getActiveCount() {
+        return active_;
+    }
+
+    /**
+     * Returns the number of requests waiting to be started.
+     */
+    public synchronized int getPendingCount() {
+        return pending_.size();
+    }
+
+    private CompletableFuture<CefURLResponse> submit(Exchange exchange) {
+        boolean start;
+        synchronized (this) {
+            start = active_ < maxConcurrentRequests_;
+            if (start)
+                active_++;
+            else
+                pending_.add(exchange);
+        }
+        exchange.future_.whenComplete((response, error) -> {
+            if (error != null) abort(exchange);
+        });
+        if (start) exchange.start();
+        return exchange.future_;
+    }
+
+    private void abort(Exchange exchange) {
+        synchronized (this) {
+            // A pending request never occupied a slot.
+            if (pending_.remove(exchange)) return;
+        }
+        exchange.cancel();
+    }
+
+    private void finished(Exchange exchange) {
+        Exchange next;
+        synchronized (this) {
+            next = pending_.poll();
+            if (next == null) active_--;
+        }
+        // The slot is handed over to the next request.
+        if (next != null) next.start();
+    }
+
+    private static synchronized ScheduledThreadPoolExecutor getTimer() {
+        if (timer_ == null) {
+            timer_ = new ScheduledThreadPoolExecutor(1, runnable -> {
+                Thread thread = new Thread(runnable, "CefURLRequestExecutor-timeout");
+                thread.setDaemon(true);
+                return thread;
+            });
+            timer_.setRemoveOnCancelPolicy(true);
+        }
+        return timer_;
+    }
+
+    // A single request and the client that receives its callbacks.
+    private static abstract class Exchange
+            extends CefNativeAdapter implements CefURLRequestClient {
+        final CefURLRequestExecutor executor_;
+        final CefRequest request_;
+        final String url_;
+        final CompletableFuture<CefURLResponse> future_ = new CompletableFuture<>();
+        private CefURLRequest urlRequest_;
+        private ScheduledFuture<?> timeout_;
+        private boolean started_;
+        private boolean finished_;
+
+        Exchange(CefURLRequestExecutor executor, CefRequest request) {
+            executor_ = executor;
+            request_ = request;
+            url_ = request.getURL();
+        }
+
+        abstract ByteBuffer getBody();
+
+        abstract Path getFile();
+
+        void start() {
+            synchronized (this) {
+                started_ = true;
+            }
+            if (future_.isDone()) {
+                finish();
+                return;
+            }
+
+            CefURLRequest urlRequest = CefURLRequest.create(request_, this);
+            if (urlRequest == null) {
+                future_.completeExceptionally(new CefURLRequestException(
+                        url_, CefURLRequest.Status.UR_FAILED, ErrorCode.ERR_FAILED));
+                finish();
+                return;
+            }
+
+            synchronized (this) {
+                urlRequest_ = urlRequest;
+                if (executor_.timeoutMillis_ > 0 && !finished_) {
+                    timeout_ = getTimer().schedule(
+                            this::timeout, executor_.timeoutMillis_, TimeUnit.MILLISECONDS);
+                }
+            }
+            // The future may have been canceled while the request was created.
+            if (future_.isCompletedExceptionally()) cancel();
+        }
+
+        private void timeout() {
+            future_.completeExceptionally(
+                    new TimeoutException("Request for " + url_ + " timed out"));
+        }
+
+        void cancel() {
+            CefURLRequest urlRequest;
+            synchronized (this) {
+                if (!started_ || finished_) return;
+                urlRequest = urlRequest_;
+            }
+            if (urlRequest != null) urlRequest.cancel();
+        }
+
+        // Releases the slot of the request exactly once.
+        private void finish() {
+            synchronized (this) {
+                if (finished_) return;
+                finished_ = true;
+                if (timeout_ != null) timeout_.cancel(false);
+            }
+            executor_.finished(this);
+        }
+
+        @Override
+        public void onRequestComplete(CefURLRequest request) {
+            CefURLRequest.Status status = request.getRequestStatus();
+            if (status == CefURLRequest.Status.UR_SUCCESS) {
+                CefResponse response = request.getResponse();
+                Map<String, List<String>> headers =
+                        new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+                response.getHeaders().forEach((name, value) -> {
+                    headers.computeIfAbsent(name, key -> new ArrayList<>(1)).add(value);
+                });
+                future_.complete(new CefURLResponse(url_, response.getStatus(),
+                        response.getStatusText(), response.getMimeType(), headers, getBody(),
+                        getFile()));
+            } else {
+                future_.completeExceptionally(
+                        new CefURLRequestException(url_, status, request.getRequestError()));
+            }
+            finish();
+        }
+
+        @Override
+        public void onUploadProgress(CefURLRequest request, int current, int total) {}
+
+        @Override
+        public void onDownloadProgress(CefURLRequest request, int current, int total) {}
+
+        @Override
+        public void onDownloadData(CefURLRequest request, byte[] data, int data_length) {}
+
+        @Override
+        public boolean getAuthCredentials(boolean isProxy, String host, int port, String realm,
+                String scheme, CefAuthCallback callback) {
+            return false;
+        }
+    }
+
+    // Collects the response body from the reused download buffer.
+    private static class BufferExchange extends Exchange implements CefDirectURLRequestClient {
+        private byte[] body_ = new byte[0];
+        private int length_;
+
+        BufferExchange(CefURLRequestExecutor executor, CefRequest request) {
+            super(executor, request);
+        }
+
+        @Override
+        public void onDownloadData(CefURLRequest request, ByteBuffer data) {
+            int count = data.remaining();
+            if (length_ + count > body_.length) {
+                byte[] body = new byte[Math.max(length_ + count, body_.length * 2)];
+                System.arraycopy(body_, 0, body, 0, length_);
+                body_ = body;
+            }
+            data.get(body_, length_, count);
+            length_ += count;
+        }
+
+        @Override
+        ByteBuffer getBody() {
+            return ByteBuffer.wrap(body_, 0, length_).slice();
+        }
+
+        @Override
+        Path getFile() {
+            return null;
+        }
+    }
+
+    // Lets the native code write the response body to a file.
+    private static class FileExchange extends Exchange implements CefFileURLRequestClient {
+        private final Path file_;
+
+        FileExchange(CefURLRequestExecutor executor, CefRequest request, Path file) {
+            super(executor, request);
+            file_ = file;
+        }
+
+        @Override
+        public Path getDownloadFile() {
+            return file_;
+        }
+
+        @Override
+        ByteBuffer getBody() {
+            return null;
+        }
+
+        @Override
+        Path getFile() {
+            return file_;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package org.cef.network;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Response of a request sent with {@link CefURLRequestExecutor}. Instances are immutable.
+ *
+ * @since api-1.8
+ */
+public final class CefURLResponse {
+    private static final ByteBuffer EMPTY_BODY = ByteBuffer.allocate(0);
+
+    private final String url_;
+    private final int status_;
+    private final String statusText_;
+    private final String mimeType_;
+    private final Map<String, List<String>> headers_;
+    private final ByteBuffer body_;
+    private final Path file_;
+
+    CefURLResponse(String url, int status, String statusText, String mimeType,
+            Map<String, List<String>> headers, ByteBuffer body, Path file) {
+        url_ = url;
+        status_ = status;
+        statusText_ = statusText;
+        mimeType_ = mimeType;
+        for (Map.Entry<String, List<String>> entry : headers.entrySet())
+            entry.setValue(Collections.unmodifiableList(entry.getValue()));
+        headers_ = Collections.unmodifiableMap(headers);
+        body_ = body != null ? body.asReadOnlyBuffer() : EMPTY_BODY;
+        file_ = file;
+    }
+
+    /**
+     * Returns the URL of the request.
+     */
+    public String getURL() {
+        return url_;
+    }
+
+    /**
+     * Returns the HTTP status code, e.g. 200.
+     */
+    public int getStatus() {
+        return status_;
+    }
+
+    public String getStatusText() {
+        return statusText_;
+    }
+
+    public String getMimeType() {
+        return mimeType_;
+    }
+
+    /**
+     * Returns the values of the response headers in order, keyed by header name. Keys are
+     * compared ignoring case, a header that was sent several times has several values.
+     */
+    public Map<String, List<String>> getHeaders() {
+        return headers_;
+    }
+
+    /**
+     * Returns the first value of the specified header, ignoring case, or null.
+     */
+    public String getHeader(String name) {
+        List<String> values = headers_.get(name);
+        return values == null ? null : values.get(0);
+    }
+
+    /**
+     * Returns a new read-only view of the response body. Is empty if the body was written to
+     * a file.
+     */
+    public ByteBuffer getBody() {
+        return body_.duplicate();
+    }
+
+    /**
+     * Returns the file the response body was written to or null.
+     */
+    public Path getFile() {
+        return file_;
+    }
+
+    @Override
+    public String toString() {
+        return "CefURLResponse [url=" + url_ + ", status=" + status_ + ", mimeType=" + mimeType_
+                + ", length=" + body_.capacity() + "]";
+    }
+}
@@ -0,0 +1,115 @@
+package tests.junittests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.cef.handler.CefAssetCache;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+// Test the CefAssetCache implementation.
+class AssetCacheTest {
+    private static byte[] bytes(String content) {
+        return content.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void getAndStats() {
+        CefAssetCache cache = new CefAssetCache(1024);
+        CefAssetCache.Asset asset = cache.put("/a.js", bytes("alert(1)"), "text/javascript", null);
+        assertSame(asset, cache.get("/a.js"));
+        assertNull(cache.get("/b.js"));
+
+        assertEquals("text/javascript", asset.getHeaders().get("Content-Type"));
+        assertEquals("\"" + asset.getDigest() + "\"", asset.getHeaders().get("ETag"));
+        ByteBuffer content = asset.getContent();
+        byte[] data = new byte[content.remaining()];
+        content.get(data);
+        assertEquals("alert(1)", new String(data, StandardCharsets.UTF_8));
+
+        CefAssetCache.Stats stats = cache.getStats();
+        assertEquals(1, stats.getHitCount());
+        assertEquals(1, stats.getMissCount());
+        assertEquals(8, stats.getSize());
+    }
+
+    @Test
+    void sharesIdenticalContent() {
+        CefAssetCache cache = new CefAssetCache(1024);
+        cache.put("/a.css", bytes("body{}"), "text/css", null);
+        cache.put("/b.css", bytes("body{}"), "text/css", null);
+
+        CefAssetCache.Stats stats = cache.getStats();
+        assertEquals(2, stats.getKeyCount());
+        assertEquals(1, stats.getAssetCount());
+        assertEquals(6, stats.getSize());
+
+        cache.remove("/a.css");
+        assertEquals(6, cache.getStats().getSize());
+        cache.remove("/b.css");
+        assertEquals(0, cache.getStats().getSize());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsed() {
+        CefAssetCache cache = new CefAssetCache(10);
+        cache.put("/1", bytes("1111"), "text/plain", null);
+        cache.put("/2", bytes("2222"), "text/plain", null);
+        assertNotNull(cache.get("/1"));
+        cache.put("/3", bytes("3333"), "text/plain", null);
+
+        assertNotNull(cache.get("/1"));
+        assertNull(cache.get("/2"));
+        assertNotNull(cache.get("/3"));
+        assertEquals(1, cache.getStats().getEvictionCount());
+
+        cache.setCapacity(4);
+        assertEquals(4, cache.getStats().getSize());
+        assertEquals(1, cache.getStats().getKeyCount());
+    }
+
+    @Test
+    void keepsFrequentlyUsedDuringScan() {
+        CefAssetCache cache = new CefAssetCache(12);
+        cache.put("/hot", bytes("hhhh"), "text/plain", null);
+        for (int i = 0; i < 3; i++) assertNotNull(cache.get("/hot"));
+        cache.put("/1", bytes("1111"), "text/plain", null);
+        cache.put("/2", bytes("2222"), "text/plain", null);
+
+        // Least recently used order would evict "/hot" first.
+        cache.put("/3", bytes("3333"), "text/plain", null);
+        cache.put("/4", bytes("4444"), "text/plain", null);
+        assertNotNull(cache.get("/hot"));
+        assertNull(cache.get("/1"));
+        assertNull(cache.get("/2"));
+        assertEquals(2, cache.getStats().getEvictionCount());
+    }
+
+    @Test
+    void contentTypeIsOnlyTheMimeType() {
+        CefAssetCache cache = new CefAssetCache(1024);
+        Map<String, String> headers = new HashMap<>();
+        headers.put("content-type", "text/html");
+        headers.put("Cache-Control", "max-age=60");
+        CefAssetCache.Asset asset = cache.put("/a.css", bytes("body{}"), "text/css", headers);
+
+        assertEquals("text/css", asset.getHeaders().get("Content-Type"));
+        assertFalse(asset.getHeaders().containsKey("content-type"));
+        assertEquals("max-age=60", asset.getHeaders().get("Cache-Control"));
+    }
+
+    @Test
+    void skipsAssetsLargerThanCapacity() {
+        CefAssetCache cache = new CefAssetCache(2);
+        assertNotNull(cache.put("/big", bytes("too large"), "text/plain", null));
+        assertNull(cache.get("/big"));
+        assertEquals(0, cache.getStats().getSize());
+    }
+}
@@ -0,0 +1,76 @@
+package tests.junittests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.cef.browser.CefBrowser;
+import org.cef.browser.CefBrowserPool;
+import org.cef.browser.CefFrame;
+import org.cef.browser.CefRendering;
+import org.cef.handler.CefLoadHandlerAdapter;
+import org.cef.handler.CefResourceRequestFilter;
+import org.cef.handler.CefResourceRequestFilter.Rule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+// Test the CefBrowserPool implementation.
+@ExtendWith(TestSetupExtension.class)
+class BrowserPoolTest {
+    private static final long TIMEOUT_SECONDS = 10;
+
+    @Test
+    void releaseRemovesResourceRequestFilter() throws InterruptedException {
+        CefBrowserPool pool = new CefBrowserPool(1, CefRendering.OFFSCREEN, null);
+        try {
+            CefBrowserPool.Lease lease = pool.lease(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            assertNotNull(lease);
+            CefResourceRequestFilter filter =
+                    new CefResourceRequestFilter(Rule.prefix("https://example.com/"));
+            lease.getClient().setResourceRequestFilter(filter);
+            assertSame(filter, lease.getClient().getResourceRequestFilter());
+            lease.release();
+
+            CefBrowserPool.Lease next = pool.lease(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            assertNotNull(next);
+            assertSame(lease.getBrowser(), next.getBrowser());
+            assertNull(next.getClient().getResourceRequestFilter());
+            next.release();
+        } finally {
+            pool.dispose();
+        }
+    }
+
+    @Test
+    void releasedBrowserShowsBlankPage() throws InterruptedException {
+        CefBrowserPool pool = new CefBrowserPool(1, CefRendering.OFFSCREEN, null);
+        try {
+            CefBrowserPool.Lease lease = pool.lease(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            assertNotNull(lease);
+            String url = "data:text/html,<title>Lease</title>";
+            CountDownLatch loaded = new CountDownLatch(1);
+            lease.getClient().addLoadHandler(new CefLoadHandlerAdapter() {
+                @Override
+                public void onLoadEnd(CefBrowser browser, CefFrame frame, int httpStatusCode) {
+                    if (frame.isMain() && url.equals(frame.getURL())) loaded.countDown();
+                }
+            });
+            lease.getBrowser().loadURL(url);
+            assertTrue(loaded.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+            lease.release();
+
+            // The browser is only leased again after about:blank replaced the page.
+            CefBrowserPool.Lease next = pool.lease(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            assertNotNull(next);
+            assertEquals("about:blank", next.getBrowser().getURL());
+            next.release();
+        } finally {
+            pool.dispose();
+        }
+    }
+}
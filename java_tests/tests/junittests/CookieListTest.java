@@ -0,0 +1,65 @@
+package tests.junittests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.cef.network.CefCookie;
+import org.cef.network.CefCookieList;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+// Test the CefCookieList implementation.
+class CookieListTest {
+    @Test
+    void builderGrowsAndKeepsOrder() {
+        CefCookieList.Builder builder = CefCookieList.builder();
+        for (int i = 0; i < 100; i++) {
+            builder.add(null, "name" + i, "value" + i, ".example.com", "/", i % 2 == 0, false,
+                    i, i + 1, i % 3 == 0, i + 2);
+        }
+        CefCookieList list = builder.build();
+        assertEquals(100, list.size());
+        assertEquals("name42", list.getName(42));
+        assertEquals("value42", list.getValue(42));
+        assertTrue(list.isSecure(42));
+        assertTrue(list.hasExpires(42));
+        assertEquals(44, list.getExpiresMillis(42));
+        assertFalse(list.hasExpires(43));
+        assertEquals(43, list.getCreationMillis(43));
+        assertEquals(44, list.getLastAccessMillis(43));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.getName(100));
+    }
+
+    @Test
+    void effectiveUrl() {
+        CefCookieList list = CefCookieList.builder()
+                                     .add(null, "a", "1", ".example.com", "/app", true, false,
+                                             false, 0)
+                                     .add(null, "b", "2", "example.com", "", false, false,
+                                             false, 0)
+                                     .add("https://other.com/", "c", "3", "", "", false, false,
+                                             false, 0)
+                                     .build();
+        assertNull(list.getUrl(0));
+        assertEquals("https://example.com/app", list.getEffectiveUrl(0));
+        assertEquals("http://example.com/", list.getEffectiveUrl(1));
+        assertEquals("https://other.com/", list.getEffectiveUrl(2));
+    }
+
+    @Test
+    void cookieRoundTrip() {
+        CefCookie cookie = new CefCookie("n", "v", "example.com", "/", false, true,
+                new Date(1000), new Date(2000), true, new Date(3000));
+        CefCookie copy = CefCookieList.builder().add(null, cookie).build().getCookie(0);
+        assertEquals("n", copy.name);
+        assertTrue(copy.httponly);
+        assertEquals(1000, copy.creation.getTime());
+        assertEquals(2000, copy.lastAccess.getTime());
+        assertTrue(copy.hasExpires);
+        assertEquals(3000, copy.expires.getTime());
+    }
+}
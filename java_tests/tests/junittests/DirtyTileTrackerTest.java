@@ -0,0 +1,73 @@
+package tests.junittests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.cef.handler.CefDirtyTileTracker;
+import org.cef.handler.CefDirtyTileTracker.TileUpdate;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Rectangle;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+// Test the CefDirtyTileTracker implementation.
+class DirtyTileTrackerTest {
+    private static final int WIDTH = 40;
+    private static final int HEIGHT = 30;
+    private static final int TILE_SIZE = 16;
+
+    // Returns a view whose pixels all have the value |value|.
+    private static ByteBuffer view(int value) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(WIDTH * HEIGHT * 4);
+        while (buffer.hasRemaining()) buffer.put((byte) value);
+        buffer.flip();
+        return buffer;
+    }
+
+    @Test
+    void firstPaintChangesAllTiles() {
+        CefDirtyTileTracker tracker = new CefDirtyTileTracker(TILE_SIZE);
+        tracker.onPaint(view(1), WIDTH, HEIGHT, new Rectangle[] {new Rectangle(0, 0, 1, 1)});
+
+        TileUpdate update = tracker.getChangedTiles(0);
+        assertEquals(1, update.getSequence());
+        assertEquals(6, update.getTileCount());
+        assertEquals(new Rectangle(32, 16, 8, 14), update.getTileRect(5));
+        assertEquals(8 * 14 * 4, update.getTilePixels(5).remaining());
+        assertEquals(List.of(new Rectangle(0, 0, WIDTH, HEIGHT)), update.getMergedRects());
+    }
+
+    @Test
+    void changedTilesSinceSequence() {
+        CefDirtyTileTracker tracker = new CefDirtyTileTracker(TILE_SIZE);
+        tracker.onPaint(view(1), WIDTH, HEIGHT,
+                new Rectangle[] {new Rectangle(0, 0, WIDTH, HEIGHT)});
+        long sequence = tracker.getChangedTiles(0).getSequence();
+
+        // Touches the two right tiles of the first row.
+        tracker.onPaint(view(2), WIDTH, HEIGHT, new Rectangle[] {new Rectangle(20, 4, 15, 4)});
+        TileUpdate update = tracker.getChangedTiles(sequence);
+        assertEquals(2, update.getTileCount());
+        assertEquals(new Rectangle(16, 0, 16, 16), update.getTileRect(0));
+        assertEquals(List.of(new Rectangle(16, 0, 24, 16)), update.getMergedRects());
+
+        // The pixels come from the tracked frame: only the dirty rectangle has the new value.
+        ByteBuffer pixels = update.getTilePixels(0);
+        assertEquals(1, pixels.get(0));
+        assertEquals(2, pixels.get((4 * 16 + 4) * 4));
+
+        // Consumers asking for the same sequence share the update.
+        assertSame(update, tracker.getChangedTiles(sequence));
+        assertEquals(0, tracker.getChangedTiles(update.getSequence()).getTileCount());
+    }
+
+    @Test
+    void resizeChangesAllTiles() {
+        CefDirtyTileTracker tracker = new CefDirtyTileTracker(TILE_SIZE);
+        tracker.onPaint(view(1), WIDTH, HEIGHT, new Rectangle[] {new Rectangle(0, 0, 1, 1)});
+        long sequence = tracker.getSequence();
+        tracker.onPaint(view(1), WIDTH / 2, HEIGHT, new Rectangle[] {new Rectangle(0, 0, 1, 1)});
+        assertEquals(4, tracker.getChangedTiles(sequence).getTileCount());
+    }
+}
@@ -0,0 +1,23 @@
+package tests.junittests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.cef.handler.CefFrameBuffer;
+import org.junit.jupiter.api.Test;
+
+// Test the CefFrameBuffer implementation.
+class FrameBufferTest {
+    @Test
+    void allocatesFourBytesPerPixel() {
+        CefFrameBuffer buffer = new CefFrameBuffer(30, 20);
+        assertEquals(30 * 20 * 4, buffer.getBuffer().capacity());
+    }
+
+    @Test
+    void rejectsSizesThatOverflow() {
+        // 32768 * 16384 * 4 is exactly 2^31, which wraps to a negative int.
+        assertThrows(IllegalArgumentException.class, () -> new CefFrameBuffer(32768, 16384));
+        assertThrows(IllegalArgumentException.class, () -> new CefFrameBuffer(65536, 65536));
+    }
+}
@@ -0,0 +1,130 @@
+package tests.junittests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.cef.handler.CefFrameCapture;
+import org.cef.handler.CefFrameCapture.OverflowPolicy;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+// Test the CefFrameCapture implementation.
+class FrameCaptureTest {
+    private static final int WIDTH = 4;
+    private static final int HEIGHT = 2;
+    // Captures every offered paint.
+    private static final double UNLIMITED_FRAME_RATE = 1e9;
+
+    private static ByteBuffer frame(int value) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(WIDTH * HEIGHT * 4);
+        while (buffer.hasRemaining()) buffer.put((byte) value);
+        buffer.flip();
+        return buffer;
+    }
+
+    @Test
+    void blockDeliversAllFrames() throws Exception {
+        List<Integer> values = new ArrayList<>();
+        CefFrameCapture capture = new CefFrameCapture(UNLIMITED_FRAME_RATE, 2,
+                OverflowPolicy.BLOCK, frame -> values.add((int) frame.getBuffer().get(0)));
+        for (int i = 0; i < 100; i++) assertTrue(capture.offer(frame(i), WIDTH, HEIGHT));
+        capture.close();
+
+        assertEquals(100, values.size());
+        for (int i = 0; i < 100; i++) assertEquals(i, (int) values.get(i));
+        assertEquals(100, capture.getEncodedCount());
+        assertEquals(100L * WIDTH * HEIGHT * 4, capture.getEncodedBytes());
+        assertEquals(0, capture.getDroppedCount());
+        assertNull(capture.getFailure());
+        assertFalse(capture.offer(frame(0), WIDTH, HEIGHT));
+    }
+
+    @Test
+    void dropOldestKeepsNewestFrames() throws Exception {
+        CountDownLatch encoding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Long> indices = new ArrayList<>();
+        CefFrameCapture capture =
+                new CefFrameCapture(UNLIMITED_FRAME_RATE, 3, OverflowPolicy.DROP_OLDEST, frame -> {
+                    encoding.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    indices.add(frame.getIndex());
+                });
+
+        // The first frame blocks the encoder, two buffers remain for the other nine.
+        capture.offer(frame(0), WIDTH, HEIGHT);
+        assertTrue(encoding.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i < 10; i++) assertTrue(capture.offer(frame(i), WIDTH, HEIGHT));
+        assertEquals(7, capture.getDroppedCount());
+        assertEquals(2, capture.getQueuedCount());
+
+        release.countDown();
+        capture.close();
+        assertEquals(List.of(0L, 8L, 9L), indices);
+    }
+
+    @Test
+    void rawFile(@TempDir Path directory) throws Exception {
+        Path file = directory.resolve("capture.bgra");
+        CefFrameCapture capture = new CefFrameCapture(
+                UNLIMITED_FRAME_RATE, 2, OverflowPolicy.BLOCK, CefFrameCapture.rawFile(file));
+        for (int i = 0; i < 3; i++) capture.offer(frame(i), WIDTH, HEIGHT);
+        capture.close();
+
+        byte[] data = Files.readAllBytes(file);
+        assertEquals(3 * WIDTH * HEIGHT * 4, data.length);
+        assertEquals(2, data[data.length - 1]);
+    }
+
+    @Test
+    void frameRateSkipsPaints() throws Exception {
+        CefFrameCapture capture =
+                new CefFrameCapture(1, 2, OverflowPolicy.BLOCK, frame -> {});
+        assertTrue(capture.offer(frame(0), WIDTH, HEIGHT));
+        assertFalse(capture.offer(frame(1), WIDTH, HEIGHT));
+        capture.close();
+        assertEquals(2, capture.getOfferedCount());
+        assertEquals(1, capture.getSkippedCount());
+    }
+
+    @Test
+    void interruptedCloseKeepsInterruptStatus() throws Exception {
+        CountDownLatch encoding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CefFrameCapture capture =
+                new CefFrameCapture(UNLIMITED_FRAME_RATE, 2, OverflowPolicy.BLOCK, frame -> {
+                    encoding.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+        capture.offer(frame(0), WIDTH, HEIGHT);
+        assertTrue(encoding.await(5, TimeUnit.SECONDS));
+
+        // The encoder is still busy, close returns without waiting for it.
+        Thread.currentThread().interrupt();
+        capture.close();
+        assertTrue(Thread.interrupted());
+        assertFalse(capture.offer(frame(1), WIDTH, HEIGHT));
+
+        release.countDown();
+        capture.close();
+        assertEquals(1, capture.getEncodedCount());
+    }
+}
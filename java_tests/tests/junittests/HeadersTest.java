@@ -0,0 +1,40 @@
+package tests.junittests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.cef.network.CefRequest;
+import org.cef.network.CefResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+// Test the bulk header updates of CefRequest and CefResponse.
+@ExtendWith(TestSetupExtension.class)
+class HeadersTest {
+    @Test
+    void requestRejectsOddNamesAndValues() {
+        CefRequest request = CefRequest.create();
+        assertNotNull(request);
+        request.setHeaders(true, "X-A", "1");
+        assertThrows(IllegalArgumentException.class, () -> request.setHeaders(true, "X-B"));
+        assertThrows(IllegalArgumentException.class,
+                () -> request.appendHeaders("X-A", "2", "X-C"));
+        assertEquals("1", request.getHeaders().getFirst("X-A"));
+        assertEquals(1, request.getHeaders().getAll("X-A").size());
+        request.dispose();
+    }
+
+    @Test
+    void responseRejectsOddNamesAndValues() {
+        CefResponse response = CefResponse.create();
+        assertNotNull(response);
+        response.setHeaders(true, "X-A", "1");
+        assertThrows(IllegalArgumentException.class, () -> response.setHeaders(false, "X-B"));
+        assertThrows(IllegalArgumentException.class,
+                () -> response.appendHeaders("X-A", "2", "X-C"));
+        assertEquals("1", response.getHeaders().getFirst("X-A"));
+        assertEquals(1, response.getHeaders().getAll("X-A").size());
+        response.dispose();
+    }
+}
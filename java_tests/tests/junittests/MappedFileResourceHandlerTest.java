@@ -0,0 +1,68 @@
+package tests.junittests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.cef.callback.CefCallback;
+import org.cef.handler.CefMappedFile;
+import org.cef.handler.CefMappedFileResourceHandler;
+import org.cef.misc.IntRef;
+import org.cef.misc.StringRef;
+import org.cef.network.CefRequest;
+import org.cef.network.CefResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Test the range responses of CefMappedFileResourceHandler.
+@ExtendWith(TestSetupExtension.class)
+class MappedFileResourceHandlerTest {
+    private static final CefCallback CALLBACK = new CefCallback() {
+        @Override
+        public void Continue() {}
+
+        @Override
+        public void cancel() {}
+    };
+
+    private static CefResponse respond(Path file, String method, String range, IntRef length)
+            throws IOException {
+        CefRequest request = CefRequest.create();
+        request.setURL("app://host/file.bin");
+        request.setMethod(method);
+        request.setHeaderByName("Range", range, true);
+        CefMappedFileResourceHandler handler =
+                new CefMappedFileResourceHandler(CefMappedFile.open(file));
+        assertTrue(handler.processRequest(request, CALLBACK));
+
+        CefResponse response = CefResponse.create();
+        handler.getResponseHeaders(response, length, new StringRef());
+        return response;
+    }
+
+    @Test
+    void getRange(@TempDir Path dir) throws IOException {
+        Path file = Files.write(dir.resolve("file.bin"), new byte[100]);
+        IntRef length = new IntRef();
+        CefResponse response = respond(file, "GET", "bytes=0-9", length);
+        assertEquals(206, response.getStatus());
+        assertEquals("bytes 0-9/100", response.getHeaderByName("Content-Range"));
+        assertEquals(10, length.get());
+    }
+
+    @Test
+    void headIgnoresRange(@TempDir Path dir) throws IOException {
+        Path file = Files.write(dir.resolve("file.bin"), new byte[100]);
+        IntRef length = new IntRef();
+        CefResponse response = respond(file, "HEAD", "bytes=0-9", length);
+        assertEquals(200, response.getStatus());
+        assertEquals("bytes", response.getHeaderByName("Accept-Ranges"));
+        String contentRange = response.getHeaderByName("Content-Range");
+        assertTrue(contentRange == null || contentRange.isEmpty());
+        assertEquals(0, length.get());
+    }
+}
@@ -0,0 +1,72 @@
+package tests.junittests;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import org.cef.handler.CefMappedFileResourceHandler;
+import org.cef.handler.CefMappedFileSchemeHandlerFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Test the range parsing and path resolution of mapped file resources.
+class MappedFileTest {
+    @Test
+    void parseRange() {
+        assertArrayEquals(new long[] {0, 9}, range("bytes=0-9"));
+        assertArrayEquals(new long[] {90, 99}, range("bytes=90-"));
+        assertArrayEquals(new long[] {50, 99}, range("bytes=50-500"));
+        assertArrayEquals(new long[] {80, 99}, range("bytes=-20"));
+        assertArrayEquals(new long[] {0, 99}, range("bytes=-500"));
+
+        // Ignored: multiple, malformed or reversed ranges and other units.
+        assertEquals(0, range("bytes=0-1,5-6").length);
+        assertEquals(0, range("bytes=a-b").length);
+        assertEquals(0, range("bytes=9-0").length);
+        assertEquals(0, range("items=0-9").length);
+
+        // Not satisfiable.
+        assertNull(range("bytes=100-"));
+        assertNull(range("bytes=-0"));
+        assertNull(CefMappedFileResourceHandler.parseRange("bytes=-5", 0));
+    }
+
+    private static long[] range(String range) {
+        return CefMappedFileResourceHandler.parseRange(range, 100);
+    }
+
+    @Test
+    void resolveStaysInRoot(@TempDir Path dir) throws IOException {
+        Path root = Files.createDirectory(dir.resolve("root"));
+        Path file = Files.write(root.resolve("index.html"), new byte[] {1});
+        Files.write(dir.resolve("secret.txt"), new byte[] {2});
+        CefMappedFileSchemeHandlerFactory factory =
+                new CefMappedFileSchemeHandlerFactory(root, "index.html");
+
+        assertEquals(file.toRealPath(), factory.resolve("app://host/index.html"));
+        assertEquals(file.toRealPath(), factory.resolve("app://host/"));
+        assertNull(factory.resolve("app://host/missing.html"));
+        assertNull(factory.resolve("app://host/../secret.txt"));
+        assertNull(factory.resolve("app://host/%2e%2e/secret.txt"));
+    }
+
+    @Test
+    void resolveRejectsLinkOutOfRoot(@TempDir Path dir) throws IOException {
+        Path root = Files.createDirectory(dir.resolve("root"));
+        Path outside = Files.createDirectory(dir.resolve("outside"));
+        Files.write(outside.resolve("secret.txt"), new byte[] {2});
+        try {
+            Files.createSymbolicLink(root.resolve("link"), outside);
+        } catch (IOException | UnsupportedOperationException e) {
+            assumeTrue(false, "Symbolic links are not supported");
+        }
+        CefMappedFileSchemeHandlerFactory factory = new CefMappedFileSchemeHandlerFactory(root);
+
+        assertNull(factory.resolve("app://host/link/secret.txt"));
+    }
+}
@@ -0,0 +1,84 @@
+package tests.junittests;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.cef.handler.CefResourceRequestFilter;
+import org.cef.handler.CefResourceRequestFilter.Rule;
+import org.cef.network.CefRequest.ResourceType;
+import org.junit.jupiter.api.Test;
+
+// Test the CefResourceRequestFilter implementation.
+class ResourceRequestFilterTest {
+    @Test
+    void prefix() {
+        CefResourceRequestFilter filter =
+                new CefResourceRequestFilter(Rule.prefix("https://api.example.com/"));
+        assertTrue(filter.matches("https://api.example.com/v1", "GET", ResourceType.RT_XHR));
+        assertFalse(filter.matches("https://example.com/", "GET", ResourceType.RT_XHR));
+        assertFalse(filter.matches("https://api.example.com", "GET", ResourceType.RT_XHR));
+    }
+
+    @Test
+    void globMatchesWholeUrl() {
+        CefResourceRequestFilter filter =
+                new CefResourceRequestFilter(Rule.glob("https://*.example.com/*.js?v=?"));
+        assertTrue(filter.matches(
+                "https://cdn.example.com/app.js?v=2", "GET", ResourceType.RT_SCRIPT));
+        // '.' and '?' in the glob are no regular expression operators.
+        assertFalse(filter.matches(
+                "https://cdn.example.com/appXjs?v=2", "GET", ResourceType.RT_SCRIPT));
+        assertFalse(filter.matches(
+                "https://cdn.example.com/app.js?v=23", "GET", ResourceType.RT_SCRIPT));
+    }
+
+    @Test
+    void methodAndResourceType() {
+        CefResourceRequestFilter filter = new CefResourceRequestFilter(
+                Rule.glob("https://example.com/rpc/*")
+                        .withMethod("post")
+                        .withResourceTypes(ResourceType.RT_XHR, ResourceType.RT_SUB_RESOURCE));
+        String url = "https://example.com/rpc/call";
+        assertTrue(filter.matches(url, "POST", ResourceType.RT_XHR));
+        assertFalse(filter.matches(url, "GET", ResourceType.RT_XHR));
+        assertFalse(filter.matches(url, "POST", ResourceType.RT_IMAGE));
+    }
+
+    // The native matcher implements the same glob semantics, keep them in sync.
+    @Test
+    void globSemantics() {
+        assertTrue(globMatches("*", ""));
+        assertTrue(globMatches("a*", "a"));
+        assertTrue(globMatches("*b", "abab"));
+        assertTrue(globMatches("a*b*c", "aXbYbZc"));
+        assertTrue(globMatches("*x*", "x"));
+        assertTrue(globMatches("?*?", "ab"));
+        assertFalse(globMatches("?*?", "a"));
+        assertFalse(globMatches("a*b", "aXbY"));
+        assertFalse(globMatches("", "a"));
+        // '*' in the URL is an ordinary character, there is no escape character in the glob.
+        assertTrue(globMatches("*b", "*ab"));
+        assertFalse(globMatches("a\\*", "a*"));
+        // Matching is case-sensitive and compares UTF-16 characters.
+        assertFalse(globMatches("https://EXAMPLE.com/", "https://example.com/"));
+        assertTrue(globMatches("https://example.com/?", "https://example.com/\u00e9"));
+    }
+
+    @Test
+    void globMatchesUrlsOverLengthLimit() {
+        StringBuilder url = new StringBuilder("data:text/plain,");
+        while (url.length() <= CefResourceRequestFilter.MAX_GLOB_URL_LENGTH) url.append('a');
+        assertTrue(globMatches("https://*", url.toString()));
+        // Prefix rules still compare the prefix.
+        assertFalse(new CefResourceRequestFilter(Rule.prefix("https://"))
+                            .matches(url.toString(), "GET", ResourceType.RT_IMAGE));
+        // A long run of '*' against a long URL completes without deep recursion.
+        String longestUrl = url.substring(0, CefResourceRequestFilter.MAX_GLOB_URL_LENGTH);
+        assertFalse(globMatches("*a*a*a*a*a*a*a*a*a*a*b", longestUrl));
+    }
+
+    private static boolean globMatches(String glob, String url) {
+        return new CefResourceRequestFilter(Rule.glob(glob))
+                .matches(url, "GET", ResourceType.RT_MAIN_FRAME);
+    }
+}
@@ -0,0 +1,144 @@
+package tests.junittests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.sun.net.httpserver.HttpServer;
+import org.cef.CefApp;
+import org.cef.network.CefRequest;
+import org.cef.network.CefURLRequestExecutor;
+import org.cef.network.CefURLResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Test CefURLRequestExecutor against a local HTTP server.
+@ExtendWith(TestSetupExtension.class)
+class URLRequestExecutorTest {
+    private static final int REQUEST_COUNT = 200;
+    private static final int MAX_CONCURRENT_REQUESTS = 8;
+
+    private final AtomicInteger inFlight_ = new AtomicInteger();
+    private final AtomicInteger maxInFlight_ = new AtomicInteger();
+    private HttpServer server_;
+    private String baseUrl_;
+
+    @BeforeEach
+    void startServer() throws Exception {
+        CefApp.getInstance();
+
+        server_ = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server_.setExecutor(Executors.newCachedThreadPool());
+        server_.createContext("/echo", exchange -> {
+            int count = inFlight_.incrementAndGet();
+            maxInFlight_.accumulateAndGet(count, Math::max);
+            try {
+                Thread.sleep(5);
+                byte[] body = exchange.getRequestURI().getQuery().getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "text/plain");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight_.decrementAndGet();
+            }
+        });
+        server_.createContext("/multi", exchange -> {
+            exchange.getResponseHeaders().add("X-Multi", "a");
+            exchange.getResponseHeaders().add("X-Multi", "b");
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        server_.createContext("/slow", exchange -> {
+            try {
+                Thread.sleep(2000);
+                exchange.sendResponseHeaders(204, -1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                exchange.close();
+            }
+        });
+        server_.start();
+        baseUrl_ = "http://127.0.0.1:" + server_.getAddress().getPort();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server_.stop(0);
+    }
+
+    private CefRequest createRequest(String path) {
+        CefRequest request = CefRequest.create();
+        request.setURL(baseUrl_ + path);
+        request.setMethod("GET");
+        return request;
+    }
+
+    private static String toString(ByteBuffer body) {
+        byte[] data = new byte[body.remaining()];
+        body.get(data);
+        return new String(data, StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void boundedConcurrency() throws Exception {
+        CefURLRequestExecutor executor =
+                new CefURLRequestExecutor(MAX_CONCURRENT_REQUESTS, 30, TimeUnit.SECONDS);
+        List<CompletableFuture<CefURLResponse>> futures = new ArrayList<>();
+        for (int i = 0; i < REQUEST_COUNT; i++) {
+            futures.add(executor.send(createRequest("/echo?" + i)));
+        }
+
+        for (int i = 0; i < REQUEST_COUNT; i++) {
+            CefURLResponse response = futures.get(i).get(30, TimeUnit.SECONDS);
+            assertEquals(200, response.getStatus());
+            assertEquals(String.valueOf(i), toString(response.getBody()));
+        }
+        assertTrue(maxInFlight_.get() <= MAX_CONCURRENT_REQUESTS);
+        assertEquals(0, executor.getActiveCount());
+        assertEquals(0, executor.getPendingCount());
+    }
+
+    @Test
+    void multiValuedHeaders() throws Exception {
+        CefURLRequestExecutor executor =
+                new CefURLRequestExecutor(MAX_CONCURRENT_REQUESTS, 30, TimeUnit.SECONDS);
+        CefURLResponse response = executor.send(createRequest("/multi")).get(30, TimeUnit.SECONDS);
+        assertEquals(204, response.getStatus());
+        assertEquals(Arrays.asList("a", "b"), response.getHeaders().get("x-multi"));
+        assertEquals("a", response.getHeader("X-MULTI"));
+    }
+
+    @Test
+    void timeout() throws Exception {
+        CefURLRequestExecutor executor =
+                new CefURLRequestExecutor(MAX_CONCURRENT_REQUESTS, 200, TimeUnit.MILLISECONDS);
+        CompletableFuture<CefURLResponse> future = executor.send(createRequest("/slow"));
+        try {
+            future.get(5, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof TimeoutException);
+        }
+        assertTrue(future.isCompletedExceptionally());
+    }
+}
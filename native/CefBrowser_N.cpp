@@ -1955,6 +1955,110 @@ Java_org_cef_browser_CefBrowser_1N_N_1SendMouseWheelEvent(
   browser->GetHost()->SendMouseWheelEvent(cef_event, deltaX, deltaY);
 }
 
+namespace {
+
+// Event types of CefInputEventBuffer.
+enum InputEventType {
+  kMouseMove = 0,
+  kMouseExit,
+  kMouseDown,
+  kMouseUp,
+  kMouseWheel,
+  kKeyRawKeyDown,
+  kKeyDown,
+  kKeyUp,
+  kKeyChar,
+};
+
+// Number of ints per event in CefInputEventBuffer.
+const int kInputEventStride = 6;
+
+// Sends an event with the layout {type, modifiers, p0, p1, p2, p3} that is
+// described in CefInputEventBuffer.java.
+void SendInputEvent(CefRefPtr<CefBrowserHost> host, const jint* event) {
+  const int type = event[0];
+  switch (type) {
+    case kMouseMove:
+    case kMouseExit:
+    case kMouseDown:
+    case kMouseUp:
+    case kMouseWheel: {
+      CefMouseEvent cef_event;
+      cef_event.x = event[2];
+      cef_event.y = event[3];
+      cef_event.modifiers = event[1];
+      if (type == kMouseWheel) {
+        host->SendMouseWheelEvent(cef_event, event[4], event[5]);
+      } else if (type == kMouseDown || type == kMouseUp) {
+        if (event[4] < MBT_LEFT || event[4] > MBT_RIGHT)
+          return;
+        host->SendMouseClickEvent(
+            cef_event, static_cast<CefBrowserHost::MouseButtonType>(event[4]),
+            type == kMouseUp, event[5]);
+      } else {
+        host->SendMouseMoveEvent(cef_event, type == kMouseExit);
+      }
+      break;
+    }
+    case kKeyRawKeyDown:
+    case kKeyDown:
+    case kKeyUp:
+    case kKeyChar: {
+      CefKeyEvent cef_event;
+      // The key types have the order of cef_key_event_type_t.
+      cef_event.type = static_cast<cef_key_event_type_t>(type - kKeyRawKeyDown);
+      cef_event.modifiers = event[1];
+      cef_event.windows_key_code = event[2];
+      cef_event.native_key_code = event[3];
+      cef_event.character = static_cast<char16>(event[4]);
+      cef_event.unmodified_character = static_cast<char16>(event[5]);
+#if defined(OS_LINUX)
+      if (cef_event.modifiers & EVENTFLAG_ALT_DOWN)
+        cef_event.is_system_key = true;
+#endif
+      host->SendKeyEvent(cef_event);
+      break;
+    }
+    default:
+      break;
+  }
+}
+
+}  // namespace
+
+JNIEXPORT void JNICALL
+Java_org_cef_browser_CefBrowser_1N_N_1SendInputEvent(JNIEnv* env,
+                                                     jobject obj,
+                                                     jint type,
+                                                     jint modifiers,
+                                                     jint p0,
+                                                     jint p1,
+                                                     jint p2,
+                                                     jint p3) {
+  CefRefPtr<CefBrowser> browser = JNI_GET_BROWSER_OR_RETURN(env, obj);
+  const jint event[kInputEventStride] = {type, modifiers, p0, p1, p2, p3};
+  SendInputEvent(browser->GetHost(), event);
+}
+
+JNIEXPORT void JNICALL
+Java_org_cef_browser_CefBrowser_1N_N_1SendInputEvents(JNIEnv* env,
+                                                      jobject obj,
+                                                      jintArray jevents,
+                                                      jint count) {
+  CefRefPtr<CefBrowser> browser = JNI_GET_BROWSER_OR_RETURN(env, obj);
+  if (count <= 0 || env->GetArrayLength(jevents) / kInputEventStride < count)
+    return;
+
+  // Copy the events so that no JNI critical section spans the CEF calls.
+  const jsize length = count * kInputEventStride;
+  std::vector<jint> events(length);
+  env->GetIntArrayRegion(jevents, 0, length, events.data());
+
+  CefRefPtr<CefBrowserHost> host = browser->GetHost();
+  for (jsize i = 0; i < length; i += kInputEventStride)
+    SendInputEvent(host, &events[i]);
+}
+
 JNIEXPORT void JNICALL
 Java_org_cef_browser_CefBrowser_1N_N_1DragTargetDragEnter(JNIEnv* env,
                                                           jobject obj,
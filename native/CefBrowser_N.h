@@ -428,6 +428,32 @@ Java_org_cef_browser_CefBrowser_1N_N_1SendMouseWheelEvent(JNIEnv*,
                                                           jobject,
                                                           jobject);
 
+/*
+ * Class:     org_cef_browser_CefBrowser_N
+ * Method:    N_SendInputEvent
+ * Signature: (IIIIII)V
+ */
+JNIEXPORT void JNICALL
+Java_org_cef_browser_CefBrowser_1N_N_1SendInputEvent(JNIEnv*,
+                                                     jobject,
+                                                     jint,
+                                                     jint,
+                                                     jint,
+                                                     jint,
+                                                     jint,
+                                                     jint);
+
+/*
+ * Class:     org_cef_browser_CefBrowser_N
+ * Method:    N_SendInputEvents
+ * Signature: ([II)V
+ */
+JNIEXPORT void JNICALL
+Java_org_cef_browser_CefBrowser_1N_N_1SendInputEvents(JNIEnv*,
+                                                      jobject,
+                                                      jintArray,
+                                                      jint);
+
 /*
  * Class:     org_cef_browser_CefBrowser_N
  * Method:    N_DragTargetDragEnter
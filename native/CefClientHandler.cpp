@@ -173,3 +173,45 @@ Java_org_cef_handler_CefClientHandler_N_1CefClientHandler_1DTOR(
   SetCefForJNIObject<ClientHandler>(env, clientHandler, nullptr,
                                     "CefClientHandler");
 }
+
+JNIEXPORT void JNICALL
+Java_org_cef_handler_CefClientHandler_N_1SetResourceRequestFilter(
+    JNIEnv* env,
+    jobject clientHandler,
+    jboolean jenabled,
+    jbooleanArray jprefixes,
+    jobjectArray jpatterns,
+    jobjectArray jmethods,
+    jintArray jresourceTypeMasks) {
+  CefRefPtr<ClientHandler> client = GetCefFromJNIObject_sync<ClientHandler>(
+      env, clientHandler, "CefClientHandler");
+  if (!client.get())
+    return;
+  CefRefPtr<ResourceRequestFilter> filter;
+  if (jenabled != JNI_FALSE) {
+    filter = ResourceRequestFilter::Create(env, jprefixes, jpatterns, jmethods,
+                                           jresourceTypeMasks);
+  }
+  client->SetResourceRequestFilter(filter);
+}
+
+JNIEXPORT jlongArray JNICALL
+Java_org_cef_handler_CefClientHandler_N_1GetResourceRequestFilterCounts(
+    JNIEnv* env,
+    jobject clientHandler) {
+  jlong counts[2] = {0, 0};
+  CefRefPtr<ClientHandler> client = GetCefFromJNIObject_sync<ClientHandler>(
+      env, clientHandler, "CefClientHandler");
+  if (client.get()) {
+    CefRefPtr<ResourceRequestFilter> filter =
+        client->GetResourceRequestFilter();
+    if (filter) {
+      counts[0] = filter->matched_count();
+      counts[1] = filter->bypassed_count();
+    }
+  }
+  jlongArray result = env->NewLongArray(2);
+  if (result)
+    env->SetLongArrayRegion(result, 0, 2, counts);
+  return result;
+}
@@ -185,6 +185,31 @@ JNIEXPORT void JNICALL
 Java_org_cef_handler_CefClientHandler_N_1CefClientHandler_1DTOR(JNIEnv*,
                                                                 jobject);
 
+/*
+ * Class:     org_cef_handler_CefClientHandler
+ * Method:    N_SetResourceRequestFilter
+ * Signature: (Z[Z[Ljava/lang/String;[Ljava/lang/String;[I)V
+ */
+JNIEXPORT void JNICALL
+Java_org_cef_handler_CefClientHandler_N_1SetResourceRequestFilter(
+    JNIEnv*,
+    jobject,
+    jboolean,
+    jbooleanArray,
+    jobjectArray,
+    jobjectArray,
+    jintArray);
+
+/*
+ * Class:     org_cef_handler_CefClientHandler
+ * Method:    N_GetResourceRequestFilterCounts
+ * Signature: ()[J
+ */
+JNIEXPORT jlongArray JNICALL
+Java_org_cef_handler_CefClientHandler_N_1GetResourceRequestFilterCounts(
+    JNIEnv*,
+    jobject);
+
 #ifdef __cplusplus
 }
 #endif
@@ -4,6 +4,10 @@
 
 #include "CefCookieManager_N.h"
 
+#include <atomic>
+#include <utility>
+#include <vector>
+
 #include "include/base/cef_callback.h"
 #include "include/cef_cookie.h"
 #include "include/cef_task.h"
@@ -54,6 +58,175 @@ CefCookie GetJNICookie(JNIEnv* env, jobject jcookie) {
   return cookie;
 }
 
+// Layout of the arrays of org.cef.network.CefCookieList.
+const int kStringsPerCookie = 4;
+const int kTimesPerCookie = 3;
+const int kFlagSecure = 1;
+const int kFlagHttpOnly = 2;
+const int kFlagHasExpires = 4;
+
+jlong GetMillis(const CefTime& time) {
+  return static_cast<jlong>(time.GetDoubleT() * 1000);
+}
+
+CefTime GetTime(jlong millis) {
+  CefTime time;
+  time.SetDoubleT(millis / 1000.0);
+  return time;
+}
+
+// Collects the visited cookies and passes them to Java in a single call when
+// CEF releases the visitor after the last cookie.
+class CookieListVisitor : public CefCookieVisitor {
+ public:
+  CookieListVisitor(JNIEnv* env, jobject jcallback)
+      : handle_(env, jcallback), cancelled_(false) {}
+
+  ~CookieListVisitor() override {
+    if (cancelled_)
+      return;
+    ScopedJNIEnv env;
+    if (!env)
+      return;
+
+    const size_t size = cookies_.size();
+    std::vector<CefString> strings;
+    strings.reserve(size * kStringsPerCookie);
+    std::vector<jlong> times(size * kTimesPerCookie);
+    std::vector<jint> flags(size);
+    for (size_t i = 0; i < size; ++i) {
+      const CefCookie& cookie = cookies_[i];
+      strings.push_back(CefString(&cookie.name));
+      strings.push_back(CefString(&cookie.value));
+      strings.push_back(CefString(&cookie.domain));
+      strings.push_back(CefString(&cookie.path));
+      times[i * kTimesPerCookie] = GetMillis(cookie.creation);
+      times[i * kTimesPerCookie + 1] = GetMillis(cookie.last_access);
+      if (cookie.has_expires)
+        times[i * kTimesPerCookie + 2] = GetMillis(cookie.expires);
+      flags[i] = (cookie.secure ? kFlagSecure : 0) |
+                 (cookie.httponly ? kFlagHttpOnly : 0) |
+                 (cookie.has_expires ? kFlagHasExpires : 0);
+    }
+
+    ScopedJNIObjectLocal jstrings(env, NewJNIStringArray(env, strings));
+    ScopedJNIObjectLocal jtimes(env, env->NewLongArray((jsize)times.size()));
+    ScopedJNIObjectLocal jflags(env, env->NewIntArray((jsize)flags.size()));
+    if (!jtimes || !jflags)
+      return;
+    env->SetLongArrayRegion((jlongArray)jtimes.get(), 0, (jsize)times.size(),
+                            times.data());
+    env->SetIntArrayRegion((jintArray)jflags.get(), 0, (jsize)flags.size(),
+                           flags.data());
+
+    JNI_CALL_VOID_METHOD(env, handle_, "onComplete",
+                         "([Ljava/lang/String;[J[I)V", jstrings.get(),
+                         jtimes.get(), jflags.get());
+  }
+
+  bool Visit(const CefCookie& cookie,
+             int count,
+             int total,
+             bool& deleteCookie) override {
+    if (cookies_.empty() && total > 0)
+      cookies_.reserve(total);
+    cookies_.push_back(cookie);
+    return true;
+  }
+
+  // Don't call Java when released, it already knows that the visit failed.
+  void Cancel() { cancelled_ = true; }
+
+ private:
+  ScopedJNIObjectGlobal handle_;
+  std::vector<CefCookie> cookies_;
+  std::atomic<bool> cancelled_;
+
+  IMPLEMENT_REFCOUNTING(CookieListVisitor);
+};
+
+// Adds up the results of the single operations of a bulk operation and passes
+// the sum to Java when the callbacks of all single operations were released.
+class BulkCompletion : public CefBaseRefCounted {
+ public:
+  BulkCompletion(JNIEnv* env, jobject jcallback)
+      : handle_(env, jcallback), count_(0), cancelled_(false) {}
+
+  ~BulkCompletion() override {
+    if (cancelled_)
+      return;
+    ScopedJNIEnv env;
+    if (!env)
+      return;
+    JNI_CALL_VOID_METHOD(env, handle_, "onComplete", "(I)V",
+                         (jint)count_.load());
+  }
+
+  void Add(int count) { count_ += count; }
+
+  // Don't call Java when released, it already knows that the operation failed.
+  void Cancel() { cancelled_ = true; }
+
+ private:
+  ScopedJNIObjectGlobal handle_;
+  std::atomic<int> count_;
+  std::atomic<bool> cancelled_;
+
+  IMPLEMENT_REFCOUNTING(BulkCompletion);
+};
+
+class BulkSetCookieCallback : public CefSetCookieCallback {
+ public:
+  explicit BulkSetCookieCallback(CefRefPtr<BulkCompletion> completion)
+      : completion_(completion) {}
+
+  void OnComplete(bool success) override {
+    if (success)
+      completion_->Add(1);
+  }
+
+ private:
+  CefRefPtr<BulkCompletion> completion_;
+
+  IMPLEMENT_REFCOUNTING(BulkSetCookieCallback);
+};
+
+class BulkDeleteCookiesCallback : public CefDeleteCookiesCallback {
+ public:
+  explicit BulkDeleteCookiesCallback(CefRefPtr<BulkCompletion> completion)
+      : completion_(completion) {}
+
+  void OnComplete(int num_deleted) override { completion_->Add(num_deleted); }
+
+ private:
+  CefRefPtr<BulkCompletion> completion_;
+
+  IMPLEMENT_REFCOUNTING(BulkDeleteCookiesCallback);
+};
+
+typedef std::vector<std::pair<CefString, CefCookie>> CookieList;
+typedef std::vector<std::pair<CefString, CefString>> CookieNameList;
+
+// A cookie whose URL is invalid is skipped: CEF doesn't run its callback, so
+// it isn't counted.
+void SetCookiesOnIOThread(CefRefPtr<CefCookieManager> manager,
+                          const CookieList& cookies,
+                          CefRefPtr<BulkCompletion> completion) {
+  for (const auto& entry : cookies) {
+    manager->SetCookie(entry.first, entry.second,
+                       new BulkSetCookieCallback(completion));
+  }
+}
+
+void DeleteCookiesOnIOThread(CefRefPtr<CefCookieManager> manager,
+                             const CookieNameList& cookies,
+                             CefRefPtr<BulkCompletion> completion) {
+  for (const auto& entry : cookies) {
+    manager->DeleteCookies(entry.first, entry.second,
+                           new BulkDeleteCookiesCallback(completion));
+  }
+}
+
 }  // namespace
 
 JNIEXPORT jobject JNICALL
@@ -169,3 +342,117 @@ Java_org_cef_network_CefCookieManager_1N_N_1FlushStore(JNIEnv* env,
   bool result = manager->FlushStore(callback);
   return result ? JNI_TRUE : JNI_FALSE;
 }
+
+JNIEXPORT jboolean JNICALL
+Java_org_cef_network_CefCookieManager_1N_N_1GetCookieList(
+    JNIEnv* env,
+    jobject obj,
+    jlong self,
+    jstring jurl,
+    jboolean jincludeHttpOnly,
+    jobject jcallback) {
+  CefRefPtr<CefCookieManager> manager = GetSelf(self);
+  if (!manager || !jcallback)
+    return JNI_FALSE;
+
+  CefRefPtr<CookieListVisitor> visitor = new CookieListVisitor(env, jcallback);
+  bool result;
+  if (!jurl) {
+    result = manager->VisitAllCookies(visitor);
+  } else {
+    result = manager->VisitUrlCookies(GetJNIString(env, jurl),
+                                      (jincludeHttpOnly != JNI_FALSE), visitor);
+  }
+  if (!result)
+    visitor->Cancel();
+  return result ? JNI_TRUE : JNI_FALSE;
+}
+
+JNIEXPORT jboolean JNICALL
+Java_org_cef_network_CefCookieManager_1N_N_1SetCookieList(JNIEnv* env,
+                                                          jobject obj,
+                                                          jlong self,
+                                                          jobjectArray jurls,
+                                                          jobjectArray jstrings,
+                                                          jlongArray jtimes,
+                                                          jintArray jflags,
+                                                          jobject jcallback) {
+  CefRefPtr<CefCookieManager> manager = GetSelf(self);
+  if (!manager || !jurls || !jstrings || !jtimes || !jflags || !jcallback)
+    return JNI_FALSE;
+
+  std::vector<CefString> urls, strings;
+  GetJNIStringArray(env, jurls, urls);
+  GetJNIStringArray(env, jstrings, strings);
+  const size_t size = urls.size();
+  if (strings.size() != size * kStringsPerCookie ||
+      env->GetArrayLength(jtimes) != (jsize)(size * kTimesPerCookie) ||
+      env->GetArrayLength(jflags) != (jsize)size) {
+    return JNI_FALSE;
+  }
+  std::vector<jlong> times(size * kTimesPerCookie);
+  std::vector<jint> flags(size);
+  env->GetLongArrayRegion(jtimes, 0, (jsize)times.size(), times.data());
+  env->GetIntArrayRegion(jflags, 0, (jsize)flags.size(), flags.data());
+
+  CookieList cookies(size);
+  for (size_t i = 0; i < size; ++i) {
+    CefCookie& cookie = cookies[i].second;
+    cookies[i].first = urls[i];
+    CefString(&cookie.name) = strings[i * kStringsPerCookie];
+    CefString(&cookie.value) = strings[i * kStringsPerCookie + 1];
+    CefString(&cookie.domain) = strings[i * kStringsPerCookie + 2];
+    CefString(&cookie.path) = strings[i * kStringsPerCookie + 3];
+    cookie.secure = (flags[i] & kFlagSecure) ? 1 : 0;
+    cookie.httponly = (flags[i] & kFlagHttpOnly) ? 1 : 0;
+    // A time of 0 leaves it to CEF to set the time.
+    if (times[i * kTimesPerCookie] != 0)
+      cookie.creation = GetTime(times[i * kTimesPerCookie]);
+    if (times[i * kTimesPerCookie + 1] != 0)
+      cookie.last_access = GetTime(times[i * kTimesPerCookie + 1]);
+    cookie.has_expires = (flags[i] & kFlagHasExpires) ? 1 : 0;
+    if (cookie.has_expires)
+      cookie.expires = GetTime(times[i * kTimesPerCookie + 2]);
+  }
+
+  // Like N_SetCookie all cookies are set on the IO thread, in a single task.
+  CefRefPtr<BulkCompletion> completion = new BulkCompletion(env, jcallback);
+  bool result = CefPostTask(TID_IO, base::BindOnce(&SetCookiesOnIOThread,
+                                                   manager, std::move(cookies),
+                                                   completion));
+  if (!result)
+    completion->Cancel();
+  return result ? JNI_TRUE : JNI_FALSE;
+}
+
+JNIEXPORT jboolean JNICALL
+Java_org_cef_network_CefCookieManager_1N_N_1DeleteCookieList(
+    JNIEnv* env,
+    jobject obj,
+    jlong self,
+    jobjectArray jurls,
+    jobjectArray jnames,
+    jobject jcallback) {
+  CefRefPtr<CefCookieManager> manager = GetSelf(self);
+  if (!manager || !jurls || !jnames || !jcallback)
+    return JNI_FALSE;
+
+  std::vector<CefString> urls, names;
+  GetJNIStringArray(env, jurls, urls);
+  GetJNIStringArray(env, jnames, names);
+  if (urls.size() != names.size())
+    return JNI_FALSE;
+
+  CookieNameList cookies;
+  cookies.reserve(urls.size());
+  for (size_t i = 0; i < urls.size(); ++i)
+    cookies.push_back(std::make_pair(urls[i], names[i]));
+
+  CefRefPtr<BulkCompletion> completion = new BulkCompletion(env, jcallback);
+  bool result = CefPostTask(
+      TID_IO, base::BindOnce(&DeleteCookiesOnIOThread, manager,
+                             std::move(cookies), completion));
+  if (!result)
+    completion->Cancel();
+  return result ? JNI_TRUE : JNI_FALSE;
+}
@@ -82,6 +82,47 @@ Java_org_cef_network_CefCookieManager_1N_N_1FlushStore(JNIEnv*,
                                                        jlong,
                                                        jobject);
 
+/*
+ * Class:     org_cef_network_CefCookieManager_N
+ * Method:    N_GetCookieList
+ * Signature: (JLjava/lang/String;ZLorg/cef/network/CefCookieManager_N$CookieListCallback;)Z
+ */
+JNIEXPORT jboolean JNICALL
+Java_org_cef_network_CefCookieManager_1N_N_1GetCookieList(JNIEnv*,
+                                                          jobject,
+                                                          jlong,
+                                                          jstring,
+                                                          jboolean,
+                                                          jobject);
+
+/*
+ * Class:     org_cef_network_CefCookieManager_N
+ * Method:    N_SetCookieList
+ * Signature: (J[Ljava/lang/String;[Ljava/lang/String;[J[ILorg/cef/network/CefCookieManager_N$CountCallback;)Z
+ */
+JNIEXPORT jboolean JNICALL
+Java_org_cef_network_CefCookieManager_1N_N_1SetCookieList(JNIEnv*,
+                                                          jobject,
+                                                          jlong,
+                                                          jobjectArray,
+                                                          jobjectArray,
+                                                          jlongArray,
+                                                          jintArray,
+                                                          jobject);
+
+/*
+ * Class:     org_cef_network_CefCookieManager_N
+ * Method:    N_DeleteCookieList
+ * Signature: (J[Ljava/lang/String;[Ljava/lang/String;Lorg/cef/network/CefCookieManager_N$CountCallback;)Z
+ */
+JNIEXPORT jboolean JNICALL
+Java_org_cef_network_CefCookieManager_1N_N_1DeleteCookieList(JNIEnv*,
+                                                             jobject,
+                                                             jlong,
+                                                             jobjectArray,
+                                                             jobjectArray,
+                                                             jobject);
+
 #ifdef __cplusplus
 }
 #endif
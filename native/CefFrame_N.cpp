@@ -115,6 +115,32 @@ Java_org_cef_browser_CefFrame_1N_N_1ExecuteJavaScript(JNIEnv* env,
                            line);
 }
 
+JNIEXPORT void JNICALL
+Java_org_cef_browser_CefFrame_1N_N_1ExecuteJavaScriptBatch(JNIEnv* env,
+                                                           jclass cls,
+                                                           jobjectArray jframes,
+                                                           jobjectArray jcodes,
+                                                           jstring url) {
+  const jsize count = env->GetArrayLength(jframes);
+  if (env->GetArrayLength(jcodes) != count)
+    return;
+
+  const CefString script_url = GetJNIString(env, url);
+  for (jsize i = 0; i < count; ++i) {
+    ScopedJNIObjectLocal jframe(env, env->GetObjectArrayElement(jframes, i));
+    ScopedJNIObjectLocal jcode(env, env->GetObjectArrayElement(jcodes, i));
+    if (!jframe || !jcode)
+      continue;
+
+    CefRefPtr<CefFrame> frame =
+        GetCefFromJNIObject<CefFrame>(env, jframe, "CefFrame");
+    if (!frame)
+      continue;
+    frame->ExecuteJavaScript(GetJNIString(env, (jstring)jcode.get()),
+                             script_url, 1);
+  }
+}
+
 JNIEXPORT void JNICALL Java_org_cef_browser_CefFrame_1N_N_1Undo(JNIEnv* env,
                                                                 jobject obj,
                                                                 jlong self) {
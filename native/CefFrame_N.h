@@ -90,6 +90,18 @@ Java_org_cef_browser_CefFrame_1N_N_1ExecuteJavaScript(JNIEnv*,
                                                       jstring,
                                                       jint);
 
+/*
+ * Class:     org_cef_browser_CefFrame_N
+ * Method:    N_ExecuteJavaScriptBatch
+ * Signature: ([Lorg/cef/browser/CefFrame;[Ljava/lang/String;Ljava/lang/String;)V
+ */
+JNIEXPORT void JNICALL
+Java_org_cef_browser_CefFrame_1N_N_1ExecuteJavaScriptBatch(JNIEnv*,
+                                                           jclass,
+                                                           jobjectArray,
+                                                           jobjectArray,
+                                                           jstring);
+
 /*
  * Class:     org_cef_browser_CefFrame_N
  * Method:    N_Undo
@@ -4,6 +4,8 @@
 
 #include "CefPostDataElement_N.h"
 
+#include <algorithm>
+
 #include "include/cef_request.h"
 
 #include "jni_scoped_helpers.h"
@@ -129,15 +131,19 @@ Java_org_cef_network_CefPostDataElement_1N_N_1GetBytes(JNIEnv* env,
                                                        jint jsize,
                                                        jbyteArray jbytes) {
   CefRefPtr<CefPostDataElement> dataElement = GetSelf(self);
-  if (!dataElement)
+  if (!dataElement || !jbytes || jsize <= 0)
     return 0;
 
-  jbyte* jbyte = env->GetByteArrayElements(jbytes, nullptr);
-  if (!jbyte)
-    return 0;
-  memset(jbyte, 0, jsize);
+  // Never write past the end of the array. GetBytes() copies only the first
+  // |size| bytes, so a small array peeks at the start of a large element.
+  const size_t length = static_cast<size_t>(env->GetArrayLength(jbytes));
+  const size_t size = std::min(static_cast<size_t>(jsize), length);
 
-  size_t readLen = dataElement->GetBytes(jsize, jbyte);
-  env->ReleaseByteArrayElements(jbytes, jbyte, 0);
+  // Copy straight into the Java array instead of into a copy of it.
+  void* data = env->GetPrimitiveArrayCritical(jbytes, nullptr);
+  if (!data)
+    return 0;
+  size_t readLen = dataElement->GetBytes(size, data);
+  env->ReleasePrimitiveArrayCritical(jbytes, data, 0);
   return (jint)readLen;
 }
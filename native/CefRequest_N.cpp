@@ -288,6 +288,51 @@ Java_org_cef_network_CefRequest_1N_N_1SetHeaderMap(JNIEnv* env,
   request->SetHeaderMap(headerMap);
 }
 
+JNIEXPORT jobjectArray JNICALL
+Java_org_cef_network_CefRequest_1N_N_1GetHeaders(JNIEnv* env,
+                                                 jobject obj,
+                                                 jlong self) {
+  CefRefPtr<CefRequest> request = GetSelf(self);
+  if (!request)
+    return nullptr;
+  CefRequest::HeaderMap headerMap;
+  request->GetHeaderMap(headerMap);
+  return NewJNIStringMultiMapArray(env, headerMap);
+}
+
+JNIEXPORT void JNICALL
+Java_org_cef_network_CefRequest_1N_N_1SetHeaders(JNIEnv* env,
+                                                 jobject obj,
+                                                 jlong self,
+                                                 jobjectArray jheaders,
+                                                 jboolean joverwrite) {
+  CefRefPtr<CefRequest> request = GetSelf(self);
+  if (!request)
+    return;
+  std::vector<std::pair<CefString, CefString>> headers;
+  GetJNIStringMultiMapArray(env, jheaders, headers);
+  for (const auto& header : headers) {
+    request->SetHeaderByName(header.first, header.second,
+                             joverwrite != JNI_FALSE);
+  }
+}
+
+JNIEXPORT void JNICALL
+Java_org_cef_network_CefRequest_1N_N_1AppendHeaders(JNIEnv* env,
+                                                    jobject obj,
+                                                    jlong self,
+                                                    jobjectArray jheaders) {
+  CefRefPtr<CefRequest> request = GetSelf(self);
+  if (!request)
+    return;
+  std::vector<std::pair<CefString, CefString>> headers;
+  GetJNIStringMultiMapArray(env, jheaders, headers);
+  CefRequest::HeaderMap headerMap;
+  request->GetHeaderMap(headerMap);
+  headerMap.insert(headers.begin(), headers.end());
+  request->SetHeaderMap(headerMap);
+}
+
 JNIEXPORT void JNICALL
 Java_org_cef_network_CefRequest_1N_N_1Set(JNIEnv* env,
                                           jobject obj,
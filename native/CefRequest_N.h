@@ -244,6 +244,39 @@ Java_org_cef_network_CefRequest_1N_N_1GetTransitionType(JNIEnv*,
                                                         jobject,
                                                         jlong);
 
+/*
+ * Class:     org_cef_network_CefRequest_N
+ * Method:    N_GetHeaders
+ * Signature: (J)[Ljava/lang/String;
+ */
+JNIEXPORT jobjectArray JNICALL
+Java_org_cef_network_CefRequest_1N_N_1GetHeaders(JNIEnv*,
+                                                 jobject,
+                                                 jlong);
+
+/*
+ * Class:     org_cef_network_CefRequest_N
+ * Method:    N_SetHeaders
+ * Signature: (J[Ljava/lang/String;Z)V
+ */
+JNIEXPORT void JNICALL
+Java_org_cef_network_CefRequest_1N_N_1SetHeaders(JNIEnv*,
+                                                 jobject,
+                                                 jlong,
+                                                 jobjectArray,
+                                                 jboolean);
+
+/*
+ * Class:     org_cef_network_CefRequest_N
+ * Method:    N_AppendHeaders
+ * Signature: (J[Ljava/lang/String;)V
+ */
+JNIEXPORT void JNICALL
+Java_org_cef_network_CefRequest_1N_N_1AppendHeaders(JNIEnv*,
+                                                    jobject,
+                                                    jlong,
+                                                    jobjectArray);
+
 #ifdef __cplusplus
 }
 #endif
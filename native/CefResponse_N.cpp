@@ -183,3 +183,48 @@ Java_org_cef_network_CefResponse_1N_N_1SetHeaderMap(JNIEnv* env,
   GetJNIStringMultiMap(env, jheaderMap, headerMap);
   response->SetHeaderMap(headerMap);
 }
+
+JNIEXPORT jobjectArray JNICALL
+Java_org_cef_network_CefResponse_1N_N_1GetHeaders(JNIEnv* env,
+                                                  jobject obj,
+                                                  jlong self) {
+  CefRefPtr<CefResponse> response = GetSelf(self);
+  if (!response)
+    return nullptr;
+  CefResponse::HeaderMap headerMap;
+  response->GetHeaderMap(headerMap);
+  return NewJNIStringMultiMapArray(env, headerMap);
+}
+
+JNIEXPORT void JNICALL
+Java_org_cef_network_CefResponse_1N_N_1SetHeaders(JNIEnv* env,
+                                                  jobject obj,
+                                                  jlong self,
+                                                  jobjectArray jheaders,
+                                                  jboolean joverwrite) {
+  CefRefPtr<CefResponse> response = GetSelf(self);
+  if (!response)
+    return;
+  std::vector<std::pair<CefString, CefString>> headers;
+  GetJNIStringMultiMapArray(env, jheaders, headers);
+  for (const auto& header : headers) {
+    response->SetHeaderByName(header.first, header.second,
+                              joverwrite != JNI_FALSE);
+  }
+}
+
+JNIEXPORT void JNICALL
+Java_org_cef_network_CefResponse_1N_N_1AppendHeaders(JNIEnv* env,
+                                                     jobject obj,
+                                                     jlong self,
+                                                     jobjectArray jheaders) {
+  CefRefPtr<CefResponse> response = GetSelf(self);
+  if (!response)
+    return;
+  std::vector<std::pair<CefString, CefString>> headers;
+  GetJNIStringMultiMapArray(env, jheaders, headers);
+  CefResponse::HeaderMap headerMap;
+  response->GetHeaderMap(headerMap);
+  headerMap.insert(headers.begin(), headers.end());
+  response->SetHeaderMap(headerMap);
+}
@@ -153,6 +153,39 @@ Java_org_cef_network_CefResponse_1N_N_1SetHeaderMap(JNIEnv*,
                                                     jlong,
                                                     jobject);
 
+/*
+ * Class:     org_cef_network_CefResponse_N
+ * Method:    N_GetHeaders
+ * Signature: (J)[Ljava/lang/String;
+ */
+JNIEXPORT jobjectArray JNICALL
+Java_org_cef_network_CefResponse_1N_N_1GetHeaders(JNIEnv*,
+                                                  jobject,
+                                                  jlong);
+
+/*
+ * Class:     org_cef_network_CefResponse_N
+ * Method:    N_SetHeaders
+ * Signature: (J[Ljava/lang/String;Z)V
+ */
+JNIEXPORT void JNICALL
+Java_org_cef_network_CefResponse_1N_N_1SetHeaders(JNIEnv*,
+                                                  jobject,
+                                                  jlong,
+                                                  jobjectArray,
+                                                  jboolean);
+
+/*
+ * Class:     org_cef_network_CefResponse_N
+ * Method:    N_AppendHeaders
+ * Signature: (J[Ljava/lang/String;)V
+ */
+JNIEXPORT void JNICALL
+Java_org_cef_network_CefResponse_1N_N_1AppendHeaders(JNIEnv*,
+                                                     jobject,
+                                                     jlong,
+                                                     jobjectArray);
+
 #ifdef __cplusplus
 }
 #endif
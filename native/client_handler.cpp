@@ -7,7 +7,6 @@
 #include <stdio.h>
 #include <algorithm>
 #include <set>
-#include <sstream>
 #include <string>
 #include <vector>
 
@@ -35,6 +34,7 @@
 #include "include/cef_process_util.h"
 #include "include/cef_trace.h"
 #include "include/wrapper/cef_stream_resource_handler.h"
+#include "jni_dispatch.h"
 #include "jni_util.h"
 #include "util.h"
 
@@ -61,33 +61,30 @@ CefMessageRouterConfig GetMessageRouterConfig(JNIEnv* env,
 ClientHandler::ClientHandler(JNIEnv* env, jobject handler)
     : handle_(env, handler) {}
 
-template <class T>
-CefRefPtr<T> ClientHandler::GetHandler(const char* class_name) {
-  std::string methodName, className, methodSig;
-
-  std::stringstream ss;
-  ss << "get" << class_name;
-  methodName = ss.str();
-
-  ss.str(std::string());
-  ss << "Cef" << class_name;
-  className = ss.str();
+ClientHandler::~ClientHandler() {
+  if (browserMap_.empty())
+    return;
 
-  ss.str(std::string());
-  ss << "()Lorg/cef/handler/" << className << ";";
-  methodSig = ss.str();
+  ScopedJNIEnv env;
+  if (!env)
+    return;
+  for (auto& entry : browserMap_)
+    env->DeleteGlobalRef(entry.second);
+}
 
+template <class T>
+CefRefPtr<T> ClientHandler::GetHandler(JNIMethod method,
+                                       const char* class_name) {
   ScopedJNIEnv env;
   if (!env)
     return nullptr;
 
   CefRefPtr<T> result = nullptr;
   ScopedJNIObjectResult jresult(env);
-  JNI_CALL_METHOD(env, handle_, methodName.c_str(), methodSig.c_str(), Object,
-                  jresult);
+  JNI_DISPATCH_METHOD(env, handle_, method, Object, jresult);
   if (jresult) {
     ScopedJNIObject<T> jhandler(env, jresult.Release(),
-                                true /* should_delete */, className.c_str());
+                                true /* should_delete */, class_name);
     result = jhandler.GetOrCreateCefObject();
   }
 
@@ -95,59 +92,84 @@ CefRefPtr<T> ClientHandler::GetHandler(const char* class_name) {
 }
 
 CefRefPtr<CefContextMenuHandler> ClientHandler::GetContextMenuHandler() {
-  return GetHandler<ContextMenuHandler>("ContextMenuHandler");
+  return GetHandler<ContextMenuHandler>(
+      JNIMethod::kClientHandlerGetContextMenuHandler, "CefContextMenuHandler");
 }
 
 CefRefPtr<CefDialogHandler> ClientHandler::GetDialogHandler() {
-  return GetHandler<DialogHandler>("DialogHandler");
+  return GetHandler<DialogHandler>(JNIMethod::kClientHandlerGetDialogHandler,
+                                   "CefDialogHandler");
 }
 
 CefRefPtr<CefDisplayHandler> ClientHandler::GetDisplayHandler() {
-  return GetHandler<DisplayHandler>("DisplayHandler");
+  return GetHandler<DisplayHandler>(JNIMethod::kClientHandlerGetDisplayHandler,
+                                    "CefDisplayHandler");
 }
 
 CefRefPtr<CefDownloadHandler> ClientHandler::GetDownloadHandler() {
-  return GetHandler<DownloadHandler>("DownloadHandler");
+  return GetHandler<DownloadHandler>(
+      JNIMethod::kClientHandlerGetDownloadHandler, "CefDownloadHandler");
 }
 
 CefRefPtr<CefDragHandler> ClientHandler::GetDragHandler() {
-  return GetHandler<DragHandler>("DragHandler");
+  return GetHandler<DragHandler>(JNIMethod::kClientHandlerGetDragHandler,
+                                 "CefDragHandler");
 }
 
 CefRefPtr<CefFocusHandler> ClientHandler::GetFocusHandler() {
-  return GetHandler<FocusHandler>("FocusHandler");
+  return GetHandler<FocusHandler>(JNIMethod::kClientHandlerGetFocusHandler,
+                                  "CefFocusHandler");
 }
 
 CefRefPtr<CefMediaAccessHandler> ClientHandler::GetMediaAccessHandler() {
-  return GetHandler<MediaAccessHandler>("MediaAccessHandler");
+  return GetHandler<MediaAccessHandler>(
+      JNIMethod::kClientHandlerGetMediaAccessHandler, "CefMediaAccessHandler");
 }
 
 CefRefPtr<CefJSDialogHandler> ClientHandler::GetJSDialogHandler() {
-  return GetHandler<JSDialogHandler>("JSDialogHandler");
+  return GetHandler<JSDialogHandler>(
+      JNIMethod::kClientHandlerGetJSDialogHandler, "CefJSDialogHandler");
 }
 
 CefRefPtr<CefKeyboardHandler> ClientHandler::GetKeyboardHandler() {
-  return GetHandler<KeyboardHandler>("KeyboardHandler");
+  return GetHandler<KeyboardHandler>(
+      JNIMethod::kClientHandlerGetKeyboardHandler, "CefKeyboardHandler");
 }
 
 CefRefPtr<CefLifeSpanHandler> ClientHandler::GetLifeSpanHandler() {
-  return GetHandler<LifeSpanHandler>("LifeSpanHandler");
+  return GetHandler<LifeSpanHandler>(
+      JNIMethod::kClientHandlerGetLifeSpanHandler, "CefLifeSpanHandler");
 }
 
 CefRefPtr<CefLoadHandler> ClientHandler::GetLoadHandler() {
-  return GetHandler<LoadHandler>("LoadHandler");
+  return GetHandler<LoadHandler>(JNIMethod::kClientHandlerGetLoadHandler,
+                                 "CefLoadHandler");
 }
 
 CefRefPtr<CefPrintHandler> ClientHandler::GetPrintHandler() {
-  return GetHandler<PrintHandler>("PrintHandler");
+  return GetHandler<PrintHandler>(JNIMethod::kClientHandlerGetPrintHandler,
+                                  "CefPrintHandler");
 }
 
 CefRefPtr<CefRenderHandler> ClientHandler::GetRenderHandler() {
-  return GetHandler<RenderHandler>("RenderHandler");
+  return GetHandler<RenderHandler>(JNIMethod::kClientHandlerGetRenderHandler,
+                                   "CefRenderHandler");
 }
 
 CefRefPtr<CefRequestHandler> ClientHandler::GetRequestHandler() {
-  return GetHandler<RequestHandler>("RequestHandler");
+  return GetHandler<RequestHandler>(JNIMethod::kClientHandlerGetRequestHandler,
+                                    "CefRequestHandler");
+}
+
+void ClientHandler::SetResourceRequestFilter(
+    CefRefPtr<ResourceRequestFilter> filter) {
+  base::AutoLock lock_scope(resource_request_filter_lock_);
+  resource_request_filter_ = filter;
+}
+
+CefRefPtr<ResourceRequestFilter> ClientHandler::GetResourceRequestFilter() {
+  base::AutoLock lock_scope(resource_request_filter_lock_);
+  return resource_request_filter_;
 }
 
 bool ClientHandler::OnProcessMessageReceived(
@@ -176,7 +198,8 @@ bool ClientHandler::OnProcessMessageReceived(
 }
 
 CefRefPtr<WindowHandler> ClientHandler::GetWindowHandler() {
-  return GetHandler<WindowHandler>("WindowHandler");
+  return GetHandler<WindowHandler>(JNIMethod::kClientHandlerGetWindowHandler,
+                                   "CefWindowHandler");
 }
 
 void ClientHandler::AddMessageRouter(JNIEnv* env, jobject jmessageRouter) {
@@ -245,11 +268,52 @@ void ClientHandler::RemoveMessageRouter(JNIEnv* env, jobject jmessageRouter) {
   }
 }
 
-void ClientHandler::OnAfterCreated() {}
+void ClientHandler::OnAfterCreated(JNIEnv* env,
+                                   CefRefPtr<CefBrowser> browser,
+                                   jobject jbrowser) {
+  if (!jbrowser)
+    return;
+
+  jobject jglobal = env->NewGlobalRef(jbrowser);
+  base::AutoLock lock_scope(browser_lock_);
+  jobject& entry = browserMap_[browser->GetIdentifier()];
+  if (entry)
+    env->DeleteGlobalRef(entry);
+  entry = jglobal;
+}
 
 void ClientHandler::OnBeforeClose(CefRefPtr<CefBrowser> browser) {
   REQUIRE_UI_THREAD();
 
+  ScopedJNIEnv env;
+  if (env) {
+    base::AutoLock lock_scope(browser_lock_);
+    auto it = browserMap_.find(browser->GetIdentifier());
+    if (it != browserMap_.end()) {
+      env->DeleteGlobalRef(it->second);
+      browserMap_.erase(it);
+    }
+  }
+
+  if (browser->GetHost()->IsWindowRenderingDisabled()) {
+    // Release the frame buffers of a CefFrameBufferRenderHandler. Don't
+    // create a new RenderHandler if the client has already released it.
+    if (env) {
+      ScopedJNIObjectResult jresult(env);
+      JNI_DISPATCH_METHOD(env, handle_,
+                          JNIMethod::kClientHandlerGetRenderHandler, Object,
+                          jresult);
+      if (jresult) {
+        ScopedJNIObject<RenderHandler> jhandler(
+            env, jresult.Release(), true /* should_delete */,
+            "CefRenderHandler");
+        CefRefPtr<RenderHandler> renderHandler = jhandler.GetCefObject();
+        if (renderHandler)
+          renderHandler->OnBeforeClose(browser);
+      }
+    }
+  }
+
   base::AutoLock lock_scope(message_router_lock_);
   for (auto& router : message_routers_) {
     router->OnBeforeClose(browser);
@@ -276,9 +340,17 @@ void ClientHandler::OnRenderProcessTerminated(CefRefPtr<CefBrowser> browser) {
 }
 
 jobject ClientHandler::getBrowser(JNIEnv* env, CefRefPtr<CefBrowser> browser) {
+  {
+    base::AutoLock lock_scope(browser_lock_);
+    auto it = browserMap_.find(browser->GetIdentifier());
+    if (it != browserMap_.end())
+      return env->NewLocalRef(it->second);
+  }
+
+  // Browsers of native popup windows are not cached.
   jobject jbrowser = nullptr;
-  JNI_CALL_METHOD(env, handle_, "getBrowser", "(I)Lorg/cef/browser/CefBrowser;",
-                  Object, jbrowser, browser->GetIdentifier());
+  JNI_DISPATCH_METHOD(env, handle_, JNIMethod::kClientHandlerGetBrowser, Object,
+                      jbrowser, browser->GetIdentifier());
   return jbrowser;
 }
 
@@ -286,8 +358,8 @@ ClientHandler::BrowserSet ClientHandler::GetAllBrowsers(JNIEnv* env) {
   BrowserSet result;
 
   jobject jbrowsers = nullptr;
-  JNI_CALL_METHOD(env, handle_, "getAllBrowser", "()[Ljava/lang/Object;",
-                  Object, jbrowsers);
+  JNI_DISPATCH_METHOD(env, handle_, JNIMethod::kClientHandlerGetAllBrowser,
+                      Object, jbrowsers);
   if (!jbrowsers)
     return result;
 
@@ -14,15 +14,18 @@
 #include "include/cef_base.h"
 #include "include/cef_client.h"
 
+#include "jni_dispatch.h"
 #include "jni_scoped_helpers.h"
 #include "message_router_handler.h"
 #include "media_access_handler.h"
+#include "resource_request_filter.h"
 #include "window_handler.h"
 
 // ClientHandler implementation.
 class ClientHandler : public CefClient {
  public:
   ClientHandler(JNIEnv* env, jobject handler);
+  ~ClientHandler() override;
 
   // CefClient methods
   CefRefPtr<CefContextMenuHandler> GetContextMenuHandler() override;
@@ -53,31 +56,50 @@ class ClientHandler : public CefClient {
   void RemoveMessageRouter(JNIEnv* env, jobject jmessageRouter);
 
   // Methods to set and remove a browser ref.
-  void OnAfterCreated();
+  void OnAfterCreated(JNIEnv* env,
+                      CefRefPtr<CefBrowser> browser,
+                      jobject jbrowser);
   void OnBeforeClose(CefRefPtr<CefBrowser> browser);
   void OnBeforeBrowse(CefRefPtr<CefBrowser> browser, CefRefPtr<CefFrame> frame);
   void OnRenderProcessTerminated(CefRefPtr<CefBrowser> browser);
 
   jobject getBrowser(JNIEnv* env, CefRefPtr<CefBrowser> browser);
 
+  // Methods to deal with the resource request filter. A null filter passes
+  // all resource requests to Java.
+  void SetResourceRequestFilter(CefRefPtr<ResourceRequestFilter> filter);
+  CefRefPtr<ResourceRequestFilter> GetResourceRequestFilter();
+
  protected:
   typedef std::set<CefRefPtr<CefBrowser>> BrowserSet;
   BrowserSet GetAllBrowsers(JNIEnv* env);
 
+  // Calls the getter |method| of the Java client and wraps the returned
+  // handler. |class_name| is the identifier of the native ref (e.g.
+  // "CefRenderHandler").
   template <class T>
-  CefRefPtr<T> GetHandler(const char* class_name);
+  CefRefPtr<T> GetHandler(JNIMethod method, const char* class_name);
 
   ScopedJNIObjectGlobal handle_;
 
-  // The child browser window.
+  // Global refs of the Java browser objects keyed by browser identifier, so
+  // that getBrowser doesn't need to call into Java.
   std::map<int, jobject> browserMap_;
 
+  // Protects access to |browserMap_|.
+  base::Lock browser_lock_;
+
   using MessageRouterSet = std::set<CefRefPtr<CefMessageRouterBrowserSide>>;
   MessageRouterSet message_routers_;
 
   // Protects access to |message_routers_|.
   base::Lock message_router_lock_;
 
+  CefRefPtr<ResourceRequestFilter> resource_request_filter_;
+
+  // Protects access to |resource_request_filter_|.
+  base::Lock resource_request_filter_lock_;
+
   // Include the default reference counting implementation.
   IMPLEMENT_REFCOUNTING(ClientHandler);
 };
@@ -7,6 +7,7 @@
 #include "include/cef_app.h"
 
 #include "client_app.h"
+#include "jni_dispatch.h"
 #include "jni_util.h"
 
 #if defined(OS_MAC)
@@ -163,6 +164,7 @@ bool Context::PreInitialize(JNIEnv* env, jobject c) {
   if (!javaClassLoader)
     return false;
   SetJavaClassLoader(env, javaClassLoader);
+  InitJNIDispatchTable(env);
 
   return true;
 }
@@ -4,6 +4,7 @@
 
 #include "display_handler.h"
 
+#include "jni_dispatch.h"
 #include "jni_util.h"
 
 namespace {
@@ -92,10 +93,9 @@ void DisplayHandler::OnAddressChange(CefRefPtr<CefBrowser> browser,
   jframe.SetTemporary();
   ScopedJNIString jurl(env, url);
 
-  JNI_CALL_VOID_METHOD(env, handle_, "onAddressChange",
-                       "(Lorg/cef/browser/CefBrowser;Lorg/cef/browser/"
-                       "CefFrame;Ljava/lang/String;)V",
-                       jbrowser.get(), jframe.get(), jurl.get());
+  JNI_DISPATCH_VOID_METHOD(env, handle_,
+                           JNIMethod::kDisplayHandlerOnAddressChange,
+                           jbrowser.get(), jframe.get(), jurl.get());
 }
 
 void DisplayHandler::OnTitleChange(CefRefPtr<CefBrowser> browser,
@@ -107,9 +107,9 @@ void DisplayHandler::OnTitleChange(CefRefPtr<CefBrowser> browser,
   ScopedJNIBrowser jbrowser(env, browser);
   ScopedJNIString jtitle(env, title);
 
-  JNI_CALL_VOID_METHOD(env, handle_, "onTitleChange",
-                       "(Lorg/cef/browser/CefBrowser;Ljava/lang/String;)V",
-                       jbrowser.get(), jtitle.get());
+  JNI_DISPATCH_VOID_METHOD(env, handle_,
+                           JNIMethod::kDisplayHandlerOnTitleChange,
+                           jbrowser.get(), jtitle.get());
 }
 
 bool DisplayHandler::OnTooltip(CefRefPtr<CefBrowser> browser, CefString& text) {
@@ -121,9 +121,8 @@ bool DisplayHandler::OnTooltip(CefRefPtr<CefBrowser> browser, CefString& text) {
   ScopedJNIString jtext(env, text);
   jboolean jreturn = JNI_FALSE;
 
-  JNI_CALL_METHOD(env, handle_, "onTooltip",
-                  "(Lorg/cef/browser/CefBrowser;Ljava/lang/String;)Z", Boolean,
-                  jreturn, jbrowser.get(), jtext.get());
+  JNI_DISPATCH_METHOD(env, handle_, JNIMethod::kDisplayHandlerOnTooltip,
+                      Boolean, jreturn, jbrowser.get(), jtext.get());
 
   return (jreturn != JNI_FALSE);
 }
@@ -137,9 +136,9 @@ void DisplayHandler::OnStatusMessage(CefRefPtr<CefBrowser> browser,
   ScopedJNIBrowser jbrowser(env, browser);
   ScopedJNIString jvalue(env, value);
 
-  JNI_CALL_VOID_METHOD(env, handle_, "onStatusMessage",
-                       "(Lorg/cef/browser/CefBrowser;Ljava/lang/String;)V",
-                       jbrowser.get(), jvalue.get());
+  JNI_DISPATCH_VOID_METHOD(env, handle_,
+                           JNIMethod::kDisplayHandlerOnStatusMessage,
+                           jbrowser.get(), jvalue.get());
 }
 
 bool DisplayHandler::OnConsoleMessage(CefRefPtr<CefBrowser> browser,
@@ -171,12 +170,9 @@ bool DisplayHandler::OnConsoleMessage(CefRefPtr<CefBrowser> browser,
   ScopedJNIString jsource(env, source);
   jboolean jreturn = JNI_FALSE;
 
-  JNI_CALL_METHOD(
-      env, handle_, "onConsoleMessage",
-      "(Lorg/cef/browser/CefBrowser;Lorg/cef/CefSettings$LogSeverity;"
-      "Ljava/lang/String;Ljava/lang/String;I)Z",
-      Boolean, jreturn, jbrowser.get(), jlevel, jmessage.get(), jsource.get(),
-      line);
+  JNI_DISPATCH_METHOD(env, handle_, JNIMethod::kDisplayHandlerOnConsoleMessage,
+                      Boolean, jreturn, jbrowser.get(), jlevel, jmessage.get(),
+                      jsource.get(), line);
 
   return (jreturn != JNI_FALSE);
 }
@@ -194,9 +190,8 @@ bool DisplayHandler::OnCursorChange(CefRefPtr<CefBrowser> browser,
   const int cursorId = GetCursorId(type);
   jboolean jreturn = JNI_FALSE;
 
-  JNI_CALL_METHOD(env, handle_, "onCursorChange",
-                  "(Lorg/cef/browser/CefBrowser;I)Z", Boolean, jreturn,
-                  jbrowser.get(), cursorId);
+  JNI_DISPATCH_METHOD(env, handle_, JNIMethod::kDisplayHandlerOnCursorChange,
+                      Boolean, jreturn, jbrowser.get(), cursorId);
 
   return (jreturn != JNI_FALSE);
 }
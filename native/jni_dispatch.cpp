@@ -0,0 +1,240 @@
+// Copyright (c) 2026 The Chromium Embedded Framework Authors. All rights
+// reserved. Use of this source code is governed by a BSD-style license that
+// can be found in the LICENSE file.
+
+#include "jni_dispatch.h"
+
+#include <atomic>
+#include <functional>
+#include <map>
+#include <string>
+#include <vector>
+
+#include "jni_scoped_helpers.h"
+#include "jni_util.h"
+#include "util.h"
+
+namespace {
+
+struct JNIMemberInfo {
+  const char* class_name;
+  const char* name;
+  const char* sig;
+};
+
+const JNIMemberInfo kMethodInfo[] = {
+#define JNI_DISPATCH_INFO(id, class_name, method, sig) \
+  {class_name, method, sig},
+    JNI_DISPATCH_METHODS(JNI_DISPATCH_INFO)
+#undef JNI_DISPATCH_INFO
+};
+
+static_assert(sizeof(kMethodInfo) / sizeof(kMethodInfo[0]) ==
+                  static_cast<size_t>(JNIMethod::kCount),
+              "JNIMethod and kMethodInfo are out of sync");
+
+const JNIMemberInfo kFieldInfo[] = {
+#define JNI_DISPATCH_INFO(id, class_name, field, sig) \
+  {class_name, field, sig},
+    JNI_DISPATCH_FIELDS(JNI_DISPATCH_INFO)
+#undef JNI_DISPATCH_INFO
+};
+
+static_assert(sizeof(kFieldInfo) / sizeof(kFieldInfo[0]) ==
+                  static_cast<size_t>(JNIField::kCount),
+              "JNIField and kFieldInfo are out of sync");
+
+// Classes that are instantiated for browser events in addition to the
+// declaring classes of the dispatch table.
+const char* const kPreloadedClasses[] = {
+    "java/awt/Point",
+    "java/awt/Rectangle",
+    "org/cef/CefSettings$LogSeverity",
+    "org/cef/browser/CefFrame_N",
+    "org/cef/callback/CefCallback_N",
+    "org/cef/callback/CefDragData_N",
+    "org/cef/callback/CefQueryCallback_N",
+    "org/cef/handler/CefLoadHandler$ErrorCode",
+    "org/cef/handler/CefScreenInfo",
+    "org/cef/misc/BoolRef",
+    "org/cef/misc/IntRef",
+    "org/cef/misc/StringRef",
+    "org/cef/network/CefRequest$TransitionType",
+    "org/cef/network/CefRequest_N",
+    "org/cef/network/CefResponse_N",
+    "org/cef/network/CefURLRequest$Status",
+};
+
+// The resolved classes and member IDs for one class loader. A table is
+// read-only once it was published by InitJNIDispatchTable.
+struct DispatchTable {
+  jobject class_loader;
+  std::map<std::string, jclass, std::less<>> classes;
+  jclass method_classes[static_cast<size_t>(JNIMethod::kCount)];
+  jmethodID method_ids[static_cast<size_t>(JNIMethod::kCount)];
+  jclass field_classes[static_cast<size_t>(JNIField::kCount)];
+  jfieldID field_ids[static_cast<size_t>(JNIField::kCount)];
+  // Identifiers of the slots of CefClientHandler.N_CefHandles.
+  std::vector<std::string> client_handler_refs;
+};
+
+// A replaced table is never freed because other threads may still read it.
+// Class loader changes are rare, so this leaks at most a few tables.
+std::atomic<const DispatchTable*> dispatchTable_(nullptr);
+
+// Returns the table if it was built for the class loader JCEF currently uses,
+// otherwise nullptr.
+const DispatchTable* GetTable() {
+  const DispatchTable* table = dispatchTable_.load(std::memory_order_acquire);
+  if (!table || table->class_loader != GetJavaClassLoader())
+    return nullptr;
+  return table;
+}
+
+jclass PreloadClass(JNIEnv* env,
+                    DispatchTable* table,
+                    const char* class_name) {
+  auto it = table->classes.find(class_name);
+  if (it != table->classes.end())
+    return it->second;
+
+  ScopedJNIClass cls(env, class_name);
+  jclass result = nullptr;
+  if (cls)
+    result = static_cast<jclass>(env->NewGlobalRef(cls));
+  if (env->ExceptionOccurred()) {
+    env->ExceptionDescribe();
+    env->ExceptionClear();
+  }
+  table->classes[class_name] = result;
+  return result;
+}
+
+// Reads the identifiers of the slots of CefClientHandler.N_CefHandles from
+// CefClientHandler.NATIVE_REF_IDS. If they can't be read the direct access to
+// the slots is disabled and the refs are accessed through the CefNative
+// methods.
+void LoadClientHandlerRefs(JNIEnv* env, DispatchTable* table) {
+  const size_t index = static_cast<size_t>(JNIField::kClientHandlerHandles);
+  jclass cls = table->field_classes[index];
+  jfieldID fieldId = nullptr;
+  if (cls) {
+    fieldId = env->GetStaticFieldID(cls, "NATIVE_REF_IDS",
+                                    "[Ljava/lang/String;");
+  }
+  if (!fieldId) {
+    env->ExceptionClear();
+    table->field_ids[index] = nullptr;
+    return;
+  }
+
+  ScopedJNIObjectLocal ids(env, env->GetStaticObjectField(cls, fieldId));
+  std::vector<CefString> names;
+  if (ids)
+    GetJNIStringArray(env, static_cast<jobjectArray>(ids.get()), names);
+  if (names.empty()) {
+    table->field_ids[index] = nullptr;
+    return;
+  }
+  for (const CefString& name : names)
+    table->client_handler_refs.push_back(name.ToString());
+}
+
+}  // namespace
+
+void InitJNIDispatchTable(JNIEnv* env) {
+  jobject class_loader = GetJavaClassLoader();
+  if (GetTable() || !class_loader)
+    return;
+
+  DispatchTable* table = new DispatchTable();
+  table->class_loader = class_loader;
+
+  for (size_t i = 0; i < static_cast<size_t>(JNIMethod::kCount); ++i) {
+    const JNIMemberInfo& info = kMethodInfo[i];
+    jclass cls = PreloadClass(env, table, info.class_name);
+    table->method_classes[i] = cls;
+    table->method_ids[i] = nullptr;
+    if (!cls)
+      continue;
+
+    table->method_ids[i] = env->GetMethodID(cls, info.name, info.sig);
+    if (env->ExceptionOccurred()) {
+      env->ExceptionDescribe();
+      env->ExceptionClear();
+    }
+  }
+
+  for (size_t i = 0; i < static_cast<size_t>(JNIField::kCount); ++i) {
+    const JNIMemberInfo& info = kFieldInfo[i];
+    jclass cls = PreloadClass(env, table, info.class_name);
+    table->field_classes[i] = cls;
+    table->field_ids[i] = nullptr;
+    if (!cls)
+      continue;
+
+    table->field_ids[i] = env->GetFieldID(cls, info.name, info.sig);
+    if (env->ExceptionOccurred()) {
+      env->ExceptionDescribe();
+      env->ExceptionClear();
+    }
+  }
+
+  LoadClientHandlerRefs(env, table);
+
+  for (const char* class_name : kPreloadedClasses)
+    PreloadClass(env, table, class_name);
+
+  dispatchTable_.store(table, std::memory_order_release);
+}
+
+jclass GetJNIDispatchClass(const char* class_name) {
+  const DispatchTable* table = GetTable();
+  if (!table)
+    return nullptr;
+
+  auto it = table->classes.find(class_name);
+  if (it == table->classes.end())
+    return nullptr;
+  return it->second;
+}
+
+jmethodID GetJNIDispatchMethodID(JNIEnv* env,
+                                 jobject obj,
+                                 JNIMethod method) {
+  const size_t index = static_cast<size_t>(method);
+  const DispatchTable* table = GetTable();
+  if (table && table->method_ids[index] &&
+      env->IsInstanceOf(obj, table->method_classes[index])) {
+    return table->method_ids[index];
+  }
+
+  // Same lookup as JNI_CALL_METHOD. A pending NoSuchMethodError is cleared by
+  // the calling macro.
+  const JNIMemberInfo& info = kMethodInfo[index];
+  ScopedJNIClass cls(env, env->GetObjectClass(obj));
+  return env->GetMethodID(cls, info.name, info.sig);
+}
+
+jfieldID GetJNIDispatchFieldID(JNIEnv* env, jobject obj, JNIField field) {
+  const size_t index = static_cast<size_t>(field);
+  const DispatchTable* table = GetTable();
+  if (!table || !table->field_ids[index] ||
+      !env->IsInstanceOf(obj, table->field_classes[index])) {
+    return nullptr;
+  }
+  return table->field_ids[index];
+}
+
+int GetJNIClientHandlerRefIndex(const char* name) {
+  const DispatchTable* table = GetTable();
+  if (!table)
+    return -1;
+
+  const std::vector<std::string>& refs = table->client_handler_refs;
+  for (size_t i = 0; i < refs.size(); ++i) {
+    if (refs[i] == name)
+      return static_cast<int>(i);
+  }
+  return -1;
+}
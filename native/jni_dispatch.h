@@ -0,0 +1,297 @@
+// Copyright (c) 2026 The Chromium Embedded Framework Authors. All rights
+// reserved. Use of this source code is governed by a BSD-style license that
+// can be found in the LICENSE file.
+
+#ifndef JCEF_NATIVE_JNI_DISPATCH_H_
+#define JCEF_NATIVE_JNI_DISPATCH_H_
+
+#include <jni.h>
+
+// Java methods that are called on every browser event. The method IDs are
+// resolved once against the declaring Java type by InitJNIDispatchTable and
+// are then shared by all objects implementing that type. Each entry is
+// X(id, declaring class, method name, method signature).
+#define JNI_DISPATCH_METHODS(X)                                                \
+  X(kNativeGetNativeRef, "org/cef/callback/CefNative", "getNativeRef",         \
+    "(Ljava/lang/String;)J")                                                   \
+  X(kNativeSetNativeRef, "org/cef/callback/CefNative", "setNativeRef",         \
+    "(Ljava/lang/String;J)V")                                                  \
+  X(kClientHandlerGetBrowser, "org/cef/handler/CefClientHandler",              \
+    "getBrowser", "(I)Lorg/cef/browser/CefBrowser;")                           \
+  X(kClientHandlerGetAllBrowser, "org/cef/handler/CefClientHandler",           \
+    "getAllBrowser", "()[Ljava/lang/Object;")                                  \
+  X(kClientHandlerGetContextMenuHandler, "org/cef/handler/CefClientHandler",   \
+    "getContextMenuHandler", "()Lorg/cef/handler/CefContextMenuHandler;")      \
+  X(kClientHandlerGetDialogHandler, "org/cef/handler/CefClientHandler",        \
+    "getDialogHandler", "()Lorg/cef/handler/CefDialogHandler;")                \
+  X(kClientHandlerGetDisplayHandler, "org/cef/handler/CefClientHandler",       \
+    "getDisplayHandler", "()Lorg/cef/handler/CefDisplayHandler;")              \
+  X(kClientHandlerGetDownloadHandler, "org/cef/handler/CefClientHandler",      \
+    "getDownloadHandler", "()Lorg/cef/handler/CefDownloadHandler;")            \
+  X(kClientHandlerGetDragHandler, "org/cef/handler/CefClientHandler",          \
+    "getDragHandler", "()Lorg/cef/handler/CefDragHandler;")                    \
+  X(kClientHandlerGetFocusHandler, "org/cef/handler/CefClientHandler",         \
+    "getFocusHandler", "()Lorg/cef/handler/CefFocusHandler;")                  \
+  X(kClientHandlerGetMediaAccessHandler, "org/cef/handler/CefClientHandler",   \
+    "getMediaAccessHandler", "()Lorg/cef/handler/CefMediaAccessHandler;")      \
+  X(kClientHandlerGetJSDialogHandler, "org/cef/handler/CefClientHandler",      \
+    "getJSDialogHandler", "()Lorg/cef/handler/CefJSDialogHandler;")            \
+  X(kClientHandlerGetKeyboardHandler, "org/cef/handler/CefClientHandler",      \
+    "getKeyboardHandler", "()Lorg/cef/handler/CefKeyboardHandler;")            \
+  X(kClientHandlerGetLifeSpanHandler, "org/cef/handler/CefClientHandler",      \
+    "getLifeSpanHandler", "()Lorg/cef/handler/CefLifeSpanHandler;")            \
+  X(kClientHandlerGetLoadHandler, "org/cef/handler/CefClientHandler",          \
+    "getLoadHandler", "()Lorg/cef/handler/CefLoadHandler;")                    \
+  X(kClientHandlerGetPrintHandler, "org/cef/handler/CefClientHandler",         \
+    "getPrintHandler", "()Lorg/cef/handler/CefPrintHandler;")                  \
+  X(kClientHandlerGetRenderHandler, "org/cef/handler/CefClientHandler",        \
+    "getRenderHandler", "()Lorg/cef/handler/CefRenderHandler;")                \
+  X(kClientHandlerGetRequestHandler, "org/cef/handler/CefClientHandler",       \
+    "getRequestHandler", "()Lorg/cef/handler/CefRequestHandler;")              \
+  X(kClientHandlerGetWindowHandler, "org/cef/handler/CefClientHandler",        \
+    "getWindowHandler", "()Lorg/cef/handler/CefWindowHandler;")                \
+  X(kRenderHandlerGetScreenInfo, "org/cef/handler/CefRenderHandler",           \
+    "getScreenInfo",                                                           \
+    "(Lorg/cef/browser/CefBrowser;Lorg/cef/handler/CefScreenInfo;)Z")          \
+  X(kRenderHandlerOnPopupShow, "org/cef/handler/CefRenderHandler",             \
+    "onPopupShow", "(Lorg/cef/browser/CefBrowser;Z)V")                         \
+  X(kRenderHandlerOnPopupSize, "org/cef/handler/CefRenderHandler",             \
+    "onPopupSize", "(Lorg/cef/browser/CefBrowser;Ljava/awt/Rectangle;)V")      \
+  X(kFrameBufferRenderHandlerOnPaint,                                          \
+    "org/cef/handler/CefFrameBufferRenderHandler", "onPaint",                  \
+    "(Lorg/cef/browser/CefBrowser;ZLorg/cef/handler/CefFrameBuffer;I)V")       \
+  X(kRenderHandlerOnPaint, "org/cef/handler/CefRenderHandler", "onPaint",      \
+    "(Lorg/cef/browser/CefBrowser;Z[Ljava/awt/Rectangle;"                      \
+    "Ljava/nio/ByteBuffer;II)V")                                               \
+  X(kRenderHandlerStartDragging, "org/cef/handler/CefRenderHandler",           \
+    "startDragging",                                                           \
+    "(Lorg/cef/browser/CefBrowser;Lorg/cef/callback/CefDragData;III)Z")        \
+  X(kRenderHandlerUpdateDragCursor, "org/cef/handler/CefRenderHandler",        \
+    "updateDragCursor", "(Lorg/cef/browser/CefBrowser;I)V")                    \
+  X(kRenderHandlerGetViewRect, "org/cef/handler/CefRenderHandler",             \
+    "getViewRect", "(Lorg/cef/browser/CefBrowser;)Ljava/awt/Rectangle;")       \
+  X(kRenderHandlerGetScreenPoint, "org/cef/handler/CefRenderHandler",          \
+    "getScreenPoint",                                                          \
+    "(Lorg/cef/browser/CefBrowser;Ljava/awt/Point;)Ljava/awt/Point;")          \
+  X(kFrameBufferRenderHandlerGetFrameBuffer,                                   \
+    "org/cef/handler/CefFrameBufferRenderHandler", "getFrameBuffer",           \
+    "(Lorg/cef/browser/CefBrowser;ZII)Lorg/cef/handler/CefFrameBuffer;")       \
+  X(kLoadHandlerOnLoadingStateChange, "org/cef/handler/CefLoadHandler",        \
+    "onLoadingStateChange", "(Lorg/cef/browser/CefBrowser;ZZZ)V")              \
+  X(kLoadHandlerOnLoadStart, "org/cef/handler/CefLoadHandler", "onLoadStart",  \
+    "(Lorg/cef/browser/CefBrowser;Lorg/cef/browser/CefFrame;"                  \
+    "Lorg/cef/network/CefRequest$TransitionType;)V")                           \
+  X(kLoadHandlerOnLoadEnd, "org/cef/handler/CefLoadHandler", "onLoadEnd",      \
+    "(Lorg/cef/browser/CefBrowser;Lorg/cef/browser/CefFrame;I)V")              \
+  X(kLoadHandlerOnLoadError, "org/cef/handler/CefLoadHandler", "onLoadError",  \
+    "(Lorg/cef/browser/CefBrowser;Lorg/cef/browser/CefFrame;"                  \
+    "Lorg/cef/handler/CefLoadHandler$ErrorCode;Ljava/lang/String;"             \
+    "Ljava/lang/String;)V")                                                    \
+  X(kRequestHandlerOnBeforeBrowse, "org/cef/handler/CefRequestHandler",        \
+    "onBeforeBrowse",                                                          \
+    "(Lorg/cef/browser/CefBrowser;Lorg/cef/browser/CefFrame;"                  \
+    "Lorg/cef/network/CefRequest;ZZ)Z")                                        \
+  X(kRequestHandlerOnOpenURLFromTab, "org/cef/handler/CefRequestHandler",      \
+    "onOpenURLFromTab",                                                        \
+    "(Lorg/cef/browser/CefBrowser;Lorg/cef/browser/CefFrame;"                  \
+    "Ljava/lang/String;Z)Z")                                                   \
+  X(kRequestHandlerGetResourceRequestHandler,                                  \
+    "org/cef/handler/CefRequestHandler", "getResourceRequestHandler",          \
+    "(Lorg/cef/browser/CefBrowser;Lorg/cef/browser/CefFrame;"                  \
+    "Lorg/cef/network/CefRequest;ZZLjava/lang/String;"                         \
+    "Lorg/cef/misc/BoolRef;)Lorg/cef/handler/CefResourceRequestHandler;")      \
+  X(kRequestHandlerGetAuthCredentials, "org/cef/handler/CefRequestHandler",    \
+    "getAuthCredentials", "(Lorg/cef/browser/CefBrowser;Ljava/lang/String;"    \
+    "ZLjava/lang/String;ILjava/lang/String;Ljava/lang/String;"                 \
+    "Lorg/cef/callback/CefAuthCallback;)Z")                                    \
+  X(kRequestHandlerOnQuotaRequest, "org/cef/handler/CefRequestHandler",        \
+    "onQuotaRequest", "(Lorg/cef/browser/CefBrowser;Ljava/lang/String;"        \
+    "JLorg/cef/callback/CefCallback;)Z")                                       \
+  X(kRequestHandlerOnCertificateError, "org/cef/handler/CefRequestHandler",    \
+    "onCertificateError", "(Lorg/cef/browser/CefBrowser;"                      \
+    "Lorg/cef/handler/CefLoadHandler$ErrorCode;Ljava/lang/String;"             \
+    "Lorg/cef/callback/CefCallback;)Z")                                        \
+  X(kRequestHandlerOnPluginCrashed, "org/cef/handler/CefRequestHandler",       \
+    "onPluginCrashed", "(Lorg/cef/browser/CefBrowser;Ljava/lang/String;)V")    \
+  X(kRequestHandlerOnRenderProcessTerminated,                                  \
+    "org/cef/handler/CefRequestHandler", "onRenderProcessTerminated",          \
+    "(Lorg/cef/browser/CefBrowser;"                                            \
+    "Lorg/cef/handler/CefRequestHandler$TerminationStatus;)V")                 \
+  X(kResourceHandlerProcessRequest, "org/cef/handler/CefResourceHandler",      \
+    "processRequest",                                                          \
+    "(Lorg/cef/network/CefRequest;Lorg/cef/callback/CefCallback;)Z")           \
+  X(kResourceHandlerGetResponseHeaders, "org/cef/handler/CefResourceHandler",  \
+    "getResponseHeaders",                                                      \
+    "(Lorg/cef/network/CefResponse;Lorg/cef/misc/IntRef;"                      \
+    "Lorg/cef/misc/StringRef;)V")                                              \
+  X(kResourceHandlerReadResponse, "org/cef/handler/CefResourceHandler",        \
+    "readResponse",                                                            \
+    "([BILorg/cef/misc/IntRef;Lorg/cef/callback/CefCallback;)Z")               \
+  X(kResourceHandlerCancel, "org/cef/handler/CefResourceHandler", "cancel",    \
+    "()V")                                                                     \
+  X(kDirectResourceHandlerReadResponse,                                        \
+    "org/cef/handler/CefDirectResourceHandler", "readResponse",                \
+    "(Ljava/nio/ByteBuffer;Lorg/cef/callback/CefCallback;)I")                  \
+  X(kDirectURLRequestClientOnDownloadData,                                     \
+    "org/cef/callback/CefDirectURLRequestClient", "onDownloadData",            \
+    "(Lorg/cef/network/CefURLRequest;Ljava/nio/ByteBuffer;)V")                 \
+  X(kFileURLRequestClientGetDownloadFile,                                      \
+    "org/cef/callback/CefFileURLRequestClient", "getDownloadFile",             \
+    "()Ljava/nio/file/Path;")                                                  \
+  X(kBufferClear, "java/nio/Buffer", "clear", "()Ljava/nio/Buffer;")           \
+  X(kBufferLimit, "java/nio/Buffer", "limit", "(I)Ljava/nio/Buffer;")          \
+  X(kResourceRequestHandlerGetCookieAccessFilter,                              \
+    "org/cef/handler/CefResourceRequestHandler", "getCookieAccessFilter",      \
+    "(Lorg/cef/browser/CefBrowser;Lorg/cef/browser/CefFrame;"                  \
+    "Lorg/cef/network/CefRequest;"                                             \
+    ")Lorg/cef/handler/CefCookieAccessFilter;")                                \
+  X(kResourceRequestHandlerOnBeforeResourceLoad,                               \
+    "org/cef/handler/CefResourceRequestHandler", "onBeforeResourceLoad",       \
+    "(Lorg/cef/browser/CefBrowser;Lorg/cef/browser/CefFrame;"                  \
+    "Lorg/cef/network/CefRequest;)Z")                                          \
+  X(kAsyncResourceRequestHandlerOnBeforeResourceLoad,                          \
+    "org/cef/handler/CefAsyncResourceRequestHandler", "onBeforeResourceLoad",  \
+    "(Lorg/cef/browser/CefBrowser;Lorg/cef/browser/CefFrame;"                  \
+    "Lorg/cef/network/CefRequest;Lorg/cef/callback/CefCallback;)I")            \
+  X(kResourceRequestHandlerGetResourceHandler,                                 \
+    "org/cef/handler/CefResourceRequestHandler", "getResourceHandler",         \
+    "(Lorg/cef/browser/CefBrowser;Lorg/cef/browser/CefFrame;"                  \
+    "Lorg/cef/network/CefRequest;)Lorg/cef/handler/CefResourceHandler;")       \
+  X(kResourceRequestHandlerOnResourceRedirect,                                 \
+    "org/cef/handler/CefResourceRequestHandler", "onResourceRedirect",         \
+    "(Lorg/cef/browser/CefBrowser;Lorg/cef/browser/CefFrame;"                  \
+    "Lorg/cef/network/CefRequest;Lorg/cef/network/CefResponse;"                \
+    "Lorg/cef/misc/StringRef;)V")                                              \
+  X(kResourceRequestHandlerOnResourceResponse,                                 \
+    "org/cef/handler/CefResourceRequestHandler", "onResourceResponse",         \
+    "(Lorg/cef/browser/CefBrowser;Lorg/cef/browser/CefFrame;"                  \
+    "Lorg/cef/network/CefRequest;Lorg/cef/network/CefResponse;)Z")             \
+  X(kResourceRequestHandlerOnResourceLoadComplete,                             \
+    "org/cef/handler/CefResourceRequestHandler", "onResourceLoadComplete",     \
+    "(Lorg/cef/browser/CefBrowser;Lorg/cef/browser/CefFrame;"                  \
+    "Lorg/cef/network/CefRequest;Lorg/cef/network/CefResponse;"                \
+    "Lorg/cef/network/CefURLRequest$Status;J)V")                               \
+  X(kResourceRequestHandlerOnProtocolExecution,                                \
+    "org/cef/handler/CefResourceRequestHandler", "onProtocolExecution",        \
+    "(Lorg/cef/browser/CefBrowser;Lorg/cef/browser/CefFrame;"                  \
+    "Lorg/cef/network/CefRequest;Lorg/cef/misc/BoolRef;)V")                    \
+  X(kDisplayHandlerOnAddressChange, "org/cef/handler/CefDisplayHandler",       \
+    "onAddressChange",                                                         \
+    "(Lorg/cef/browser/CefBrowser;Lorg/cef/browser/CefFrame;"                  \
+    "Ljava/lang/String;)V")                                                    \
+  X(kDisplayHandlerOnTitleChange, "org/cef/handler/CefDisplayHandler",         \
+    "onTitleChange", "(Lorg/cef/browser/CefBrowser;Ljava/lang/String;)V")      \
+  X(kDisplayHandlerOnTooltip, "org/cef/handler/CefDisplayHandler",             \
+    "onTooltip", "(Lorg/cef/browser/CefBrowser;Ljava/lang/String;)Z")          \
+  X(kDisplayHandlerOnStatusMessage, "org/cef/handler/CefDisplayHandler",       \
+    "onStatusMessage", "(Lorg/cef/browser/CefBrowser;Ljava/lang/String;)V")    \
+  X(kDisplayHandlerOnConsoleMessage, "org/cef/handler/CefDisplayHandler",      \
+    "onConsoleMessage",                                                        \
+    "(Lorg/cef/browser/CefBrowser;Lorg/cef/CefSettings$LogSeverity;"           \
+    "Ljava/lang/String;Ljava/lang/String;I)Z")                                 \
+  X(kDisplayHandlerOnCursorChange, "org/cef/handler/CefDisplayHandler",        \
+    "onCursorChange", "(Lorg/cef/browser/CefBrowser;I)Z")                      \
+  X(kLifeSpanHandlerOnBeforePopup, "org/cef/handler/CefLifeSpanHandler",       \
+    "onBeforePopup",                                                           \
+    "(Lorg/cef/browser/CefBrowser;Lorg/cef/browser/CefFrame;"                  \
+    "Ljava/lang/String;Ljava/lang/String;)Z")                                  \
+  X(kLifeSpanHandlerOnAfterCreated, "org/cef/handler/CefLifeSpanHandler",      \
+    "onAfterCreated", "(Lorg/cef/browser/CefBrowser;)V")                       \
+  X(kLifeSpanHandlerDoClose, "org/cef/handler/CefLifeSpanHandler", "doClose",  \
+    "(Lorg/cef/browser/CefBrowser;)Z")                                         \
+  X(kLifeSpanHandlerOnBeforeClose, "org/cef/handler/CefLifeSpanHandler",       \
+    "onBeforeClose", "(Lorg/cef/browser/CefBrowser;)V")                        \
+  X(kLifeSpanHandlerOnAfterParentChanged,                                      \
+    "org/cef/handler/CefLifeSpanHandler", "onAfterParentChanged",              \
+    "(Lorg/cef/browser/CefBrowser;)V")                                         \
+  X(kMessageRouterHandlerOnQuery, "org/cef/handler/CefMessageRouterHandler",   \
+    "onQuery", "(Lorg/cef/browser/CefBrowser;Lorg/cef/browser/CefFrame;"       \
+    "JLjava/lang/String;ZLorg/cef/callback/CefQueryCallback;)Z")               \
+  X(kMessageRouterHandlerOnQueryCanceled,                                      \
+    "org/cef/handler/CefMessageRouterHandler", "onQueryCanceled",              \
+    "(Lorg/cef/browser/CefBrowser;Lorg/cef/browser/CefFrame;J)V")
+
+enum class JNIMethod {
+#define JNI_DISPATCH_ENUM(id, class_name, method, sig) id,
+  JNI_DISPATCH_METHODS(JNI_DISPATCH_ENUM)
+#undef JNI_DISPATCH_ENUM
+  kCount
+};
+
+// Java fields that native code accesses directly. Each entry is
+// X(id, declaring class, field name, field signature).
+#define JNI_DISPATCH_FIELDS(X)                                                \
+  X(kNativeAdapterHandle, "org/cef/callback/CefNativeAdapter", "N_CefHandle", \
+    "J")                                                                      \
+  X(kClientHandlerHandles, "org/cef/handler/CefClientHandler",                \
+    "N_CefHandles", "[J")
+
+enum class JNIField {
+#define JNI_DISPATCH_ENUM(id, class_name, field, sig) id,
+  JNI_DISPATCH_FIELDS(JNI_DISPATCH_ENUM)
+#undef JNI_DISPATCH_ENUM
+  kCount
+};
+
+// Resolves the declaring classes and the member IDs of JNI_DISPATCH_METHODS
+// and JNI_DISPATCH_FIELDS and preloads the classes that are instantiated for
+// browser events, for the class loader set by SetJavaClassLoader. Must be
+// called after SetJavaClassLoader, and again after the class loader changed.
+// Does nothing if the table of the current class loader exists. A table is
+// read-only and may be accessed without locking. While the class loader has
+// no table, all lookups fall back to the regular, uncached ones.
+void InitJNIDispatchTable(JNIEnv* env);
+
+// Returns a global reference to a class that was preloaded by
+// InitJNIDispatchTable for the current class loader or nullptr if
+// |class_name| (with '/' as separator) is not part of that table.
+jclass GetJNIDispatchClass(const char* class_name);
+
+// Returns the method ID of |method| that is valid for |obj|. Falls back to a
+// lookup by name on the class of |obj| if the table wasn't initialized or if
+// |obj| doesn't implement the declaring class.
+jmethodID GetJNIDispatchMethodID(JNIEnv* env,
+                                 jobject obj,
+                                 JNIMethod method);
+
+// Returns the ID of |field| if the table was initialized and |obj| is an
+// instance of the declaring class, otherwise nullptr.
+jfieldID GetJNIDispatchFieldID(JNIEnv* env, jobject obj, JNIField field);
+
+// Returns the index of the native ref |name| in CefClientHandler.N_CefHandles
+// or -1 if the ref isn't stored in the array or the table wasn't initialized.
+// The slots are read from CefClientHandler.NATIVE_REF_IDS by
+// InitJNIDispatchTable, so they always match the Java side.
+int GetJNIClientHandlerRefIndex(const char* name);
+
+// Variants of JNI_CALL_METHOD and JNI_CALL_VOID_METHOD that use the method
+// IDs of the dispatch table.
+#define JNI_DISPATCH_METHOD(env, obj, method, type, storeIn, ...)          \
+  {                                                                        \
+    if (env && obj) {                                                      \
+      jmethodID _methodId = GetJNIDispatchMethodID(env, obj, method);      \
+      if (_methodId != nullptr) {                                          \
+        storeIn = env->Call##type##Method(obj, _methodId, ##__VA_ARGS__);  \
+      }                                                                    \
+      if (env->ExceptionOccurred()) {                                      \
+        env->ExceptionDescribe();                                          \
+        env->ExceptionClear();                                             \
+      }                                                                    \
+    }                                                                      \
+  }
+
+#define JNI_DISPATCH_VOID_METHOD(env, obj, method, ...)               \
+  {                                                                   \
+    if (env && obj) {                                                 \
+      jmethodID _methodId = GetJNIDispatchMethodID(env, obj, method); \
+      if (_methodId != nullptr) {                                     \
+        env->CallVoidMethod(obj, _methodId, ##__VA_ARGS__);           \
+      }                                                               \
+      if (env->ExceptionOccurred()) {                                 \
+        env->ExceptionDescribe();                                     \
+        env->ExceptionClear();                                        \
+      }                                                               \
+    }                                                                 \
+  }
+
+#endif  // JCEF_NATIVE_JNI_DISPATCH_H_
@@ -8,6 +8,7 @@
 #include "jni_scoped_helpers.h"
 
 #include "client_handler.h"
+#include "jni_dispatch.h"
 #include "jni_util.h"
 
 namespace {
@@ -55,6 +56,13 @@ jobject classCacheClassLoader_;
 // Returns a class with the given fully qualified |class_name| (with '/' as
 // separator).
 jclass FindClass(JNIEnv* env, const char* class_name) {
+  // Classes preloaded by InitJNIDispatchTable are read-only and don't need the
+  // lock. Only classes of the current class loader are returned, so this
+  // doesn't bypass the invalidation below.
+  jclass preloaded = GetJNIDispatchClass(class_name);
+  if (preloaded)
+    return static_cast<jclass>(env->NewLocalRef(preloaded));
+
   std::string classNameSeparatedByDots(class_name);
   std::replace(classNameSeparatedByDots.begin(), classNameSeparatedByDots.end(),
                '/', '.');
@@ -204,8 +212,69 @@ jobject GetJNIBrowser(JNIEnv* env, CefRefPtr<CefBrowser> browser) {
   return client->getBrowser(env, browser);
 }
 
+// Returns the N_CefHandles array of a CefClientHandler or nullptr if |obj|
+// isn't a CefClientHandler or |varName| isn't stored in the array.
+jlongArray GetClientHandlerRefs(JNIEnv* env,
+                                jobject obj,
+                                const char* varName,
+                                jsize* index) {
+  jfieldID fieldId =
+      GetJNIDispatchFieldID(env, obj, JNIField::kClientHandlerHandles);
+  if (!fieldId)
+    return nullptr;
+  *index = GetJNIClientHandlerRefIndex(varName);
+  if (*index < 0)
+    return nullptr;
+  return static_cast<jlongArray>(env->GetObjectField(obj, fieldId));
+}
+
 }  // namespace
 
+jlong GetJNINativeRef(JNIEnv* env, jobject obj, const char* varName) {
+  jfieldID fieldId =
+      GetJNIDispatchFieldID(env, obj, JNIField::kNativeAdapterHandle);
+  if (fieldId)
+    return env->GetLongField(obj, fieldId);
+
+  jlong value = 0;
+  jsize index = -1;
+  jlongArray handles = GetClientHandlerRefs(env, obj, varName, &index);
+  if (handles) {
+    env->GetLongArrayRegion(handles, index, 1, &value);
+    env->DeleteLocalRef(handles);
+    return value;
+  }
+
+  ScopedJNIString identifer(env, varName);
+  JNI_DISPATCH_METHOD(env, obj, JNIMethod::kNativeGetNativeRef, Long, value,
+                      identifer.get());
+  return value;
+}
+
+void SetJNINativeRef(JNIEnv* env,
+                     jobject obj,
+                     const char* varName,
+                     jlong value) {
+  jfieldID fieldId =
+      GetJNIDispatchFieldID(env, obj, JNIField::kNativeAdapterHandle);
+  if (fieldId) {
+    env->SetLongField(obj, fieldId, value);
+    return;
+  }
+
+  jsize index = -1;
+  jlongArray handles = GetClientHandlerRefs(env, obj, varName, &index);
+  if (handles) {
+    env->SetLongArrayRegion(handles, index, 1, &value);
+    env->DeleteLocalRef(handles);
+    return;
+  }
+
+  ScopedJNIString identifer(env, varName);
+  JNI_DISPATCH_VOID_METHOD(env, obj, JNIMethod::kNativeSetNativeRef,
+                           identifer.get(), value);
+}
+
 // static
 const int ScopedJNIEnv::kDefaultLocalCapacity = 1024;
 
@@ -20,6 +20,8 @@
 #include "include/cef_response.h"
 #include "include/wrapper/cef_message_router.h"
 
+#include "jni_dispatch.h"
+
 //
 // --------
 // OVERVIEW
@@ -908,6 +910,16 @@ class ScopedJNIStringRef : public ScopedJNIBase<jobject> {
     }                                                                \
   }
 
+// Get and set the native ref |varName| of a CefNative object. The refs of
+// CefNativeAdapter and CefClientHandler objects are accessed through their
+// fields without calling getNativeRef and setNativeRef, other objects are
+// called through the CefNative interface.
+jlong GetJNINativeRef(JNIEnv* env, jobject obj, const char* varName);
+void SetJNINativeRef(JNIEnv* env,
+                     jobject obj,
+                     const char* varName,
+                     jlong value);
+
 // Set the CEF base object for an existing JNI object. A reference will be
 // added to the base object. If a previous base object existed a reference
 // will be removed from that object.
@@ -919,14 +931,10 @@ bool SetCefForJNIObject(JNIEnv* env,
   if (!obj)
     return false;
 
-  ScopedJNIString identifer(env, varName);
-  jlong previousValue = 0;
-  JNI_CALL_METHOD(env, obj, "getNativeRef", "(Ljava/lang/String;)J", Long,
-                  previousValue, identifer.get());
+  jlong previousValue = GetJNINativeRef(env, obj, varName);
 
   env->MonitorEnter(obj);
-  JNI_CALL_VOID_METHOD(env, obj, "setNativeRef", "(Ljava/lang/String;J)V",
-                       identifer.get(), (jlong)base);
+  SetJNINativeRef(env, obj, varName, (jlong)base);
   env->MonitorExit(obj);
 
   if (previousValue != 0) {
@@ -948,10 +956,7 @@ T* GetCefFromJNIObject(JNIEnv* env, jobject obj, const char* varName) {
   if (!obj)
     return nullptr;
 
-  ScopedJNIString identifer(env, varName);
-  jlong previousValue = 0;
-  JNI_CALL_METHOD(env, obj, "getNativeRef", "(Ljava/lang/String;)J", Long,
-                  previousValue, identifer.get());
+  jlong previousValue = GetJNINativeRef(env, obj, varName);
   if (previousValue != 0)
     return reinterpret_cast<T*>(previousValue);
   return nullptr;
@@ -962,11 +967,8 @@ CefRefPtr<T> GetCefFromJNIObject_sync(JNIEnv* env, jobject obj, const char* varN
   if (!obj)
     return CefRefPtr<T>();
 
-  ScopedJNIString identifer(env, varName);
-  jlong value = 0;
   env->MonitorEnter(obj);
-  JNI_CALL_METHOD(env, obj, "getNativeRef", "(Ljava/lang/String;)J", Long,
-                  value, identifer.get());
+  jlong value = GetJNINativeRef(env, obj, varName);
 
   CefRefPtr<T> result(reinterpret_cast<T*>(value));
   env->MonitorExit(obj);
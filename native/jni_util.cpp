@@ -268,6 +268,28 @@ void SetJNIStringMultiMap(JNIEnv* env,
   }
 }
 
+jobjectArray NewJNIStringMultiMapArray(
+    JNIEnv* env,
+    const std::multimap<CefString, CefString>& vals) {
+  std::vector<CefString> flat;
+  flat.reserve(vals.size() * 2);
+  for (const auto& entry : vals) {
+    flat.push_back(entry.first);
+    flat.push_back(entry.second);
+  }
+  return NewJNIStringArray(env, flat);
+}
+
+void GetJNIStringMultiMapArray(
+    JNIEnv* env,
+    jobjectArray jarray,
+    std::vector<std::pair<CefString, CefString>>& vals) {
+  std::vector<CefString> flat;
+  GetJNIStringArray(env, jarray, flat);
+  for (size_t i = 0; i + 1 < flat.size(); i += 2)
+    vals.push_back(std::make_pair(flat[i], flat[i + 1]));
+}
+
 CefMessageRouterConfig GetJNIMessageRouterConfig(JNIEnv* env, jobject jConfig) {
   CefMessageRouterConfig config;
 
@@ -87,6 +87,17 @@ void SetJNIStringMultiMap(JNIEnv* env,
                           jobject jheaderMap,
                           const std::multimap<CefString, CefString>& vals);
 
+// Create a new array of alternating names and values.
+jobjectArray NewJNIStringMultiMapArray(
+    JNIEnv* env,
+    const std::multimap<CefString, CefString>& vals);
+
+// Retrieve the names and values from an array of alternating names and values.
+void GetJNIStringMultiMapArray(
+    JNIEnv* env,
+    jobjectArray jarray,
+    std::vector<std::pair<CefString, CefString>>& vals);
+
 CefMessageRouterConfig GetJNIMessageRouterConfig(JNIEnv* env, jobject jConfig);
 
 // Create a new JNI error code.
@@ -5,6 +5,7 @@
 #include "life_span_handler.h"
 
 #include "client_handler.h"
+#include "jni_dispatch.h"
 #include "jni_util.h"
 #include "util.h"
 
@@ -41,11 +42,9 @@ bool LifeSpanHandler::OnBeforePopup(CefRefPtr<CefBrowser> browser,
   ScopedJNIString jtargetFrameName(env, target_frame_name);
   jboolean jreturn = JNI_FALSE;
 
-  JNI_CALL_METHOD(env, handle_, "onBeforePopup",
-                  "(Lorg/cef/browser/CefBrowser;Lorg/cef/browser/"
-                  "CefFrame;Ljava/lang/String;Ljava/lang/String;)Z",
-                  Boolean, jreturn, jbrowser.get(), jframe.get(),
-                  jtargetUrl.get(), jtargetFrameName.get());
+  JNI_DISPATCH_METHOD(env, handle_, JNIMethod::kLifeSpanHandlerOnBeforePopup,
+                      Boolean, jreturn, jbrowser.get(), jframe.get(),
+                      jtargetUrl.get(), jtargetFrameName.get());
 
   return (jreturn != JNI_FALSE);
 }
@@ -62,13 +61,14 @@ void LifeSpanHandler::OnAfterCreated(CefRefPtr<CefBrowser> browser) {
 
   CefRefPtr<ClientHandler> client =
       (ClientHandler*)browser->GetHost()->GetClient().get();
-  client->OnAfterCreated();
+  client->OnAfterCreated(env, browser, jbrowser);
 
   // Add a reference to |browser| that will be released in
   // LifeSpanHandler::OnBeforeClose.
   if (SetCefForJNIObject(env, jbrowser, browser.get(), "CefBrowser")) {
-    JNI_CALL_VOID_METHOD(env, handle_, "onAfterCreated",
-                         "(Lorg/cef/browser/CefBrowser;)V", jbrowser);
+    JNI_DISPATCH_VOID_METHOD(env, handle_,
+                             JNIMethod::kLifeSpanHandlerOnAfterCreated,
+                             jbrowser);
   }
 
   // Release the global ref added in CefBrowser_N::create.
@@ -83,8 +83,8 @@ bool LifeSpanHandler::DoClose(CefRefPtr<CefBrowser> browser) {
   ScopedJNIBrowser jbrowser(env, browser);
   jboolean jreturn = JNI_FALSE;
 
-  JNI_CALL_METHOD(env, handle_, "doClose", "(Lorg/cef/browser/CefBrowser;)Z",
-                  Boolean, jreturn, jbrowser.get());
+  JNI_DISPATCH_METHOD(env, handle_, JNIMethod::kLifeSpanHandlerDoClose, Boolean,
+                      jreturn, jbrowser.get());
 
   return (jreturn != JNI_FALSE);
 }
@@ -97,8 +97,9 @@ void LifeSpanHandler::OnBeforeClose(CefRefPtr<CefBrowser> browser) {
 
   ScopedJNIBrowser jbrowser(env, browser);
 
-  JNI_CALL_VOID_METHOD(env, handle_, "onBeforeClose",
-                       "(Lorg/cef/browser/CefBrowser;)V", jbrowser.get());
+  JNI_DISPATCH_VOID_METHOD(env, handle_,
+                           JNIMethod::kLifeSpanHandlerOnBeforeClose,
+                           jbrowser.get());
 
   // Clear the browser pointer member of the Java object. This will
   // release the browser reference that was added in
@@ -118,8 +119,9 @@ void LifeSpanHandler::OnAfterParentChanged(CefRefPtr<CefBrowser> browser) {
 
   ScopedJNIBrowser jbrowser(env, browser);
 
-  JNI_CALL_VOID_METHOD(env, handle_, "onAfterParentChanged",
-                       "(Lorg/cef/browser/CefBrowser;)V", jbrowser.get());
+  JNI_DISPATCH_VOID_METHOD(env, handle_,
+                           JNIMethod::kLifeSpanHandlerOnAfterParentChanged,
+                           jbrowser.get());
 }
 
 void LifeSpanHandler::registerJBrowser(jobject browser) {
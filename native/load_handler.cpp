@@ -5,6 +5,7 @@
 #include "load_handler.h"
 
 #include "client_handler.h"
+#include "jni_dispatch.h"
 #include "jni_util.h"
 #include "util.h"
 
@@ -21,11 +22,11 @@ void LoadHandler::OnLoadingStateChange(CefRefPtr<CefBrowser> browser,
 
   ScopedJNIBrowser jbrowser(env, browser);
 
-  JNI_CALL_VOID_METHOD(env, handle_, "onLoadingStateChange",
-                       "(Lorg/cef/browser/CefBrowser;ZZZ)V", jbrowser.get(),
-                       (isLoading ? JNI_TRUE : JNI_FALSE),
-                       (canGoBack ? JNI_TRUE : JNI_FALSE),
-                       (canGoForward ? JNI_TRUE : JNI_FALSE));
+  JNI_DISPATCH_VOID_METHOD(env, handle_,
+                           JNIMethod::kLoadHandlerOnLoadingStateChange,
+                           jbrowser.get(), (isLoading ? JNI_TRUE : JNI_FALSE),
+                           (canGoBack ? JNI_TRUE : JNI_FALSE),
+                           (canGoForward ? JNI_TRUE : JNI_FALSE));
 }
 
 // TODO(jcef): Expose the |transition_type| argument.
@@ -41,10 +42,8 @@ void LoadHandler::OnLoadStart(CefRefPtr<CefBrowser> browser,
   jframe.SetTemporary();
   ScopedJNITransitionType jtransitionType(env, transition_type);
 
-  JNI_CALL_VOID_METHOD(env, handle_, "onLoadStart",
-                       "(Lorg/cef/browser/CefBrowser;Lorg/cef/browser/"
-                       "CefFrame;Lorg/cef/network/CefRequest$TransitionType;)V",
-                       jbrowser.get(), jframe.get(), jtransitionType.get());
+  JNI_DISPATCH_VOID_METHOD(env, handle_, JNIMethod::kLoadHandlerOnLoadStart,
+                           jbrowser.get(), jframe.get(), jtransitionType.get());
 }
 
 void LoadHandler::OnLoadEnd(CefRefPtr<CefBrowser> browser,
@@ -58,10 +57,8 @@ void LoadHandler::OnLoadEnd(CefRefPtr<CefBrowser> browser,
   ScopedJNIFrame jframe(env, frame);
   jframe.SetTemporary();
 
-  JNI_CALL_VOID_METHOD(
-      env, handle_, "onLoadEnd",
-      "(Lorg/cef/browser/CefBrowser;Lorg/cef/browser/CefFrame;I)V",
-      jbrowser.get(), jframe.get(), httpStatusCode);
+  JNI_DISPATCH_VOID_METHOD(env, handle_, JNIMethod::kLoadHandlerOnLoadEnd,
+                           jbrowser.get(), jframe.get(), httpStatusCode);
 }
 
 void LoadHandler::OnLoadError(CefRefPtr<CefBrowser> browser,
@@ -80,10 +77,7 @@ void LoadHandler::OnLoadError(CefRefPtr<CefBrowser> browser,
   ScopedJNIString jerrorText(env, errorText);
   ScopedJNIString jfailedUrl(env, failedUrl);
 
-  JNI_CALL_VOID_METHOD(
-      env, handle_, "onLoadError",
-      "(Lorg/cef/browser/CefBrowser;Lorg/cef/browser/CefFrame;Lorg/cef/handler/"
-      "CefLoadHandler$ErrorCode;Ljava/lang/String;Ljava/lang/String;)V",
-      jbrowser.get(), jframe.get(), jErrorCode.get(), jerrorText.get(),
-      jfailedUrl.get());
+  JNI_DISPATCH_VOID_METHOD(env, handle_, JNIMethod::kLoadHandlerOnLoadError,
+                           jbrowser.get(), jframe.get(), jErrorCode.get(),
+                           jerrorText.get(), jfailedUrl.get());
 }
@@ -4,6 +4,7 @@
 
 #include "message_router_handler.h"
 
+#include "jni_dispatch.h"
 #include "jni_util.h"
 
 namespace {
@@ -44,13 +45,10 @@ bool MessageRouterHandler::OnQuery(
 
   jboolean jresult = JNI_FALSE;
 
-  JNI_CALL_METHOD(env, handle_, "onQuery",
-                  "(Lorg/cef/browser/CefBrowser;Lorg/cef/browser/"
-                  "CefFrame;JLjava/lang/String;ZLorg/cef/"
-                  "callback/CefQueryCallback;)Z",
-                  Boolean, jresult, jbrowser.get(), jframe.get(),
-                  (jlong)query_id, jrequest.get(),
-                  persistent ? JNI_TRUE : JNI_FALSE, jcallback.get());
+  JNI_DISPATCH_METHOD(env, handle_, JNIMethod::kMessageRouterHandlerOnQuery,
+                      Boolean, jresult, jbrowser.get(), jframe.get(),
+                      (jlong)query_id, jrequest.get(),
+                      persistent ? JNI_TRUE : JNI_FALSE, jcallback.get());
 
   if (jresult == JNI_FALSE) {
     // If the Java method returns "false" the callback won't be used and
@@ -72,8 +70,7 @@ void MessageRouterHandler::OnQueryCanceled(CefRefPtr<CefBrowser> browser,
   ScopedJNIFrame jframe(env, frame);
   jframe.SetTemporary();
 
-  JNI_CALL_VOID_METHOD(
-      env, handle_, "onQueryCanceled",
-      "(Lorg/cef/browser/CefBrowser;Lorg/cef/browser/CefFrame;J)V",
-      jbrowser.get(), jframe.get(), (jlong)query_id);
+  JNI_DISPATCH_VOID_METHOD(env, handle_,
+                           JNIMethod::kMessageRouterHandlerOnQueryCanceled,
+                           jbrowser.get(), jframe.get(), (jlong)query_id);
 }
@@ -4,7 +4,11 @@
 
 #include "render_handler.h"
 
+#include <algorithm>
+#include <cstring>
+
 #include "client_handler.h"
+#include "jni_dispatch.h"
 #include "jni_util.h"
 
 namespace {
@@ -142,11 +146,42 @@ jobject NewJNIPoint(JNIEnv* env, int x, int y) {
   return nullptr;
 }
 
+// Copy the |rect| region of a BGRA |src| buffer with the specified |width|
+// into |dest|. Both buffers use the same stride.
+void CopyFrameRect(uint8_t* dest,
+                   const uint8_t* src,
+                   int width,
+                   int height,
+                   const CefRect& rect) {
+  const int left = std::max(rect.x, 0);
+  const int top = std::max(rect.y, 0);
+  const int right = std::min(rect.x + rect.width, width);
+  const int bottom = std::min(rect.y + rect.height, height);
+  if (left >= right || top >= bottom)
+    return;
+
+  const size_t stride = static_cast<size_t>(width) * 4;
+  const size_t row_size = static_cast<size_t>(right - left) * 4;
+  size_t offset = top * stride + static_cast<size_t>(left) * 4;
+  for (int y = top; y < bottom; ++y, offset += stride)
+    memcpy(dest + offset, src + offset, row_size);
+}
+
 }  // namespace
 
 RenderHandler::RenderHandler(JNIEnv* env, jobject handler)
     : handle_(env, handler) {}
 
+RenderHandler::~RenderHandler() {
+  if (frame_buffers_.empty())
+    return;
+  ScopedJNIEnv env;
+  if (!env)
+    return;
+  for (auto& entry : frame_buffers_)
+    ReleaseFrameBuffer(env, entry.second);
+}
+
 bool RenderHandler::GetRootScreenRect(CefRefPtr<CefBrowser> browser,
                                       CefRect& rect) {
   ScopedJNIEnv env;
@@ -193,10 +228,8 @@ bool RenderHandler::GetScreenInfo(CefRefPtr<CefBrowser> browser,
   ScopedJNIBrowser jbrowser(env, browser);
   jboolean jresult = 0;
 
-  JNI_CALL_BOOLEAN_METHOD(
-      jresult, env, handle_, "getScreenInfo",
-      "(Lorg/cef/browser/CefBrowser;Lorg/cef/handler/CefScreenInfo;)Z",
-      jbrowser.get(), jScreenInfo.get());
+  JNI_DISPATCH_METHOD(env, handle_, JNIMethod::kRenderHandlerGetScreenInfo,
+                      Boolean, jresult, jbrowser.get(), jScreenInfo.get());
 
   if (jresult) {
     if (GetJNIScreenInfo(env, jScreenInfo.get(), screen_info)) {
@@ -226,9 +259,8 @@ void RenderHandler::OnPopupShow(CefRefPtr<CefBrowser> browser, bool show) {
     return;
 
   ScopedJNIBrowser jbrowser(env, browser);
-  JNI_CALL_VOID_METHOD(env, handle_, "onPopupShow",
-                       "(Lorg/cef/browser/CefBrowser;Z)V", jbrowser.get(),
-                       (jboolean)show);
+  JNI_DISPATCH_VOID_METHOD(env, handle_, JNIMethod::kRenderHandlerOnPopupShow,
+                           jbrowser.get(), (jboolean)show);
 }
 
 void RenderHandler::OnPopupSize(CefRefPtr<CefBrowser> browser,
@@ -242,9 +274,8 @@ void RenderHandler::OnPopupSize(CefRefPtr<CefBrowser> browser,
     return;
 
   ScopedJNIBrowser jbrowser(env, browser);
-  JNI_CALL_VOID_METHOD(env, handle_, "onPopupSize",
-                       "(Lorg/cef/browser/CefBrowser;Ljava/awt/Rectangle;)V",
-                       jbrowser.get(), jrect.get());
+  JNI_DISPATCH_VOID_METHOD(env, handle_, JNIMethod::kRenderHandlerOnPopupSize,
+                           jbrowser.get(), jrect.get());
 }
 
 void RenderHandler::OnPaint(CefRefPtr<CefBrowser> browser,
@@ -259,15 +290,70 @@ void RenderHandler::OnPaint(CefRefPtr<CefBrowser> browser,
 
   ScopedJNIBrowser jbrowser(env, browser);
   jboolean jtype = type == PET_VIEW ? JNI_FALSE : JNI_TRUE;
+
+  bool created = false;
+  FrameBuffer* frame_buffer =
+      GetFrameBuffer(env, jbrowser, {browser->GetIdentifier(), type}, width,
+                     height, &created);
+  if (frame_buffer) {
+    // Copy the dirty regions into the reusable buffer and report the dirty
+    // rectangles through the preallocated array. A new buffer receives the
+    // whole frame.
+    std::vector<jint>& rects = frame_buffer->rects;
+    jint count = 0;
+    env->MonitorEnter(frame_buffer->jframe);
+    if (created || dirtyRects.empty()) {
+      memcpy(frame_buffer->address, buffer,
+             static_cast<size_t>(width) * height * 4);
+      rects[0] = 0;
+      rects[1] = 0;
+      rects[2] = width;
+      rects[3] = height;
+      count = 1;
+    } else {
+      const uint8_t* src = static_cast<const uint8_t*>(buffer);
+      int left = width, top = height, right = 0, bottom = 0;
+      for (const CefRect& rect : dirtyRects) {
+        CopyFrameRect(frame_buffer->address, src, width, height, rect);
+        if (count < frame_buffer->max_rects) {
+          rects[count * 4] = rect.x;
+          rects[count * 4 + 1] = rect.y;
+          rects[count * 4 + 2] = rect.width;
+          rects[count * 4 + 3] = rect.height;
+          ++count;
+        }
+        left = std::min(left, rect.x);
+        top = std::min(top, rect.y);
+        right = std::max(right, rect.x + rect.width);
+        bottom = std::max(bottom, rect.y + rect.height);
+      }
+      if (static_cast<size_t>(count) < dirtyRects.size()) {
+        // Too many rectangles for the Java array; report the bounding box.
+        rects[0] = left;
+        rects[1] = top;
+        rects[2] = right - left;
+        rects[3] = bottom - top;
+        count = 1;
+      }
+    }
+    env->SetIntArrayRegion(static_cast<jintArray>(frame_buffer->jrects), 0,
+                           count * 4, rects.data());
+    env->MonitorExit(frame_buffer->jframe);
+
+    JNI_DISPATCH_VOID_METHOD(env, handle_,
+                             JNIMethod::kFrameBufferRenderHandlerOnPaint,
+                             jbrowser.get(), jtype, frame_buffer->jframe,
+                             count);
+    return;
+  }
+
   ScopedJNIObjectLocal jrectArray(env, NewJNIRectArray(env, dirtyRects));
   ScopedJNIObjectLocal jdirectBuffer(
       env,
       env->NewDirectByteBuffer(const_cast<void*>(buffer), width * height * 4));
-  JNI_CALL_VOID_METHOD(env, handle_, "onPaint",
-                       "(Lorg/cef/browser/CefBrowser;Z[Ljava/awt/"
-                       "Rectangle;Ljava/nio/ByteBuffer;II)V",
-                       jbrowser.get(), jtype, jrectArray.get(),
-                       jdirectBuffer.get(), width, height);
+  JNI_DISPATCH_VOID_METHOD(env, handle_, JNIMethod::kRenderHandlerOnPaint,
+                           jbrowser.get(), jtype, jrectArray.get(),
+                           jdirectBuffer.get(), width, height);
 }
 
 bool RenderHandler::StartDragging(CefRefPtr<CefBrowser> browser,
@@ -283,11 +369,9 @@ bool RenderHandler::StartDragging(CefRefPtr<CefBrowser> browser,
   ScopedJNIDragData jdragdata(env, drag_data);
   jdragdata.SetTemporary();
   jboolean jresult = JNI_FALSE;
-  JNI_CALL_METHOD(
-      env, handle_, "startDragging",
-      "(Lorg/cef/browser/CefBrowser;Lorg/cef/callback/CefDragData;III)Z",
-      Boolean, jresult, jbrowser.get(), jdragdata.get(), (jint)allowed_ops,
-      (jint)x, (jint)y);
+  JNI_DISPATCH_METHOD(env, handle_, JNIMethod::kRenderHandlerStartDragging,
+                      Boolean, jresult, jbrowser.get(), jdragdata.get(),
+                      (jint)allowed_ops, (jint)x, (jint)y);
 
   return (jresult != JNI_FALSE);
 }
@@ -299,9 +383,9 @@ void RenderHandler::UpdateDragCursor(CefRefPtr<CefBrowser> browser,
     return;
 
   ScopedJNIBrowser jbrowser(env, browser);
-  JNI_CALL_VOID_METHOD(env, handle_, "updateDragCursor",
-                       "(Lorg/cef/browser/CefBrowser;I)V", jbrowser.get(),
-                       (jint)operation);
+  JNI_DISPATCH_VOID_METHOD(env, handle_,
+                           JNIMethod::kRenderHandlerUpdateDragCursor,
+                           jbrowser.get(), (jint)operation);
 }
 
 bool RenderHandler::GetViewRect(jobject browser, CefRect& rect) {
@@ -310,9 +394,8 @@ bool RenderHandler::GetViewRect(jobject browser, CefRect& rect) {
     return false;
 
   ScopedJNIObjectResult jreturn(env);
-  JNI_CALL_METHOD(env, handle_, "getViewRect",
-                  "(Lorg/cef/browser/CefBrowser;)Ljava/awt/Rectangle;", Object,
-                  jreturn, browser);
+  JNI_DISPATCH_METHOD(env, handle_, JNIMethod::kRenderHandlerGetViewRect,
+                      Object, jreturn, browser);
   if (jreturn) {
     rect = GetJNIRect(env, jreturn);
     return true;
@@ -334,10 +417,8 @@ bool RenderHandler::GetScreenPoint(jobject browser,
     return false;
 
   ScopedJNIObjectResult jreturn(env);
-  JNI_CALL_METHOD(
-      env, handle_, "getScreenPoint",
-      "(Lorg/cef/browser/CefBrowser;Ljava/awt/Point;)Ljava/awt/Point;", Object,
-      jreturn, browser, jpoint.get());
+  JNI_DISPATCH_METHOD(env, handle_, JNIMethod::kRenderHandlerGetScreenPoint,
+                      Object, jreturn, browser, jpoint.get());
 
   if (jreturn) {
     GetJNIPoint(env, jreturn, &screenX, &screenY);
@@ -345,3 +426,85 @@ bool RenderHandler::GetScreenPoint(jobject browser,
   }
   return false;
 }
+
+void RenderHandler::OnBeforeClose(CefRefPtr<CefBrowser> browser) {
+  REQUIRE_UI_THREAD();
+  ScopedJNIEnv env;
+  if (!env)
+    return;
+
+  const int id = browser->GetIdentifier();
+  for (PaintElementType type : {PET_VIEW, PET_POPUP}) {
+    auto it = frame_buffers_.find({id, type});
+    if (it == frame_buffers_.end())
+      continue;
+    ReleaseFrameBuffer(env, it->second);
+    frame_buffers_.erase(it);
+  }
+}
+
+RenderHandler::FrameBuffer* RenderHandler::GetFrameBuffer(
+    JNIEnv* env,
+    jobject jbrowser,
+    const FrameBufferKey& key,
+    int width,
+    int height,
+    bool* created) {
+  REQUIRE_UI_THREAD();
+  FrameBuffer& frame_buffer = frame_buffers_[key];
+  if (frame_buffer.width == width && frame_buffer.height == height)
+    return frame_buffer.jframe ? &frame_buffer : nullptr;
+
+  // The size has changed (or this is the first paint): ask the Java handler
+  // for a matching buffer. Declining is remembered until the next resize.
+  ReleaseFrameBuffer(env, frame_buffer);
+  frame_buffer.width = width;
+  frame_buffer.height = height;
+  if (!jbrowser)
+    return nullptr;
+
+  ScopedJNIObjectResult jframe(env);
+  JNI_DISPATCH_METHOD(env, handle_,
+                      JNIMethod::kFrameBufferRenderHandlerGetFrameBuffer,
+                      Object, jframe, jbrowser,
+                      (key.second == PET_VIEW ? JNI_FALSE : JNI_TRUE), width,
+                      height);
+  if (!jframe)
+    return nullptr;
+
+  ScopedJNIObjectResult jbuffer(env);
+  JNI_CALL_METHOD(env, jframe, "getBuffer", "()Ljava/nio/ByteBuffer;", Object,
+                  jbuffer);
+  ScopedJNIObjectResult jrects(env);
+  JNI_CALL_METHOD(env, jframe, "getDirtyRects", "()[I", Object, jrects);
+  if (!jbuffer || !jrects)
+    return nullptr;
+
+  void* address = env->GetDirectBufferAddress(jbuffer);
+  const jlong capacity = env->GetDirectBufferCapacity(jbuffer);
+  const jint max_rects =
+      env->GetArrayLength(static_cast<jintArray>(jrects.get())) / 4;
+  if (!address || capacity < static_cast<jlong>(width) * height * 4 ||
+      max_rects < 1) {
+    LOG(WARNING) << "Ignoring CefFrameBuffer that can't hold a " << width
+                 << "x" << height << " frame";
+    return nullptr;
+  }
+
+  frame_buffer.jframe = env->NewGlobalRef(jframe);
+  frame_buffer.jrects = env->NewGlobalRef(jrects);
+  frame_buffer.address = static_cast<uint8_t*>(address);
+  frame_buffer.max_rects = max_rects;
+  frame_buffer.rects.resize(static_cast<size_t>(max_rects) * 4);
+  *created = true;
+  return &frame_buffer;
+}
+
+void RenderHandler::ReleaseFrameBuffer(JNIEnv* env,
+                                       FrameBuffer& frame_buffer) {
+  if (frame_buffer.jframe)
+    env->DeleteGlobalRef(frame_buffer.jframe);
+  if (frame_buffer.jrects)
+    env->DeleteGlobalRef(frame_buffer.jrects);
+  frame_buffer = FrameBuffer();
+}
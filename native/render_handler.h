@@ -8,6 +8,10 @@
 
 #include <jni.h>
 
+#include <map>
+#include <utility>
+#include <vector>
+
 #include "include/cef_render_handler.h"
 #include "include/cef_display_handler.h"
 
@@ -17,6 +21,7 @@
 class RenderHandler : public CefRenderHandler {
  public:
   RenderHandler(JNIEnv* env, jobject handler);
+  ~RenderHandler() override;
 
   // CefRenderHandler methods
   virtual bool GetRootScreenRect(CefRefPtr<CefBrowser> browser,
@@ -56,9 +61,40 @@ class RenderHandler : public CefRenderHandler {
                       int& screenX,
                       int& screenY);
 
+  // Release the frame buffers that are cached for |browser|.
+  void OnBeforeClose(CefRefPtr<CefBrowser> browser);
+
  protected:
+  // Reusable frame buffer provided by a CefFrameBufferRenderHandler for one
+  // browser and paint element type. An entry without |jframe| records that the
+  // Java handler declined to provide a buffer for the current size.
+  struct FrameBuffer {
+    jobject jframe = nullptr;  // Global ref to the CefFrameBuffer.
+    jobject jrects = nullptr;  // Global ref to the dirty rect int[].
+    uint8_t* address = nullptr;
+    jint max_rects = 0;
+    int width = 0;
+    int height = 0;
+    std::vector<jint> rects;
+  };
+  using FrameBufferKey = std::pair<int, PaintElementType>;
+
+  // Returns the cached frame buffer for |key| or requests a new one from the
+  // Java handler if the size has changed. Sets |created| to true if a new
+  // buffer was bound. Returns nullptr if the legacy onPaint should be used.
+  FrameBuffer* GetFrameBuffer(JNIEnv* env,
+                              jobject jbrowser,
+                              const FrameBufferKey& key,
+                              int width,
+                              int height,
+                              bool* created);
+  void ReleaseFrameBuffer(JNIEnv* env, FrameBuffer& frame_buffer);
+
   ScopedJNIObjectGlobal handle_;
 
+  // Only accessed on the UI thread.
+  std::map<FrameBufferKey, FrameBuffer> frame_buffers_;
+
   // Include the default reference counting implementation.
   IMPLEMENT_REFCOUNTING(RenderHandler);
 };
@@ -5,6 +5,7 @@
 #include "request_handler.h"
 
 #include "client_handler.h"
+#include "jni_dispatch.h"
 #include "jni_util.h"
 #include "resource_handler.h"
 #include "resource_request_handler.h"
@@ -34,12 +35,10 @@ bool RequestHandler::OnBeforeBrowse(CefRefPtr<CefBrowser> browser,
   jrequest.SetTemporary();
   jboolean jresult = JNI_FALSE;
 
-  JNI_CALL_METHOD(env, handle_, "onBeforeBrowse",
-                  "(Lorg/cef/browser/CefBrowser;Lorg/cef/browser/CefFrame;Lorg/"
-                  "cef/network/CefRequest;ZZ)Z",
-                  Boolean, jresult, jbrowser.get(), jframe.get(),
-                  jrequest.get(), (user_gesture ? JNI_TRUE : JNI_FALSE),
-                  (is_redirect ? JNI_TRUE : JNI_FALSE));
+  JNI_DISPATCH_METHOD(env, handle_, JNIMethod::kRequestHandlerOnBeforeBrowse,
+                      Boolean, jresult, jbrowser.get(), jframe.get(),
+                      jrequest.get(), (user_gesture ? JNI_TRUE : JNI_FALSE),
+                      (is_redirect ? JNI_TRUE : JNI_FALSE));
 
   return (jresult != JNI_FALSE);
 }
@@ -59,11 +58,9 @@ bool RequestHandler::OnOpenURLFromTab(CefRefPtr<CefBrowser> browser,
   ScopedJNIString jtargetUrl(env, target_url);
   jboolean jresult = JNI_FALSE;
 
-  JNI_CALL_METHOD(env, handle_, "onOpenURLFromTab",
-                  "(Lorg/cef/browser/CefBrowser;Lorg/cef/browser/CefFrame;"
-                  "Ljava/lang/String;Z)Z",
-                  Boolean, jresult, jbrowser.get(), jframe.get(),
-                  jtargetUrl.get(), (user_gesture ? JNI_TRUE : JNI_FALSE));
+  JNI_DISPATCH_METHOD(env, handle_, JNIMethod::kRequestHandlerOnOpenURLFromTab,
+                      Boolean, jresult, jbrowser.get(), jframe.get(),
+                      jtargetUrl.get(), (user_gesture ? JNI_TRUE : JNI_FALSE));
 
   return (jresult != JNI_FALSE);
 }
@@ -76,6 +73,17 @@ CefRefPtr<CefResourceRequestHandler> RequestHandler::GetResourceRequestHandler(
     bool is_download,
     const CefString& request_initiator,
     bool& disable_default_handling) {
+  if (browser) {
+    // Requests that match no rule of the filter get the default handling
+    // without calling into Java.
+    CefRefPtr<ClientHandler> client =
+        (ClientHandler*)browser->GetHost()->GetClient().get();
+    CefRefPtr<ResourceRequestFilter> filter =
+        client->GetResourceRequestFilter();
+    if (filter && !filter->Matches(request))
+      return nullptr;
+  }
+
   ScopedJNIEnv env;
   if (!env)
     return nullptr;
@@ -89,14 +97,12 @@ CefRefPtr<CefResourceRequestHandler> RequestHandler::GetResourceRequestHandler(
   ScopedJNIBoolRef jdisableDefaultHandling(env, disable_default_handling);
   ScopedJNIObjectResult jresult(env);
 
-  JNI_CALL_METHOD(env, handle_, "getResourceRequestHandler",
-                  "(Lorg/cef/browser/CefBrowser;Lorg/cef/browser/CefFrame;Lorg/"
-                  "cef/network/CefRequest;ZZLjava/lang/String;Lorg/cef/misc/"
-                  "BoolRef;)Lorg/cef/handler/CefResourceRequestHandler;",
-                  Object, jresult, jbrowser.get(), jframe.get(), jrequest.get(),
-                  is_navigation ? JNI_TRUE : JNI_FALSE,
-                  is_download ? JNI_TRUE : JNI_FALSE, jrequestInitiator.get(),
-                  jdisableDefaultHandling.get());
+  JNI_DISPATCH_METHOD(env, handle_,
+                      JNIMethod::kRequestHandlerGetResourceRequestHandler,
+                      Object, jresult, jbrowser.get(), jframe.get(),
+                      jrequest.get(), is_navigation ? JNI_TRUE : JNI_FALSE,
+                      is_download ? JNI_TRUE : JNI_FALSE,
+                      jrequestInitiator.get(), jdisableDefaultHandling.get());
 
   disable_default_handling = jdisableDefaultHandling;
 
@@ -125,14 +131,11 @@ bool RequestHandler::GetAuthCredentials(CefRefPtr<CefBrowser> browser,
   ScopedJNIAuthCallback jcallback(env, callback);
   jboolean jresult = JNI_FALSE;
 
-  JNI_CALL_METHOD(
-      env, handle_, "getAuthCredentials",
-      "(Lorg/cef/browser/CefBrowser;Ljava/lang/String;ZLjava/lang/String;"
-      "ILjava/lang/String;Ljava/lang/String;"
-      "Lorg/cef/callback/CefAuthCallback;)Z",
-      Boolean, jresult, jbrowser.get(), joriginUrl.get(),
-      (isProxy ? JNI_TRUE : JNI_FALSE), jhost.get(), port, jrealm.get(),
-      jscheme.get(), jcallback.get());
+  JNI_DISPATCH_METHOD(env, handle_,
+                      JNIMethod::kRequestHandlerGetAuthCredentials, Boolean,
+                      jresult, jbrowser.get(), joriginUrl.get(),
+                      (isProxy ? JNI_TRUE : JNI_FALSE), jhost.get(), port,
+                      jrealm.get(), jscheme.get(), jcallback.get());
 
   if (jresult == JNI_FALSE) {
     // If the Java method returns "false" the callback won't be used and
@@ -156,11 +159,9 @@ bool RequestHandler::OnQuotaRequest(CefRefPtr<CefBrowser> browser,
   ScopedJNICallback jcallback(env, callback);
   jboolean jresult = JNI_FALSE;
 
-  JNI_CALL_METHOD(env, handle_, "onQuotaRequest",
-                  "(Lorg/cef/browser/CefBrowser;Ljava/lang/String;"
-                  "JLorg/cef/callback/CefCallback;)Z",
-                  Boolean, jresult, jbrowser.get(), joriginUrl.get(),
-                  (jlong)new_size, jcallback.get());
+  JNI_DISPATCH_METHOD(env, handle_, JNIMethod::kRequestHandlerOnQuotaRequest,
+                      Boolean, jresult, jbrowser.get(), joriginUrl.get(),
+                      (jlong)new_size, jcallback.get());
 
   if (jresult == JNI_FALSE) {
     // If the Java method returns "false" the callback won't be used and
@@ -186,12 +187,10 @@ bool RequestHandler::OnCertificateError(CefRefPtr<CefBrowser> browser,
   ScopedJNICallback jcallback(env, callback);
   jboolean jresult = JNI_FALSE;
 
-  JNI_CALL_METHOD(
-      env, handle_, "onCertificateError",
-      "(Lorg/cef/browser/CefBrowser;Lorg/cef/handler/CefLoadHandler$ErrorCode;"
-      "Ljava/lang/String;Lorg/cef/callback/CefCallback;)Z",
-      Boolean, jresult, jbrowser.get(), jcertError.get(), jrequestUrl.get(),
-      jcallback.get());
+  JNI_DISPATCH_METHOD(env, handle_,
+                      JNIMethod::kRequestHandlerOnCertificateError, Boolean,
+                      jresult, jbrowser.get(), jcertError.get(),
+                      jrequestUrl.get(), jcallback.get());
 
   if (jresult == JNI_FALSE) {
     // If the Java method returns "false" the callback won't be used and
@@ -211,9 +210,9 @@ void RequestHandler::OnPluginCrashed(CefRefPtr<CefBrowser> browser,
   ScopedJNIBrowser jbrowser(env, browser);
   ScopedJNIString jpluginPath(env, plugin_path);
 
-  JNI_CALL_VOID_METHOD(env, handle_, "onPluginCrashed",
-                       "(Lorg/cef/browser/CefBrowser;Ljava/lang/String;)V",
-                       jbrowser.get(), jpluginPath.get());
+  JNI_DISPATCH_VOID_METHOD(env, handle_,
+                           JNIMethod::kRequestHandlerOnPluginCrashed,
+                           jbrowser.get(), jpluginPath.get());
 }
 
 void RequestHandler::OnRenderProcessTerminated(CefRefPtr<CefBrowser> browser,
@@ -241,9 +240,7 @@ void RequestHandler::OnRenderProcessTerminated(CefRefPtr<CefBrowser> browser,
              TS_PROCESS_OOM, jstatus);
   }
 
-  JNI_CALL_VOID_METHOD(
-      env, handle_, "onRenderProcessTerminated",
-      "(Lorg/cef/browser/CefBrowser;"
-      "Lorg/cef/handler/CefRequestHandler$TerminationStatus;)V",
-      jbrowser.get(), jstatus.get());
+  JNI_DISPATCH_VOID_METHOD(env, handle_,
+                           JNIMethod::kRequestHandlerOnRenderProcessTerminated,
+                           jbrowser.get(), jstatus.get());
 }
@@ -4,11 +4,18 @@
 
 #include "resource_handler.h"
 
+#include <algorithm>
+
+#include "jni_dispatch.h"
 #include "jni_util.h"
 #include "util.h"
 
 ResourceHandler::ResourceHandler(JNIEnv* env, jobject handler)
-    : handle_(env, handler) {}
+    : handle_(env, handler), direct_(false) {
+  ScopedJNIClass cls(env, "org/cef/handler/CefDirectResourceHandler");
+  if (cls)
+    direct_ = env->IsInstanceOf(handler, cls) != JNI_FALSE;
+}
 
 bool ResourceHandler::ProcessRequest(CefRefPtr<CefRequest> request,
                                      CefRefPtr<CefCallback> callback) {
@@ -21,10 +28,8 @@ bool ResourceHandler::ProcessRequest(CefRefPtr<CefRequest> request,
   ScopedJNICallback jcallback(env, callback);
   jboolean jresult = JNI_FALSE;
 
-  JNI_CALL_METHOD(
-      env, handle_, "processRequest",
-      "(Lorg/cef/network/CefRequest;Lorg/cef/callback/CefCallback;)Z", Boolean,
-      jresult, jrequest.get(), jcallback.get());
+  JNI_DISPATCH_METHOD(env, handle_, JNIMethod::kResourceHandlerProcessRequest,
+                      Boolean, jresult, jrequest.get(), jcallback.get());
 
   if (jresult == JNI_FALSE) {
     // If the Java method returns "false" the callback won't be used and
@@ -47,11 +52,10 @@ void ResourceHandler::GetResponseHeaders(CefRefPtr<CefResponse> response,
   ScopedJNIIntRef jresponseLength(env, response_length);
   ScopedJNIStringRef jredirectUrl(env, redirectUrl);
 
-  JNI_CALL_VOID_METHOD(env, handle_, "getResponseHeaders",
-                       "(Lorg/cef/network/CefResponse;Lorg/cef/misc/"
-                       "IntRef;Lorg/cef/misc/StringRef;)V",
-                       jresponse.get(), jresponseLength.get(),
-                       jredirectUrl.get());
+  JNI_DISPATCH_VOID_METHOD(env, handle_,
+                           JNIMethod::kResourceHandlerGetResponseHeaders,
+                           jresponse.get(), jresponseLength.get(),
+                           jredirectUrl.get());
 
   response_length = jresponseLength;
   redirectUrl = jredirectUrl;
@@ -65,15 +69,18 @@ bool ResourceHandler::ReadResponse(void* data_out,
   if (!env)
     return false;
 
+  if (direct_)
+    return ReadResponseDirect(env, data_out, bytes_to_read, bytes_read,
+                              callback);
+
   ScopedJNIIntRef jbytesRead(env, bytes_read);
   jbyteArray jbytes = env->NewByteArray(bytes_to_read);
   ScopedJNICallback jcallback(env, callback);
   jboolean jresult = JNI_FALSE;
 
-  JNI_CALL_METHOD(env, handle_, "readResponse",
-                  "([BILorg/cef/misc/IntRef;Lorg/cef/callback/CefCallback;)Z",
-                  Boolean, jresult, jbytes, bytes_to_read, jbytesRead.get(),
-                  jcallback.get());
+  JNI_DISPATCH_METHOD(env, handle_, JNIMethod::kResourceHandlerReadResponse,
+                      Boolean, jresult, jbytes, bytes_to_read, jbytesRead.get(),
+                      jcallback.get());
 
   bytes_read = jbytesRead;
 
@@ -94,9 +101,33 @@ bool ResourceHandler::ReadResponse(void* data_out,
   return result;
 }
 
+bool ResourceHandler::ReadResponseDirect(JNIEnv* env,
+                                         void* data_out,
+                                         int bytes_to_read,
+                                         int& bytes_read,
+                                         CefRefPtr<CefCallback> callback) {
+  // The Java handler writes into |data_out| without an intermediate array.
+  ScopedJNIObjectLocal jbuffer(
+      env, env->NewDirectByteBuffer(data_out, bytes_to_read));
+  ScopedJNICallback jcallback(env, callback);
+  jint jresult = -1;
+
+  JNI_DISPATCH_METHOD(env, handle_,
+                      JNIMethod::kDirectResourceHandlerReadResponse, Int,
+                      jresult, jbuffer.get(), jcallback.get());
+
+  bytes_read = jresult > 0 ? std::min(jresult, bytes_to_read) : 0;
+  if (jresult != 0) {
+    // The callback won't be used and the reference can therefore be removed.
+    jcallback.SetTemporary();
+  }
+
+  return jresult >= 0;
+}
+
 void ResourceHandler::Cancel() {
   ScopedJNIEnv env;
   if (!env)
     return;
-  JNI_CALL_VOID_METHOD(env, handle_, "cancel", "()V");
+  JNI_DISPATCH_VOID_METHOD(env, handle_, JNIMethod::kResourceHandlerCancel);
 }
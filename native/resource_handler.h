@@ -30,8 +30,18 @@ class ResourceHandler : public CefResourceHandler {
   void Cancel() override;
 
  protected:
+  // ReadResponse for handlers that implement CefDirectResourceHandler.
+  bool ReadResponseDirect(JNIEnv* env,
+                          void* data_out,
+                          int bytes_to_read,
+                          int& bytes_read,
+                          CefRefPtr<CefCallback> callback);
+
   ScopedJNIObjectGlobal handle_;
 
+  // True if |handle_| implements CefDirectResourceHandler.
+  bool direct_;
+
   // Include the default reference counting implementation.
   IMPLEMENT_REFCOUNTING(ResourceHandler);
 };
@@ -0,0 +1,171 @@
+// Copyright (c) 2026 The Chromium Embedded Framework Authors. All rights
+// reserved. Use of this source code is governed by a BSD-style license that
+// can be found in the LICENSE file.
+
+#include "resource_request_filter.h"
+
+#include <string>
+
+#include "jni_util.h"
+
+namespace {
+
+// Returns the ordinal of the Java CefRequest.ResourceType of |type|, which
+// differs from the CEF value for the navigation preload types.
+int GetResourceTypeOrdinal(cef_resource_type_t type) {
+  switch (type) {
+    case RT_MAIN_FRAME:
+      return 0;
+    case RT_SUB_FRAME:
+      return 1;
+    case RT_STYLESHEET:
+      return 2;
+    case RT_SCRIPT:
+      return 3;
+    case RT_IMAGE:
+      return 4;
+    case RT_FONT_RESOURCE:
+      return 5;
+    case RT_SUB_RESOURCE:
+      return 6;
+    case RT_OBJECT:
+      return 7;
+    case RT_MEDIA:
+      return 8;
+    case RT_WORKER:
+      return 9;
+    case RT_SHARED_WORKER:
+      return 10;
+    case RT_PREFETCH:
+      return 11;
+    case RT_FAVICON:
+      return 12;
+    case RT_XHR:
+      return 13;
+    case RT_PING:
+      return 14;
+    case RT_SERVICE_WORKER:
+      return 15;
+    case RT_CSP_REPORT:
+      return 16;
+    case RT_PLUGIN_RESOURCE:
+      return 17;
+    case RT_NAVIGATION_PRELOAD_MAIN_FRAME:
+      return 18;
+    case RT_NAVIGATION_PRELOAD_SUB_FRAME:
+      return 19;
+  }
+  // Treat unknown types like RT_SUB_RESOURCE.
+  return 6;
+}
+
+}  // namespace
+
+// static
+CefRefPtr<ResourceRequestFilter> ResourceRequestFilter::Create(
+    JNIEnv* env,
+    jbooleanArray jprefixes,
+    jobjectArray jpatterns,
+    jobjectArray jmethods,
+    jintArray jresourceTypeMasks) {
+  const jsize count = env->GetArrayLength(jpatterns);
+  std::vector<jboolean> prefixes(count);
+  std::vector<jint> resource_type_masks(count);
+  if (count > 0) {
+    env->GetBooleanArrayRegion(jprefixes, 0, count, prefixes.data());
+    env->GetIntArrayRegion(jresourceTypeMasks, 0, count,
+                           resource_type_masks.data());
+  }
+
+  CefRefPtr<ResourceRequestFilter> filter = new ResourceRequestFilter();
+  filter->rules_.reserve(count);
+  for (jsize i = 0; i < count; ++i) {
+    Rule rule;
+    rule.prefix = prefixes[i] != JNI_FALSE;
+    jstring jpattern = (jstring)env->GetObjectArrayElement(jpatterns, i);
+    rule.pattern = GetJNIString(env, jpattern);
+    env->DeleteLocalRef(jpattern);
+    jstring jmethod = (jstring)env->GetObjectArrayElement(jmethods, i);
+    if (jmethod) {
+      rule.method = GetJNIString(env, jmethod).ToString();
+      env->DeleteLocalRef(jmethod);
+    }
+    rule.resource_types = static_cast<uint32_t>(resource_type_masks[i]);
+    filter->rules_.push_back(std::move(rule));
+  }
+  return filter;
+}
+
+bool ResourceRequestFilter::Matches(CefRefPtr<CefRequest> request) {
+  const uint32_t resource_type =
+      1u << GetResourceTypeOrdinal(request->GetResourceType());
+  // Only read the method and URL if a rule needs them.
+  std::string method;
+  CefString url;
+  bool has_url = false;
+  for (const Rule& rule : rules_) {
+    if (rule.resource_types != 0 && !(rule.resource_types & resource_type))
+      continue;
+    if (!rule.method.empty()) {
+      if (method.empty())
+        method = request->GetMethod().ToString();
+      if (method != rule.method)
+        continue;
+    }
+    if (!has_url) {
+      url = request->GetURL();
+      has_url = true;
+    }
+    const bool matches = rule.prefix ? PrefixMatches(rule.pattern, url)
+                                     : GlobMatches(rule.pattern, url);
+    if (matches) {
+      ++matched_count_;
+      return true;
+    }
+  }
+  ++bypassed_count_;
+  return false;
+}
+
+// static
+bool ResourceRequestFilter::PrefixMatches(const CefString& prefix,
+                                          const CefString& url) {
+  const size_t length = prefix.length();
+  return url.length() >= length &&
+         std::char_traits<CefString::char_type>::compare(
+             url.c_str(), prefix.c_str(), length) == 0;
+}
+
+// static
+bool ResourceRequestFilter::GlobMatches(const CefString& glob,
+                                        const CefString& url) {
+  // Don't spend time on huge URLs such as data: URLs, let Java decide.
+  if (url.length() > kMaxGlobURLLength)
+    return true;
+
+  // Greedy matching that backtracks to the last '*' on a mismatch. This needs
+  // no recursion and at most O(glob length * URL length) steps.
+  const CefString::char_type* g = glob.c_str();
+  const CefString::char_type* u = url.c_str();
+  const size_t glob_length = glob.length();
+  const size_t url_length = url.length();
+  size_t gi = 0, ui = 0;
+  size_t star = glob_length, star_ui = 0;
+  while (ui < url_length) {
+    if (gi < glob_length && g[gi] == '*') {
+      star = gi++;
+      star_ui = ui;
+    } else if (gi < glob_length && (g[gi] == '?' || g[gi] == u[ui])) {
+      ++gi;
+      ++ui;
+    } else if (star != glob_length) {
+      gi = star + 1;
+      ui = ++star_ui;
+    } else {
+      return false;
+    }
+  }
+  while (gi < glob_length && g[gi] == '*')
+    ++gi;
+  return gi == glob_length;
+}
@@ -0,0 +1,67 @@
+// Copyright (c) 2026 The Chromium Embedded Framework Authors. All rights
+// reserved. Use of this source code is governed by a BSD-style license that
+// can be found in the LICENSE file.
+
+#ifndef JCEF_NATIVE_RESOURCE_REQUEST_FILTER_H_
+#define JCEF_NATIVE_RESOURCE_REQUEST_FILTER_H_
+#pragma once
+
+#include <jni.h>
+
+#include <atomic>
+#include <string>
+#include <vector>
+
+#include "include/cef_base.h"
+#include "include/cef_request.h"
+
+// Native counterpart of org.cef.handler.CefResourceRequestFilter. Decides on
+// the IO thread whether a resource request is passed to Java, so that requests
+// matching no rule don't cross JNI. Rules are immutable after creation.
+//
+// Matching mirrors CefResourceRequestFilter.Rule.matches() exactly: URLs are
+// compared as UTF-16 like Java strings, globs are matched without recursion
+// and glob rules match any URL longer than kMaxGlobURLLength.
+class ResourceRequestFilter : public CefBaseRefCounted {
+ public:
+  // Creates the filter from the rule arrays of
+  // CefClientHandler.N_SetResourceRequestFilter.
+  static CefRefPtr<ResourceRequestFilter> Create(JNIEnv* env,
+                                                 jbooleanArray jprefixes,
+                                                 jobjectArray jpatterns,
+                                                 jobjectArray jmethods,
+                                                 jintArray jresourceTypeMasks);
+
+  // Returns true if any rule matches |request| and counts the result.
+  bool Matches(CefRefPtr<CefRequest> request);
+
+  int64_t matched_count() const { return matched_count_; }
+  int64_t bypassed_count() const { return bypassed_count_; }
+
+ private:
+  // Same as CefResourceRequestFilter.MAX_GLOB_URL_LENGTH.
+  static const size_t kMaxGlobURLLength = 8192;
+
+  struct Rule {
+    bool prefix;
+    // The prefix or the glob.
+    CefString pattern;
+    // Empty for all methods.
+    std::string method;
+    // Bit mask indexed by the ordinal of the Java ResourceType, 0 for all.
+    uint32_t resource_types;
+  };
+
+  ResourceRequestFilter() = default;
+
+  static bool PrefixMatches(const CefString& prefix, const CefString& url);
+  static bool GlobMatches(const CefString& glob, const CefString& url);
+
+  std::vector<Rule> rules_;
+  std::atomic<int64_t> matched_count_{0};
+  std::atomic<int64_t> bypassed_count_{0};
+
+  IMPLEMENT_REFCOUNTING(ResourceRequestFilter);
+};
+
+#endif  // JCEF_NATIVE_RESOURCE_REQUEST_FILTER_H_
@@ -5,12 +5,54 @@
 #include "resource_request_handler.h"
 
 #include "cookie_access_filter.h"
+#include "jni_dispatch.h"
 #include "jni_util.h"
 #include "resource_handler.h"
 #include "util.h"
 
+namespace {
+
+// Wraps the callback of an asynchronous OnBeforeResourceLoad and invalidates
+// the Java request when the handler continues or cancels the request, because
+// CEF may use the request from then on.
+class BeforeResourceLoadCallback : public CefCallback {
+ public:
+  BeforeResourceLoadCallback(JNIEnv* env,
+                             CefRefPtr<CefCallback> callback,
+                             jobject jrequest)
+      : callback_(callback), jrequest_(env, jrequest) {}
+
+  void Continue() override {
+    InvalidateRequest();
+    callback_->Continue();
+  }
+
+  void Cancel() override {
+    InvalidateRequest();
+    callback_->Cancel();
+  }
+
+ private:
+  void InvalidateRequest() {
+    ScopedJNIEnv env;
+    if (env)
+      SetCefForJNIObject<CefRequest>(env, jrequest_, nullptr, "CefRequest");
+  }
+
+  CefRefPtr<CefCallback> callback_;
+  ScopedJNIObjectGlobal jrequest_;
+
+  IMPLEMENT_REFCOUNTING(BeforeResourceLoadCallback);
+};
+
+}  // namespace
+
 ResourceRequestHandler::ResourceRequestHandler(JNIEnv* env, jobject handler)
-    : handle_(env, handler) {}
+    : handle_(env, handler), async_(false) {
+  ScopedJNIClass cls(env, "org/cef/handler/CefAsyncResourceRequestHandler");
+  if (cls)
+    async_ = env->IsInstanceOf(handler, cls) != JNI_FALSE;
+}
 
 CefRefPtr<CefCookieAccessFilter> ResourceRequestHandler::GetCookieAccessFilter(
     CefRefPtr<CefBrowser> browser,
@@ -27,19 +69,16 @@ CefRefPtr<CefCookieAccessFilter> ResourceRequestHandler::GetCookieAccessFilter(
   jrequest.SetTemporary();
   ScopedJNIObjectResult jresult(env);
 
-  JNI_CALL_METHOD(env, handle_, "getCookieAccessFilter",
-                  "(Lorg/cef/browser/CefBrowser;Lorg/cef/browser/CefFrame;Lorg/"
-                  "cef/network/CefRequest;)"
-                  "Lorg/cef/handler/CefCookieAccessFilter;",
-                  Object, jresult, jbrowser.get(), jframe.get(),
-                  jrequest.get());
+  JNI_DISPATCH_METHOD(env, handle_,
+                      JNIMethod::kResourceRequestHandlerGetCookieAccessFilter,
+                      Object, jresult, jbrowser.get(), jframe.get(),
+                      jrequest.get());
 
   if (jresult)
     return new CookieAccessFilter(env, jresult);
   return nullptr;
 }
 
-// TODO(JCEF): Expose the |callback| parameter.
 ResourceRequestHandler::ReturnValue
 ResourceRequestHandler::OnBeforeResourceLoad(CefRefPtr<CefBrowser> browser,
                                              CefRefPtr<CefFrame> frame,
@@ -49,6 +88,9 @@ ResourceRequestHandler::OnBeforeResourceLoad(CefRefPtr<CefBrowser> browser,
   if (!env)
     return RV_CONTINUE;
 
+  if (async_)
+    return OnBeforeResourceLoadAsync(env, browser, frame, request, callback);
+
   ScopedJNIBrowser jbrowser(env, browser);
   ScopedJNIFrame jframe(env, frame);
   jframe.SetTemporary();
@@ -56,15 +98,45 @@ ResourceRequestHandler::OnBeforeResourceLoad(CefRefPtr<CefBrowser> browser,
   jrequest.SetTemporary();
   jboolean result = JNI_FALSE;
 
-  JNI_CALL_METHOD(env, handle_, "onBeforeResourceLoad",
-                  "(Lorg/cef/browser/CefBrowser;Lorg/cef/browser/CefFrame;Lorg/"
-                  "cef/network/CefRequest;)Z",
-                  Boolean, result, jbrowser.get(), jframe.get(),
-                  jrequest.get());
+  JNI_DISPATCH_METHOD(env, handle_,
+                      JNIMethod::kResourceRequestHandlerOnBeforeResourceLoad,
+                      Boolean, result, jbrowser.get(), jframe.get(),
+                      jrequest.get());
 
   return (result != JNI_FALSE) ? RV_CANCEL : RV_CONTINUE;
 }
 
+ResourceRequestHandler::ReturnValue
+ResourceRequestHandler::OnBeforeResourceLoadAsync(
+    JNIEnv* env,
+    CefRefPtr<CefBrowser> browser,
+    CefRefPtr<CefFrame> frame,
+    CefRefPtr<CefRequest> request,
+    CefRefPtr<CefCallback> callback) {
+  ScopedJNIBrowser jbrowser(env, browser);
+  ScopedJNIFrame jframe(env, frame);
+  jframe.SetTemporary();
+  ScopedJNIRequest jrequest(env, request);
+  // The wrapper invalidates |jrequest| when the handler executes the callback,
+  // which may happen before the method returns.
+  ScopedJNICallback jcallback(
+      env, new BeforeResourceLoadCallback(env, callback, jrequest.get()));
+  jint result = RV_CONTINUE;
+
+  JNI_DISPATCH_METHOD(
+      env, handle_, JNIMethod::kAsyncResourceRequestHandlerOnBeforeResourceLoad,
+      Int, result, jbrowser.get(), jframe.get(), jrequest.get(),
+      jcallback.get());
+
+  if (result == RV_CONTINUE_ASYNC)
+    return RV_CONTINUE_ASYNC;
+
+  // The callback won't be used and the references can therefore be removed.
+  jrequest.SetTemporary();
+  jcallback.SetTemporary();
+  return result == RV_CANCEL ? RV_CANCEL : RV_CONTINUE;
+}
+
 CefRefPtr<CefResourceHandler> ResourceRequestHandler::GetResourceHandler(
     CefRefPtr<CefBrowser> browser,
     CefRefPtr<CefFrame> frame,
@@ -80,12 +152,10 @@ CefRefPtr<CefResourceHandler> ResourceRequestHandler::GetResourceHandler(
   jrequest.SetTemporary();
   ScopedJNIObjectResult jresult(env);
 
-  JNI_CALL_METHOD(env, handle_, "getResourceHandler",
-                  "(Lorg/cef/browser/CefBrowser;Lorg/cef/browser/CefFrame;Lorg/"
-                  "cef/network/CefRequest;)"
-                  "Lorg/cef/handler/CefResourceHandler;",
-                  Object, jresult, jbrowser.get(), jframe.get(),
-                  jrequest.get());
+  JNI_DISPATCH_METHOD(env, handle_,
+                      JNIMethod::kResourceRequestHandlerGetResourceHandler,
+                      Object, jresult, jbrowser.get(), jframe.get(),
+                      jrequest.get());
 
   if (jresult)
     return new ResourceHandler(env, jresult);
@@ -110,13 +180,10 @@ void ResourceRequestHandler::OnResourceRedirect(CefRefPtr<CefBrowser> browser,
   jresponse.SetTemporary();
   ScopedJNIStringRef jnewUrl(env, new_url);
 
-  JNI_CALL_VOID_METHOD(
-      env, handle_, "onResourceRedirect",
-      "(Lorg/cef/browser/CefBrowser;Lorg/cef/browser/CefFrame;Lorg/cef/network/"
-      "CefRequest;Lorg/cef/network/CefResponse;Lorg/cef/misc/"
-      "StringRef;)V",
-      jbrowser.get(), jframe.get(), jrequest.get(), jresponse.get(),
-      jnewUrl.get());
+  JNI_DISPATCH_VOID_METHOD(env, handle_,
+                           JNIMethod::kResourceRequestHandlerOnResourceRedirect,
+                           jbrowser.get(), jframe.get(), jrequest.get(),
+                           jresponse.get(), jnewUrl.get());
 
   new_url = jnewUrl;
 }
@@ -139,11 +206,10 @@ bool ResourceRequestHandler::OnResourceResponse(
   jresponse.SetTemporary();
   jboolean result = JNI_FALSE;
 
-  JNI_CALL_METHOD(env, handle_, "onResourceResponse",
-                  "(Lorg/cef/browser/CefBrowser;Lorg/cef/browser/CefFrame;"
-                  "Lorg/cef/network/CefRequest;Lorg/cef/network/CefResponse;)Z",
-                  Boolean, result, jbrowser.get(), jframe.get(), jrequest.get(),
-                  jresponse.get());
+  JNI_DISPATCH_METHOD(env, handle_,
+                      JNIMethod::kResourceRequestHandlerOnResourceResponse,
+                      Boolean, result, jbrowser.get(), jframe.get(),
+                      jrequest.get(), jresponse.get());
 
   return (result != JNI_FALSE);
 }
@@ -168,11 +234,8 @@ void ResourceRequestHandler::OnResourceLoadComplete(
   jresponse.SetTemporary();
   ScopedJNIURLRequestStatus jstatus(env, status);
 
-  JNI_CALL_VOID_METHOD(
-      env, handle_, "onResourceLoadComplete",
-      "(Lorg/cef/browser/CefBrowser;Lorg/cef/browser/CefFrame;"
-      "Lorg/cef/network/CefRequest;Lorg/cef/network/CefResponse;"
-      "Lorg/cef/network/CefURLRequest$Status;J)V",
+  JNI_DISPATCH_VOID_METHOD(
+      env, handle_, JNIMethod::kResourceRequestHandlerOnResourceLoadComplete,
       jbrowser.get(), jframe.get(), jrequest.get(), jresponse.get(),
       jstatus.get(), (jlong)received_content_length);
 }
@@ -192,10 +255,8 @@ void ResourceRequestHandler::OnProtocolExecution(CefRefPtr<CefBrowser> browser,
   jrequest.SetTemporary();
   ScopedJNIBoolRef jallowOsExecution(env, allow_os_execution);
 
-  JNI_CALL_VOID_METHOD(
-      env, handle_, "onProtocolExecution",
-      "(Lorg/cef/browser/CefBrowser;Lorg/cef/browser/CefFrame;Lorg/cef/network/"
-      "CefRequest;Lorg/cef/misc/BoolRef;)V",
+  JNI_DISPATCH_VOID_METHOD(
+      env, handle_, JNIMethod::kResourceRequestHandlerOnProtocolExecution,
       jbrowser.get(), jframe.get(), jrequest.get(), jallowOsExecution.get());
 
   allow_os_execution = jallowOsExecution;
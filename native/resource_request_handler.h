@@ -50,8 +50,19 @@ class ResourceRequestHandler : public CefResourceRequestHandler {
                            bool& allow_os_execution) override;
 
  protected:
+  // OnBeforeResourceLoad for handlers that implement
+  // CefAsyncResourceRequestHandler.
+  ReturnValue OnBeforeResourceLoadAsync(JNIEnv* env,
+                                        CefRefPtr<CefBrowser> browser,
+                                        CefRefPtr<CefFrame> frame,
+                                        CefRefPtr<CefRequest> request,
+                                        CefRefPtr<CefCallback> callback);
+
   ScopedJNIObjectGlobal handle_;
 
+  // True if |handle_| implements CefAsyncResourceRequestHandler.
+  bool async_;
+
   // Include the default reference counting implementation.
   IMPLEMENT_REFCOUNTING(ResourceRequestHandler);
 };
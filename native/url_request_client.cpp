@@ -4,12 +4,20 @@
 
 #include "url_request_client.h"
 
+#include <limits.h>
+#include <string.h>
+
+#include <algorithm>
+
+#include "jni_dispatch.h"
 #include "jni_util.h"
 #include "util.h"
 
 namespace {
 
-const char kCefClassName[] = "CefURLRequestClient";
+// Minimum capacity of the download buffer. Network chunks are usually
+// smaller, so the buffer is allocated once per request.
+const size_t kMinDownloadBufferSize = 64 * 1024;
 
 }  // namespace
 
@@ -17,31 +25,166 @@ URLRequestClient::URLRequestClient(JNIEnv* env,
                                    jobject jURLRequestClient,
                                    jobject jURLRequest)
     : client_handle_(env, jURLRequestClient),
-      request_handle_(env, jURLRequest) {}
+      request_handle_(env, jURLRequest),
+      direct_(false),
+      download_buffer_(nullptr),
+      download_buffer_data_(nullptr),
+      download_buffer_capacity_(0),
+      download_file_(nullptr),
+      download_file_created_(false),
+      download_failed_(false) {
+  ScopedJNIClass cls(env, "org/cef/callback/CefDirectURLRequestClient");
+  if (cls)
+    direct_ = env->IsInstanceOf(jURLRequestClient, cls) != JNI_FALSE;
+}
 
 CefRefPtr<URLRequestClient> URLRequestClient::Create(JNIEnv* env,
                                                      jobject jURLRequestClient,
                                                      jobject jURLRequest) {
-  CefRefPtr<URLRequestClient> client = GetCefFromJNIObject_sync<URLRequestClient>(
-      env, jURLRequestClient, kCefClassName);
-  if (!client) {
-    client = new URLRequestClient(env, jURLRequestClient, jURLRequest);
-    SetCefForJNIObject(env, jURLRequestClient, client.get(), kCefClassName);
-  }
+  // Every request gets its own native client, so that the download file and
+  // buffer of a running request are never shared with a later request of the
+  // same Java client.
+  CefRefPtr<URLRequestClient> client =
+      new URLRequestClient(env, jURLRequestClient, jURLRequest);
+  client->InitDownloadFile(env);
   return client;
 }
 
 URLRequestClient::~URLRequestClient() {
+  CloseDownloadFile();
+
+  if (!download_buffer_)
+    return;
   ScopedJNIEnv env;
-  if (!env)
+  if (env)
+    env->DeleteGlobalRef(download_buffer_);
+}
+
+void URLRequestClient::InitDownloadFile(JNIEnv* env) {
+  ScopedJNIClass cls(env, "org/cef/callback/CefFileURLRequestClient");
+  if (!cls || !env->IsInstanceOf(client_handle_, cls))
+    return;
+
+  ScopedJNIObjectResult jpath(env);
+  JNI_DISPATCH_METHOD(env, client_handle_,
+                      JNIMethod::kFileURLRequestClientGetDownloadFile, Object,
+                      jpath);
+  if (!jpath)
     return;
 
-  SetCefForJNIObject<URLRequestClient>(env, client_handle_, nullptr,
-                                       kCefClassName);
+  ScopedJNIStringResult jstr(env);
+  JNI_CALL_METHOD(env, jpath, "toString", "()Ljava/lang/String;", Object,
+                  jstr);
+  if (jstr)
+    download_path_ = jstr.GetCefString();
+}
+
+jobject URLRequestClient::GetDownloadBuffer(JNIEnv* env, size_t size) {
+  if (size > static_cast<size_t>(INT_MAX))
+    return nullptr;
+
+  if (!download_buffer_ || size > download_buffer_capacity_) {
+    // The buffer is allocated by Java so that it stays valid for as long as
+    // the client references it.
+    if (download_buffer_) {
+      env->DeleteGlobalRef(download_buffer_);
+      download_buffer_ = nullptr;
+      download_buffer_data_ = nullptr;
+      download_buffer_capacity_ = 0;
+    }
+
+    ScopedJNIClass cls(env, "java/nio/ByteBuffer");
+    if (!cls)
+      return nullptr;
+    jmethodID allocateDirect = env->GetStaticMethodID(
+        cls, "allocateDirect", "(I)Ljava/nio/ByteBuffer;");
+    if (!allocateDirect)
+      return nullptr;
+
+    const size_t capacity = std::max(size, kMinDownloadBufferSize);
+    ScopedJNIObjectLocal jbuffer(
+        env, env->CallStaticObjectMethod(cls, allocateDirect, (jint)capacity));
+    if (env->ExceptionOccurred()) {
+      env->ExceptionDescribe();
+      env->ExceptionClear();
+    }
+    if (!jbuffer)
+      return nullptr;
+
+    download_buffer_ = env->NewGlobalRef(jbuffer);
+    download_buffer_data_ = env->GetDirectBufferAddress(download_buffer_);
+    download_buffer_capacity_ = capacity;
+  }
+  if (!download_buffer_data_)
+    return nullptr;
+
+  // Reset the position and limit the buffer to the chunk.
+  ScopedJNIObjectResult jresult(env);
+  JNI_DISPATCH_METHOD(env, download_buffer_, JNIMethod::kBufferClear, Object,
+                      jresult);
+  ScopedJNIObjectResult jlimited(env);
+  JNI_DISPATCH_METHOD(env, download_buffer_, JNIMethod::kBufferLimit, Object,
+                      jlimited, (jint)size);
+  return download_buffer_;
+}
+
+bool URLRequestClient::WriteDownloadFile(const void* data,
+                                         size_t data_length) {
+  if (download_failed_)
+    return false;
+
+  if (!download_file_) {
+#if defined(OS_WIN)
+    download_file_ = _wfopen(download_path_.ToWString().c_str(), L"wb");
+#else
+    download_file_ = fopen(download_path_.ToString().c_str(), "wb");
+#endif
+    download_file_created_ = download_file_ != nullptr;
+  }
+
+  if (!download_file_ ||
+      fwrite(data, 1, data_length, download_file_) != data_length) {
+    download_failed_ = true;
+    CloseDownloadFile();
+    return false;
+  }
+  return true;
+}
+
+void URLRequestClient::CloseDownloadFile() {
+  if (download_file_) {
+    fclose(download_file_);
+    download_file_ = nullptr;
+  }
+}
+
+void URLRequestClient::DeleteDownloadFile() {
+  CloseDownloadFile();
+  if (!download_file_created_)
+    return;
+  download_file_created_ = false;
+#if defined(OS_WIN)
+  _wremove(download_path_.ToWString().c_str());
+#else
+  remove(download_path_.ToString().c_str());
+#endif
 }
 
 // TODO(jcef): Solve jurlReques instead of using nullptr
 void URLRequestClient::OnRequestComplete(CefRefPtr<CefURLRequest> request) {
+  if (!download_path_.empty()) {
+    // Create the file of an empty response and flush it before the client is
+    // notified.
+    const bool success = request->GetRequestStatus() == UR_SUCCESS;
+    if (!download_file_ && success)
+      WriteDownloadFile(nullptr, 0);
+    // Don't leave a partial file behind.
+    if (success && !download_failed_)
+      CloseDownloadFile();
+    else
+      DeleteDownloadFile();
+  }
+
   ScopedJNIEnv env;
   if (!env)
     return;
@@ -78,10 +221,28 @@ void URLRequestClient::OnDownloadProgress(CefRefPtr<CefURLRequest> request,
 void URLRequestClient::OnDownloadData(CefRefPtr<CefURLRequest> request,
                                       const void* data,
                                       size_t data_length) {
+  if (!download_path_.empty()) {
+    // Stream to the file without calling into Java.
+    if (!WriteDownloadFile(data, data_length))
+      request->Cancel();
+    return;
+  }
+
   ScopedJNIEnv env;
   if (!env)
     return;
 
+  if (direct_) {
+    jobject jbuffer = GetDownloadBuffer(env, data_length);
+    if (jbuffer) {
+      memcpy(download_buffer_data_, data, data_length);
+      JNI_DISPATCH_VOID_METHOD(env, client_handle_,
+                               JNIMethod::kDirectURLRequestClientOnDownloadData,
+                               request_handle_.get(), jbuffer);
+      return;
+    }
+  }
+
   jbyteArray jbyteArray = env->NewByteArray((jsize)data_length);
   env->SetByteArrayRegion(jbyteArray, 0, (jsize)data_length,
                           (const jbyte*)data);
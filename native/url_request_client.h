@@ -7,6 +7,7 @@
 #pragma once
 
 #include <jni.h>
+#include <stdio.h>
 #include <deque>
 #include <set>
 
@@ -48,9 +49,34 @@ class URLRequestClient : public CefURLRequestClient {
                                   CefRefPtr<CefAuthCallback> callback) override;
 
  protected:
+  // Queries the download file of a CefFileURLRequestClient.
+  void InitDownloadFile(JNIEnv* env);
+
+  // Returns the download buffer of a CefDirectURLRequestClient with at least
+  // |size| bytes of capacity or nullptr if it can't be allocated.
+  jobject GetDownloadBuffer(JNIEnv* env, size_t size);
+
+  // Appends |data| to the download file. Returns false on failure.
+  bool WriteDownloadFile(const void* data, size_t data_length);
+  void CloseDownloadFile();
+  // Closes and deletes the download file if this client created it.
+  void DeleteDownloadFile();
+
   ScopedJNIObjectGlobal client_handle_;
   ScopedJNIObjectGlobal request_handle_;
 
+  // True if the client implements CefDirectURLRequestClient.
+  bool direct_;
+  jobject download_buffer_;
+  void* download_buffer_data_;
+  size_t download_buffer_capacity_;
+
+  // Set if the client implements CefFileURLRequestClient.
+  CefString download_path_;
+  FILE* download_file_;
+  bool download_file_created_;
+  bool download_failed_;
+
   // Include the default reference counting implementation.
   IMPLEMENT_REFCOUNTING(URLRequestClient);
 };